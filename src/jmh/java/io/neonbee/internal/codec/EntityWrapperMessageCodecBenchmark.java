@@ -0,0 +1,95 @@
+package io.neonbee.internal.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.neonbee.entity.EntityModelManager;
+import io.neonbee.entity.EntityWrapper;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Compares the JSON based {@link EntityWrapperMessageCodec} with the positional {@link EntityWrapperBinaryMessageCodec}
+ * for a round trip (encode and decode) of entity collections of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityWrapperMessageCodecBenchmark {
+    private static final String CODEC_RESOURCES = "/io/neonbee/internal/codec/";
+
+    @Param({ "1", "100", "10000" })
+    public int size;
+
+    private Vertx vertx;
+
+    private EntityWrapperMessageCodec jsonCodec;
+
+    private EntityWrapperBinaryMessageCodec binaryCodec;
+
+    private EntityWrapper entityWrapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        EntityModelManager.registerModels(vertx, "benchmark",
+                Map.of("CodecService.csn", readResource("CodecService.csn")),
+                Map.of("io.neonbee.codec.CodecService.edmx", readResource("io.neonbee.codec.CodecService.edmx")))
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        jsonCodec = new EntityWrapperMessageCodec(vertx);
+        binaryCodec = new EntityWrapperBinaryMessageCodec(vertx);
+
+        List<Entity> entities = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            entities.add(new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, "ID" + index))
+                    .addProperty(new Property(null, "name", ValueType.PRIMITIVE, "Name " + index))
+                    .addProperty(new Property(null, "description", ValueType.PRIMITIVE, "Description " + index)));
+        }
+        entityWrapper = new EntityWrapper("io.neonbee.codec.CodecService.TestUsers", entities);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public EntityWrapper json() {
+        Buffer buffer = Buffer.buffer();
+        jsonCodec.encodeToWire(buffer, entityWrapper);
+        return jsonCodec.decodeFromWire(0, buffer);
+    }
+
+    @Benchmark
+    public EntityWrapper binary() {
+        Buffer buffer = Buffer.buffer();
+        binaryCodec.encodeToWire(buffer, entityWrapper);
+        return binaryCodec.decodeFromWire(0, buffer);
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream inputStream =
+                EntityWrapperMessageCodecBenchmark.class.getResourceAsStream(CODEC_RESOURCES + name)) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.neonbee.internal.processor.odata.expression;
+
+import static io.neonbee.entity.EntityModelManager.getBufferedOData;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.core.MetadataParser;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares filtering entity collections of different sizes by walking the expression tree with a
+ * {@link FilterExpressionVisitor} for every entity, with filtering using a {@link CompiledFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FilterBenchmark {
+    private static final String EDMX = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<edmx:Edmx Version=\"4.0\" xmlns:edmx=\"http://docs.oasis-open.org/odata/ns/edmx\"><edmx:DataServices>"
+            + "<Schema Namespace=\"Benchmark\" xmlns=\"http://docs.oasis-open.org/odata/ns/edm\">"
+            + "<EntityContainer Name=\"EntityContainer\"><EntitySet Name=\"People\" EntityType=\"Benchmark.People\"/>"
+            + "</EntityContainer><EntityType Name=\"People\"><Key><PropertyRef Name=\"ID\"/></Key>"
+            + "<Property Name=\"ID\" Type=\"Edm.String\" Nullable=\"false\"/>"
+            + "<Property Name=\"name\" Type=\"Edm.String\"/>"
+            + "<Property Name=\"age\" Type=\"Edm.Int32\"/></EntityType></Schema></edmx:DataServices></edmx:Edmx>";
+
+    private static final String FILTER = "age ge 18 and age lt 65 and name ne 'Name 42'";
+
+    @Param({ "10000", "100000" })
+    public int size;
+
+    private Expression expression;
+
+    private List<Entity> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Edm edm = getBufferedOData().createServiceMetadata(new MetadataParser().referenceResolver(null)
+                .buildEdmProvider(new InputStreamReader(new ByteArrayInputStream(EDMX.getBytes(UTF_8)), UTF_8)),
+                Collections.emptyList()).getEdm();
+        expression = new Parser(edm, getBufferedOData()).parseUri("People", "$filter=" + FILTER, null, null)
+                .getFilterOption().getExpression();
+
+        entities = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            entities.add(new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, "ID" + index))
+                    .addProperty(new Property(null, "name", ValueType.PRIMITIVE, "Name " + index))
+                    .addProperty(new Property(null, "age", ValueType.PRIMITIVE, index % 100)));
+        }
+    }
+
+    @Benchmark
+    public List<Entity> visitor() throws ExpressionVisitException, ODataApplicationException {
+        List<Entity> result = new ArrayList<>();
+        for (Entity entity : entities) {
+            if (Boolean.TRUE.equals(expression.accept(new FilterExpressionVisitor(null, entity)).getValue())) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Entity> compiled() throws ExpressionVisitException, ODataApplicationException {
+        CompiledFilter filter = CompiledFilter.compile(null, expression);
+        List<Entity> result = new ArrayList<>();
+        for (Entity entity : entities) {
+            if (filter.matches(entity)) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
@@ -10,11 +10,13 @@ import static java.lang.System.setProperty;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
@@ -36,9 +38,11 @@ import io.neonbee.hook.HookType;
 import io.neonbee.hook.internal.DefaultHookRegistry;
 import io.neonbee.internal.SharedDataAccessor;
 import io.neonbee.internal.codec.DataQueryMessageCodec;
+import io.neonbee.internal.codec.EntityWrapperBinaryMessageCodec;
 import io.neonbee.internal.codec.EntityWrapperMessageCodec;
 import io.neonbee.internal.codec.ImmutableJsonArrayMessageCodec;
 import io.neonbee.internal.codec.ImmutableJsonObjectMessageCodec;
+import io.neonbee.internal.codec.LocalOnlyMessageCodec;
 import io.neonbee.internal.deploy.Deployable;
 import io.neonbee.internal.deploy.Deployment;
 import io.neonbee.internal.helper.AsyncHelper;
@@ -152,6 +156,8 @@ public class NeonBee {
 
     private final Set<String> localConsumers = new ConcurrentHashSet<>();
 
+    private TrackingDataHandlingStrategy trackingDataHandlingStrategy;
+
     @VisibleForTesting
     static Future<Vertx> initVertx(NeonBeeOptions options) {
         VertxOptions vertxOptions = new VertxOptions().setEventLoopPoolSize(options.getEventLoopPoolSize())
@@ -298,17 +304,30 @@ public class NeonBee {
 
     @VisibleForTesting
     static Void decorateEventBus(NeonBee neonBee) {
+        NeonBeeConfig config = neonBee.getConfig();
+        double samplingRate = config.getTrackingSamplingRate();
+        if (samplingRate <= 0) {
+            // tracking is switched off, do not even intercept the messages
+            return null;
+        }
+
+        Path trackingDataFile = Optional.ofNullable(config.getTrackingDataFile()).map(Path::of).orElse(null);
         TrackingDataHandlingStrategy strategy;
         try {
-            strategy = (TrackingDataHandlingStrategy) Class
-                    .forName(neonBee.getConfig().getTrackingDataHandlingStrategy()).getConstructor().newInstance();
+            strategy = TrackingDataLoggingStrategy.class.getName().equals(config.getTrackingDataHandlingStrategy())
+                    ? new TrackingDataLoggingStrategy(trackingDataFile)
+                    : (TrackingDataHandlingStrategy) Class.forName(config.getTrackingDataHandlingStrategy())
+                            .getConstructor().newInstance();
         } catch (Exception e) {
             logger.warn("Failed to load configured tracking handling strategy {}. Use default.",
-                    neonBee.getConfig().getTrackingDataHandlingStrategy(), e);
-            strategy = new TrackingDataLoggingStrategy();
+                    config.getTrackingDataHandlingStrategy(), e);
+            strategy = new TrackingDataLoggingStrategy(trackingDataFile);
         }
-        neonBee.getVertx().eventBus().addInboundInterceptor(new TrackingInterceptor(MessageDirection.INBOUND, strategy))
-                .addOutboundInterceptor(new TrackingInterceptor(MessageDirection.OUTBOUND, strategy));
+        // the strategy is closed when NeonBee shuts down, e.g. to write the tracking data buffered so far
+        neonBee.trackingDataHandlingStrategy = strategy;
+        neonBee.getVertx().eventBus()
+                .addInboundInterceptor(new TrackingInterceptor(MessageDirection.INBOUND, strategy, samplingRate))
+                .addOutboundInterceptor(new TrackingInterceptor(MessageDirection.OUTBOUND, strategy, samplingRate));
 
         return null;
     }
@@ -323,7 +342,9 @@ public class NeonBee {
         vertx.eventBus().registerDefaultCodec(DataQuery.class, new DataQueryMessageCodec())
                 .registerDefaultCodec(EntityWrapper.class, new EntityWrapperMessageCodec(vertx))
                 .registerDefaultCodec(ImmutableJsonArray.class, new ImmutableJsonArrayMessageCodec())
-                .registerDefaultCodec(ImmutableJsonObject.class, new ImmutableJsonObjectMessageCodec());
+                .registerDefaultCodec(ImmutableJsonObject.class, new ImmutableJsonObjectMessageCodec())
+                .registerCodec(new EntityWrapperBinaryMessageCodec(vertx))
+                .registerCodec(new LocalOnlyMessageCodec());
 
         // add any additional default codecs (configured in NeonBeeOptions) here
         getConfig().getEventBusCodecs().forEach(this::registerCodec);
@@ -487,7 +508,7 @@ public class NeonBee {
                                         future -> logger.error("Shutdown hook execution failed", future.cause())); // NOPMD
                             }
                             NEONBEE_INSTANCES.remove(vertx);
-                            return succeededFuture();
+                            return closeTrackingDataHandlingStrategy();
                         }).mapEmpty());
             });
         } catch (Exception e) {
@@ -495,6 +516,23 @@ public class NeonBee {
         }
     }
 
+    private Future<Void> closeTrackingDataHandlingStrategy() {
+        if (!(trackingDataHandlingStrategy instanceof AutoCloseable)) {
+            return succeededFuture();
+        }
+
+        // closing the strategy may block, e.g. to wait until all tracking data was written
+        AutoCloseable closeable = (AutoCloseable) trackingDataHandlingStrategy;
+        return AsyncHelper.executeBlocking(vertx, promise -> {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close tracking data handling strategy", e);
+            }
+            promise.complete();
+        });
+    }
+
     /**
      * Returns the underlying Vert.x instance of NeonBee.
      *
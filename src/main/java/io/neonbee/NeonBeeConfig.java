@@ -21,6 +21,11 @@ public class NeonBeeConfig {
      */
     public static final int DEFAULT_EVENT_BUS_TIMEOUT = 30;
 
+    /**
+     * The default share of requests to track.
+     */
+    public static final double DEFAULT_TRACKING_SAMPLING_RATE = 1.0;
+
     @VisibleForTesting
     static final String PLATFORM_CLASSES_KEY = "platformClasses";
 
@@ -34,6 +39,10 @@ public class NeonBeeConfig {
 
     private final String trackingDataHandlingStrategy;
 
+    private final double trackingSamplingRate;
+
+    private final String trackingDataFile;
+
     private final Map<String, String> eventBusCodecs;
 
     /**
@@ -57,6 +66,8 @@ public class NeonBeeConfig {
                 .collect(Collectors.toMap(Map.Entry::getKey, entry -> (String) entry.getValue()));
         this.trackingDataHandlingStrategy =
                 json.getString("trackingDataHandlingStrategy", DEFAULT_TRACKING_DATA_HANDLING_STRATEGY);
+        this.trackingSamplingRate = json.getDouble("trackingSamplingRate", DEFAULT_TRACKING_SAMPLING_RATE);
+        this.trackingDataFile = json.getString("trackingDataFile");
         this.platformClasses = Optional.ofNullable(json.getJsonArray(PLATFORM_CLASSES_KEY))
                 .map(jsonArray -> jsonArray.stream().map(o -> {
                     if (o instanceof String) {
@@ -105,6 +116,27 @@ public class NeonBeeConfig {
         return trackingDataHandlingStrategy;
     }
 
+    /**
+     * Returns the share of requests to track, between 0 and 1.
+     * <p>
+     * The messages of a request are either all tracked or not at all, based on the correlation ID of the request. With
+     * a sampling rate of 0, tracking is switched off and no messages are intercepted at all.
+     *
+     * @return the sampling rate
+     */
+    public double getTrackingSamplingRate() {
+        return trackingSamplingRate;
+    }
+
+    /**
+     * Returns the file the default tracking data handling strategy writes the tracking data to as JSON lines.
+     *
+     * @return the path of the file, or null in case the tracking data is logged to a log appender
+     */
+    public String getTrackingDataFile() {
+        return trackingDataFile;
+    }
+
     /**
      * The idea of this method is to define, which classes are considered as platform classes. This is important to know
      * to avoid potential class loading issues during the load of a NeonBee Module. Because generally a class which is
@@ -0,0 +1,351 @@
+package io.neonbee.data;
+
+import static io.neonbee.data.DataException.FAILURE_CODE_LIMIT_EXCEEDED;
+import static io.neonbee.data.DataException.FAILURE_CODE_TIMEOUT;
+import static io.vertx.core.Future.failedFuture;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+/**
+ * An opt-in limit for the number of requests a data verticle processes concurrently (bulkhead), configured using the
+ * <code>limit</code> object of the verticle config:
+ * <p>
+ * <code>
+ * {
+ *   limit: { // enables the concurrency limit of the data verticle, if present
+ *     maxConcurrency: number, // the maximum number of requests processed concurrently, defaults to 100
+ *     maxQueue: number, // the maximum number of requests waiting to be processed, defaults to 0
+ *     maxQueueTime: number, // the maximum number of milliseconds a request waits to be processed, defaults to 1000
+ *     adaptive: boolean, // adapt the limit to the observed latency, defaults to false
+ *     minConcurrency: number, // the minimum limit, in case the limit is adaptive, defaults to 1
+ *     tolerance: number // the latency (relative to the minimum latency) considered an overload, defaults to 2.0
+ *   }
+ * }
+ * </code>
+ * <p>
+ * The limit applies to all instances of a data verticle deployed to one Vert.x instance. Requests exceeding the limit
+ * are queued, until the queue is full, and then rejected immediately with
+ * {@link DataException#FAILURE_CODE_LIMIT_EXCEEDED}, instead of piling up until the requests time out. Queued requests
+ * not processed within the maximum queue time are rejected the same way.
+ * <p>
+ * An adaptive limit starts at the maximum concurrency and follows an AIMD (additive increase, multiplicative decrease)
+ * scheme: Whenever a request takes longer than the tolerated multiple of the minimum latency observed, or times out,
+ * the limit is decreased by ten percent, otherwise it is increased by one while at least half of it is used. The
+ * minimum latency is measured again periodically, so that the limit follows lasting changes of the latency.
+ */
+final class ConcurrencyLimiter {
+    /**
+     * The name of the config object enabling the concurrency limit of a data verticle.
+     */
+    static final String CONFIG_LIMIT = "limit";
+
+    static final String CONFIG_MAX_CONCURRENCY = "maxConcurrency";
+
+    static final String CONFIG_MAX_QUEUE = "maxQueue";
+
+    static final String CONFIG_MAX_QUEUE_TIME = "maxQueueTime";
+
+    static final String CONFIG_ADAPTIVE = "adaptive";
+
+    static final String CONFIG_MIN_CONCURRENCY = "minConcurrency";
+
+    static final String CONFIG_TOLERANCE = "tolerance";
+
+    static final int DEFAULT_MAX_CONCURRENCY = 100;
+
+    static final int DEFAULT_MAX_QUEUE = 0;
+
+    static final long DEFAULT_MAX_QUEUE_TIME = 1000;
+
+    static final int DEFAULT_MIN_CONCURRENCY = 1;
+
+    static final double DEFAULT_TOLERANCE = 2.0;
+
+    static final String METER_NAME = "neonbee.data.limiter";
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    // the number of requests after which the minimum latency is measured again
+    private static final int SAMPLE_WINDOW = 1000;
+
+    private static final Map<Vertx, Map<String, ConcurrencyLimiter>> LIMITERS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Vertx vertx;
+
+    private final int maxConcurrency;
+
+    private final int minConcurrency;
+
+    private final int maxQueue;
+
+    private final long maxQueueNanos;
+
+    private final boolean adaptive;
+
+    private final double tolerance;
+
+    private final Ticker ticker;
+
+    private final Deque<QueuedRequest> queue = new ArrayDeque<>();
+
+    private final Counter rejections;
+
+    private double limit;
+
+    private int inFlight;
+
+    private long minLatency = Long.MAX_VALUE;
+
+    private long sampleMinLatency = Long.MAX_VALUE;
+
+    private int samples;
+
+    /**
+     * Create a new concurrency limiter.
+     *
+     * @param vertx          the Vert.x instance used to reject requests exceeding the maximum queue time, or null to
+     *                       reject those requests only once they would be dequeued
+     * @param qualifiedName  the qualified name of the data verticle, used to tag the metrics of the limiter
+     * @param maxConcurrency the maximum number of requests processed concurrently
+     * @param maxQueue       the maximum number of requests waiting to be processed
+     * @param maxQueueTime   the maximum number of milliseconds a request waits to be processed
+     * @param adaptive       whether the limit adapts to the observed latency
+     * @param minConcurrency the minimum limit, in case the limit is adaptive
+     * @param tolerance      the latency relative to the minimum latency, considered an overload
+     * @param ticker         the ticker used to measure the latency of requests
+     */
+    @VisibleForTesting
+    ConcurrencyLimiter(Vertx vertx, String qualifiedName, int maxConcurrency, int maxQueue, long maxQueueTime,
+            boolean adaptive, int minConcurrency, double tolerance, Ticker ticker) {
+        this.vertx = vertx;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.minConcurrency = Math.max(1, Math.min(minConcurrency, this.maxConcurrency));
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, maxQueueTime));
+        this.adaptive = adaptive;
+        this.tolerance = tolerance;
+        this.ticker = ticker;
+        this.limit = this.maxConcurrency;
+
+        MeterRegistry registry = BackendRegistries.getDefaultNow();
+        if (registry != null) {
+            Gauge.builder(METER_NAME + ".limit", this, ConcurrencyLimiter::getLimit).tag("verticle", qualifiedName)
+                    .register(registry);
+            Gauge.builder(METER_NAME + ".inflight", this, ConcurrencyLimiter::getInFlight)
+                    .tag("verticle", qualifiedName).register(registry);
+            Gauge.builder(METER_NAME + ".queued", this, ConcurrencyLimiter::getQueued).tag("verticle", qualifiedName)
+                    .register(registry);
+            rejections = Counter.builder(METER_NAME + ".rejected").tag("verticle", qualifiedName).register(registry);
+        } else {
+            // in case metrics are disabled, there is no registry to report to
+            rejections = null;
+        }
+    }
+
+    /**
+     * Returns the concurrency limiter of a data verticle, based on the config of the data verticle.
+     *
+     * @param vertx         the Vert.x instance
+     * @param config        the config of the data verticle
+     * @param qualifiedName the qualified name of the data verticle
+     * @return the concurrency limiter shared by all instances of the data verticle, or null in case the config does not
+     *         enable the concurrency limit
+     */
+    static ConcurrencyLimiter create(Vertx vertx, JsonObject config, String qualifiedName) {
+        JsonObject limitConfig = Optional.ofNullable(config).map(c -> c.getJsonObject(CONFIG_LIMIT)).orElse(null);
+        if (limitConfig == null) {
+            return null;
+        }
+
+        return LIMITERS.computeIfAbsent(vertx, v -> new ConcurrentHashMap<>()).computeIfAbsent(qualifiedName,
+                name -> new ConcurrencyLimiter(vertx, name,
+                        limitConfig.getInteger(CONFIG_MAX_CONCURRENCY, DEFAULT_MAX_CONCURRENCY),
+                        limitConfig.getInteger(CONFIG_MAX_QUEUE, DEFAULT_MAX_QUEUE),
+                        limitConfig.getLong(CONFIG_MAX_QUEUE_TIME, DEFAULT_MAX_QUEUE_TIME),
+                        limitConfig.getBoolean(CONFIG_ADAPTIVE, false),
+                        limitConfig.getInteger(CONFIG_MIN_CONCURRENCY, DEFAULT_MIN_CONCURRENCY),
+                        limitConfig.getDouble(CONFIG_TOLERANCE, DEFAULT_TOLERANCE), Ticker.systemTicker()));
+    }
+
+    /**
+     * Executes a request, as soon as the limit permits it.
+     *
+     * @param execute a supplier executing the request
+     * @param <U>     the type of the returned future
+     * @return a future to the result of the request, or a failed future in case the request was rejected
+     */
+    <U> Future<U> execute(Supplier<Future<U>> execute) {
+        Promise<U> promise = Promise.promise();
+        Runnable task = () -> run(execute, promise);
+        synchronized (this) {
+            if (inFlight >= (int) limit) {
+                if (queue.size() >= maxQueue) {
+                    return reject("Concurrency limit of " + (int) limit + " requests exceeded");
+                }
+
+                // queued requests are executed on the context they were received on, once the limit permits it
+                Context context = Vertx.currentContext();
+                QueuedRequest request = new QueuedRequest(
+                        context != null ? () -> context.runOnContext(nothing -> task.run()) : task, promise,
+                        ticker.read());
+                queue.add(request);
+                if (vertx != null) {
+                    request.timerId = vertx.setTimer(TimeUnit.NANOSECONDS.toMillis(maxQueueNanos),
+                            timerId -> expire(request));
+                }
+                return promise.future();
+            }
+            inFlight++;
+        }
+
+        task.run();
+        return promise.future();
+    }
+
+    private void expire(QueuedRequest request) {
+        synchronized (this) {
+            if (!queue.remove(request)) {
+                // the request was dequeued in the meantime
+                return;
+            }
+        }
+        request.promise.handle(rejectExpired());
+    }
+
+    private <U> Future<U> rejectExpired() {
+        return reject("Request waited longer than " + TimeUnit.NANOSECONDS.toMillis(maxQueueNanos)
+                + "ms for the concurrency limit");
+    }
+
+    private <U> Future<U> reject(String message) {
+        if (rejections != null) {
+            rejections.increment();
+        }
+        return failedFuture(new DataException(FAILURE_CODE_LIMIT_EXCEEDED, message));
+    }
+
+    private <U> void run(Supplier<Future<U>> execute, Promise<U> promise) {
+        long start = ticker.read();
+        Future<U> result;
+        try {
+            result = execute.get();
+        } catch (RuntimeException e) {
+            result = failedFuture(e);
+        }
+        result.onComplete(asyncResult -> {
+            release(ticker.read() - start, asyncResult);
+            promise.handle(asyncResult);
+        });
+    }
+
+    private void release(long latency, AsyncResult<?> asyncResult) {
+        List<QueuedRequest> next = new ArrayList<>();
+        List<QueuedRequest> expired = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (adaptive) {
+                adapt(latency, asyncResult.failed() && asyncResult.cause() instanceof DataException
+                        && ((DataException) asyncResult.cause()).failureCode() == FAILURE_CODE_TIMEOUT);
+            }
+            long now = ticker.read();
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                QueuedRequest request = queue.poll();
+                if (now - request.queued > maxQueueNanos) {
+                    // the timer of the request did not fire yet, or there is no timer at all
+                    expired.add(request);
+                } else {
+                    inFlight++;
+                    next.add(request);
+                }
+            }
+        }
+
+        for (QueuedRequest request : next) {
+            cancelTimer(request);
+            request.task.run();
+        }
+        for (QueuedRequest request : expired) {
+            cancelTimer(request);
+            request.promise.handle(rejectExpired());
+        }
+    }
+
+    private void cancelTimer(QueuedRequest request) {
+        if (vertx != null) {
+            vertx.cancelTimer(request.timerId);
+        }
+    }
+
+    private void adapt(long latency, boolean timedOut) {
+        sampleMinLatency = Math.min(sampleMinLatency, latency);
+        minLatency = Math.min(minLatency, latency);
+        if (++samples >= SAMPLE_WINDOW) {
+            // the latency of a data verticle may change lastingly, so forget about the minimum latency seen before
+            minLatency = sampleMinLatency;
+            sampleMinLatency = Long.MAX_VALUE;
+            samples = 0;
+        }
+
+        if (timedOut || latency > tolerance * minLatency) {
+            limit = Math.max(minConcurrency, limit * BACKOFF_RATIO);
+        } else if ((inFlight + 1) * 2 >= limit) {
+            limit = Math.min(maxConcurrency, limit + 1);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    @VisibleForTesting
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    @VisibleForTesting
+    synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private static final class QueuedRequest {
+        private final Runnable task;
+
+        private final Promise<?> promise;
+
+        private final long queued;
+
+        private long timerId;
+
+        QueuedRequest(Runnable task, Promise<?> promise, long queued) {
+            this.task = task;
+            this.promise = promise;
+            this.queued = queued;
+        }
+    }
+}
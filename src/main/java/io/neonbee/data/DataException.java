@@ -17,6 +17,8 @@ public class DataException extends RuntimeException {
 
     public static final int FAILURE_CODE_PROCESSING_FAILED = 1030;
 
+    public static final int FAILURE_CODE_LIMIT_EXCEEDED = 1040;
+
     private static final long serialVersionUID = 1L;
 
     private final int failureCode;
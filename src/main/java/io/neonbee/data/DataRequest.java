@@ -52,10 +52,20 @@ public class DataRequest {
          * Notes: Further optimizations possible, e.g. data requests which are only required by one certain verticle (so
          * it could not be optimized in the optimization step), could be directly done by the respective data verticle.
          * This would reduce the amount of data exchanged via the event bus.
+         * <p>
+         * Currently only data verticles with a consumer in the same NeonBee instance are planned, as the messages to
+         * plan the resolution are passed by reference. Read requests to the same verticle or entity with an equal query
+         * are requested only once. Data requests to any other data verticle, to entity verticles or to data sources /
+         * sinks, are sent as for any other request.
          */
         OPTIMIZED
     }
 
+    /**
+     * The default delay before the first retry of a read request, in ms.
+     */
+    public static final long DEFAULT_RETRY_DELAY = 100;
+
     private DataSource<?> dataSource;
 
     private DataSink<?> dataSink;
@@ -74,6 +84,18 @@ public class DataRequest {
 
     private boolean localPreferred = true;
 
+    private boolean coalescing;
+
+    private String coalescingScope;
+
+    private long hedgeDelay = -1;
+
+    private double hedgePercentile = -1;
+
+    private int maxRetries;
+
+    private long retryDelay = DEFAULT_RETRY_DELAY;
+
     /**
      * Request data from a DataSource.
      *
@@ -282,6 +304,139 @@ public class DataRequest {
         return this;
     }
 
+    /**
+     * Check if this request should be coalesced with other equal read requests currently in flight.
+     *
+     * @return true if the request is coalesced, otherwise false.
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Set if this request should be coalesced with other equal read requests currently in flight. In case a read
+     * request to the same data verticle, with an equal query and user principal was already sent from this NeonBee
+     * instance and no reply was received yet, no further message is sent via the event bus. Instead the request
+     * completes with the result of the request already in flight. Only read requests to data verticles are coalesced.
+     *
+     * @param coalescing the coalescing to set
+     * @return this DataRequest for chaining
+     */
+    public DataRequest setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+        return this;
+    }
+
+    /**
+     * Get the scope in which this request is coalesced with other requests.
+     *
+     * @return the scope, or null in case the request is coalesced with any other request not having a scope either
+     */
+    public String getCoalescingScope() {
+        return coalescingScope;
+    }
+
+    /**
+     * Set the scope in which this request is coalesced with other requests, e.g. the ID of a batch request to only
+     * coalesce the equal reads of the parts of the same batch request. Requests are only coalesced with other requests
+     * of the same scope.
+     *
+     * @param coalescingScope the scope to coalesce requests in
+     * @return this DataRequest for chaining
+     */
+    public DataRequest setCoalescingScope(String coalescingScope) {
+        this.coalescingScope = coalescingScope;
+        return this;
+    }
+
+    /**
+     * Get the delay after which a read request is hedged.
+     *
+     * @return the delay in ms, or a value smaller than 1 in case the request is not hedged after a fixed delay
+     */
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Set the delay after which a read request is hedged. In case no reply was received within the delay, a second
+     * (hedged) request is sent via the event bus, which may be received by another consumer of the data verticle. The
+     * request completes with whichever reply is received first. Only read requests to data verticles are hedged, as
+     * reading data is idempotent. For values smaller than 1, the request is not hedged after a fixed delay.
+     *
+     * @param hedgeDelay the delay in ms
+     * @return this DataRequest for chaining
+     */
+    public DataRequest setHedgeDelay(long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+        return this;
+    }
+
+    /**
+     * Get the latency percentile after which a read request is hedged.
+     *
+     * @return the percentile between 0 and 1, or a value smaller than 0 in case the request is not hedged based on the
+     *         latency observed
+     */
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * Set the latency percentile after which a read request is hedged. The delay, after which a hedged request is
+     * sent, is determined by the percentile of the latencies of the recent requests to the same data verticle (e.g.
+     * 0.95 to hedge the slowest five percent of the requests). As long as too few requests were observed, the
+     * {@link #setHedgeDelay(long) hedge delay} applies.
+     *
+     * @param hedgePercentile the percentile between 0 and 1
+     * @return this DataRequest for chaining
+     */
+    public DataRequest setHedgePercentile(double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of times a read request is retried.
+     *
+     * @return the maximum number of retries
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Set the maximum number of times a read request is retried, in case no consumer of the data verticle was available
+     * or no reply was received within the send timeout. Only read requests to data verticles are retried.
+     *
+     * @param maxRetries the maximum number of retries
+     * @return this DataRequest for chaining
+     */
+    public DataRequest setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Get the delay before the first retry of a read request.
+     *
+     * @return the delay in ms
+     */
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Set the delay before the first retry of a read request. The delay is doubled for every further retry.
+     *
+     * @param retryDelay the delay in ms
+     * @return this DataRequest for chaining
+     */
+    public DataRequest setRetryDelay(long retryDelay) {
+        this.retryDelay = retryDelay;
+        return this;
+    }
+
     @Override
     public String toString() {
         return Optional.ofNullable(dataSource).map(Object::getClass).map(Class::getName)
@@ -0,0 +1,293 @@
+package io.neonbee.data;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.neonbee.logging.LoggingFacade;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+/**
+ * Routes requests to data verticles to the node of the cluster expected to reply fastest.
+ * <p>
+ * By default, the event bus distributes requests round-robin between all consumers of an address, regardless of how
+ * loaded or slow they are. In a cluster, every data verticle therefore additionally consumes a node specific address
+ * and names its node in the {@link #NODE_HEADER} of any reply. From the replies the router learns which nodes serve a
+ * data verticle, their latency (as an exponentially weighted moving average) and the number of requests outstanding.
+ * Each request is sent to the node with the lowest expected latency, which is the average latency weighted by the
+ * number of outstanding requests. The local node competes like any other node, so that requests fall back to the local
+ * node, when remote nodes degrade. Nodes which repeatedly time out are excluded for a while and nodes without a
+ * consumer are forgotten. To discover new nodes, a small share of the requests is still distributed round-robin.
+ */
+final class DataRouter {
+    /**
+     * The header of the reply to a data request, containing the ID of the node which replied.
+     */
+    static final String NODE_HEADER = "node";
+
+    static final String METER_NAME = "neonbee.data.routing";
+
+    /**
+     * The weight of the latest latency in the moving average.
+     */
+    static final double DECAY = 0.2;
+
+    /**
+     * The number of consecutive timeouts after which a node is excluded.
+     */
+    static final int FAILURE_THRESHOLD = 3;
+
+    static final long EXCLUSION_MILLIS = 30_000;
+
+    /**
+     * Every n-th request is distributed round-robin, to discover further nodes.
+     */
+    static final int DISCOVERY_INTERVAL = 16;
+
+    private static final LoggingFacade LOGGER = LoggingFacade.create();
+
+    private static final String NODE_SEPARATOR = "@";
+
+    private static final Map<Vertx, DataRouter> ROUTERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Vertx vertx;
+
+    private final Ticker ticker;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @VisibleForTesting
+    final Map<String, Map<String, Node>> nodes = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final MeterRegistry registry = BackendRegistries.getDefaultNow();
+
+    @VisibleForTesting
+    DataRouter(Vertx vertx, Ticker ticker) {
+        this.vertx = vertx;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the router of a given Vert.x instance.
+     *
+     * @param vertx the Vert.x instance
+     * @return the router
+     */
+    static DataRouter get(Vertx vertx) {
+        return ROUTERS.computeIfAbsent(vertx, v -> new DataRouter(v, Ticker.systemTicker()));
+    }
+
+    /**
+     * Checks whether requests should be routed, which is only the case in a cluster.
+     *
+     * @param vertx the Vert.x instance
+     * @return true, in case requests should be routed
+     */
+    static boolean isEnabled(Vertx vertx) {
+        return vertx.isClustered();
+    }
+
+    /**
+     * Returns the node specific address of a data verticle.
+     *
+     * @param address the address of the data verticle
+     * @param nodeId  the ID of the node
+     * @return the address of the data verticle on the given node
+     */
+    static String nodeAddress(String address, String nodeId) {
+        return address + NODE_SEPARATOR + nodeId;
+    }
+
+    /**
+     * Returns the ID of this node.
+     *
+     * @return the ID of this node
+     */
+    String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Sends a request to the node of a data verticle expected to reply fastest.
+     *
+     * @param address        the address of the data verticle
+     * @param message        the message to send
+     * @param options        the delivery options of the message
+     * @param localAvailable whether a consumer of the data verticle is available on this node
+     * @param replyHandler   the handler of the reply
+     * @param <U>            the type of the reply
+     */
+    <U> void request(String address, Object message, DeliveryOptions options, boolean localAvailable,
+            Handler<AsyncResult<Message<U>>> replyHandler) {
+        String node = select(address, localAvailable);
+        if (node == null) {
+            long start = ticker.read();
+            vertx.eventBus().<U>request(address, message, options, asyncReply -> {
+                if (asyncReply.succeeded()) {
+                    // learn about the node which replied, in order to route further requests
+                    String replyNode = asyncReply.result().headers().get(NODE_HEADER);
+                    if (replyNode != null) {
+                        node(address, replyNode).replied(ticker.read() - start);
+                    }
+                }
+                replyHandler.handle(asyncReply);
+            });
+            return;
+        }
+
+        Node target = node(address, node);
+        target.sent();
+        long start = ticker.read();
+        vertx.eventBus().<U>request(nodeAddress(address, node), message, options, asyncReply -> {
+            target.received();
+            if (asyncReply.succeeded()) {
+                target.replied(ticker.read() - start);
+            } else if (asyncReply.cause() instanceof ReplyException) {
+                ReplyFailure failure = ((ReplyException) asyncReply.cause()).failureType();
+                if (failure == ReplyFailure.NO_HANDLERS) {
+                    // the data verticle is no longer deployed to the node, forget about it and send the request to any
+                    // other consumer instead
+                    forget(address, node);
+                    vertx.eventBus().request(address, message, options, replyHandler);
+                    return;
+                } else if (failure == ReplyFailure.TIMEOUT && target.timedOut(ticker.read() - start,
+                        ticker.read() + TimeUnit.MILLISECONDS.toNanos(EXCLUSION_MILLIS))) {
+                    LOGGER.warn("Excluding node {} from routing requests to {} for {} ms", node, address,
+                            EXCLUSION_MILLIS);
+                    increment(address, "excluded");
+                }
+            }
+            replyHandler.handle(asyncReply);
+        });
+    }
+
+    /**
+     * Selects the node of a data verticle expected to reply fastest.
+     *
+     * @param address        the address of the data verticle
+     * @param localAvailable whether a consumer of the data verticle is available on this node
+     * @return the ID of the node, or null in case the request should be distributed round-robin
+     */
+    @VisibleForTesting
+    String select(String address, boolean localAvailable) {
+        Map<String, Node> known = nodes.get(address);
+        if (known == null || requests.incrementAndGet() % DISCOVERY_INTERVAL == 0) {
+            return null;
+        }
+
+        if (localAvailable) {
+            // the local node is always a candidate, even if it did not reply yet
+            node(address, nodeId);
+        }
+
+        long now = ticker.read();
+        String best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (Map.Entry<String, Node> entry : known.entrySet()) {
+            if (!localAvailable && nodeId.equals(entry.getKey())) {
+                continue;
+            }
+
+            double score = entry.getValue().score(now);
+            if (score < bestScore) {
+                best = entry.getKey();
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private Node node(String address, String node) {
+        return nodes.computeIfAbsent(address, a -> new ConcurrentHashMap<>()).computeIfAbsent(node, n -> new Node());
+    }
+
+    private void forget(String address, String node) {
+        Map<String, Node> known = nodes.get(address);
+        if (known != null) {
+            known.remove(node);
+        }
+        increment(address, "forgotten");
+    }
+
+    private void increment(String address, String event) {
+        // in case metrics are disabled, there is no registry to report the counters to
+        if (registry != null) {
+            Counter.builder(METER_NAME).tag("address", address).tag("event", event).register(registry).increment();
+        }
+    }
+
+    /**
+     * The latency and load of one node serving a data verticle.
+     */
+    @VisibleForTesting
+    static final class Node {
+        private double latency = -1;
+
+        private int outstanding;
+
+        private int timeouts;
+
+        private long excludedUntil = Long.MIN_VALUE;
+
+        synchronized void sent() {
+            outstanding++;
+        }
+
+        synchronized void received() {
+            outstanding = Math.max(0, outstanding - 1);
+        }
+
+        synchronized void replied(long latency) {
+            record(latency);
+            timeouts = 0;
+        }
+
+        /**
+         * Records a timeout of a request to the node.
+         *
+         * @param latency the time waited for the reply
+         * @param until   the time until which the node is excluded, if it timed out too often
+         * @return true, in case the node is excluded from now on
+         */
+        synchronized boolean timedOut(long latency, long until) {
+            // unlike a reply, a timeout must not reset the number of consecutive timeouts
+            record(latency);
+            if (++timeouts >= FAILURE_THRESHOLD) {
+                timeouts = 0;
+                excludedUntil = until;
+                return true;
+            }
+            return false;
+        }
+
+        private void record(long latency) {
+            this.latency = this.latency < 0 ? latency : DECAY * latency + (1 - DECAY) * this.latency;
+        }
+
+        synchronized double score(long now) {
+            if (now < excludedUntil) {
+                return Double.MAX_VALUE;
+            }
+            // nodes which did not reply yet are tried first, any outstanding request increases the expected latency
+            return (Math.max(0, latency) + 1) * (outstanding + 1);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package io.neonbee.data;
+
+import static io.neonbee.data.DataException.FAILURE_CODE_PROCESSING_FAILED;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import io.neonbee.logging.LoggingFacade;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Transfers a result of a data verticle, which is a {@link ReadStream} of buffers, in chunks via the event bus.
+ * <p>
+ * Instead of replying with the whole result in one message, the data verticle opens the stream on a unique event bus
+ * address and replies with this address in the {@link #STREAM_HEADER}. The requester reads the stream, by requesting
+ * one chunk after another from the address, so that the data verticle reads the next chunks of its result only, when
+ * the requester is ready to handle them (flow control). The end of the stream is signaled by an empty reply with the
+ * {@link #END_HEADER}. Streams not read by the requester within the event bus timeout are closed.
+ */
+final class DataStream {
+    /**
+     * The header of the reply to a data request, containing the address of a streamed result.
+     */
+    static final String STREAM_HEADER = "stream";
+
+    static final String END_HEADER = "end";
+
+    static final String CLOSE_HEADER = "close";
+
+    /**
+     * The number of chunks requested ahead, before the requester handles them, to hide the latency of the event bus.
+     */
+    static final int WINDOW = 4;
+
+    private static final LoggingFacade LOGGER = LoggingFacade.create();
+
+    private DataStream() {}
+
+    /**
+     * Opens a stream of buffers on a new event bus address. The stream is paused, until the chunks are requested.
+     *
+     * @param vertx   the Vert.x instance
+     * @param source  the stream of buffers to transfer
+     * @param timeout the number of milliseconds after which the stream is closed, if no chunk was requested
+     * @return the event bus address to request the chunks of the stream from
+     */
+    static String open(Vertx vertx, ReadStream<Buffer> source, long timeout) {
+        return open(vertx, source, timeout, null);
+    }
+
+    /**
+     * Opens a stream of buffers on a new event bus address, see {@link #open(Vertx, ReadStream, long)}. The given close
+     * handler is called once, as soon as the source ended or failed, or the stream was closed, because it was not read
+     * in time or closed by the requester.
+     *
+     * @param vertx        the Vert.x instance
+     * @param source       the stream of buffers to transfer
+     * @param timeout      the number of milliseconds after which the stream is closed, if no chunk was requested
+     * @param closeHandler the handler called when the stream was closed, may be null
+     * @return the event bus address to request the chunks of the stream from
+     */
+    static String open(Vertx vertx, ReadStream<Buffer> source, long timeout, Handler<Void> closeHandler) {
+        String address = String.format("%s[%s]", DataStream.class.getSimpleName(), UUID.randomUUID());
+        new Sender(vertx, source, address, timeout, closeHandler);
+        return address;
+    }
+
+    /**
+     * Returns a stream of buffers reading the chunks of a stream opened on a given event bus address.
+     *
+     * @param vertx   the Vert.x instance
+     * @param address the event bus address of the stream
+     * @param timeout the number of milliseconds to wait for each chunk
+     * @return the stream of buffers
+     */
+    static ReadStream<Buffer> receive(Vertx vertx, String address, long timeout) {
+        return new Receiver(vertx, address, timeout);
+    }
+
+    private static DeliveryOptions endOptions() {
+        return new DeliveryOptions().addHeader(END_HEADER, Boolean.TRUE.toString());
+    }
+
+    /**
+     * Replies with one chunk of the stream per request received. Multiple requests may be pending at once, so they are
+     * replied in order of their arrival.
+     */
+    private static final class Sender {
+        private final Vertx vertx;
+
+        private final ReadStream<Buffer> source;
+
+        private final String address;
+
+        private final long timeout;
+
+        private final MessageConsumer<Object> consumer;
+
+        private final Deque<Message<Object>> pending = new ArrayDeque<>();
+
+        // only in case the source does not respect the demand, chunks have to be buffered
+        private final Deque<Buffer> chunks = new ArrayDeque<>();
+
+        private boolean ended;
+
+        private Throwable failure;
+
+        private long timerId = -1;
+
+        // only called once, so the close handler is dropped after it was called
+        private Handler<Void> closeHandler;
+
+        Sender(Vertx vertx, ReadStream<Buffer> source, String address, long timeout, Handler<Void> closeHandler) {
+            this.vertx = vertx;
+            this.source = source;
+            this.address = address;
+            this.timeout = timeout;
+            this.closeHandler = closeHandler;
+
+            source.pause();
+            source.handler(this::handleChunk).endHandler(nothing -> handleEnd()).exceptionHandler(this::handleFailure);
+            consumer = vertx.eventBus().consumer(address, this::handleRequest);
+            resetTimer();
+        }
+
+        private void handleRequest(Message<Object> request) {
+            if (request.headers().contains(CLOSE_HEADER)) {
+                close();
+                return;
+            }
+
+            resetTimer();
+            if (!chunks.isEmpty()) {
+                request.reply(chunks.poll());
+            } else if (failure != null) {
+                request.fail(FAILURE_CODE_PROCESSING_FAILED, failure.getMessage());
+            } else if (ended) {
+                request.reply(null, endOptions());
+            } else {
+                pending.add(request);
+                source.fetch(1);
+            }
+        }
+
+        private void handleChunk(Buffer chunk) {
+            Message<Object> request = pending.poll();
+            if (request != null) {
+                request.reply(chunk);
+            } else {
+                chunks.add(chunk);
+            }
+        }
+
+        private void handleEnd() {
+            ended = true;
+            for (Message<Object> request = pending.poll(); request != null; request = pending.poll()) {
+                request.reply(null, endOptions());
+            }
+            // the source is not read any further, even though the chunks buffered might not have been requested yet
+            notifyClosed();
+        }
+
+        private void handleFailure(Throwable cause) {
+            LOGGER.warn("Streaming the result via {} failed", address, cause);
+            failure = cause;
+            for (Message<Object> request = pending.poll(); request != null; request = pending.poll()) {
+                request.fail(FAILURE_CODE_PROCESSING_FAILED, cause.getMessage());
+            }
+            notifyClosed();
+        }
+
+        private void resetTimer() {
+            vertx.cancelTimer(timerId);
+            timerId = vertx.setTimer(timeout, id -> {
+                if (!ended && failure == null) {
+                    LOGGER.warn("Closing the stream at {}, as it was not read in time", address);
+                }
+                close();
+            });
+        }
+
+        private void close() {
+            vertx.cancelTimer(timerId);
+            consumer.unregister();
+            notifyClosed();
+        }
+
+        private void notifyClosed() {
+            if (closeHandler != null) {
+                Handler<Void> handler = closeHandler;
+                closeHandler = null;
+                handler.handle(null);
+            }
+        }
+    }
+
+    /**
+     * Requests the chunks of a stream, up to {@link #WINDOW} chunks ahead of the chunks handled. As the replies could
+     * arrive in a different order than requested, chunks are handled in order of their sequence numbers.
+     */
+    private static final class Receiver implements ReadStream<Buffer> {
+        private final Vertx vertx;
+
+        private final String address;
+
+        private final DeliveryOptions options;
+
+        private final Map<Long, Buffer> received = new HashMap<>();
+
+        private Handler<Buffer> handler;
+
+        private Handler<Void> endHandler;
+
+        private Handler<Throwable> exceptionHandler;
+
+        private long demand = Long.MAX_VALUE;
+
+        private long requested;
+
+        private long handled;
+
+        private long endSequence = -1;
+
+        private boolean closed;
+
+        Receiver(Vertx vertx, String address, long timeout) {
+            this.vertx = vertx;
+            this.address = address;
+            this.options = new DeliveryOptions().setSendTimeout(timeout);
+        }
+
+        @Override
+        public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+            this.handler = handler;
+            if (handler == null) {
+                // the requester lost interest in the stream, so close it
+                close();
+            } else {
+                drain();
+            }
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> exceptionHandler(Handler<Throwable> exceptionHandler) {
+            this.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            demand = 0;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            return fetch(Long.MAX_VALUE);
+        }
+
+        @Override
+        public ReadStream<Buffer> fetch(long amount) {
+            demand = Long.MAX_VALUE - demand > amount ? demand + amount : Long.MAX_VALUE;
+            drain();
+            return this;
+        }
+
+        private void drain() {
+            while (!closed && handler != null && demand > 0 && received.containsKey(handled)) {
+                Buffer chunk = received.remove(handled++);
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                handler.handle(chunk);
+            }
+
+            if (closed || handler == null) {
+                return;
+            } else if (handled == endSequence) {
+                close();
+                if (endHandler != null) {
+                    endHandler.handle(null);
+                }
+                return;
+            }
+
+            // request further chunks ahead, unless the end of the stream was reached already
+            while (endSequence < 0 && requested - handled < WINDOW) {
+                long sequence = requested++;
+                vertx.eventBus().<Buffer>request(address, null, options, reply -> handleReply(sequence, reply));
+            }
+        }
+
+        private void handleReply(long sequence, AsyncResult<Message<Buffer>> reply) {
+            if (closed || (endSequence >= 0 && sequence > endSequence)) {
+                return;
+            } else if (reply.failed()) {
+                close();
+                if (exceptionHandler != null) {
+                    Throwable cause = reply.cause();
+                    exceptionHandler.handle(cause instanceof ReplyException
+                            ? new DataException(((ReplyException) cause).failureCode(), cause.getMessage()) : cause);
+                }
+                return;
+            }
+
+            if (reply.result().headers().contains(END_HEADER)) {
+                endSequence = endSequence < 0 ? sequence : Math.min(endSequence, sequence);
+            } else {
+                received.put(sequence, reply.result().body());
+            }
+            drain();
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                received.clear();
+                vertx.eventBus().send(address, null, new DeliveryOptions().addHeader(CLOSE_HEADER,
+                        Boolean.TRUE.toString()));
+            }
+        }
+    }
+}
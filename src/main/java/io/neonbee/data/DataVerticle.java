@@ -6,7 +6,11 @@ import static io.neonbee.data.DataException.FAILURE_CODE_NO_HANDLERS;
 import static io.neonbee.data.DataException.FAILURE_CODE_PROCESSING_FAILED;
 import static io.neonbee.data.DataException.FAILURE_CODE_TIMEOUT;
 import static io.neonbee.data.DataException.FAILURE_CODE_UNKNOWN_STRATEGY;
+import static io.neonbee.data.DataRequest.ResolutionStrategy.OPTIMIZED;
 import static io.neonbee.data.DataRequest.ResolutionStrategy.RECURSIVE;
+import static io.neonbee.data.DataStream.STREAM_HEADER;
+import static io.neonbee.data.ResolutionPlan.Phase.REQUIRE;
+import static io.neonbee.data.ResolutionPlan.Phase.RETRIEVE;
 import static io.neonbee.data.internal.DataContextImpl.decodeContextFromString;
 import static io.neonbee.entity.EntityVerticle.requestEntity;
 import static io.neonbee.internal.Helper.EMPTY;
@@ -19,6 +23,7 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,20 +36,30 @@ import com.google.common.base.Strings;
 import io.neonbee.NeonBee;
 import io.neonbee.NeonBeeDeployable;
 import io.neonbee.data.DataRequest.ResolutionStrategy;
+import io.neonbee.data.ResolutionPlan.Phase;
+import io.neonbee.data.ResolutionPlan.PlannedQuery;
 import io.neonbee.data.internal.DataContextImpl;
+import io.neonbee.entity.EntityQueryPlan;
+import io.neonbee.entity.EntityWrapper;
 import io.neonbee.internal.Helper;
+import io.neonbee.internal.codec.EntityWrapperBinaryMessageCodec;
+import io.neonbee.internal.codec.LocalOnlyMessageCodec;
 import io.neonbee.logging.LoggingFacade;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageCodec;
 import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.streams.ReadStream;
 
 public abstract class DataVerticle<T> extends AbstractVerticle implements DataAdapter<T> {
     /**
@@ -54,6 +69,14 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
 
     static final String RESOLUTION_STRATEGY_HEADER = "resolutionStrategy";
 
+    static final String RESOLUTION_PHASE_HEADER = "resolutionPhase";
+
+    /**
+     * The name of the header, indicating that the sender of a message is able to decode entity wrappers using the
+     * {@link EntityWrapperBinaryMessageCodec}.
+     */
+    static final String ENTITY_CODEC_HEADER = "entityCodec";
+
     private static final LoggingFacade LOGGER = LoggingFacade.create();
 
     @SuppressWarnings("UnnecessaryLambda") // overridden in DummyVerticleHelper, as getNamespace is final
@@ -61,6 +84,10 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
             () -> Optional.ofNullable(this.getClass().getAnnotation(NeonBeeDeployable.class))
                     .map(NeonBeeDeployable::namespace).map(Strings::emptyToNull).map(String::toLowerCase).orElse(null);
 
+    private ResultCache resultCache;
+
+    private ConcurrencyLimiter concurrencyLimiter;
+
     /**
      * The name of this data verticle (must be unique in one cluster)
      * <p>
@@ -133,18 +160,43 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
     public void start(Promise<Void> promise) {
         Promise<Void> registerDataVerticlePromise = Promise.promise();
 
+        // the result cache is opt-in, by providing a cache config object in the config of the verticle
+        resultCache = ResultCache.create(config(), getQualifiedName());
+        // so is the concurrency limit, by providing a limit config object
+        concurrencyLimiter = ConcurrencyLimiter.create(vertx, config(), getQualifiedName());
+
         String address = getAddress();
         /*
          * Event bus inbound message handling.
          */
-        vertx.eventBus().<DataQuery>consumer(address, message -> {
+        Handler<Message<Object>> handler = message -> {
             ResolutionRoutine routine;
             MultiMap headers = message.headers();
+            Object body = message.body();
+            // when retrieving data of a planned (optimized) resolution, the query is sent along with the required data
+            DataQuery query = body instanceof PlannedQuery ? ((PlannedQuery) body).getQuery() : (DataQuery) body;
             try {
-                routine = message.body().getAction() == READ
-                        ? resolutionRoutineForStrategy(Optional.ofNullable(headers.get(RESOLUTION_STRATEGY_HEADER))
-                                .map(ResolutionStrategy::valueOf).orElse(RECURSIVE))
-                        : new ManipulationRoutine();
+                Phase phase =
+                        Optional.ofNullable(headers.get(RESOLUTION_PHASE_HEADER)).map(Phase::valueOf).orElse(null);
+                if (phase != null) {
+                    routine = resolutionRoutineForPhase(phase, body);
+                } else {
+                    routine = query.getAction() == READ
+                            ? resolutionRoutineForStrategy(Optional.ofNullable(headers.get(RESOLUTION_STRATEGY_HEADER))
+                                    .map(ResolutionStrategy::valueOf).orElse(RECURSIVE))
+                            : new ManipulationRoutine();
+                }
+                // requiring data of a plan only returns the data requests, retrieving the data of a plan is limited
+                // the same way as any other resolution, as it calls the same retrieve data method of the verticle
+                if (concurrencyLimiter != null && phase != REQUIRE) {
+                    routine = new LimitedRoutine(routine);
+                }
+                if (resultCache != null && phase != REQUIRE && query.getAction() == READ) {
+                    // the cache wraps the limit, so cached results are returned without acquiring a permit and
+                    // don't distort the latency observed by an adaptive limit. Data retrieved in a resolution plan is
+                    // cached by its query as well, as it equals the data retrieved by any other resolution strategy
+                    routine = new CachedRoutine(routine);
+                }
             } catch (IllegalArgumentException e) {
                 message.fail(FAILURE_CODE_UNKNOWN_STRATEGY, "Unknown data resolution strategy");
                 return;
@@ -162,10 +214,33 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
             }
 
             try {
-                routine.execute(message.body(), context).onComplete(asyncResult -> {
+                routine.execute(query, context).onComplete(asyncResult -> {
                     try {
                         if (asyncResult.succeeded()) {
-                            message.reply(asyncResult.result(), deliveryOptions(vertx, getMessageCodec(), context));
+                            Object result = asyncResult.result();
+                            Set<String> projection = EntityQueryPlan.getProjection(query);
+                            if (projection != null && result instanceof EntityWrapper) {
+                                // drop any properties the requester did not ask for, before the reply is encoded
+                                result = ((EntityWrapper) result).project(projection);
+                            }
+                            String codecName = routine.replyCodecName();
+                            if (codecName == null && result instanceof EntityWrapper
+                                    && EntityWrapperBinaryMessageCodec.NAME.equals(headers.get(ENTITY_CODEC_HEADER))) {
+                                // the requester is able to decode the more compact binary representation of entities
+                                codecName = EntityWrapperBinaryMessageCodec.NAME;
+                            }
+                            if (result instanceof ReadStream) {
+                                // streamed results are transferred in chunks, the reply only contains their address
+                                @SuppressWarnings("unchecked")
+                                ReadStream<Buffer> stream = (ReadStream<Buffer>) result;
+                                // a limited stream keeps its permit, until the stream ended, failed or was closed
+                                Handler<Void> closeHandler = stream instanceof LimitedStream
+                                        ? ((LimitedStream) stream)::close : null;
+                                message.reply(null, replyDeliveryOptions(vertx, null, context).addHeader(STREAM_HEADER,
+                                        DataStream.open(vertx, stream, eventBusTimeout(vertx), closeHandler)));
+                                return;
+                            }
+                            message.reply(result, replyDeliveryOptions(vertx, codecName, context));
 
                         } else {
                             Throwable cause = asyncResult.cause();
@@ -196,9 +271,19 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
                 LOGGER.correlateWith(context).error("Processing of message failed", e);
                 message.fail(e.failureCode(), e.getMessage());
             }
-        }).completionHandler(registerDataVerticlePromise);
+        };
+        vertx.eventBus().consumer(address, handler).completionHandler(registerDataVerticlePromise);
+
+        Future<Void> registerFuture = registerDataVerticlePromise.future();
+        if (DataRouter.isEnabled(vertx)) {
+            // in a cluster, also consume the node specific address, so that requests can be routed to this node
+            Promise<Void> registerNodePromise = Promise.promise();
+            vertx.eventBus().consumer(DataRouter.nodeAddress(address, DataRouter.get(vertx).getNodeId()), handler)
+                    .completionHandler(registerNodePromise);
+            registerFuture = CompositeFuture.all(registerFuture, registerNodePromise.future()).mapEmpty();
+        }
 
-        registerDataVerticlePromise.future().compose(v -> {
+        registerFuture.compose(v -> {
             try {
                 start();
                 NeonBee.instance(vertx).registerLocalConsumer(address);
@@ -235,6 +320,9 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
 
     /**
      * Retrieve the requested data in an asynchronous manner and returns a future to the data expected.
+     * <p>
+     * Large results may be returned as a {@link ReadStream} of buffers. Instead of replying with the whole result at
+     * once, the stream is transferred via the event bus in chunks, as fast as the requester is able to process them.
      *
      * @param query   The query describing the data requested
      * @param require A map of the results required via {@link #requireData(DataQuery, DataContext)}
@@ -288,33 +376,16 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
 
         String qualifiedName = request.getQualifiedName();
         if (qualifiedName != null) {
-            /*
-             * Event bus outbound message handling.
-             */
-            LOGGER.correlateWith(context).debug("Sending message via the event bus to {}", qualifiedName);
-            String address = getAddress(qualifiedName);
-            return Future.future(doneHandler -> {
-                vertx.eventBus().<U>request(address, request.getQuery(),
-                        requestDeliveryOptions(vertx, request, context, address), asyncReply -> {
-                            LOGGER.correlateWith(context).debug("Received event bus reply");
-
-                            if (asyncReply.succeeded()) {
-                                context.setData(Optional
-                                        .ofNullable(decodeContextFromString(
-                                                asyncReply.result().headers().get(CONTEXT_HEADER)))
-                                        .map(DataContext::data).orElse(null));
-                                doneHandler.complete(asyncReply.result().body());
-                            } else {
-                                Throwable cause = asyncReply.cause();
-                                if (LOGGER.isWarnEnabled()) {
-                                    LOGGER.correlateWith(context).warn("Failed to receive event bus reply from {}",
-                                            qualifiedName, cause);
-                                }
+            if (request.getQuery().getAction() != READ) {
+                return request(vertx, request, request.getQuery(), null, context, false);
+            }
 
-                                doneHandler.fail(mapException(cause));
-                            }
-                        });
-            });
+            // reading data is idempotent, so read requests may be hedged, retried and coalesced
+            Supplier<Future<U>> send = RequestHedger.isEnabled(request)
+                    ? () -> RequestHedger.get(vertx).request(request, context, (attemptContext,
+                            hedged) -> request(vertx, request, request.getQuery(), null, attemptContext, hedged))
+                    : () -> request(vertx, request, request.getQuery(), null, context, false);
+            return request.isCoalescing() ? RequestCoalescer.get(vertx).request(request, context, send) : send.get();
         }
 
         FullQualifiedName entityTypeName = request.getEntityTypeName();
@@ -325,6 +396,72 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
         return failedFuture(new IllegalArgumentException("Data request did not specify what data to request"));
     }
 
+    /**
+     * Requests data from a data verticle via the event bus.
+     *
+     * @param vertx   The Vertx instance
+     * @param request The DataRequest specifying the qualified name of the data verticle to request
+     * @param message The message to send, either the query of the request, or a planned query
+     * @param phase   The phase of a planned (optimized) resolution or null, in case the request is not planned
+     * @param context The {@link DataContext data context}
+     * @param hedged  true in case of a hedged request, which is not restricted to a local consumer
+     * @param <U>     The type of the returned future
+     * @return a future to the data requested
+     */
+    private static <U> Future<U> request(Vertx vertx, DataRequest request, Object message, Phase phase,
+            DataContext context, boolean hedged) {
+        /*
+         * Event bus outbound message handling.
+         */
+        String qualifiedName = request.getQualifiedName();
+        LOGGER.correlateWith(context).debug("Sending message via the event bus to {}", qualifiedName);
+        String address = getAddress(qualifiedName);
+        return Future.future(doneHandler -> {
+            DeliveryOptions deliveryOptions = requestDeliveryOptions(vertx, request, context, address, hedged);
+            if (phase != null) {
+                // planned requests may pass their messages by reference, thus they must never leave this instance
+                deliveryOptions.setLocalOnly(true).addHeader(RESOLUTION_PHASE_HEADER, phase.name());
+                if (message instanceof PlannedQuery) {
+                    deliveryOptions.setCodecName(LocalOnlyMessageCodec.NAME);
+                }
+            }
+
+            Handler<AsyncResult<Message<U>>> replyHandler = asyncReply -> {
+                LOGGER.correlateWith(context).debug("Received event bus reply");
+
+                if (asyncReply.succeeded()) {
+                    context.setData(Optional
+                            .ofNullable(decodeContextFromString(asyncReply.result().headers().get(CONTEXT_HEADER)))
+                            .map(DataContext::data).orElse(null));
+                    String streamAddress = asyncReply.result().headers().get(STREAM_HEADER);
+                    if (streamAddress != null) {
+                        @SuppressWarnings("unchecked")
+                        U stream = (U) DataStream.receive(vertx, streamAddress, eventBusTimeout(vertx));
+                        doneHandler.complete(stream);
+                        return;
+                    }
+                    doneHandler.complete(asyncReply.result().body());
+                } else {
+                    Throwable cause = asyncReply.cause();
+                    if (LOGGER.isWarnEnabled()) {
+                        LOGGER.correlateWith(context).warn("Failed to receive event bus reply from {}", qualifiedName,
+                                cause);
+                    }
+
+                    doneHandler.fail(mapException(cause));
+                }
+            };
+
+            if (phase == null && !hedged && !deliveryOptions.isLocalOnly() && DataRouter.isEnabled(vertx)) {
+                // hedged requests are distributed round-robin, to reach another consumer than the routed request
+                DataRouter.get(vertx).request(address, message, deliveryOptions,
+                        NeonBee.instance(vertx).isLocalConsumerAvailable(address), replyHandler);
+            } else {
+                vertx.eventBus().request(address, message, deliveryOptions, replyHandler);
+            }
+        });
+    }
+
     /**
      * Returns the qualified name (namespace if existing and name) of this verticle separated by a forward slash as a
      * namespace separator.
@@ -375,10 +512,11 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
      * @param request the data request
      * @param context the data context
      * @param address request address
+     * @param hedged  true in case of a hedged request
      * @return a new DeliveryOptions
      */
     private static DeliveryOptions requestDeliveryOptions(Vertx vertx, DataRequest request, DataContext context,
-            String address) {
+            String address, boolean hedged) {
         if (context instanceof DataContextImpl) { // will also perform a null check!
             // before encoding the context header, add the current qualified name of the verticle to the path stack
             ((DataContextImpl) context).pushVerticleToPath(request.getQualifiedName());
@@ -390,9 +528,15 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
         }
 
         // adapt further delivery options based on the request
-        boolean localOnly = request.isLocalOnly()
-                || (request.isLocalPreferred() && NeonBee.instance(vertx).isLocalConsumerAvailable(address));
+        // a hedged request should preferably reach another consumer, thus it is only sent locally if it has to be
+        boolean localOnly = request.isLocalOnly() || (!hedged && request.isLocalPreferred()
+                && NeonBee.instance(vertx).isLocalConsumerAvailable(address));
         deliveryOptions.setLocalOnly(localOnly);
+        if (!localOnly) {
+            // older versions of NeonBee ignore this header and reply using the default codec, which keeps the
+            // communication working in clusters with mixed versions of NeonBee
+            deliveryOptions.addHeader(ENTITY_CODEC_HEADER, EntityWrapperBinaryMessageCodec.NAME);
+        }
         if (request.getSendTimeout() > 0) {
             deliveryOptions.setSendTimeout(request.getSendTimeout());
         }
@@ -406,20 +550,40 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
     /**
      * Creates a new delivery options object for any given context.
      *
-     * @param vertx   the vertx instance
-     * @param codec   the message codec to use (if any)
-     * @param context the data context
+     * @param vertx     the vertx instance
+     * @param codecName the name of the message codec to use (if any)
+     * @param context   the data context
      * @return a new DeliveryOptions
      */
-    private static DeliveryOptions deliveryOptions(Vertx vertx, MessageCodec<?, ?> codec, DataContext context) {
+    private static DeliveryOptions deliveryOptions(Vertx vertx, String codecName, DataContext context) {
         DeliveryOptions deliveryOptions = new DeliveryOptions();
-        deliveryOptions.setSendTimeout(SECONDS.toMillis(NeonBee.instance(vertx).getConfig().getEventBusTimeout()))
-                .setCodecName(Optional.ofNullable(codec).map(MessageCodec::name).orElse(null));
+        deliveryOptions.setSendTimeout(eventBusTimeout(vertx)).setCodecName(codecName);
         Optional.ofNullable(context).map(DataContextImpl::encodeContextToString)
                 .ifPresent(value -> deliveryOptions.addHeader(CONTEXT_HEADER, value));
         return deliveryOptions;
     }
 
+    /**
+     * Creates the delivery options to reply to a data request.
+     *
+     * @param vertx     the vertx instance
+     * @param codecName the name of the codec to reply with, or null for the default codec
+     * @param context   the data context
+     * @return a new DeliveryOptions
+     */
+    private static DeliveryOptions replyDeliveryOptions(Vertx vertx, String codecName, DataContext context) {
+        DeliveryOptions deliveryOptions = deliveryOptions(vertx, codecName, context);
+        if (DataRouter.isEnabled(vertx)) {
+            // let the requester learn which node replied, to route further requests
+            deliveryOptions.addHeader(DataRouter.NODE_HEADER, DataRouter.get(vertx).getNodeId());
+        }
+        return deliveryOptions;
+    }
+
+    private static long eventBusTimeout(Vertx vertx) {
+        return SECONDS.toMillis(NeonBee.instance(vertx).getConfig().getEventBusTimeout());
+    }
+
     /**
      * Creates a new data exception for any given throwable cause.
      *
@@ -468,21 +632,46 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
     }
 
     /**
-     * Interface for all resolution routines (actual implementations of resolution strategies).
+     * Get an instance of a resolution routine for a phase of a planned (optimized) resolution.
+     *
+     * @param phase the phase to obtain the resolution routine for
+     * @param body  the body of the message received
+     * @return the resolution routine
+     */
+    private ResolutionRoutine resolutionRoutineForPhase(Phase phase, Object body) {
+        switch (phase) {
+        case REQUIRE:
+            return new RequireRoutine();
+        default: // case RETRIEVE:
+            return new PlannedRetrieveRoutine(((PlannedQuery) body).getRequire());
+        }
+    }
+
+    /**
+     * Base class for all resolution routines (actual implementations of resolution strategies).
      *
      * A resolution routine defines how required data is resolved and then requested from the individual data verticle
      */
-    private interface ResolutionRoutine {
+    private abstract class ResolutionRoutine {
         /**
          * Tries to resolve a given data query and returns a future to data.
          *
          * @param query The query to resolve
          * @return A future to the data returned by the query
          */
-        Future<?> execute(DataQuery query, DataContext context);
+        abstract Future<?> execute(DataQuery query, DataContext context);
+
+        /**
+         * The name of the codec used to reply with the result of this routine.
+         *
+         * @return the name of the codec, or null in case the default codec should be used
+         */
+        String replyCodecName() {
+            return Optional.ofNullable(getMessageCodec()).map(MessageCodec::name).orElse(null);
+        }
     }
 
-    private class RecursiveResolutionRoutine implements ResolutionRoutine {
+    private class RecursiveResolutionRoutine extends ResolutionRoutine {
         @Override
         public Future<T> execute(DataQuery query, DataContext context) {
             // initialize the results map as a LinkedHashMap, this will safeguard that iterating it will return the same
@@ -507,22 +696,234 @@ public abstract class DataVerticle<T> extends AbstractVerticle implements DataAd
         }
     }
 
-    private class OptimizedResolutionRoutine implements ResolutionRoutine {
+    private class OptimizedResolutionRoutine extends ResolutionRoutine {
         @Override
         public Future<T> execute(DataQuery query, DataContext context) {
-            return failedFuture(new UnsupportedOperationException("Optimized resolution strategy not available."));
+            return requireData(query, context)
+                    .compose(requests -> new ResolutionPlan(new PlanResolver(vertx), context).resolve(requests))
+                    .compose(require -> {
+                        try {
+                            return retrieveData(query, require, context);
+                        } catch (Exception e) {
+                            // handle any (runtime) exception here and fail the result future
+                            return failedFuture(e);
+                        }
+                    });
         }
     }
 
-    private class ManipulationRoutine implements ResolutionRoutine {
+    /**
+     * Returns the data requests required by this verticle, as part of a resolution plan of another data verticle.
+     */
+    private class RequireRoutine extends ResolutionRoutine {
+        @Override
+        public Future<Collection<DataRequest>> execute(DataQuery query, DataContext context) {
+            try {
+                return requireData(query, context);
+            } catch (Exception e) {
+                // handle any (runtime) exception here and fail the result future
+                return failedFuture(e);
+            }
+        }
+
+        @Override
+        String replyCodecName() {
+            // the data requests are passed back by reference
+            return LocalOnlyMessageCodec.NAME;
+        }
+    }
+
+    /**
+     * Retrieves the data of this verticle, with the required data already resolved by a resolution plan of another
+     * data verticle.
+     */
+    private class PlannedRetrieveRoutine extends ResolutionRoutine {
+        private final DataMap require;
+
+        PlannedRetrieveRoutine(DataMap require) {
+            this.require = require;
+        }
+
         @Override
         public Future<T> execute(DataQuery query, DataContext context) {
             try {
-                return manipulateData(query, context);
+                return retrieveData(query, require, context);
             } catch (Exception e) {
                 // handle any (runtime) exception here and fail the result future
                 return failedFuture(e);
             }
         }
     }
+
+    private class ManipulationRoutine extends ResolutionRoutine {
+        @Override
+        public Future<T> execute(DataQuery query, DataContext context) {
+            Future<T> result;
+            try {
+                result = manipulateData(query, context);
+            } catch (Exception e) {
+                // handle any (runtime) exception here and fail the result future
+                result = failedFuture(e);
+            }
+
+            if (resultCache != null) {
+                // also a failed manipulation could have changed the data partially, so always invalidate the cache
+                result = result.onComplete(asyncResult -> resultCache.invalidateAll());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the result of another resolution routine from the result cache of this verticle, or executes the other
+     * routine, in case the result is not cached yet.
+     */
+    private class CachedRoutine extends ResolutionRoutine {
+        private final ResolutionRoutine routine;
+
+        CachedRoutine(ResolutionRoutine routine) {
+            this.routine = routine;
+        }
+
+        @Override
+        public Future<?> execute(DataQuery query, DataContext context) {
+            return resultCache.get(query, context, () -> routine.execute(query, context));
+        }
+
+        @Override
+        String replyCodecName() {
+            return routine.replyCodecName();
+        }
+    }
+
+    /**
+     * Executes a resolution routine only, when the concurrency limit of the data verticle permits it.
+     */
+    private class LimitedRoutine extends ResolutionRoutine {
+        private final ResolutionRoutine routine;
+
+        LimitedRoutine(ResolutionRoutine routine) {
+            this.routine = routine;
+        }
+
+        @Override
+        public Future<?> execute(DataQuery query, DataContext context) {
+            Promise<Object> result = Promise.promise();
+            concurrencyLimiter.<Object>execute(() -> routine.execute(query, context).compose(value -> {
+                if (!(value instanceof ReadStream)) {
+                    return succeededFuture(value);
+                }
+
+                // a streamed result is read only after the reply was sent, so the permit is kept until the stream
+                // was closed, while the stream is passed on right away
+                @SuppressWarnings("unchecked")
+                LimitedStream stream = new LimitedStream((ReadStream<Buffer>) value);
+                result.complete(stream);
+                return stream.closed.future().map(value);
+            })).onComplete(asyncResult -> {
+                if (asyncResult.succeeded()) {
+                    result.tryComplete(asyncResult.result());
+                } else {
+                    result.tryFail(asyncResult.cause());
+                }
+            });
+            return result.future();
+        }
+
+        @Override
+        String replyCodecName() {
+            return routine.replyCodecName();
+        }
+    }
+
+    /**
+     * A streamed result of a {@link LimitedRoutine}, which keeps the permit of the concurrency limit, until the stream
+     * is closed.
+     */
+    private static final class LimitedStream implements ReadStream<Buffer> {
+        private final ReadStream<Buffer> stream;
+
+        private final Promise<Void> closed = Promise.promise();
+
+        LimitedStream(ReadStream<Buffer> stream) {
+            this.stream = stream;
+        }
+
+        void close(Void nothing) {
+            closed.tryComplete();
+        }
+
+        @Override
+        public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+            stream.exceptionHandler(handler);
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+            stream.handler(handler);
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            stream.pause();
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            stream.resume();
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> fetch(long amount) {
+            stream.fetch(amount);
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            stream.endHandler(endHandler);
+            return this;
+        }
+    }
+
+    /**
+     * Resolves the nodes of a resolution plan via the event bus. Only data verticles with a consumer in this NeonBee
+     * instance are planned, as the messages of a planned resolution are passed by reference.
+     */
+    private static class PlanResolver implements ResolutionPlan.Resolver {
+        private final Vertx vertx;
+
+        PlanResolver(Vertx vertx) {
+            this.vertx = vertx;
+        }
+
+        @Override
+        public boolean isPlannable(DataRequest request) {
+            String qualifiedName = request.getQualifiedName();
+            return qualifiedName != null && request.getQuery().getAction() == READ
+                    && Optional.ofNullable(request.getResolutionStrategy()).orElse(OPTIMIZED) == OPTIMIZED
+                    && (request.isLocalOnly() || request.isLocalPreferred())
+                    && NeonBee.instance(vertx).isLocalConsumerAvailable(getAddress(qualifiedName));
+        }
+
+        @Override
+        public Future<Collection<DataRequest>> requireData(DataRequest request, DataContext context) {
+            return request(vertx, request, request.getQuery(), REQUIRE, context, false);
+        }
+
+        @Override
+        public Future<Object> retrieveData(DataRequest request, DataMap require, DataContext context) {
+            return request(vertx, request, new PlannedQuery(request.getQuery().copy(), require), RETRIEVE, context,
+                    false);
+        }
+
+        @Override
+        public Future<Object> requestData(DataRequest request, DataContext context) {
+            return DataVerticle.requestData(vertx, request, context);
+        }
+    }
 }
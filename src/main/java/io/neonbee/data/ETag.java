@@ -0,0 +1,106 @@
+package io.neonbee.data;
+
+import java.util.regex.Pattern;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Entity tags (ETags) identify a version of the data returned by a read request, so that clients are able to request
+ * the data conditionally using the <code>If-None-Match</code> header. In case the data did not change, the endpoints
+ * answer with <code>304 Not Modified</code>, without transferring (or even serializing) the data again.
+ * <p>
+ * Data verticles, which know the version of their data (e.g. a revision or a modification timestamp), should provide
+ * it using {@link #tag(DataContext, String)} before completing a read request. For any data without a version provided
+ * by the data verticle, the endpoints fall back to a hash over the serialized response.
+ */
+public final class ETag {
+    /**
+     * The key of the data context to provide the ETag of the data returned.
+     */
+    public static final String ETAG_KEY = "eTag";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final String ANY = "*";
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile(",");
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private ETag() {}
+
+    /**
+     * Provides the version of the data returned by a read request.
+     *
+     * @param context the data context of the request
+     * @param version the version of the data, which must change whenever the data changes
+     */
+    public static void tag(DataContext context, String version) {
+        context.put(ETAG_KEY, quote(version));
+    }
+
+    /**
+     * Returns and removes the ETag provided by the data verticle, from the data context.
+     *
+     * @param context the data context of the request
+     * @return the ETag provided by the data verticle, or null in case no version was provided
+     */
+    public static String consume(DataContext context) {
+        return context.remove(ETAG_KEY);
+    }
+
+    /**
+     * Returns a (strong) ETag of a given version.
+     *
+     * @param version the version of the data
+     * @return the quoted ETag
+     */
+    public static String quote(String version) {
+        return "\"" + version.replace("\"", "") + "\"";
+    }
+
+    /**
+     * Returns a (strong) ETag based on a hash of the serialized data.
+     *
+     * @param content the serialized data
+     * @return the quoted ETag
+     */
+    public static String of(Buffer content) {
+        return of(content.getBytes());
+    }
+
+    /**
+     * Returns a (strong) ETag based on a hash of the serialized data.
+     *
+     * @param content the serialized data
+     * @return the quoted ETag
+     */
+    public static String of(byte[] content) {
+        return quote(HASH_FUNCTION.hashBytes(content).toString());
+    }
+
+    /**
+     * Checks whether a given ETag matches the <code>If-None-Match</code> header of a request, using the weak
+     * comparison of RFC 7232.
+     *
+     * @param ifNoneMatch the value of the <code>If-None-Match</code> header, may be null
+     * @param eTag        the ETag of the data, may be null
+     * @return true, in case the data was not modified and the request should be answered with 304 Not Modified
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+
+        String opaqueTag = stripWeakPrefix(eTag.trim());
+        return LIST_SEPARATOR.splitAsStream(ifNoneMatch).map(String::trim)
+                .anyMatch(tag -> ANY.equals(tag) || stripWeakPrefix(tag).equals(opaqueTag));
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+}
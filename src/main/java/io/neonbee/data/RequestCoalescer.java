@@ -0,0 +1,184 @@
+package io.neonbee.data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.neonbee.entity.EntityWrapper;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+/**
+ * Coalesces equal read requests to data verticles, which are in flight at the same time (single-flight).
+ * <p>
+ * The first request to a data verticle with a given query and user principal is sent via the event bus. Any equal
+ * request issued before the reply of the first request was received, is completed with the same result, instead of
+ * sending another message. As the context data of a reply would only be available to the context of the first request,
+ * the context data added or changed by the reply is passed along with the result and merged into the context of any
+ * coalesced request as well. Each coalesced request is completed on its own Vert.x context and receives its own copy
+ * of an entity wrapper, as the entities are sorted, skipped and expanded in place further on. Streamed results can only
+ * be read once, thus any coalesced request receiving a stream is sent on its own after all.
+ */
+final class RequestCoalescer {
+    static final String METER_NAME = "neonbee.data.coalesced";
+
+    private static final Map<Vertx, RequestCoalescer> COALESCERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @VisibleForTesting
+    final Map<Key, Future<Reply>> inFlight = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry = BackendRegistries.getDefaultNow();
+
+    /**
+     * Returns the request coalescer of a given Vert.x instance.
+     *
+     * @param vertx the Vert.x instance
+     * @return the request coalescer
+     */
+    static RequestCoalescer get(Vertx vertx) {
+        return COALESCERS.computeIfAbsent(vertx, v -> new RequestCoalescer());
+    }
+
+    /**
+     * Sends a request, or attaches to an equal request in flight.
+     *
+     * @param request the data request to send
+     * @param context the data context of the request
+     * @param send    a supplier sending the request via the event bus
+     * @param <U>     the type of the returned future
+     * @return a future to the data requested
+     */
+    @SuppressWarnings("unchecked")
+    <U> Future<U> request(DataRequest request, DataContext context, Supplier<Future<U>> send) {
+        Key key = new Key(request, context);
+        Promise<Reply> promise = Promise.promise();
+        Future<Reply> reply = inFlight.putIfAbsent(key, promise.future());
+        if (reply == null) {
+            // this is the first request in flight, so send it and remove it as soon as the reply was received. keep the
+            // context data set by the reply, before the first request consumes e.g. the handled query options from it
+            Map<String, Object> dataBefore = context != null ? new HashMap<>(context.data()) : Map.of();
+            send.get().map(result -> new Reply(result, ResultCache.changedData(dataBefore, context)))
+                    .onComplete(asyncResult -> {
+                        inFlight.remove(key, promise.future());
+                        promise.handle(asyncResult);
+                    });
+            return promise.future().map(result -> (U) result.result);
+        }
+
+        if (registry != null) {
+            Counter.builder(METER_NAME).tag("verticle", request.getQualifiedName()).register(registry).increment();
+        }
+        // the reply is received on the context of the first request, continue on the context of this request instead
+        Context callerContext = Vertx.currentContext();
+        Promise<U> attached = Promise.promise();
+        reply.onComplete(asyncReply -> {
+            if (callerContext == null || callerContext == Vertx.currentContext()) {
+                complete(attached, asyncReply, context, send);
+            } else {
+                callerContext.runOnContext(nothing -> complete(attached, asyncReply, context, send));
+            }
+        });
+        return attached.future();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> void complete(Promise<U> promise, AsyncResult<Reply> asyncReply, DataContext context,
+            Supplier<Future<U>> send) {
+        if (asyncReply.failed()) {
+            promise.fail(asyncReply.cause());
+            return;
+        }
+
+        Reply reply = asyncReply.result();
+        if (reply.shared instanceof ReadStream) {
+            // a stream can only be read once, so the result can't be shared and has to be requested again
+            send.get().onComplete(promise);
+            return;
+        }
+        if (context != null) {
+            // the coalesced request keeps its own context data, only the data set by the reply is merged into it
+            context.mergeData(reply.data);
+        }
+        promise.complete((U) copyOf(reply.shared));
+    }
+
+    /**
+     * Returns a copy of a result shared between multiple requests, in case the result is modified in place further on.
+     *
+     * @param result the shared result
+     * @return the result to pass on to one of the requests
+     */
+    static Object copyOf(Object result) {
+        if (result instanceof EntityWrapper) {
+            // the entities are sorted and skipped in place and expanded by adding navigation links later on
+            return ((EntityWrapper) result).copy();
+        }
+        return result;
+    }
+
+    @VisibleForTesting
+    static final class Key {
+        private final String qualifiedName;
+
+        private final DataQuery query;
+
+        private final JsonObject userPrincipal;
+
+        private final String scope;
+
+        Key(DataRequest request, DataContext context) {
+            this.qualifiedName = request.getQualifiedName();
+            this.scope = request.getCoalescingScope();
+            this.query = request.getQuery().copy();
+            this.userPrincipal = Optional.ofNullable(context).map(DataContext::userPrincipal).orElse(null);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            } else if (!(object instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) object;
+            return qualifiedName.equals(key.qualifiedName) && query.equals(key.query)
+                    && Objects.equals(userPrincipal, key.userPrincipal) && Objects.equals(scope, key.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(qualifiedName, query, userPrincipal, scope);
+        }
+    }
+
+    private static final class Reply {
+        private final Object result;
+
+        // a copy of the result for the coalesced requests, taken before the first request modifies the result
+        private final Object shared;
+
+        private final Map<String, Object> data;
+
+        Reply(Object result, Map<String, Object> data) {
+            this.result = result;
+            this.shared = copyOf(result);
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package io.neonbee.data;
+
+import static io.neonbee.data.DataException.FAILURE_CODE_NO_HANDLERS;
+import static io.neonbee.data.DataException.FAILURE_CODE_TIMEOUT;
+import static io.vertx.core.Future.failedFuture;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+/**
+ * Hedges and retries read requests to data verticles, as configured by the {@link DataRequest}.
+ * <p>
+ * In case no reply to a request was received after the hedge delay, a second request is sent via the event bus, which
+ * may be received by another consumer of the data verticle, e.g. on another node of the cluster. The request completes
+ * with the first reply received, so that one slow consumer does not determine the latency of all requests. Each request
+ * uses its own copy of the data context, so only the context data of the reply completing the request is passed on.
+ * <p>
+ * Requests failing because no consumer was available or because no reply was received within the send timeout, are
+ * retried with an exponentially increasing delay, up to the maximum number of retries.
+ */
+final class RequestHedger {
+    static final String METER_NAME = "neonbee.data";
+
+    /**
+     * The number of recent latencies per data verticle to determine the hedge delay from.
+     */
+    static final int WINDOW_SIZE = 100;
+
+    /**
+     * The minimum number of latencies observed, before the hedge delay is determined from the latencies.
+     */
+    static final int MIN_SAMPLES = 20;
+
+    private static final Map<Vertx, RequestHedger> HEDGERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // the delay is doubled with every retry, limit the shift to not overflow
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    private final Vertx vertx;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry = BackendRegistries.getDefaultNow();
+
+    @VisibleForTesting
+    RequestHedger(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    /**
+     * Returns the request hedger of a given Vert.x instance.
+     *
+     * @param vertx the Vert.x instance
+     * @return the request hedger
+     */
+    static RequestHedger get(Vertx vertx) {
+        return HEDGERS.computeIfAbsent(vertx, RequestHedger::new);
+    }
+
+    /**
+     * Checks whether a given request is to be hedged or retried.
+     *
+     * @param request the data request
+     * @return true, in case the request configures hedging or retries
+     */
+    static boolean isEnabled(DataRequest request) {
+        return request.getHedgeDelay() > 0 || request.getHedgePercentile() >= 0 || request.getMaxRetries() > 0;
+    }
+
+    /**
+     * Sends a request, hedges and retries it as configured.
+     *
+     * @param request the data request to send
+     * @param context the data context of the request
+     * @param send    the sender of the request via the event bus
+     * @param <U>     the type of the returned future
+     * @return a future to the data requested
+     */
+    <U> Future<U> request(DataRequest request, DataContext context, Sender<U> send) {
+        return attempt(request, context, send, 0);
+    }
+
+    private <U> Future<U> attempt(DataRequest request, DataContext context, Sender<U> send, int retry) {
+        return hedge(request, context, send).recover(cause -> {
+            String failure = failure(cause);
+            if (failure == null || retry >= request.getMaxRetries()) {
+                return failedFuture(cause);
+            }
+
+            increment(Counter.builder(METER_NAME + ".retried").tag("verticle", request.getQualifiedName())
+                    .tag("failure", failure));
+            Promise<U> promise = Promise.promise();
+            long delay = request.getRetryDelay() << Math.min(retry, MAX_BACKOFF_SHIFT);
+            vertx.setTimer(Math.max(1, delay), id -> attempt(request, context, send, retry + 1).onComplete(promise));
+            return promise.future();
+        });
+    }
+
+    private <U> Future<U> hedge(DataRequest request, DataContext context, Sender<U> send) {
+        String qualifiedName = request.getQualifiedName();
+        long delay = hedgeDelay(request);
+        if (delay <= 0) {
+            long start = System.nanoTime();
+            return send.send(context, false).onSuccess(result -> record(qualifiedName, System.nanoTime() - start));
+        }
+
+        Promise<U> promise = Promise.promise();
+        AtomicInteger pending = new AtomicInteger(1);
+        Handler<AsyncResult<Attempt<U>>> handler = asyncResult -> {
+            if (asyncResult.succeeded()) {
+                Attempt<U> attempt = asyncResult.result();
+                if (promise.future().isComplete()) {
+                    // the other request replied first, a stream of this request would never be read
+                    close(attempt.result);
+                    return;
+                }
+                if (context != null) {
+                    context.setData(attempt.context.data());
+                }
+                if (attempt.hedged) {
+                    increment(Counter.builder(METER_NAME + ".hedged").tag("verticle", qualifiedName)
+                            .tag("result", "won"));
+                }
+                promise.tryComplete(attempt.result);
+            } else if (pending.decrementAndGet() == 0) {
+                promise.tryFail(asyncResult.cause());
+            }
+        };
+
+        send(qualifiedName, context, send, false).onComplete(handler);
+        long timerId = vertx.setTimer(delay, id -> {
+            if (!promise.future().isComplete()) {
+                pending.incrementAndGet();
+                increment(Counter.builder(METER_NAME + ".hedged").tag("verticle", qualifiedName).tag("result", "sent"));
+                send(qualifiedName, context, send, true).onComplete(handler);
+            }
+        });
+        return promise.future().onComplete(asyncResult -> vertx.cancelTimer(timerId));
+    }
+
+    private <U> Future<Attempt<U>> send(String qualifiedName, DataContext context, Sender<U> send, boolean hedged) {
+        DataContext attemptContext = context != null ? context.copy() : null;
+        long start = System.nanoTime();
+        return send.send(attemptContext, hedged).map(result -> {
+            record(qualifiedName, System.nanoTime() - start);
+            return new Attempt<>(result, attemptContext, hedged);
+        });
+    }
+
+    /**
+     * Returns the delay after which a request is hedged.
+     *
+     * @param request the data request
+     * @return the delay in ms, or a value smaller than 1 in case the request is not hedged
+     */
+    @VisibleForTesting
+    long hedgeDelay(DataRequest request) {
+        if (request.getHedgePercentile() >= 0) {
+            LatencyWindow window = latencies.get(request.getQualifiedName());
+            long percentile = window != null ? window.percentile(request.getHedgePercentile()) : -1;
+            if (percentile >= 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(percentile));
+            }
+        }
+        return request.getHedgeDelay();
+    }
+
+    @VisibleForTesting
+    void record(String qualifiedName, long latency) {
+        latencies.computeIfAbsent(qualifiedName, name -> new LatencyWindow()).add(latency);
+        if (registry != null) {
+            Timer.builder(METER_NAME + ".latency").tag("verticle", qualifiedName).register(registry).record(latency,
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void increment(Counter.Builder counter) {
+        // in case metrics are disabled, there is no registry to report the counters to
+        if (registry != null) {
+            counter.register(registry).increment();
+        }
+    }
+
+    private static String failure(Throwable cause) {
+        if (cause instanceof DataException) {
+            switch (((DataException) cause).failureCode()) {
+            case FAILURE_CODE_NO_HANDLERS:
+                return "noHandlers";
+            case FAILURE_CODE_TIMEOUT:
+                return "timeout";
+            default:
+                /* nothing to do here, any other failure is not retried */
+            }
+        }
+        return null;
+    }
+
+    private static void close(Object result) {
+        if (result instanceof ReadStream) {
+            ((ReadStream<?>) result).handler(null);
+        }
+    }
+
+    /**
+     * Sends a request via the event bus.
+     *
+     * @param <U> the type of the returned future
+     */
+    @FunctionalInterface
+    interface Sender<U> {
+        /**
+         * Sends a request via the event bus.
+         *
+         * @param context the data context of the request
+         * @param hedged  true in case the request is a hedged request, which should not be restricted to a local
+         *                consumer
+         * @return a future to the data requested
+         */
+        Future<U> send(DataContext context, boolean hedged);
+    }
+
+    private static final class Attempt<U> {
+        private final U result;
+
+        private final DataContext context;
+
+        private final boolean hedged;
+
+        Attempt(U result, DataContext context, boolean hedged) {
+            this.result = result;
+            this.context = context;
+            this.hedged = hedged;
+        }
+    }
+
+    /**
+     * The recent latencies of the requests to one data verticle.
+     */
+    private static final class LatencyWindow {
+        private final long[] latencies = new long[WINDOW_SIZE];
+
+        private int count;
+
+        synchronized void add(long latency) {
+            latencies[count++ % WINDOW_SIZE] = latency;
+            if (count == 2 * WINDOW_SIZE) {
+                // keep the index within the window, but remember that the window is full
+                count = WINDOW_SIZE;
+            }
+        }
+
+        synchronized long percentile(double percentile) {
+            int size = Math.min(count, WINDOW_SIZE);
+            if (size < MIN_SAMPLES) {
+                return -1;
+            }
+
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(Math.min(1, percentile) * size) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
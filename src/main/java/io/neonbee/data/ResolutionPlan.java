@@ -0,0 +1,324 @@
+package io.neonbee.data;
+
+import static io.neonbee.data.DataAction.READ;
+import static io.neonbee.data.DataException.FAILURE_CODE_PROCESSING_FAILED;
+import static io.neonbee.internal.Helper.allComposite;
+import static io.neonbee.internal.Helper.joinComposite;
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+
+/**
+ * A resolution plan, used by the {@link DataRequest.ResolutionStrategy#OPTIMIZED OPTIMIZED} resolution strategy to
+ * resolve all data requests of one data verticle at once.
+ * <p>
+ * Instead of resolving the required data of every data verticle individually (recursively), the plan first collects
+ * the required data requests of all plannable data verticles into one dependency graph. Read requests to the same
+ * target (qualified name or entity type name) with an equal {@link DataQuery} result in the same node of the graph, so
+ * that the data is requested only once, no matter how many data verticles require it. Afterwards the graph is executed
+ * bottom-up, requesting all leaf nodes in parallel and passing the results back into the {@link DataMap} of every data
+ * verticle requiring them.
+ * <p>
+ * A resolution plan is not thread-safe and must only be used on the context of the data verticle resolving the plan.
+ */
+final class ResolutionPlan {
+    private final Resolver resolver;
+
+    private final DataContext context;
+
+    private final Map<Object, Node> nodes = new HashMap<>();
+
+    /**
+     * Create a new resolution plan.
+     *
+     * @param resolver the resolver to use to require and retrieve the data of any node of the plan
+     * @param context  the data context of the data verticle resolving the plan
+     */
+    ResolutionPlan(Resolver resolver, DataContext context) {
+        this.resolver = resolver;
+        this.context = context;
+    }
+
+    /**
+     * Plans and resolves the given data requests.
+     *
+     * @param requests the data requests to resolve
+     * @return a future to a map of results of all given data requests, or a failed future in case the data requests
+     *         are depending on each other in a cycle
+     */
+    Future<DataMap> resolve(Collection<DataRequest> requests) {
+        List<DataRequest> rootRequests = new ArrayList<>(Optional.ofNullable(requests).orElse(emptyList()));
+        List<Node> rootDependencies = new ArrayList<>();
+        return expand(rootRequests, rootDependencies).compose(expanded -> {
+            Set<Node> visited = new HashSet<>();
+            for (Node node : rootDependencies) {
+                if (hasCycle(node, new HashSet<>(), visited)) {
+                    return failedFuture(new DataException(FAILURE_CODE_PROCESSING_FAILED,
+                            "Data requests are cyclically requiring each other, " + node.request));
+                }
+            }
+
+            return collect(rootRequests, rootDependencies);
+        });
+    }
+
+    /**
+     * Adds the nodes for all given data requests to the graph (in case they are not part of the graph already) and
+     * expands all plannable nodes by requiring their data.
+     *
+     * @param requests     the requests to expand
+     * @param dependencies a list to add the nodes for the requests to, in the order of the requests given
+     * @return a future which is completed as soon as all (transitive) nodes have been expanded
+     */
+    private Future<Void> expand(List<DataRequest> requests, List<Node> dependencies) {
+        List<Future<?>> expansions = new ArrayList<>();
+        for (DataRequest request : requests) {
+            Object key = keyOf(request);
+            Node node = nodes.get(key);
+            if (node == null) {
+                node = new Node(request);
+                nodes.put(key, node);
+                if (resolver.isPlannable(request)) {
+                    expansions.add(expand(node));
+                }
+            }
+
+            dependencies.add(node);
+        }
+
+        return allComposite(expansions).mapEmpty();
+    }
+
+    private Future<Void> expand(Node node) {
+        // same as for a recursive resolution, the data put into the context when requiring the data of a node must be
+        // available when retrieving its data later on, so both use the same copy of the context
+        node.context = context.copy();
+        return resolver.requireData(node.request, node.context).compose(requires -> {
+            node.requires = new ArrayList<>(Optional.ofNullable(requires).orElse(emptyList()));
+            node.dependencies = new ArrayList<>();
+            return expand(node.requires, node.dependencies);
+        }, throwable -> {
+            // in case the required data of a node cannot be determined, only fail the node, so that all data
+            // verticles requiring the node may decide how to handle the failure, same as for a recursive resolution
+            node.result = failedFuture(throwable);
+            return succeededFuture();
+        });
+    }
+
+    private static boolean hasCycle(Node node, Set<Node> visiting, Set<Node> visited) {
+        if (visited.contains(node)) {
+            return false;
+        } else if (!visiting.add(node)) {
+            return true;
+        }
+
+        if (node.dependencies != null) {
+            for (Node dependency : node.dependencies) {
+                if (hasCycle(dependency, visiting, visited)) {
+                    return true;
+                }
+            }
+        }
+
+        visiting.remove(node);
+        visited.add(node);
+        return false;
+    }
+
+    /**
+     * Executes all nodes (if not already executed) and collects the results into a data map.
+     *
+     * @param requests     the data requests to use as keys of the data map
+     * @param dependencies the nodes of the data requests in the same order as the requests
+     * @return a future to the data map of results, which succeeds as soon as all nodes have been completed
+     */
+    private Future<DataMap> collect(List<DataRequest> requests, List<Node> dependencies) {
+        // use a LinkedHashMap, the same way as the recursive resolution routine, to preserve the order of requests
+        Map<DataRequest, AsyncResult<?>> requestResults = new LinkedHashMap<>();
+        List<Future<?>> results = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            Future<Object> result = execute(dependencies.get(index));
+            requestResults.putIfAbsent(requests.get(index), result);
+            results.add(result);
+        }
+
+        // same as for the recursive resolution, the data verticle should decide how to handle any failed results
+        return joinComposite(results).otherwiseEmpty().map(nothing -> new DataMap(requestResults));
+    }
+
+    private Future<Object> execute(Node node) {
+        if (node.result == null) {
+            if (node.requires == null) {
+                // a leaf of the plan, either a data verticle that cannot be planned, or an entity / data source
+                node.result = resolver.requestData(node.request, context.copy());
+            } else {
+                node.result = collect(node.requires, node.dependencies)
+                        .compose(require -> resolver.retrieveData(node.request, require, node.context));
+            }
+        }
+
+        return node.result;
+    }
+
+    /**
+     * Returns the key of a data request in the graph. Read requests to the same target with equal queries are
+     * considered equal, all other requests (e.g. to data sources or sinks, or any manipulating requests) are unique.
+     *
+     * @param request the data request
+     * @return the key of the data request
+     */
+    private static Object keyOf(DataRequest request) {
+        if (request.getDataSource() != null || request.getDataSink() != null
+                || request.getQuery().getAction() != READ) {
+            return request;
+        }
+
+        Object target = Optional.<Object>ofNullable(request.getQualifiedName()).orElse(request.getEntityTypeName());
+        return target != null ? new NodeKey(target, request.getQuery()) : request;
+    }
+
+    /**
+     * The phases of a planned request to a data verticle.
+     */
+    enum Phase {
+        /**
+         * Request the data verticle to only return the data requests of its {@link DataVerticle#requireData} method.
+         */
+        REQUIRE,
+
+        /**
+         * Request the data verticle to retrieve the data, with the required data of the verticle already resolved.
+         */
+        RETRIEVE
+    }
+
+    /**
+     * A resolver requires and retrieves the data of individual nodes of the resolution plan.
+     */
+    interface Resolver {
+        /**
+         * Checks whether the required data of the target of the data request can be resolved as part of the plan.
+         *
+         * @param request the data request
+         * @return true if the data request can be planned, false if the data request is a leaf of the plan
+         */
+        boolean isPlannable(DataRequest request);
+
+        /**
+         * Determines the data required by the target of a plannable data request.
+         *
+         * @param request the plannable data request
+         * @param context the data context
+         * @return a future to the data requests required by the target of the data request
+         */
+        Future<Collection<DataRequest>> requireData(DataRequest request, DataContext context);
+
+        /**
+         * Retrieves the data of a plannable data request, with the required data already resolved.
+         *
+         * @param request the plannable data request
+         * @param require the resolved data required by the target of the data request
+         * @param context the data context
+         * @return a future to the data
+         */
+        Future<Object> retrieveData(DataRequest request, DataMap require, DataContext context);
+
+        /**
+         * Requests the data of any leaf of the plan.
+         *
+         * @param request the data request
+         * @param context the data context
+         * @return a future to the data
+         */
+        Future<Object> requestData(DataRequest request, DataContext context);
+    }
+
+    /**
+     * The query and the already resolved required data, sent to a data verticle in {@link Phase#RETRIEVE}.
+     */
+    static final class PlannedQuery {
+        private final DataQuery query;
+
+        private final DataMap require;
+
+        PlannedQuery(DataQuery query, DataMap require) {
+            this.query = query;
+            this.require = require;
+        }
+
+        DataQuery getQuery() {
+            return query;
+        }
+
+        DataMap getRequire() {
+            return require;
+        }
+    }
+
+    private static final class Node {
+        final DataRequest request;
+
+        /**
+         * The data requests returned by the require data method of the target or null, in case the node is a leaf.
+         */
+        List<DataRequest> requires;
+
+        /**
+         * The nodes of the required data requests, in the same order as the requests.
+         */
+        List<Node> dependencies;
+
+        /**
+         * The data context used to require and retrieve the data of the node or null, in case the node is a leaf.
+         */
+        DataContext context;
+
+        Future<Object> result;
+
+        Node(DataRequest request) {
+            this.request = request;
+        }
+    }
+
+    private static final class NodeKey {
+        private final Object target;
+
+        private final DataQuery query;
+
+        NodeKey(Object target, DataQuery query) {
+            this.target = target;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof NodeKey)) {
+                return false;
+            }
+            NodeKey other = (NodeKey) obj;
+            return Objects.equals(target, other.target) && Objects.equals(query, other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(target, query);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.neonbee.data;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.neonbee.entity.EntityWrapper;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+/**
+ * An opt-in cache for the results of a data verticle, configured using the <code>cache</code> object of the verticle
+ * config:
+ * <p>
+ * <code>
+ * {
+ *   cache: { // enables the result cache of the data verticle, if present
+ *     ttl: number, // the number of seconds a result is cached after it was retrieved, defaults to 60
+ *     maximumWeight: number // the maximum weight of all cached results, defaults to 1000
+ *   }
+ * }
+ * </code>
+ * <p>
+ * Results are cached per {@link DataQuery} and user principal of the {@link DataContext}, no matter whether the data
+ * was retrieved recursively or as part of the resolution plan of an optimized resolution. The weight of a result is the
+ * number of entities of an {@link EntityWrapper}, the size of a collection / JSON array, the number of kilobytes of a
+ * buffer, or one for any other result. In case the maximum weight is exceeded, the least recently used results are
+ * evicted first. Only successful results are cached. Together with a result, the context data set while retrieving
+ * the result (e.g. the handled query options or the count of an entity collection) is cached and merged into the
+ * context of any later requester. Cached results are shared between all requesters, thus data verticles using a result
+ * cache must not modify their results after returning them. Each requester gets its own copies of the entities of an
+ * {@link EntityWrapper} though (see {@link EntityWrapper#copy()}), so the entities may be sorted, skipped and expanded
+ * in place. Streamed results are not cached.
+ */
+final class ResultCache {
+    /**
+     * The name of the config object enabling the result cache of a data verticle.
+     */
+    static final String CONFIG_CACHE = "cache";
+
+    static final String CONFIG_TTL = "ttl";
+
+    static final String CONFIG_MAXIMUM_WEIGHT = "maximumWeight";
+
+    static final long DEFAULT_TTL = 60;
+
+    static final long DEFAULT_MAXIMUM_WEIGHT = 1000;
+
+    static final String METER_NAME = "neonbee.data.cache";
+
+    private static final int BYTES_PER_WEIGHT = 1024;
+
+    private final Cache<Key, CachedResult> cache;
+
+    // incremented on every invalidation, so results retrieved before an invalidation are not cached afterwards
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    /**
+     * Create a new result cache.
+     *
+     * @param qualifiedName the qualified name of the data verticle, used to tag the metrics of the cache
+     * @param ttl           the number of seconds a result is cached
+     * @param maximumWeight the maximum weight of all cached results
+     * @param ticker        the ticker used to determine the age of cached results
+     */
+    @VisibleForTesting
+    ResultCache(String qualifiedName, long ttl, long maximumWeight, Ticker ticker) {
+        MeterRegistry registry = BackendRegistries.getDefaultNow();
+        hits = counter(registry, qualifiedName, "hit");
+        misses = counter(registry, qualifiedName, "miss");
+        evictions = counter(registry, qualifiedName, "eviction");
+
+        cache = CacheBuilder.newBuilder().expireAfterWrite(ttl, TimeUnit.SECONDS).maximumWeight(maximumWeight)
+                .<Key, CachedResult>weigher((key, cached) -> weigh(cached.result)).ticker(ticker)
+                .removalListener((RemovalNotification<Key, CachedResult> notification) -> {
+                    if (notification.wasEvicted()) {
+                        increment(evictions);
+                    }
+                }).build();
+    }
+
+    /**
+     * Creates a result cache based on the config of a data verticle.
+     *
+     * @param config        the config of the data verticle
+     * @param qualifiedName the qualified name of the data verticle
+     * @return a new result cache, or null in case the config does not enable the result cache
+     */
+    static ResultCache create(JsonObject config, String qualifiedName) {
+        JsonObject cacheConfig = Optional.ofNullable(config).map(c -> c.getJsonObject(CONFIG_CACHE)).orElse(null);
+        if (cacheConfig == null) {
+            return null;
+        }
+
+        return new ResultCache(qualifiedName, cacheConfig.getLong(CONFIG_TTL, DEFAULT_TTL),
+                cacheConfig.getLong(CONFIG_MAXIMUM_WEIGHT, DEFAULT_MAXIMUM_WEIGHT), Ticker.systemTicker());
+    }
+
+    /**
+     * Returns the cached result for a given query and context or retrieves the result, if it is not cached yet. In case
+     * the result is cached, the context data cached with the result is merged into the given context.
+     *
+     * @param query    the query to get the result for
+     * @param context  the data context of the query
+     * @param retrieve a supplier retrieving the result, in case it is not cached
+     * @return a future to the cached or retrieved result
+     */
+    Future<?> get(DataQuery query, DataContext context, Supplier<Future<?>> retrieve) {
+        Key key = new Key(query, context);
+        CachedResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            increment(hits);
+            if (context != null) {
+                context.mergeData(cached.data);
+            }
+            return succeededFuture(RequestCoalescer.copyOf(cached.result));
+        }
+
+        increment(misses);
+        long retrievalGeneration = generation.get();
+        Map<String, Object> dataBefore = context != null ? new HashMap<>(context.data()) : Map.of();
+        return retrieve.get().onSuccess(retrieved -> {
+            // a stream can only be read once, so streamed results are never cached
+            if (retrieved == null || retrieved instanceof ReadStream) {
+                return;
+            }
+
+            cache.put(key, new CachedResult(RequestCoalescer.copyOf(retrieved), changedData(dataBefore, context)));
+            if (generation.get() != retrievalGeneration) {
+                // the cache was invalidated while the result was retrieved, so the result might be outdated already
+                cache.invalidate(key);
+            }
+        });
+    }
+
+    /**
+     * Invalidates all cached results, e.g. after the data of the data verticle was manipulated. Results retrieved
+     * before, but returned only after the invalidation are not cached either.
+     */
+    void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @VisibleForTesting
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @VisibleForTesting
+    long size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the context data added or changed since a given snapshot of the context data was taken.
+     *
+     * @param dataBefore the snapshot of the context data
+     * @param context    the data context, may be null
+     * @return the added or changed context data
+     */
+    static Map<String, Object> changedData(Map<String, Object> dataBefore, DataContext context) {
+        Map<String, Object> changedData = new HashMap<>();
+        if (context != null) {
+            // only keep the data set while retrieving the result, not the data passed in by the requester
+            context.data().forEach((name, value) -> {
+                if (!dataBefore.containsKey(name) || !Objects.equals(dataBefore.get(name), value)) {
+                    changedData.put(name, value);
+                }
+            });
+        }
+        return changedData;
+    }
+
+    private static int weigh(Object result) {
+        if (result instanceof EntityWrapper) {
+            return Math.max(1, ((EntityWrapper) result).getEntities().size());
+        } else if (result instanceof Collection) {
+            return Math.max(1, ((Collection<?>) result).size());
+        } else if (result instanceof JsonArray) {
+            return Math.max(1, ((JsonArray) result).size());
+        } else if (result instanceof Buffer) {
+            return ((Buffer) result).length() / BYTES_PER_WEIGHT + 1;
+        }
+        return 1;
+    }
+
+    private static Counter counter(MeterRegistry registry, String qualifiedName, String result) {
+        // in case metrics are disabled, there is no registry to report the counters to
+        return registry != null ? Counter.builder(METER_NAME).tag("verticle", qualifiedName).tag("result", result)
+                .register(registry) : null;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static final class CachedResult {
+        private final Object result;
+
+        private final Map<String, Object> data;
+
+        CachedResult(Object result, Map<String, Object> data) {
+            this.result = result;
+            this.data = data;
+        }
+    }
+
+    private static final class Key {
+        private final DataQuery query;
+
+        private final JsonObject userPrincipal;
+
+        Key(DataQuery query, DataContext context) {
+            // the query is mutable, so copy it, to not let any later modification affect the cache
+            this.query = query.copy();
+            this.userPrincipal = Optional.ofNullable(context).map(DataContext::userPrincipal).orElse(null);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            } else if (!(object instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) object;
+            return query.equals(key.query) && Objects.equals(userPrincipal, key.userPrincipal);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, userPrincipal);
+        }
+    }
+}
@@ -5,13 +5,17 @@ import static io.neonbee.internal.Helper.hostIp;
 import static io.neonbee.internal.Helper.mutableCopyOf;
 import static io.neonbee.internal.handler.CorrelationIdHandler.CORRELATION_ID;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayDeque;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,6 +34,7 @@ import io.neonbee.data.DataContext;
 import io.neonbee.data.DataException;
 import io.neonbee.internal.handler.CorrelationIdHandler;
 import io.neonbee.logging.LoggingFacade;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -49,16 +54,29 @@ public class DataContextImpl implements DataContext {
 
     private static final Pattern BEARER_AUTHENTICATION_PATTERN = Pattern.compile("Bearer\\s(.+)");
 
+    private static final byte BINARY_VERSION = 1;
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final char JSON_START = '{';
+
     private final String correlationId;
 
     private final String bearerToken;
 
-    private final JsonObject userPrincipal;
+    private JsonObject userPrincipal;
 
     private Map<String, Object> data;
 
     private Deque<DataVerticleCoordinate> pathStack;
 
+    // the sections of a binary encoded context are only decoded once accessed, and are passed on as is, if not
+    private Buffer encodedUserPrincipal;
+
+    private Buffer encodedData;
+
+    private Buffer encodedPath;
+
     public DataContextImpl() {
         // initialize an empty context (w/ will also create an empty path stack)
         this(null, null, null, null, null);
@@ -86,13 +104,21 @@ public class DataContextImpl implements DataContext {
             Deque<DataVerticleCoordinate> paths) {
         this.correlationId = correlationId;
         this.bearerToken = bearerToken;
-        // actually create a read only user principal object, so that no one can tamper with the data
-        this.userPrincipal = Optional.ofNullable(userPrincipal).map(JsonObject::getMap)
-                .map(Collections::unmodifiableMap).map(JsonObject::new).orElse(null);
+        this.userPrincipal = readOnly(userPrincipal);
         this.setData(data); // create a mutable copy of the map
         this.setPath(paths); // create a mutable copy of the dequeue
     }
 
+    private DataContextImpl(String correlationId, String bearerToken, Buffer encodedUserPrincipal,
+            Buffer encodedData, Buffer encodedPath) {
+        this.correlationId = correlationId;
+        this.bearerToken = bearerToken;
+        this.encodedUserPrincipal = encodedUserPrincipal;
+        this.encodedData = encodedData;
+        this.encodedPath = encodedPath;
+        this.pathStack = new ArrayDeque<>();
+    }
+
     /**
      * Copy constructor, use {@code context.copy()}.
      *
@@ -103,9 +129,24 @@ public class DataContextImpl implements DataContext {
     protected DataContextImpl(DataContext original) {
         this.correlationId = original.correlationId();
         this.bearerToken = original.bearerToken();
-        this.userPrincipal = original.userPrincipal();
-        this.setData(original.data());
-        this.setPath(original.path());
+        // encoded sections are immutable, so there is no need to decode them for a copy
+        DataContextImpl encoded = original instanceof DataContextImpl ? (DataContextImpl) original : null;
+        if (encoded != null && encoded.encodedUserPrincipal != null) {
+            this.encodedUserPrincipal = encoded.encodedUserPrincipal;
+        } else {
+            this.userPrincipal = original.userPrincipal();
+        }
+        if (encoded != null && encoded.encodedData != null) {
+            this.encodedData = encoded.encodedData;
+        } else {
+            this.setData(original.data());
+        }
+        if (encoded != null && encoded.encodedPath != null) {
+            this.encodedPath = encoded.encodedPath;
+            this.pathStack = new ArrayDeque<>();
+        } else {
+            this.setPath(original.path());
+        }
     }
 
     @Override
@@ -120,11 +161,19 @@ public class DataContextImpl implements DataContext {
 
     @Override
     public JsonObject userPrincipal() {
+        if (encodedUserPrincipal != null) {
+            userPrincipal = readOnly(new JsonObject(encodedUserPrincipal));
+            encodedUserPrincipal = null;
+        }
         return userPrincipal;
     }
 
     @Override
     public Map<String, Object> data() {
+        if (this.encodedData != null) {
+            this.data = mutableCopyOf(new JsonObject(encodedData).getMap());
+            this.encodedData = null;
+        }
         if (this.data == null) {
             this.data = new HashMap<>();
         }
@@ -138,6 +187,7 @@ public class DataContextImpl implements DataContext {
      */
     @VisibleForTesting
     protected void setPath(Iterator<DataVerticleCoordinate> path) {
+        this.encodedPath = null;
         this.pathStack =
                 streamPath(path).collect(Collector.of(ArrayDeque::new, (deq, t) -> deq.addFirst(t), (d1, d2) -> {
                     d2.addAll(d1);
@@ -153,6 +203,7 @@ public class DataContextImpl implements DataContext {
      */
     @VisibleForTesting
     protected DataContext setPath(Deque<DataVerticleCoordinate> path) {
+        this.encodedPath = null;
         this.pathStack = mutableCopyOf(path, ArrayDeque::new);
         return this;
     }
@@ -160,6 +211,7 @@ public class DataContextImpl implements DataContext {
     @Override
     @SuppressWarnings("PMD.NullAssignment")
     public final DataContext setData(Map<String, Object> data) {
+        this.encodedData = null;
         this.data = (data != null) && !data.isEmpty() ? mutableCopyOf(data) : null;
         return this;
     }
@@ -168,7 +220,7 @@ public class DataContextImpl implements DataContext {
     public DataContext mergeData(Map<String, Object> data) {
         if ((data != null) && !data.isEmpty()) {
             // instead of putAll, might be worth it to write a more sophisticated logic using .merge()
-            this.data.putAll(mutableCopyOf(data));
+            this.data().putAll(mutableCopyOf(data));
         }
         return this;
     }
@@ -205,6 +257,11 @@ public class DataContextImpl implements DataContext {
 
     /**
      * Encodes a given {@link DataContext} to string.
+     * <p>
+     * The context is encoded in a compact binary format (as Base64), consisting of the correlation ID and bearer token,
+     * followed by the user principal, the data and the path as separate sections. Sections of a decoded context, which
+     * were never accessed, are passed on without decoding them. The coordinates of the path refer to a string table, as
+     * the same names and addresses usually occur multiple times in a path.
      *
      * @param context A data context to encode
      * @return The passed data context represented as string
@@ -214,17 +271,103 @@ public class DataContextImpl implements DataContext {
             // actually it's fine for the context to be null, so also a null should be set as header
             return null;
         }
-        return new JsonObject().put(CORRELATION_ID, context.correlationId()).put(BEARER_TOKEN, context.bearerToken())
-                .put(USER_PRINCIPAL, context.userPrincipal()).put(DATA, context.data())
-                .put(PATH, pathToJson(context.path())).toString();
+
+        DataContextImpl contextImpl = context instanceof DataContextImpl ? (DataContextImpl) context : null;
+        Buffer buffer = Buffer.buffer().appendByte(BINARY_VERSION);
+        appendString(buffer, context.correlationId());
+        appendString(buffer, context.bearerToken());
+        appendSection(buffer, contextImpl != null && contextImpl.encodedUserPrincipal != null
+                ? contextImpl.encodedUserPrincipal
+                : Optional.ofNullable(context.userPrincipal()).map(JsonObject::toBuffer).orElse(null));
+        appendSection(buffer, contextImpl != null && contextImpl.encodedData != null ? contextImpl.encodedData
+                : Optional.ofNullable(contextImpl != null ? contextImpl.data : context.data())
+                        .filter(data -> !data.isEmpty()).map(data -> new JsonObject(data).toBuffer()).orElse(null));
+        appendSection(buffer, contextImpl != null && contextImpl.encodedPath != null ? contextImpl.encodedPath
+                : encodePath(context.path()));
+        return Base64.getEncoder().encodeToString(buffer.getBytes());
+    }
+
+    private static Buffer encodePath(Iterator<DataVerticleCoordinate> path) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        List<DataVerticleCoordinate> coordinates = streamPath(path).collect(Collectors.toList());
+        Buffer buffer = Buffer.buffer().appendInt(coordinates.size());
+        for (DataVerticleCoordinate coordinate : coordinates) {
+            buffer.appendInt(index(strings, coordinate.getQualifiedName()))
+                    .appendLong(timestamp(strings, coordinate.getRequestTimestamp()))
+                    .appendInt(index(strings, coordinate.getDeploymentId()))
+                    .appendInt(index(strings, coordinate.getIpAddress()))
+                    .appendLong(timestamp(strings, coordinate.getResponseTimestamp()));
+        }
+
+        Buffer section = Buffer.buffer().appendInt(strings.size());
+        strings.keySet().forEach(string -> appendString(section, string));
+        return section.appendBuffer(buffer);
+    }
+
+    private static Deque<DataVerticleCoordinate> decodePath(Buffer section) {
+        Reader reader = new Reader(section);
+        String[] strings = new String[reader.readInt()];
+        for (int index = 0; index < strings.length; index++) {
+            strings[index] = reader.readString();
+        }
+
+        Deque<DataVerticleCoordinate> path = new ArrayDeque<>();
+        for (int size = reader.readInt(); size > 0; size--) {
+            String qualifiedName = string(strings, reader.readInt());
+            String requestTimestamp = timestamp(strings, reader.readLong());
+            path.push(new DataVerticleCoordinateImpl(qualifiedName, requestTimestamp, string(strings, reader.readInt()),
+                    string(strings, reader.readInt()), timestamp(strings, reader.readLong())));
+        }
+        return path;
+    }
+
+    private static int index(Map<String, Integer> strings, String string) {
+        return string != null ? strings.computeIfAbsent(string, key -> strings.size()) : NULL_LENGTH;
+    }
+
+    private static String string(String[] strings, int index) {
+        return index != NULL_LENGTH ? strings[index] : null;
+    }
+
+    private static long timestamp(Map<String, Integer> strings, String timestamp) {
+        if (timestamp == null) {
+            return NULL_LENGTH;
+        }
+        try {
+            LocalTime time = LocalTime.parse(timestamp);
+            if (time.toString().equals(timestamp)) {
+                return time.toNanoOfDay();
+            }
+        } catch (DateTimeParseException e) {
+            /* nothing to do here, timestamps not written by a coordinate are kept as string */
+        }
+        // the nano of day is never negative, so any value below -1 refers to the string table instead
+        return NULL_LENGTH - 1L - index(strings, timestamp);
     }
 
-    private static JsonArray pathToJson(Iterator<DataVerticleCoordinate> path) {
-        return new JsonArray(streamPath(path).map(JsonObject::mapFrom).collect(Collectors.toList()));
+    private static String timestamp(String[] strings, long timestamp) {
+        if (timestamp < NULL_LENGTH) {
+            return strings[(int) (NULL_LENGTH - 1L - timestamp)];
+        }
+        return timestamp != NULL_LENGTH ? LocalTime.ofNanoOfDay(timestamp).toString() : null;
+    }
+
+    private static void appendString(Buffer buffer, String string) {
+        appendSection(buffer, string != null ? Buffer.buffer(string, StandardCharsets.UTF_8.name()) : null);
+    }
+
+    private static void appendSection(Buffer buffer, Buffer section) {
+        if (section == null) {
+            buffer.appendInt(NULL_LENGTH);
+        } else {
+            buffer.appendInt(section.length()).appendBuffer(section);
+        }
     }
 
     /**
      * Decodes a given string to {@link DataContext}.
+     * <p>
+     * Besides the binary format, contexts encoded as JSON by previous versions of NeonBee are decoded as well.
      *
      * @param contextString A string to decode
      * @return a new {@link DataContext} instance representing the passed string
@@ -233,6 +376,13 @@ public class DataContextImpl implements DataContext {
         if (contextString == null) {
             // in case the header value is null, also return null from this deserialization
             return null;
+        } else if (contextString.isEmpty() || contextString.charAt(0) != JSON_START) {
+            Reader reader = new Reader(Buffer.buffer(Base64.getDecoder().decode(contextString)));
+            if (reader.readByte() != BINARY_VERSION) {
+                throw new IllegalArgumentException("Unknown encoding of the data context");
+            }
+            return new DataContextImpl(reader.readString(), reader.readString(), reader.readSection(),
+                    reader.readSection(), reader.readSection());
         }
 
         JsonObject contextJson = new JsonObject(contextString);
@@ -247,21 +397,35 @@ public class DataContextImpl implements DataContext {
                 .collect(ArrayDeque::new, Deque::push, Deque::addAll);
     }
 
+    private static JsonObject readOnly(JsonObject userPrincipal) {
+        // actually create a read only user principal object, so that no one can tamper with the data
+        return Optional.ofNullable(userPrincipal).map(JsonObject::getMap).map(Collections::unmodifiableMap)
+                .map(JsonObject::new).orElse(null);
+    }
+
+    private Deque<DataVerticleCoordinate> pathStack() {
+        if (encodedPath != null) {
+            pathStack = decodePath(encodedPath);
+            encodedPath = null;
+        }
+        return pathStack;
+    }
+
     /**
      * Push a new verticle into the stack.
      *
      * @param name verticle name
      */
     public void pushVerticleToPath(String name) {
-        if (!pathStack.isEmpty()) {
-            DataVerticleCoordinate topVerticle = pathStack.peek();
+        if (!pathStack().isEmpty()) {
+            DataVerticleCoordinate topVerticle = pathStack().peek();
             if (name.equalsIgnoreCase(topVerticle.getQualifiedName())) {
                 LOGGER.error("A DataVerticle {} is sending message to itself, which could lead to a dead loop", name);
                 throw new DataException(String.format("DataVerticle %s is sending message to itself.", name));
             }
         }
 
-        pathStack.push(new DataVerticleCoordinateImpl(name));
+        pathStack().push(new DataVerticleCoordinateImpl(name));
     }
 
     /**
@@ -271,7 +435,7 @@ public class DataContextImpl implements DataContext {
      * @return current context
      */
     public DataContext amendTopVerticleCoordinate(String deploymentId) {
-        Optional.ofNullable(pathStack.peek()).map(DataVerticleCoordinateImpl.class::cast).ifPresent(coordinate -> {
+        Optional.ofNullable(pathStack().peek()).map(DataVerticleCoordinateImpl.class::cast).ifPresent(coordinate -> {
             coordinate.setDeploymentId(deploymentId);
             coordinate.setIpAddress(hostIp());
         });
@@ -282,12 +446,12 @@ public class DataContextImpl implements DataContext {
      * Remove the top coordinate from the stack.
      */
     public void popVerticleFromPath() {
-        pathStack.pop();
+        pathStack().pop();
     }
 
     @Override
     public Iterator<DataVerticleCoordinate> path() {
-        return unmodifiableIterator(pathStack.descendingIterator());
+        return unmodifiableIterator(pathStack().descendingIterator());
     }
 
     /**
@@ -312,7 +476,7 @@ public class DataContextImpl implements DataContext {
 
     @Override
     public void updateResponseTimestamp() {
-        Optional.ofNullable(pathStack.peek()).map(DataVerticleCoordinateImpl.class::cast)
+        Optional.ofNullable(pathStack().peek()).map(DataVerticleCoordinateImpl.class::cast)
                 .ifPresent(DataVerticleCoordinateImpl::updateResponseTimestamp);
     }
 
@@ -334,6 +498,15 @@ public class DataContextImpl implements DataContext {
             this.requestTimestamp = LocalTime.now(ZoneId.systemDefault()).toString();
         }
 
+        DataVerticleCoordinateImpl(String qualifiedName, String requestTimestamp, String deploymentId,
+                String ipAddress, String responseTimestamp) {
+            this.qualifiedName = qualifiedName;
+            this.requestTimestamp = requestTimestamp;
+            this.deploymentId = deploymentId;
+            this.ipAddress = ipAddress;
+            this.responseTimestamp = responseTimestamp;
+        }
+
         @Override
         public String getRequestTimestamp() {
             return requestTimestamp;
@@ -393,4 +566,48 @@ public class DataContextImpl implements DataContext {
             return builder.toString();
         }
     }
+
+    /**
+     * Reads the binary encoded context sequentially.
+     */
+    private static final class Reader {
+        private final Buffer buffer;
+
+        private int position;
+
+        Reader(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer.getByte(position++);
+        }
+
+        int readInt() {
+            int value = buffer.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        long readLong() {
+            long value = buffer.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        String readString() {
+            return Optional.ofNullable(readSection()).map(section -> section.toString(StandardCharsets.UTF_8))
+                    .orElse(null);
+        }
+
+        Buffer readSection() {
+            int length = readInt();
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            Buffer section = buffer.getBuffer(position, position + length);
+            position += length;
+            return section;
+        }
+    }
 }
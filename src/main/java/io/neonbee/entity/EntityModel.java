@@ -18,13 +18,18 @@ public final class EntityModel {
 
     private final Map<String, ServiceMetadata> edmxMap;
 
-    private EntityModel(CdsModel csn, Map<String, ServiceMetadata> edmxMap) {
+    private final Map<String, MetadataDocuments> documentsMap;
+
+    private EntityModel(CdsModel csn, Map<String, ServiceMetadata> edmxMap,
+            Map<String, MetadataDocuments> documentsMap) {
         this.csn = csn;
         this.edmxMap = edmxMap;
+        this.documentsMap = documentsMap;
     }
 
-    static EntityModel of(CdsModel csn, Map<String, ServiceMetadata> edmxMap) {
-        return new EntityModel(csn, edmxMap);
+    static EntityModel of(CdsModel csn, Map<String, ServiceMetadata> edmxMap,
+            Map<String, MetadataDocuments> documentsMap) {
+        return new EntityModel(csn, edmxMap, documentsMap);
     }
 
     /**
@@ -63,4 +68,13 @@ public final class EntityModel {
     public Map<String, ServiceMetadata> getEdmxes() {
         return Collections.unmodifiableMap(edmxMap);
     }
+
+    /**
+     * Gets a map of the rendered metadata documents of all EDMX models which belongs to one service.
+     *
+     * @return a map of all {@link MetadataDocuments}, with the full-qualified name of the service as the key
+     */
+    public Map<String, MetadataDocuments> getMetadataDocuments() {
+        return Collections.unmodifiableMap(documentsMap);
+    }
 }
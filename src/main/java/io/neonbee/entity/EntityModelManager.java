@@ -252,6 +252,9 @@ public final class EntityModelManager {
         @VisibleForTesting
         Map<String, MetadataParser> metadataParsers = new HashMap<>();
 
+        // the metadata documents are rendered on the worker thread loading the EDMX model, thus a concurrent map
+        private final Map<ServiceMetadata, MetadataDocuments> metadataDocuments = new ConcurrentHashMap<>();
+
         private final Vertx vertx;
 
         @VisibleForTesting
@@ -415,7 +418,9 @@ public final class EntityModelManager {
                     .collect(Collectors.toMap(
                             serviceMetaData -> serviceMetaData.getEdm().getEntityContainer().getNamespace(),
                             Function.identity()));
-            EntityModel entityModel = EntityModel.of(cdsModel, edmxMap);
+            Map<String, MetadataDocuments> documentsMap = edmxMap.entrySet().stream().collect(Collectors
+                    .toMap(Map.Entry::getKey, entry -> metadataDocuments.get(entry.getValue())));
+            EntityModel entityModel = EntityModel.of(cdsModel, edmxMap, documentsMap);
             String namespace = ModelDefinitionHelper.getNamespace(cdsModel);
             models.put(namespace, entityModel);
             LOGGER.info("Entity model of model with schema namespace {} was added the entity model map.", namespace);
@@ -481,6 +486,8 @@ public final class EntityModelManager {
                         ServiceMetadata serviceMetadata = createServiceMetadata(buffer);
                         String schemaNamespace = serviceMetadata.getEdm().getSchemas().get(0).getNamespace();
                         serviceMetadata = createServiceMetadata(buffer, schemaNamespace);
+                        // render the metadata documents once per model, instead of for every request
+                        metadataDocuments.put(serviceMetadata, MetadataDocuments.render(serviceMetadata));
                         blockingPromise.complete(serviceMetadata);
                     } catch (Exception e) {
                         blockingPromise.fail(e);
@@ -0,0 +1,354 @@
+package io.neonbee.entity;
+
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.FILTER;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.ORDERBY;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.SKIP;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.TOP;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriParameter;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.SkipTokenOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
+import org.apache.olingo.server.api.uri.queryoption.TopOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+
+import io.neonbee.data.DataContext;
+import io.neonbee.data.DataQuery;
+import io.neonbee.internal.processor.odata.ServerDrivenPaging;
+import io.neonbee.internal.processor.odata.edm.EdmHelper;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * A pre-parsed plan of the system query options of an OData read request to an {@link EntityVerticle}.
+ * <p>
+ * By default, the OData endpoint of NeonBee requests the entire entity collection from an entity verticle and applies
+ * the <code>$filter</code>, <code>$orderby</code>, <code>$skip</code> and <code>$top</code> system query options in
+ * memory. An entity verticle is able to push down any of these query options to its backend, by parsing the plan of
+ * the query received and declaring which of the query options it has handled using
+ * {@link #handled(DataContext, SystemQueryOptionKind...)}. The OData endpoint will then only apply the remaining query
+ * options in memory.
+ * <p>
+ * The query options are applied in the order <code>$filter</code>, <code>$orderby</code>, <code>$skip</code> and
+ * <code>$top</code>. In case an entity verticle handles a query option, it must also handle all preceding query options
+ * present in the query, e.g. it is not possible to handle <code>$top</code> without handling <code>$filter</code>.
+ * <p>
+ * Requests to the <code>/$count</code> of an entity set can be answered with the number of matching entities only,
+ * instead of returning all entities to be counted by the requester, see {@link #counted(DataContext, long)}.
+ * <p>
+ * In case server-driven paging is configured for an entity set, the maximum number of entities returned per page is
+ * passed to the entity verticle, see {@link #getMaxPageSize()}. The entity verticle may return a single page of the
+ * result only and provide a cursor to resume reading the next page from, see {@link #nextPage(DataContext, String)}.
+ * Otherwise, the requester pages the result of the entity verticle in memory.
+ * <p>
+ * In case the requester does not require all properties of the entities, the names of the required properties are
+ * passed to the entity verticle, see {@link #getProjection()}. The entity verticle may omit all other properties, e.g.
+ * by not reading them from its backend. Any other properties returned are dropped before the reply is sent.
+ */
+public final class EntityQueryPlan {
+    /**
+     * The key of the data context, used to pass the handled query options back to the requester.
+     */
+    public static final String HANDLED_QUERY_OPTIONS_KEY = "handledQueryOptions";
+
+    /**
+     * The key of the data context, used to pass the number of entities of a count-only request back to the requester.
+     */
+    public static final String COUNT_KEY = "entityCount";
+
+    /**
+     * The key of the data context, used to pass the cursor to the next page of a paged result back to the requester.
+     */
+    public static final String NEXT_CURSOR_KEY = "nextCursor";
+
+    /**
+     * The header of the data query, used to pass the maximum number of entities per page to the entity verticle.
+     */
+    public static final String MAX_PAGE_SIZE_HEADER = "maxPageSize";
+
+    /**
+     * The header of the data query, used to pass the comma separated names of the required properties to the entity
+     * verticle.
+     */
+    public static final String PROJECTION_HEADER = "projection";
+
+    private static final List<SystemQueryOptionKind> PUSHDOWN_ORDER = List.of(FILTER, ORDERBY, SKIP, TOP);
+
+    private final UriInfo uriInfo;
+
+    private final DataQuery query;
+
+    EntityQueryPlan(UriInfo uriInfo) {
+        this(uriInfo, null);
+    }
+
+    EntityQueryPlan(UriInfo uriInfo, DataQuery query) {
+        this.uriInfo = uriInfo;
+        this.query = query;
+    }
+
+    /**
+     * Parses the query plan of a given data query.
+     *
+     * @param vertx the Vert.x instance
+     * @param query the data query received by an entity verticle
+     * @return a future to the parsed query plan
+     */
+    public static Future<EntityQueryPlan> parse(Vertx vertx, DataQuery query) {
+        return EntityVerticle.parseUriInfo(vertx, query).map(uriInfo -> new EntityQueryPlan(uriInfo, query));
+    }
+
+    /**
+     * Returns the full URI info of the query, e.g. to access any further query options.
+     *
+     * @return the URI info parsed from the query
+     */
+    public UriInfo getUriInfo() {
+        return uriInfo;
+    }
+
+    /**
+     * Returns the typed values of the key predicates of a request to a single entity, e.g. <code>Products(42)</code>.
+     * An entity verticle can use the key predicates to look up the requested entity directly, instead of returning the
+     * entire entity collection. In case the entity verticle returns further entities, the requester still selects the
+     * entity matching the key predicates.
+     *
+     * @return the key values by key property name in order of the key definition, or an empty map in case the request
+     *         is not addressing a single entity
+     * @throws ODataApplicationException if the key predicates cannot be converted into the types of the key properties
+     */
+    public Map<String, Object> getKeyPredicates() throws ODataApplicationException {
+        UriResource resourcePart = Optional.ofNullable(uriInfo.getUriResourceParts())
+                .filter(resourceParts -> !resourceParts.isEmpty()).map(resourceParts -> resourceParts.get(0))
+                .orElse(null);
+        if (!(resourcePart instanceof UriResourceEntitySet)) {
+            return Collections.emptyMap();
+        }
+
+        UriResourceEntitySet uriResourceEntitySet = (UriResourceEntitySet) resourcePart;
+        Map<String, Object> keyPredicates = new LinkedHashMap<>();
+        for (UriParameter keyPredicate : uriResourceEntitySet.getKeyPredicates()) {
+            keyPredicates.put(keyPredicate.getName(),
+                    EdmHelper.getKeyPredicateValue(uriResourceEntitySet.getEntityType(), keyPredicate, null));
+        }
+        return keyPredicates;
+    }
+
+    /**
+     * Returns whether the query is a count-only request to the <code>/$count</code> path segment of an entity set.
+     *
+     * @return true if the requester is interested in the number of entities only
+     */
+    public boolean isCount() {
+        List<UriResource> resourceParts = uriInfo.getUriResourceParts();
+        return resourceParts != null && !resourceParts.isEmpty()
+                && resourceParts.get(resourceParts.size() - 1).getKind() == UriResourceKind.count;
+    }
+
+    /**
+     * Returns the expression tree of the <code>$filter</code> query option.
+     *
+     * @return the filter expression, or null in case the query has no filter
+     */
+    public Expression getFilter() {
+        return Optional.ofNullable(uriInfo.getFilterOption()).map(FilterOption::getExpression).orElse(null);
+    }
+
+    /**
+     * Returns the sort keys of the <code>$orderby</code> query option.
+     *
+     * @return the sort keys in order of their precedence, or an empty list in case the query has no order
+     */
+    public List<OrderByItem> getOrderBy() {
+        return Optional.ofNullable(uriInfo.getOrderByOption()).map(OrderByOption::getOrders)
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Returns the value of the <code>$skip</code> query option.
+     *
+     * @return the number of entities to skip, or null in case the query has no skip
+     */
+    public Integer getSkip() {
+        return Optional.ofNullable(uriInfo.getSkipOption()).map(SkipOption::getValue).orElse(null);
+    }
+
+    /**
+     * Returns the value of the <code>$top</code> query option.
+     *
+     * @return the maximum number of entities to return, or null in case the query has no top
+     */
+    public Integer getTop() {
+        return Optional.ofNullable(uriInfo.getTopOption()).map(TopOption::getValue).orElse(null);
+    }
+
+    /**
+     * Returns the <code>$select</code> query option.
+     *
+     * @return the select option, or null in case the query has no select
+     */
+    public SelectOption getSelect() {
+        return uriInfo.getSelectOption();
+    }
+
+    /**
+     * Returns the names of the properties required by the requester, which include the selected properties, the key
+     * properties and any properties the requester needs to apply the remaining query options.
+     *
+     * @return the names of the required properties, or null in case all properties are required
+     */
+    public Set<String> getProjection() {
+        return getProjection(query);
+    }
+
+    /**
+     * Returns the names of the properties required by the requester of a given data query.
+     *
+     * @param query the data query, may be null
+     * @return the names of the required properties, or null in case all properties are required
+     */
+    public static Set<String> getProjection(DataQuery query) {
+        String projection = query != null ? query.getHeader(PROJECTION_HEADER) : null;
+        return projection != null ? new LinkedHashSet<>(Arrays.asList(projection.split(","))) : null;
+    }
+
+    /**
+     * Returns the maximum number of entities the requester returns per page, in case the result is paged.
+     *
+     * @return the maximum page size, or null in case the result is not paged
+     */
+    public Integer getMaxPageSize() {
+        String maxPageSize = query != null ? query.getHeader(MAX_PAGE_SIZE_HEADER) : null;
+        try {
+            return maxPageSize != null ? Integer.valueOf(maxPageSize) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the cursor to resume reading from, in case the next page of a result is requested, which was provided by
+     * the entity verticle using {@link #nextPage(DataContext, String)} before.
+     *
+     * @return the cursor to resume from, or null in case the first page is requested or the result is paged by the
+     *         requester
+     * @throws ODataApplicationException if the <code>$skiptoken</code> of the query is invalid
+     */
+    public String getCursor() throws ODataApplicationException {
+        return ServerDrivenPaging.getCursor(
+                Optional.ofNullable(uriInfo.getSkipTokenOption()).map(SkipTokenOption::getValue).orElse(null));
+    }
+
+    /**
+     * Declares that the entity verticle has returned a single page of the result only. The page must have all of
+     * <code>$filter</code>, <code>$orderby</code>, <code>$skip</code> and <code>$top</code> applied, so that they are
+     * all declared as handled and must not contain more entities than the maximum page size.
+     *
+     * @param context    the data context of the request received by the entity verticle
+     * @param nextCursor the cursor to resume reading the next page from, which is passed to the entity verticle when
+     *                   the next page is requested, or null in case this is the last page
+     */
+    public static void nextPage(DataContext context, String nextCursor) {
+        handled(context, FILTER, ORDERBY, SKIP, TOP);
+        if (nextCursor != null) {
+            context.put(NEXT_CURSOR_KEY, nextCursor);
+        }
+    }
+
+    /**
+     * Declares that the entity verticle has handled the given query options, so that they do not have to be applied
+     * by the requester again. Only <code>$filter</code>, <code>$orderby</code>, <code>$skip</code> and
+     * <code>$top</code> can be declared as handled.
+     *
+     * @param context the data context of the request received by the entity verticle
+     * @param kinds   the kinds of query options handled
+     */
+    public static void handled(DataContext context, SystemQueryOptionKind... kinds) {
+        Set<SystemQueryOptionKind> handled = getHandled(context);
+        for (SystemQueryOptionKind kind : kinds) {
+            if (!PUSHDOWN_ORDER.contains(kind)) {
+                throw new IllegalArgumentException("Query option " + kind + " cannot be pushed down");
+            }
+            handled.add(kind);
+        }
+
+        JsonArray names = new JsonArray();
+        handled.stream().map(SystemQueryOptionKind::name).forEach(names::add);
+        context.put(HANDLED_QUERY_OPTIONS_KEY, names);
+    }
+
+    /**
+     * Answers a count-only request (see {@link #isCount()}) with the number of entities matching the
+     * <code>$filter</code> query option, instead of returning the entities. The count must always have the filter
+     * applied, the entity verticle may reply with an empty entity wrapper, as any entities returned are ignored.
+     *
+     * @param context the data context of the request received by the entity verticle
+     * @param count   the number of entities matching the filter of the request
+     */
+    public static void counted(DataContext context, long count) {
+        context.put(COUNT_KEY, count);
+    }
+
+    /**
+     * Returns and removes the number of entities answered to a count-only request from a given data context.
+     *
+     * @param context the data context of the request after the reply of the entity verticle was received
+     * @return the number of entities, or null in case the entity verticle did not answer with a count
+     */
+    public static Long consumeCount(DataContext context) {
+        Number count = context.remove(COUNT_KEY);
+        return count != null ? count.longValue() : null;
+    }
+
+    /**
+     * Returns and removes the cursor to the next page of a paged result from a given data context.
+     *
+     * @param context the data context of the request after the reply of the entity verticle was received
+     * @return the cursor to the next page, or null in case the entity verticle did not return a page or returned the
+     *         last page
+     */
+    public static String consumeNextCursor(DataContext context) {
+        return context.remove(NEXT_CURSOR_KEY);
+    }
+
+    /**
+     * Returns and removes the query options declared as handled by an entity verticle from a given data context.
+     *
+     * @param context the data context of the request after the reply of the entity verticle was received
+     * @return the kinds of query options handled by the entity verticle
+     */
+    public static Set<SystemQueryOptionKind> consumeHandled(DataContext context) {
+        Set<SystemQueryOptionKind> handled = getHandled(context);
+        context.remove(HANDLED_QUERY_OPTIONS_KEY);
+        return handled;
+    }
+
+    private static Set<SystemQueryOptionKind> getHandled(DataContext context) {
+        Set<SystemQueryOptionKind> handled = EnumSet.noneOf(SystemQueryOptionKind.class);
+        JsonArray names = context.get(HANDLED_QUERY_OPTIONS_KEY);
+        if (names != null) {
+            names.stream().map(Object::toString).map(SystemQueryOptionKind::valueOf).forEach(handled::add);
+        }
+        return handled;
+    }
+}
@@ -124,12 +124,15 @@ public abstract class EntityVerticle extends DataVerticle<EntityWrapper> {
             if (qualifiedNames.isEmpty()) {
                 return failedFuture("No verticle registered listening to this entity type name");
             } else if (qualifiedNames.size() == 1) {
-                return requestData(vertx, new DataRequest(qualifiedNames.get(0), request.getQuery()), context);
+                return requestData(vertx, new DataRequest(qualifiedNames.get(0), request.getQuery())
+                        .setCoalescing(request.isCoalescing()).setCoalescingScope(request.getCoalescingScope()),
+                        context);
             } else {
                 DataQuery query = request.getQuery().copy().setHeader(ENTITY_TYPE_NAME_HEADER,
                         entityTypeName.getFullQualifiedNameAsString());
-                return requestData(vertx,
-                        new DataRequest(ConsolidationVerticle.QUALIFIED_NAME, query).setLocalOnly(true), context);
+                return requestData(vertx, new DataRequest(ConsolidationVerticle.QUALIFIED_NAME, query)
+                        .setLocalOnly(true).setCoalescing(request.isCoalescing())
+                        .setCoalescingScope(request.getCoalescingScope()), context);
             }
         }).compose(entity -> entity instanceof EntityWrapper ? succeededFuture((EntityWrapper) entity)
                 : failedFuture("The result of entity verticle must be an EntityWrapper"));
@@ -145,6 +148,18 @@ public abstract class EntityVerticle extends DataVerticle<EntityWrapper> {
         return parseUriInfo(vertx, query);
     }
 
+    /**
+     * Parses a given DataQuery to a query plan, which allows the entity verticle to push down query options to its
+     * backend.
+     *
+     * @see EntityQueryPlan
+     * @param query the DataQuery to convert
+     * @return a future to the query plan for a given DataQuery
+     */
+    protected Future<EntityQueryPlan> parseQueryPlan(DataQuery query) {
+        return EntityQueryPlan.parse(vertx, query);
+    }
+
     /**
      * Parses a given DataQuery to a OData UriInfo object.
      *
@@ -4,10 +4,13 @@ import static io.neonbee.internal.Helper.mutableCopyOf;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 
 import io.neonbee.internal.codec.EntityWrapperMessageCodec;
@@ -104,6 +107,64 @@ public class EntityWrapper {
         return Objects.equals(entities, other.entities) && Objects.equals(typeName, other.typeName);
     }
 
+    /**
+     * Returns a copy of this entity wrapper, containing shallow copies of the entities. The copies share the properties
+     * and links of the entities, but have their own lists of them, so that e.g. links can be added to expand the
+     * copies, without changing the entities of this entity wrapper.
+     *
+     * @return a new entity wrapper containing copies of the entities
+     */
+    public EntityWrapper copy() {
+        List<Entity> copiedEntities = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            Entity copiedEntity = new Entity();
+            copiedEntity.setBaseURI(entity.getBaseURI());
+            copiedEntity.setType(entity.getType());
+            copiedEntity.setId(entity.getId());
+            copiedEntity.setTitle(entity.getTitle());
+            copiedEntity.setETag(entity.getETag());
+            copiedEntity.setSelfLink(entity.getSelfLink());
+            copiedEntity.setEditLink(entity.getEditLink());
+            copiedEntity.setMediaContentType(entity.getMediaContentType());
+            copiedEntity.setMediaContentSource(entity.getMediaContentSource());
+            copiedEntity.setMediaETag(entity.getMediaETag());
+            copiedEntity.getProperties().addAll(entity.getProperties());
+            copiedEntity.getNavigationLinks().addAll(entity.getNavigationLinks());
+            copiedEntity.getAssociationLinks().addAll(entity.getAssociationLinks());
+            copiedEntity.getNavigationBindings().addAll(entity.getNavigationBindings());
+            copiedEntity.getMediaEditLinks().addAll(entity.getMediaEditLinks());
+            copiedEntity.getOperations().addAll(entity.getOperations());
+            copiedEntity.getAnnotations().addAll(entity.getAnnotations());
+            copiedEntities.add(copiedEntity);
+        }
+        return new EntityWrapper(typeName, copiedEntities);
+    }
+
+    /**
+     * Returns a copy of this entity wrapper, with only the given properties of the entities kept. The entities of this
+     * entity wrapper remain unchanged.
+     *
+     * @param propertyNames the names of the properties to keep
+     * @return a new entity wrapper containing the projected entities
+     */
+    public EntityWrapper project(Collection<String> propertyNames) {
+        List<Entity> projectedEntities = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            Entity projectedEntity = new Entity();
+            projectedEntity.setType(entity.getType());
+            projectedEntity.setId(entity.getId());
+            projectedEntity.setETag(entity.getETag());
+            projectedEntity.getNavigationLinks().addAll(entity.getNavigationLinks());
+            for (Property property : entity.getProperties()) {
+                if (propertyNames.contains(property.getName())) {
+                    projectedEntity.addProperty(property);
+                }
+            }
+            projectedEntities.add(projectedEntity);
+        }
+        return new EntityWrapper(typeName, projectedEntities);
+    }
+
     /**
      * Converts an {@link EntityWrapper} to a {@link Buffer}.
      *
@@ -0,0 +1,194 @@
+package io.neonbee.entity;
+
+import static io.neonbee.entity.EntityModelManager.getBufferedOData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.etag.ServiceMetadataETagSupport;
+import org.apache.olingo.server.api.serializer.SerializerException;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.neonbee.logging.LoggingFacade;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * The metadata document (<code>$metadata</code>) and service document of an EDMX model, rendered once when the model
+ * is loaded. Both documents are immutable for one version of the model, identified by its metadata ETag, thus they are
+ * served from memory, instead of serializing (and compressing) them for every request.
+ * <p>
+ * The documents are rendered in their default formats only, the metadata document as XML and the service document as
+ * JSON. Both are kept uncompressed, as well as gzip and deflate compressed.
+ */
+public final class MetadataDocuments {
+    /**
+     * The gzip content encoding.
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * The deflate content encoding.
+     */
+    public static final String DEFLATE = "deflate";
+
+    private static final LoggingFacade LOGGER = LoggingFacade.create();
+
+    private final ServiceMetadata serviceMetadata;
+
+    private final String eTag;
+
+    private final Document metadataDocument;
+
+    private final Document serviceDocument;
+
+    @VisibleForTesting
+    MetadataDocuments(ServiceMetadata serviceMetadata, String eTag, Document metadataDocument,
+            Document serviceDocument) {
+        this.serviceMetadata = serviceMetadata;
+        this.eTag = eTag;
+        this.metadataDocument = metadataDocument;
+        this.serviceDocument = serviceDocument;
+    }
+
+    /**
+     * Renders the metadata and service document of a given EDMX model.
+     * <p>
+     * ATTENTION: This method contains BLOCKING code and thus should only be called in a Vert.x worker thread!
+     *
+     * @param serviceMetadata the EDMX model
+     * @return the rendered documents, any document which failed to render is served by Olingo instead
+     */
+    public static MetadataDocuments render(ServiceMetadata serviceMetadata) {
+        ServiceMetadataETagSupport eTagSupport = serviceMetadata.getServiceMetadataETagSupport();
+        String eTag = eTagSupport != null ? eTagSupport.getMetadataETag() : null;
+
+        Document metadataDocument = null;
+        Document serviceDocument = null;
+        try {
+            metadataDocument = Document.of(ContentType.APPLICATION_XML, getBufferedOData()
+                    .createSerializer(ContentType.APPLICATION_XML).metadataDocument(serviceMetadata).getContent());
+            // Olingo renders the service document without a service root, thus it is equal for any request
+            serviceDocument = Document.of(ContentType.JSON, getBufferedOData().createSerializer(ContentType.JSON)
+                    .serviceDocument(serviceMetadata, null).getContent());
+        } catch (SerializerException | IOException e) {
+            LOGGER.warn("Failed to render the metadata documents of {}, serving them unrendered",
+                    serviceMetadata.getEdm().getEntityContainer().getNamespace(), e);
+        }
+        return new MetadataDocuments(serviceMetadata, eTag, metadataDocument, serviceDocument);
+    }
+
+    /**
+     * Returns the EDMX model of the documents.
+     *
+     * @return the EDMX model
+     */
+    public ServiceMetadata getServiceMetadata() {
+        return serviceMetadata;
+    }
+
+    /**
+     * Returns the ETag of the documents.
+     *
+     * @return the metadata ETag of the EDMX model, or null in case the model has no ETag
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Returns the rendered metadata document.
+     *
+     * @return the metadata document as XML, or null in case it failed to render
+     */
+    public Document getMetadataDocument() {
+        return metadataDocument;
+    }
+
+    /**
+     * Returns the rendered service document.
+     *
+     * @return the service document as JSON, or null in case it failed to render
+     */
+    public Document getServiceDocument() {
+        return serviceDocument;
+    }
+
+    /**
+     * One rendered document, in all its content encodings.
+     */
+    public static final class Document {
+        private final ContentType contentType;
+
+        private final Buffer content;
+
+        private final Buffer gzipContent;
+
+        private final Buffer deflateContent;
+
+        private Document(ContentType contentType, Buffer content, Buffer gzipContent, Buffer deflateContent) {
+            this.contentType = contentType;
+            this.content = content;
+            this.gzipContent = gzipContent;
+            this.deflateContent = deflateContent;
+        }
+
+        @VisibleForTesting
+        static Document of(ContentType contentType, InputStream content) throws IOException {
+            byte[] bytes = content.readAllBytes();
+            return new Document(contentType, Buffer.buffer(bytes), Buffer.buffer(gzip(bytes)),
+                    Buffer.buffer(deflate(bytes)));
+        }
+
+        /**
+         * Returns the content type of the document.
+         *
+         * @return the content type
+         */
+        public ContentType getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Returns the content of the document in a given content encoding.
+         *
+         * @param contentEncoding either {@link #GZIP}, {@link #DEFLATE}, or null for the uncompressed content
+         * @return the (compressed) content
+         */
+        public Buffer getContent(String contentEncoding) {
+            if (GZIP.equals(contentEncoding)) {
+                return gzipContent;
+            } else if (DEFLATE.equals(contentEncoding)) {
+                return deflateContent;
+            } else {
+                return content;
+            }
+        }
+
+        private static byte[] gzip(byte[] bytes) throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (GZIPOutputStream compressor = new GZIPOutputStream(output)) {
+                compressor.write(bytes);
+            }
+            return output.toByteArray();
+        }
+
+        private static byte[] deflate(byte[] bytes) throws IOException {
+            // the documents are compressed once per model, so it's worth compressing them as good as possible
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (DeflaterOutputStream compressor = new DeflaterOutputStream(output, deflater)) {
+                compressor.write(bytes);
+            } finally {
+                deflater.end();
+            }
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package io.neonbee.internal.codec;
+
+import static io.neonbee.entity.EntityModelManager.getBufferedModel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.commons.api.edm.EdmTypeDefinition;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.edm.constants.EdmTypeKind;
+import org.apache.olingo.server.api.ServiceMetadata;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.neonbee.entity.EntityWrapper;
+import io.neonbee.entity.ModelDefinitionHelper;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * A compact binary codec for {@link EntityWrapper}, which writes the property values of all entities positionally, in
+ * the order the properties are declared in the EDM entity type. Neither property names, nor any JSON structure is
+ * transmitted, thus this codec is considerably faster and produces less garbage than the default
+ * {@link EntityWrapperMessageCodec}.
+ * <p>
+ * Entity types with properties which cannot be written positionally (e.g. complex, collection, or geospatial
+ * properties) are transmitted using the {@link EntityWrapperMessageCodec} instead. As older versions of NeonBee are not
+ * able to decode messages of this codec, it is never registered as a default codec. Instead the
+ * {@link io.neonbee.data.DataVerticle} will only reply with this codec, if the requester indicated that it is able to
+ * decode it.
+ * <p>
+ * As the properties are not transmitted by name, a fingerprint of the layout of the properties is transmitted along
+ * with the entities. In case the entity type of the receiver has a different layout, e.g. because the model of the
+ * sender was changed, the message is rejected, instead of decoding the values into the wrong properties.
+ */
+public class EntityWrapperBinaryMessageCodec implements MessageCodec<EntityWrapper, EntityWrapper> {
+    /**
+     * The name of this codec.
+     */
+    public static final String NAME = "entitywrapperbinary";
+
+    private static final byte FORMAT_JSON = 0;
+
+    private static final byte FORMAT_BINARY = 1;
+
+    private static final byte VALUE_ABSENT = 0;
+
+    private static final byte VALUE_NULL = 1;
+
+    private static final byte VALUE_NATIVE = 2;
+
+    private static final byte VALUE_STRING = 3;
+
+    private final Vertx vertx;
+
+    private final EntityWrapperMessageCodec jsonCodec;
+
+    // the layouts are cached per service metadata, so layouts of reloaded models are determined again
+    private final Map<ServiceMetadata, Map<FullQualifiedName, Optional<EntityLayout>>> layouts =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Creates a new EntityWrapperBinaryMessageCodec.
+     *
+     * @param vertx a Vert.x instance required to get the buffered model
+     */
+    public EntityWrapperBinaryMessageCodec(Vertx vertx) {
+        this.vertx = vertx;
+        this.jsonCodec = new EntityWrapperMessageCodec(vertx);
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer, EntityWrapper entityWrapper) {
+        FullQualifiedName entityTypeName = entityWrapper.getTypeName();
+        EntityLayout layout = getLayout(entityTypeName);
+        if (layout == null) {
+            buffer.appendByte(FORMAT_JSON);
+            jsonCodec.encodeToWire(buffer, entityWrapper);
+            return;
+        }
+
+        buffer.appendByte(FORMAT_BINARY);
+        appendString(buffer, entityTypeName.getNamespace());
+        appendString(buffer, entityTypeName.getName());
+        buffer.appendInt(layout.fingerprint);
+        buffer.appendInt(entityWrapper.getEntities().size());
+
+        Property[] properties = new Property[layout.properties.size()];
+        for (Entity entity : entityWrapper.getEntities()) {
+            for (Property property : entity.getProperties()) {
+                // same as for the JSON serializer, properties not declared in the entity type are not transmitted
+                Integer position = layout.positions.get(property.getName());
+                if (position != null) {
+                    properties[position] = property;
+                }
+            }
+
+            for (int position = 0; position < properties.length; position++) {
+                appendValue(buffer, layout.properties.get(position), properties[position]);
+                properties[position] = null;
+            }
+        }
+    }
+
+    @Override
+    public EntityWrapper decodeFromWire(int position, Buffer buffer) {
+        if (buffer.getByte(position) == FORMAT_JSON) {
+            return jsonCodec.decodeFromWire(position + 1, buffer);
+        }
+
+        BufferReader reader = new BufferReader(buffer, position + 1);
+        FullQualifiedName entityTypeName = new FullQualifiedName(reader.readString(), reader.readString());
+        EntityLayout layout = getLayout(entityTypeName);
+        if (layout == null) {
+            throw new IllegalStateException("Cannot decode entities of type " + entityTypeName + " positionally");
+        } else if (reader.readInt() != layout.fingerprint) {
+            throw new IllegalStateException("Cannot decode entities of type " + entityTypeName
+                    + ", as the layout of the entity type differs from the layout of the sender");
+        }
+
+        String entityType = entityTypeName.getFullQualifiedNameAsString();
+        int size = reader.readInt();
+        List<Entity> entities = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            Entity entity = new Entity();
+            entity.setType(entityType);
+            for (PropertyLayout property : layout.properties) {
+                byte marker = reader.readByte();
+                if (marker != VALUE_ABSENT) {
+                    entity.addProperty(new Property(property.typeName, property.name, ValueType.PRIMITIVE,
+                            marker == VALUE_NULL ? null : readValue(reader, property, marker)));
+                }
+            }
+            entities.add(entity);
+        }
+
+        return new EntityWrapper(entityTypeName, entities);
+    }
+
+    @Override
+    public EntityWrapper transform(EntityWrapper entity) {
+        return entity;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+
+    /**
+     * Returns the positional layout of all properties of a given entity type.
+     *
+     * @param entityTypeName the name of the entity type
+     * @return the layout of the properties or null, in case the entity type cannot be written positionally
+     */
+    @VisibleForTesting
+    EntityLayout getLayout(FullQualifiedName entityTypeName) {
+        ServiceMetadata serviceMetadata =
+                getBufferedModel(vertx, ModelDefinitionHelper.retrieveNamespace(entityTypeName.getNamespace()))
+                        .getEdmx(entityTypeName.getNamespace());
+        if (serviceMetadata == null) {
+            throw new IllegalStateException("Service metadata was not loaded yet for " + entityTypeName);
+        }
+
+        return layouts.computeIfAbsent(serviceMetadata, metadata -> new ConcurrentHashMap<>())
+                .computeIfAbsent(entityTypeName, name -> Optional.ofNullable(
+                        createLayout(serviceMetadata.getEdm().getEntityType(entityTypeName))))
+                .orElse(null);
+    }
+
+    private static EntityLayout createLayout(EdmEntityType entityType) {
+        List<PropertyLayout> properties = new ArrayList<>();
+        for (String propertyName : entityType.getPropertyNames()) {
+            EdmProperty property = entityType.getStructuralProperty(propertyName);
+            EdmType type = property.getType();
+            if (property.isCollection()
+                    || (type.getKind() != EdmTypeKind.PRIMITIVE && type.getKind() != EdmTypeKind.DEFINITION)) {
+                return null;
+            }
+
+            EdmPrimitiveTypeKind kind = EdmPrimitiveTypeKind.valueOfFQN((type instanceof EdmTypeDefinition
+                    ? ((EdmTypeDefinition) type).getUnderlyingType() : type).getFullQualifiedName());
+            if (kind == EdmPrimitiveTypeKind.Stream || kind.isGeospatial()) {
+                return null;
+            }
+
+            properties.add(new PropertyLayout(property, kind));
+        }
+        return new EntityLayout(properties);
+    }
+
+    private static void appendValue(Buffer buffer, PropertyLayout property, Property value) {
+        if (value == null) {
+            buffer.appendByte(VALUE_ABSENT);
+            return;
+        } else if (value.isNull()) {
+            buffer.appendByte(VALUE_NULL);
+            return;
+        }
+
+        Object object = value.getValue();
+        switch (property.kind) {
+        case String:
+            if (object instanceof String) {
+                appendString(buffer.appendByte(VALUE_NATIVE), (String) object);
+                return;
+            }
+            break;
+        case Boolean:
+            if (object instanceof Boolean) {
+                buffer.appendByte(VALUE_NATIVE).appendByte((byte) ((Boolean) object ? 1 : 0));
+                return;
+            }
+            break;
+        case Int16:
+            if (object instanceof Short || object instanceof Byte) {
+                buffer.appendByte(VALUE_NATIVE).appendShort(((Number) object).shortValue());
+                return;
+            }
+            break;
+        case Int32:
+            if (object instanceof Integer || object instanceof Short || object instanceof Byte) {
+                buffer.appendByte(VALUE_NATIVE).appendInt(((Number) object).intValue());
+                return;
+            }
+            break;
+        case Int64:
+            if (object instanceof Long || object instanceof Integer || object instanceof Short
+                    || object instanceof Byte) {
+                buffer.appendByte(VALUE_NATIVE).appendLong(((Number) object).longValue());
+                return;
+            }
+            break;
+        case Double:
+            if (object instanceof Double || object instanceof Float) {
+                buffer.appendByte(VALUE_NATIVE).appendDouble(((Number) object).doubleValue());
+                return;
+            }
+            break;
+        case Single:
+            if (object instanceof Float) {
+                buffer.appendByte(VALUE_NATIVE).appendFloat((Float) object);
+                return;
+            }
+            break;
+        case Guid:
+            if (object instanceof UUID) {
+                buffer.appendByte(VALUE_NATIVE).appendLong(((UUID) object).getMostSignificantBits())
+                        .appendLong(((UUID) object).getLeastSignificantBits());
+                return;
+            }
+            break;
+        default:
+            break;
+        }
+
+        // any other value is transmitted in its literal string representation, same as for the JSON serializer
+        try {
+            appendString(buffer.appendByte(VALUE_STRING), property.type.valueToString(object, property.nullable,
+                    property.maxLength, property.precision, property.scale, property.unicode));
+        } catch (EdmPrimitiveTypeException e) {
+            throw new IllegalArgumentException("Cannot encode value of property " + property.name, e);
+        }
+    }
+
+    private static Object readValue(BufferReader reader, PropertyLayout property, byte marker) {
+        if (marker == VALUE_STRING) {
+            try {
+                return property.type.valueOfString(reader.readString(), property.nullable, property.maxLength,
+                        property.precision, property.scale, property.unicode, property.type.getDefaultType());
+            } catch (EdmPrimitiveTypeException e) {
+                throw new IllegalArgumentException("Cannot decode value of property " + property.name, e);
+            }
+        }
+
+        switch (property.kind) {
+        case String:
+            return reader.readString();
+        case Boolean:
+            return reader.readByte() != 0;
+        case Int16:
+            return reader.readShort();
+        case Int32:
+            return reader.readInt();
+        case Int64:
+            return reader.readLong();
+        case Double:
+            return reader.readDouble();
+        case Single:
+            return reader.readFloat();
+        case Guid:
+            return new UUID(reader.readLong(), reader.readLong());
+        default:
+            throw new IllegalStateException("Unexpected value of property " + property.name);
+        }
+    }
+
+    private static Buffer appendString(Buffer buffer, String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        return buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+
+    @VisibleForTesting
+    static final class EntityLayout {
+        final List<PropertyLayout> properties;
+
+        final Map<String, Integer> positions = new HashMap<>();
+
+        final int fingerprint;
+
+        EntityLayout(List<PropertyLayout> properties) {
+            this.properties = properties;
+
+            int hash = 1;
+            for (int position = 0; position < properties.size(); position++) {
+                PropertyLayout property = properties.get(position);
+                positions.put(property.name, position);
+                // only hash values, which are stable across JVMs (e.g. no identity hash codes of enums)
+                hash = 31 * hash + Objects.hash(property.name, property.typeName, property.kind.name(),
+                        property.maxLength, property.precision, property.scale);
+            }
+            this.fingerprint = hash;
+        }
+    }
+
+    private static final class PropertyLayout {
+        final String name;
+
+        final String typeName;
+
+        final EdmPrimitiveTypeKind kind;
+
+        final EdmPrimitiveType type;
+
+        final Boolean nullable;
+
+        final Integer maxLength;
+
+        final Integer precision;
+
+        final Integer scale;
+
+        final Boolean unicode;
+
+        PropertyLayout(EdmProperty property, EdmPrimitiveTypeKind kind) {
+            this.name = property.getName();
+            this.typeName = property.getType().getFullQualifiedName().getFullQualifiedNameAsString();
+            this.kind = kind;
+            this.type = (EdmPrimitiveType) property.getType();
+            this.nullable = property.isNullable();
+            this.maxLength = property.getMaxLength();
+            this.precision = property.getPrecision();
+            this.scale = property.getScale();
+            this.unicode = property.isUnicode();
+        }
+    }
+
+    private static final class BufferReader {
+        private final Buffer buffer;
+
+        private int position;
+
+        BufferReader(Buffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return buffer.getByte(position++);
+        }
+
+        short readShort() {
+            short value = buffer.getShort(position);
+            position += Short.BYTES;
+            return value;
+        }
+
+        int readInt() {
+            int value = buffer.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        long readLong() {
+            long value = buffer.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        float readFloat() {
+            float value = buffer.getFloat(position);
+            position += Float.BYTES;
+            return value;
+        }
+
+        double readDouble() {
+            double value = buffer.getDouble(position);
+            position += Double.BYTES;
+            return value;
+        }
+
+        String readString() {
+            int length = readInt();
+            String value = new String(buffer.getBytes(position, position + length), UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.neonbee.internal.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * A message codec passing any object by reference. This codec can only be used for messages which are sent with the
+ * localOnly delivery option, as it is not able to encode / decode any message to / from the wire.
+ */
+public class LocalOnlyMessageCodec implements MessageCodec<Object, Object> {
+    /**
+     * The name of this codec, to be used when sending messages via the event bus.
+     */
+    public static final String NAME = "localonly";
+
+    @Override
+    public void encodeToWire(Buffer buffer, Object object) {
+        throw new UnsupportedOperationException("Messages using the " + NAME + " codec cannot be sent remotely");
+    }
+
+    @Override
+    public Object decodeFromWire(int position, Buffer buffer) {
+        throw new UnsupportedOperationException("Messages using the " + NAME + " codec cannot be received remotely");
+    }
+
+    @Override
+    public Object transform(Object object) {
+        return object;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
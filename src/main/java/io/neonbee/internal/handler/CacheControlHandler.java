@@ -8,30 +8,70 @@ import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.ext.web.RoutingContext;
 
+/**
+ * Sets the caching headers of any response, which does not set caching headers on its own. By default, responses must
+ * not be cached at all. A different <code>Cache-Control</code> policy can be configured for specific routes (e.g.
+ * <code>no-cache</code>, to let clients store responses and revalidate them using their ETag), by adding another
+ * CacheControlHandler with the policy to the route. The policy of the handler added last applies.
+ */
 public class CacheControlHandler implements Handler<RoutingContext> {
+    /**
+     * The key of the routing context data, containing the Cache-Control policy of the route.
+     */
+    static final String POLICY_KEY = "cacheControlPolicy";
+
+    private final String policy;
+
+    CacheControlHandler(String policy) {
+        this.policy = policy;
+    }
+
     /**
      * Convenience method as similar other Vertx handler implementations (e.g. ErrorHandler)
      *
      * @return The CacheControlHandler
      */
     public static CacheControlHandler create() {
-        return new CacheControlHandler();
+        return new CacheControlHandler(null);
+    }
+
+    /**
+     * Creates a CacheControlHandler setting a given Cache-Control policy.
+     *
+     * @param policy the value of the Cache-Control header, or null to prevent any caching
+     * @return The CacheControlHandler
+     */
+    public static CacheControlHandler create(String policy) {
+        return new CacheControlHandler(policy);
     }
 
     @Override
     public void handle(RoutingContext routingContext) {
-        routingContext.addHeadersEndHandler(nothing -> {
-            MultiMap headers = routingContext.response().headers();
-            if (headers.contains(CACHE_CONTROL) || headers.contains(PRAGMA) || headers.contains(EXPIRES)) {
-                // somebody took care about cache control already, do nothing here!
-                return;
-            }
-
-            // if no caching headers are set, set no-caching headers by default!
-            headers.set(CACHE_CONTROL, "no-cache, no-store, must-revalidate");
-            headers.set(PRAGMA, "no-cache");
-            headers.set(EXPIRES, "0");
-        });
+        // in case another handler was added to the route before, only the policy is replaced
+        boolean registered = routingContext.data().containsKey(POLICY_KEY);
+        routingContext.data().put(POLICY_KEY, policy);
+        if (!registered) {
+            routingContext.addHeadersEndHandler(nothing -> setCachingHeaders(routingContext));
+        }
         routingContext.next();
     }
+
+    private static void setCachingHeaders(RoutingContext routingContext) {
+        MultiMap headers = routingContext.response().headers();
+        if (headers.contains(CACHE_CONTROL) || headers.contains(PRAGMA) || headers.contains(EXPIRES)) {
+            // somebody took care about cache control already, do nothing here!
+            return;
+        }
+
+        String policy = (String) routingContext.data().get(POLICY_KEY);
+        if (policy != null) {
+            headers.set(CACHE_CONTROL, policy);
+            return;
+        }
+
+        // if no caching headers are set, set no-caching headers by default!
+        headers.set(CACHE_CONTROL, "no-cache, no-store, must-revalidate");
+        headers.set(PRAGMA, "no-cache");
+        headers.set(EXPIRES, "0");
+    }
 }
@@ -0,0 +1,153 @@
+package io.neonbee.internal.handler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * An output stream writing to a HTTP server response in chunks.
+ * <p>
+ * Data is collected until a chunk is full, only then the response is switched to chunked transfer encoding and the
+ * chunk is written to the response. Thus, any response smaller than one chunk is ended with a single buffer and a
+ * content length as before. In case the write queue of the response is full, the writing thread waits until the drain
+ * handler of the response signals that the queue was drained, so this stream must be written from a worker thread of a
+ * dedicated pool (see {@link ODataWorkerExecutor#getStreaming(io.vertx.core.Vertx, io.vertx.core.json.JsonObject)}).
+ * On an event loop thread, the write queue is never waited for, to not block the event loop. As this stream is the
+ * only writer of the response, it sets the drain handler of the response while waiting, any other handler is left
+ * untouched. In case the queue is not drained within the drain timeout, or the response is closed while waiting,
+ * writing fails with an {@link IOException}.
+ */
+class ChunkedResponseOutputStream extends OutputStream {
+    @VisibleForTesting
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    @VisibleForTesting
+    static final long DRAIN_TIMEOUT_MILLIS = 30_000;
+
+    // the drain handler wakes up the writing thread immediately, the interval only bounds noticing a closed response
+    private static final long CLOSED_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final HttpServerResponse response;
+
+    private final long drainTimeoutNanos;
+
+    private final Semaphore drained = new Semaphore(0);
+
+    private Buffer chunk = Buffer.buffer(CHUNK_SIZE);
+
+    private boolean chunked;
+
+    private boolean closed;
+
+    ChunkedResponseOutputStream(HttpServerResponse response) {
+        this(response, DRAIN_TIMEOUT_MILLIS);
+    }
+
+    @VisibleForTesting
+    ChunkedResponseOutputStream(HttpServerResponse response, long drainTimeoutMillis) {
+        super();
+        this.response = response;
+        this.drainTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+    }
+
+    /**
+     * Writes a given input stream to the response in chunks and ends the response after the input was read.
+     *
+     * @param input    the input stream to write
+     * @param response the response to write to
+     * @throws IOException if reading the input stream fails
+     */
+    static void write(InputStream input, HttpServerResponse response) throws IOException {
+        // do not close the stream in case reading fails, as this would end the response with partial content
+        ChunkedResponseOutputStream output = new ChunkedResponseOutputStream(response);
+        input.transferTo(output);
+        output.close();
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        chunk.appendByte((byte) value);
+        if (chunk.length() >= CHUNK_SIZE) {
+            writeChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        int position = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            int count = Math.min(remaining, CHUNK_SIZE - chunk.length());
+            chunk.appendBytes(bytes, position, count);
+            position += count;
+            remaining -= count;
+            if (chunk.length() >= CHUNK_SIZE) {
+                writeChunk();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        response.end(chunk);
+        chunk = null;
+    }
+
+    private void writeChunk() throws IOException {
+        if (!chunked) {
+            chunked = true;
+            response.setChunked(true);
+        }
+
+        awaitDrain();
+        response.write(chunk);
+        chunk = Buffer.buffer(CHUNK_SIZE);
+    }
+
+    private void awaitDrain() throws IOException {
+        if (Context.isOnEventLoopThread()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + drainTimeoutNanos;
+        drained.drainPermits();
+        response.drainHandler(nothing -> drained.release());
+        try {
+            // check the write queue after setting the drain handler, in case it was drained before already
+            while (response.writeQueueFull() && !awaitDrained(deadline)) {
+                if (response.closed()) {
+                    throw new IOException("The response was closed while waiting for the response to drain");
+                } else if (deadline - System.nanoTime() <= 0) {
+                    throw new IOException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(drainTimeoutNanos)
+                            + "ms while waiting for the response to drain");
+                }
+            }
+        } finally {
+            response.drainHandler(null);
+        }
+    }
+
+    private boolean awaitDrained(long deadline) throws InterruptedIOException {
+        try {
+            return drained.tryAcquire(Math.max(0, Math.min(CLOSED_CHECK_NANOS, deadline - System.nanoTime())),
+                    TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response to drain");
+        }
+    }
+}
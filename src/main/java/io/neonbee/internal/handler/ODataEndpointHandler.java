@@ -7,15 +7,16 @@ import static io.neonbee.entity.EntityModelManager.getSharedModels;
 import static io.neonbee.internal.Helper.EMPTY;
 import static io.neonbee.internal.Helper.entryConsumer;
 import static io.neonbee.internal.Helper.entryFunction;
-import static io.neonbee.internal.Helper.inputStreamToBuffer;
 import static io.neonbee.internal.Helper.replaceLast;
 import static io.vertx.core.Future.succeededFuture;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
+import static java.net.HttpURLConnection.HTTP_OK;
 import static org.apache.olingo.server.core.ODataHandlerException.MessageKeys.AMBIGUOUS_XHTTP_METHOD;
 import static org.apache.olingo.server.core.ODataHandlerException.MessageKeys.HTTP_METHOD_NOT_ALLOWED;
 import static org.apache.olingo.server.core.ODataHandlerException.MessageKeys.INVALID_HTTP_METHOD;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
@@ -24,12 +25,17 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.server.api.OData;
@@ -43,21 +49,29 @@ import org.apache.olingo.server.core.ODataHandlerException;
 
 import com.google.common.annotations.VisibleForTesting;
 
+import io.neonbee.data.ETag;
 import io.neonbee.entity.EntityModel;
+import io.neonbee.entity.MetadataDocuments;
+import io.neonbee.entity.MetadataDocuments.Document;
 import io.neonbee.internal.Helper.BufferInputStream;
 import io.neonbee.internal.SharedDataAccessor;
+import io.neonbee.internal.processor.AsynchronousProcessor;
 import io.neonbee.internal.processor.BatchProcessor;
 import io.neonbee.internal.processor.CountEntityCollectionProcessor;
 import io.neonbee.internal.processor.EntityProcessor;
 import io.neonbee.internal.processor.PrimitiveProcessor;
+import io.neonbee.internal.processor.odata.ServerDrivenPaging;
+import io.neonbee.internal.processor.odata.expression.ParallelEntityFilter;
 import io.neonbee.logging.LoggingFacade;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -65,8 +79,28 @@ import io.vertx.ext.web.RoutingContext;
 public final class ODataEndpointHandler implements Handler<RoutingContext> {
     private static final LoggingFacade LOGGER = LoggingFacade.create();
 
+    private static final String METADATA_PATH = "/$metadata";
+
+    private static final String SERVICE_DOCUMENT_PATH = "/";
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile(",");
+
+    private static final Pattern PARAMETER_SEPARATOR = Pattern.compile(";");
+
     private final ServiceMetadata serviceMetadata;
 
+    private final MetadataDocuments metadataDocuments;
+
+    private final JsonObject config;
+
+    private final ParallelEntityFilter parallelFilter;
+
+    private final ServerDrivenPaging paging;
+
+    private final int batchParallelism;
+
+    private final Queue<ODataHandlerWiring> wirings = new ConcurrentLinkedQueue<>();
+
     /**
      * Either STRICT (&lt;namespace&gt;.&lt;service&gt;), LOOSE (&lt;path4 mapping of namespace&gt;-&lt;path4 mapping of
      * service&gt;) or CDS (&lt;path4 mapping of service&gt;) URI mapping:
@@ -181,6 +215,19 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
      * @return the generated router
      */
     public static Router router(Vertx vertx, String basePath, UriConversion uriConversion) {
+        return router(vertx, basePath, uriConversion, new JsonObject());
+    }
+
+    /**
+     * Creates a router that contains a route for every loaded OData model.
+     *
+     * @param vertx         the related Vert.x instance
+     * @param basePath      the base path of the router
+     * @param uriConversion the UriConversion
+     * @param config        the config of the OData endpoint
+     * @return the generated router
+     */
+    public static Router router(Vertx vertx, String basePath, UriConversion uriConversion, JsonObject config) {
         Router router = Router.router(vertx);
         AtomicBoolean initialized = new AtomicBoolean(); // true if the router was initialized already
         AtomicReference<Map<String, EntityModel>> models = new AtomicReference<>();
@@ -193,7 +240,7 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
         vertx.eventBus().consumer(EVENT_BUS_MODELS_LOADED_ADDRESS, message -> {
             // do not refresh the router if it wasn't even initialized
             if (initialized.get()) {
-                refreshRouter(vertx, router, basePath, uriConversion, models);
+                refreshRouter(vertx, router, basePath, uriConversion, config, models);
             }
         });
 
@@ -206,7 +253,7 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
         initialRoute.handler(
                 routingContext -> new SharedDataAccessor(vertx, ODataEndpointHandler.class).getLocalLock(asyncLock ->
                 // immediately initialize the router, this will also "arm" the event bus listener
-                (!initialized.getAndSet(true) ? refreshRouter(vertx, router, basePath, uriConversion, models)
+                (!initialized.getAndSet(true) ? refreshRouter(vertx, router, basePath, uriConversion, config, models)
                         : succeededFuture()).onComplete(handler -> {
                             // Wait for the refresh to finish (the result doesn't matter), remove the initial route, as
                             // this will redirect all requests to the registered service endpoint handlers (if non have
@@ -229,7 +276,7 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
     }
 
     private static Future<Void> refreshRouter(Vertx vertx, Router router, String basePath, UriConversion uriConversion,
-            AtomicReference<Map<String, EntityModel>> currentModels) {
+            JsonObject config, AtomicReference<Map<String, EntityModel>> currentModels) {
         return getSharedModels(vertx).compose(models -> {
             if (models == currentModels.get()) {
                 return succeededFuture(); // no update needed
@@ -242,14 +289,16 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
 
             // Register new routes first, this will avoid downtimes of already existing services. Register the shortest
             // routes last, this will lead to some routes like the empty namespace / to be registered last.
-            models.values().stream().flatMap(entityModel -> entityModel.getEdmxes().entrySet().stream())
+            models.values().stream().flatMap(entityModel -> entityModel.getMetadataDocuments().entrySet().stream())
                     .map(entryFunction(
-                            (schemaNamespace, edmxModel) -> Map.entry(uriConversion.apply(schemaNamespace), edmxModel)))
+                            (schemaNamespace, documents) -> Map.entry(uriConversion.apply(schemaNamespace), documents)))
                     .sorted(Map.Entry.comparingByKey(Comparator.comparingInt(String::length).reversed()))
-                    .forEach(entryConsumer((uriPath, edmxModel) -> {
-                        router.route((uriPath.isEmpty() ? EMPTY : ("/" + uriPath)) + "/*").handler(create(edmxModel));
+                    .forEach(entryConsumer((uriPath, documents) -> {
+                        router.route((uriPath.isEmpty() ? EMPTY : ("/" + uriPath)) + "/*")
+                                .handler(create(documents, config));
                         LOGGER.info("Serving OData service endpoint for {} at {}{} ({} URI mapping)",
-                                edmxModel.getEdm().getEntityContainer().getNamespace(), basePath, uriPath,
+                                documents.getServiceMetadata().getEdm().getEntityContainer().getNamespace(), basePath,
+                                uriPath,
                                 uriConversion.name().toLowerCase(Locale.getDefault()));
                     }));
 
@@ -269,42 +318,76 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
      * @return A ODataEndpointHandler instance
      */
     public static ODataEndpointHandler create(ServiceMetadata serviceMetadata) {
-        return new ODataEndpointHandler(serviceMetadata);
+        return create(serviceMetadata, new JsonObject());
+    }
+
+    /**
+     * Convenience method as similar other Vert.x handler implementations (e.g. ErrorHandler)
+     *
+     * @param serviceMetadata The metadata of the service
+     * @param config          The config of the OData endpoint
+     * @return A ODataEndpointHandler instance
+     */
+    public static ODataEndpointHandler create(ServiceMetadata serviceMetadata, JsonObject config) {
+        return new ODataEndpointHandler(serviceMetadata, null, config);
     }
 
-    private ODataEndpointHandler(ServiceMetadata serviceMetadata) {
+    /**
+     * Convenience method as similar other Vert.x handler implementations (e.g. ErrorHandler)
+     *
+     * @param metadataDocuments The metadata of the service, with its rendered metadata documents
+     * @param config            The config of the OData endpoint
+     * @return A ODataEndpointHandler instance
+     */
+    public static ODataEndpointHandler create(MetadataDocuments metadataDocuments, JsonObject config) {
+        return new ODataEndpointHandler(metadataDocuments.getServiceMetadata(), metadataDocuments, config);
+    }
+
+    private ODataEndpointHandler(ServiceMetadata serviceMetadata, MetadataDocuments metadataDocuments,
+            JsonObject config) {
         this.serviceMetadata = serviceMetadata;
+        this.metadataDocuments = metadataDocuments;
+        this.config = config;
+        this.parallelFilter = ParallelEntityFilter.create(config);
+        this.paging = ServerDrivenPaging.create(config);
+        this.batchParallelism = BatchProcessor.getParallelism(config);
     }
 
     @Override
     public void handle(RoutingContext routingContext) {
+        // the metadata and service documents rendered when loading the model, are served without processing them
+        if (metadataDocuments != null && serveMetadataDocument(routingContext)) {
+            return;
+        }
+
         // In case the OData request is asynchronously processed, the processor will complete the processPromise
         // when done, in case Olingo handles the request synchronously, the processPromise will be completed here
         Vertx vertx = routingContext.vertx();
         Promise<Void> processPromise = Promise.promise();
-        vertx.<ODataResponse>executeBlocking(blockingPromise -> {
-            OData odata = OData.newInstance();
-            ODataHandler odataHandler = odata.createRawHandler(serviceMetadata);
-
-            // add further build-in processors for NeonBee here (every processor must handle the processPromise)
-            odataHandler.register(new CountEntityCollectionProcessor(vertx, routingContext, processPromise));
-            odataHandler.register(new EntityProcessor(vertx, routingContext, processPromise));
-            odataHandler.register(new BatchProcessor(vertx, routingContext, processPromise));
-            odataHandler.register(new PrimitiveProcessor(vertx, routingContext, processPromise));
+        // process the request on the dedicated, unordered OData worker pool, so that the requests received on the
+        // context of one server verticle are not processed one after another
+        ODataWorkerExecutor.get(vertx, config).<ODataResponse>executeBlocking(blockingPromise -> {
+            // the OData handler and processors keep state while processing a request, thus a wiring is reused for
+            // further requests to the service, but never for more than one request at a time
+            ODataHandlerWiring wiring =
+                    Optional.ofNullable(wirings.poll()).orElseGet(() -> new ODataHandlerWiring(vertx));
+            wiring.bind(routingContext, processPromise);
 
             try {
-                ODataResponse odataResponse = odataHandler.process(mapToODataRequest(routingContext,
+                ODataResponse odataResponse = wiring.odataHandler.process(mapToODataRequest(routingContext,
                         serviceMetadata.getEdm().getEntityContainer().getNamespace()));
                 // check for synchronous processing, complete the processPromise in case a response body is set
                 if ((odataResponse.getStatusCode() != HTTP_INTERNAL_ERROR) || (odataResponse.getContent() != null)
                         || (odataResponse.getODataContent() != null)) {
                     processPromise.tryComplete();
                 }
+                // in case processing failed unexpectedly, the wiring is not returned, as it could still be in use
+                processPromise.future().onComplete(processed -> wirings.offer(wiring));
                 blockingPromise.complete(odataResponse);
             } catch (ODataLibraryException e) {
                 blockingPromise.fail(e);
             }
-        }, asyncODataResponse -> {
+        }).onComplete(asyncODataResponse -> {
             // failed to map / process OData request, so fail the web request
             if (asyncODataResponse.failed()) {
                 Throwable cause = asyncODataResponse.cause();
@@ -324,19 +407,179 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
                 }
 
                 try {
-                    // map the odataResponse to the routingContext.response
-                    mapODataResponse(odataResponse, routingContext.response());
-                } catch (IOException | ODataRuntimeException e) {
+                    // answer conditional requests for data the client has already, without transferring it again
+                    applyETag(routingContext.request(), odataResponse);
+                } catch (IOException e) {
                     routingContext.fail(-1, e);
+                    return;
+                }
+
+                if (!isStreamed(odataResponse)) {
+                    try {
+                        // map the odataResponse to the routingContext.response
+                        mapODataResponse(odataResponse, routingContext.response());
+                    } catch (IOException | ODataRuntimeException e) {
+                        routingContext.fail(-1, e);
+                    }
+                    return;
                 }
+
+                // large responses are streamed from the dedicated streaming pool, as writing the response waits for
+                // the write queue of the response to be drained, in order to not keep the full response in memory
+                ODataWorkerExecutor.getStreaming(vertx, config).<Void>executeBlocking(streamPromise -> {
+                    try {
+                        mapODataResponse(odataResponse, routingContext.response());
+                        streamPromise.complete();
+                    } catch (IOException | ODataRuntimeException e) {
+                        streamPromise.fail(e);
+                    }
+                }).onComplete(asyncStream -> {
+                    if (asyncStream.failed() && !routingContext.response().headWritten()) {
+                        routingContext.fail(-1, asyncStream.cause());
+                    } else if (asyncStream.failed()) {
+                        // the response was partially written already, so the only option left is to reset it
+                        LOGGER.correlateWith(routingContext).error("Failed to stream OData response",
+                                asyncStream.cause());
+                        routingContext.response().reset();
+                    }
+                });
             });
         });
     }
 
+    /**
+     * An OData handler with all build-in processors of NeonBee registered, reused for multiple requests.
+     */
+    private final class ODataHandlerWiring {
+        private final ODataHandler odataHandler;
+
+        private final List<AsynchronousProcessor> processors;
+
+        ODataHandlerWiring(Vertx vertx) {
+            // add further build-in processors for NeonBee here (every processor must handle the processPromise)
+            processors = List.of(new CountEntityCollectionProcessor(null, null, null, parallelFilter, paging),
+                    new EntityProcessor(null, null, null),
+                    new BatchProcessor(null, null, null, batchParallelism, ODataWorkerExecutor.get(vertx, config)),
+                    new PrimitiveProcessor(null, null, null));
+
+            odataHandler = OData.newInstance().createRawHandler(serviceMetadata);
+            processors.forEach(odataHandler::register);
+        }
+
+        void bind(RoutingContext routingContext, Promise<Void> processPromise) {
+            processors.forEach(processor -> processor.bind(routingContext, processPromise));
+        }
+    }
+
     private static int evaluateStatusCode(Throwable t) {
         return t instanceof ODataApplicationException ? ((ODataApplicationException) t).getStatusCode() : -1;
     }
 
+    /**
+     * Serves a request to the metadata or service document from the documents rendered when loading the model. Only
+     * requests which would result in the rendered document, in its default format, are served, any other request is
+     * left to be processed by Olingo (e.g. requests with query options or requesting a different format).
+     *
+     * @param routingContext the context for the handling of the HTTP request
+     * @return true in case the request was served
+     */
+    private boolean serveMetadataDocument(RoutingContext routingContext) {
+        HttpServerRequest request = routingContext.request();
+        String method = request.method().name();
+        String maxVersion = request.getHeader(HttpHeader.ODATA_MAX_VERSION);
+        if (!(HttpMethod.GET.name().equals(method) || HttpMethod.HEAD.name().equals(method))
+                || !isNullOrEmpty(request.query()) || request.headers().contains(HttpHeader.IF_MATCH)
+                || request.headers().contains(HttpHeader.ACCEPT_CHARSET)
+                || (maxVersion != null && !maxVersion.trim().startsWith("4."))) {
+            return false;
+        }
+
+        String odataPath;
+        try {
+            odataPath = mapToODataRequest(routingContext, serviceMetadata.getEdm().getEntityContainer().getNamespace())
+                    .getRawODataPath();
+        } catch (ODataLibraryException e) {
+            return false;
+        }
+        Document document = METADATA_PATH.equals(odataPath) ? metadataDocuments.getMetadataDocument()
+                : SERVICE_DOCUMENT_PATH.equals(odataPath) ? metadataDocuments.getServiceDocument() : null;
+        if (document == null || !isAcceptable(request.getHeader(HttpHeader.ACCEPT), document.getContentType())) {
+            return false;
+        }
+
+        HttpServerResponse response = routingContext.response();
+        response.putHeader(HttpHeader.ODATA_VERSION, ODataServiceVersion.V40.toString());
+        String eTag = metadataDocuments.getETag();
+        if (eTag != null) {
+            response.putHeader(HttpHeader.ETAG, eTag);
+            if (ETag.matches(request.getHeader(HttpHeader.IF_NONE_MATCH), eTag)) {
+                response.setStatusCode(HTTP_NOT_MODIFIED).end();
+                return true;
+            }
+        }
+
+        // serve the document compressed already, the HTTP server does not compress responses with a content encoding
+        String contentEncoding = chooseContentEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.putHeader(HttpHeader.CONTENT_TYPE, document.getContentType().toContentTypeString())
+                .putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (contentEncoding != null) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        response.end(document.getContent(contentEncoding));
+        return true;
+    }
+
+    /**
+     * Checks whether all media ranges of an <code>Accept</code> header accept a given content type, without requesting
+     * any specific format parameters (e.g. a different <code>odata.metadata</code> level).
+     *
+     * @param accept      the value of the Accept header, may be null
+     * @param contentType the content type
+     * @return true in case the content type is accepted
+     */
+    @VisibleForTesting
+    static boolean isAcceptable(String accept, ContentType contentType) {
+        if (accept == null) {
+            return true;
+        }
+
+        String mediaType = contentType.getType() + "/" + contentType.getSubtype();
+        for (String mediaRange : LIST_SEPARATOR.split(accept)) {
+            String[] parameters = PARAMETER_SEPARATOR.split(mediaRange.trim());
+            String range = parameters[0].trim();
+            if (parameters.length > 2 || (parameters.length == 2 && !parameters[1].trim().startsWith("q="))
+                    || !("*/*".equals(range) || (contentType.getType() + "/*").equalsIgnoreCase(range)
+                            || mediaType.equalsIgnoreCase(range))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Chooses the content encoding of a response, based on the <code>Accept-Encoding</code> header of the request.
+     *
+     * @param acceptEncoding the value of the Accept-Encoding header, may be null
+     * @return either gzip or deflate, or null in case the response should not be compressed
+     */
+    @VisibleForTesting
+    static String chooseContentEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+
+        List<String> contentEncodings = LIST_SEPARATOR.splitAsStream(acceptEncoding)
+                .map(coding -> PARAMETER_SEPARATOR.split(coding.trim()))
+                .filter(coding -> coding.length == 1 || !coding[1].replace(" ", EMPTY).matches("q=0(\\.0*)?"))
+                .map(coding -> coding[0].trim().toLowerCase(Locale.ROOT)).collect(Collectors.toList());
+        if (contentEncodings.contains(MetadataDocuments.GZIP)) {
+            return MetadataDocuments.GZIP;
+        } else if (contentEncodings.contains(MetadataDocuments.DEFLATE)) {
+            return MetadataDocuments.DEFLATE;
+        }
+        return null;
+    }
+
     /**
      * Maps a Vert.x RoutingContext into a new ODataRequest.
      *
@@ -473,7 +716,59 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
     }
 
     /**
-     * Maps a ODataResponse to a existing Vert.x HttpServerResponse.
+     * Checks if an ODataResponse should be streamed from a worker thread, which is the case for any OData content
+     * written by a streaming serializer, or any content exceeding the size of one chunk.
+     *
+     * @param odataResponse The ODataResponse to check
+     * @return true if the response should be streamed
+     */
+    @VisibleForTesting
+    static boolean isStreamed(ODataResponse odataResponse) {
+        try {
+            return odataResponse.getODataContent() != null || (odataResponse.getContent() != null
+                    && odataResponse.getContent().available() > ChunkedResponseOutputStream.CHUNK_SIZE);
+        } catch (IOException e) {
+            return true; // the size of the content is unknown, so better stream it
+        }
+    }
+
+    /**
+     * Tags the response to a read request with an ETag and answers the request with 304 Not Modified, in case the ETag
+     * matches the <code>If-None-Match</code> header of the request. In case no ETag was set by the processor (e.g.
+     * based on the version provided by the entity verticle), responses serialized into memory are tagged with a hash
+     * of their content, while streamed responses are not tagged.
+     *
+     * @param request       the HTTP request
+     * @param odataResponse the ODataResponse to the request
+     * @throws IOException in case the content of the response could not be read
+     */
+    @VisibleForTesting
+    static void applyETag(HttpServerRequest request, ODataResponse odataResponse) throws IOException {
+        String method = request.method().name();
+        if (odataResponse.getStatusCode() != HTTP_OK
+                || !(HttpMethod.GET.name().equals(method) || HttpMethod.HEAD.name().equals(method))) {
+            return;
+        }
+
+        String eTag = odataResponse.getHeader(HttpHeader.ETAG);
+        if (eTag == null && odataResponse.getContent() != null && !isStreamed(odataResponse)) {
+            byte[] content = odataResponse.getContent().readAllBytes();
+            odataResponse.setContent(new ByteArrayInputStream(content));
+            eTag = ETag.of(content);
+            odataResponse.setHeader(HttpHeader.ETAG, eTag);
+        }
+
+        if (ETag.matches(request.getHeader(HttpHeader.IF_NONE_MATCH), eTag)) {
+            odataResponse.setStatusCode(HTTP_NOT_MODIFIED);
+            odataResponse.setContent(null);
+            odataResponse.setODataContent(null);
+        }
+    }
+
+    /**
+     * Maps a ODataResponse to a existing Vert.x HttpServerResponse. Any content exceeding the size of one chunk, is
+     * written to the response in chunks, using chunked transfer encoding. In case the write queue of the response is
+     * full, this method blocks until the queue was drained, thus larger responses must be mapped on a worker thread.
      *
      * @param odataResponse The ODataResponse to map
      * @param response      The HttpServerResponse to map to
@@ -490,11 +785,12 @@ public final class ODataEndpointHandler implements Handler<RoutingContext> {
         }
         // OData response content
         if (odataResponse.getContent() != null) {
-            response.end(inputStreamToBuffer(odataResponse.getContent()));
+            ChunkedResponseOutputStream.write(odataResponse.getContent(), response);
         } else if (odataResponse.getODataContent() != null) {
-            ByteArrayOutputStream byteArrayOutput = new ByteArrayOutputStream();
-            odataResponse.getODataContent().write(byteArrayOutput);
-            response.end(Buffer.buffer(byteArrayOutput.toByteArray()));
+            // do not close the stream in case writing fails, as this would end the response with partial content
+            ChunkedResponseOutputStream output = new ChunkedResponseOutputStream(response);
+            odataResponse.getODataContent().write(output);
+            output.close();
         } else {
             response.end(); // no content (e.g. for update / delete requests)
         }
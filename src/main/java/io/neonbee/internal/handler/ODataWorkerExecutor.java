@@ -0,0 +1,158 @@
+package io.neonbee.internal.handler;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
+
+/**
+ * Executes the blocking parts of processing OData requests (parsing, processing and serialization) on a dedicated,
+ * named worker pool. Tasks are executed unordered, so that requests handled by the same context of a server verticle
+ * are processed concurrently, only bounded by the size of the pool.
+ * <p>
+ * The pool is configured using the <code>workerPool</code> object of the OData endpoint config:
+ * <p>
+ * <code>
+ * {
+ *   workerPool: {
+ *     name: string, // the name of the worker pool, defaults to neonbee-odata-worker
+ *     size: number // the maximum number of requests processed concurrently, defaults to 20
+ *   }
+ * }
+ * </code>
+ * <p>
+ * Large responses are streamed from a second, separate pool, configured using the <code>streamingPool</code> object
+ * the same way (defaulting to the name neonbee-odata-streaming and a size of 10). Streaming a response waits for the
+ * client to receive it, so slow clients only ever occupy the threads of the streaming pool, but neither the threads
+ * processing requests, nor the default worker pool of Vert.x.
+ * <p>
+ * All endpoints using the same pool name share one pool, the size of the pool created first applies. The number of
+ * tasks waiting for a worker and the time tasks waited, are reported as the <code>neonbee.odata.worker.queued</code>
+ * gauge and the <code>neonbee.odata.worker.wait</code> timer, tagged with the name of the pool.
+ */
+final class ODataWorkerExecutor implements Executor {
+    static final String CONFIG_WORKER_POOL = "workerPool";
+
+    static final String CONFIG_NAME = "name";
+
+    static final String CONFIG_SIZE = "size";
+
+    static final String DEFAULT_NAME = "neonbee-odata-worker";
+
+    static final int DEFAULT_SIZE = 20;
+
+    static final String CONFIG_STREAMING_POOL = "streamingPool";
+
+    static final String DEFAULT_STREAMING_NAME = "neonbee-odata-streaming";
+
+    static final int DEFAULT_STREAMING_SIZE = 10;
+
+    static final String METER_QUEUED = "neonbee.odata.worker.queued";
+
+    static final String METER_WAIT = "neonbee.odata.worker.wait";
+
+    private static final Map<Vertx, Map<String, ODataWorkerExecutor>> EXECUTORS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    @VisibleForTesting
+    final AtomicInteger queued = new AtomicInteger();
+
+    private final WorkerExecutor executor;
+
+    private final Timer waitTimer;
+
+    @VisibleForTesting
+    ODataWorkerExecutor(WorkerExecutor executor, String name, MeterRegistry registry) {
+        this.executor = executor;
+
+        // in case metrics are disabled, there is no registry to report the metrics to
+        if (registry != null) {
+            Gauge.builder(METER_QUEUED, queued, AtomicInteger::get).tag("pool", name).register(registry);
+            waitTimer = Timer.builder(METER_WAIT).tag("pool", name).register(registry);
+        } else {
+            waitTimer = null;
+        }
+    }
+
+    /**
+     * Returns the worker executor configured by the config of an OData endpoint.
+     *
+     * @param vertx  the related Vert.x instance
+     * @param config the config of the OData endpoint, may be null
+     * @return the worker executor
+     */
+    static ODataWorkerExecutor get(Vertx vertx, JsonObject config) {
+        return get(vertx, config, CONFIG_WORKER_POOL, DEFAULT_NAME, DEFAULT_SIZE);
+    }
+
+    /**
+     * Returns the worker executor streaming large responses, configured by the config of an OData endpoint.
+     *
+     * @param vertx  the related Vert.x instance
+     * @param config the config of the OData endpoint, may be null
+     * @return the worker executor
+     */
+    static ODataWorkerExecutor getStreaming(Vertx vertx, JsonObject config) {
+        return get(vertx, config, CONFIG_STREAMING_POOL, DEFAULT_STREAMING_NAME, DEFAULT_STREAMING_SIZE);
+    }
+
+    private static ODataWorkerExecutor get(Vertx vertx, JsonObject config, String configPool, String defaultName,
+            int defaultSize) {
+        JsonObject poolConfig = config != null ? config.getJsonObject(configPool, new JsonObject()) : new JsonObject();
+        String name = poolConfig.getString(CONFIG_NAME, defaultName);
+        return EXECUTORS.computeIfAbsent(vertx, v -> new ConcurrentHashMap<>()).computeIfAbsent(name,
+                n -> new ODataWorkerExecutor(
+                        vertx.createSharedWorkerExecutor(n, Math.max(1, poolConfig.getInteger(CONFIG_SIZE,
+                                defaultSize))),
+                        n, BackendRegistries.getDefaultNow()));
+    }
+
+    /**
+     * Executes blocking code on the worker pool, unordered with any other blocking code.
+     *
+     * @param blockingCodeHandler the blocking code to execute
+     * @param <T>                 the type of the result
+     * @return a future completed on the calling context, as soon as the blocking code completed its promise
+     */
+    <T> Future<T> executeBlocking(Handler<Promise<T>> blockingCodeHandler) {
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        return executor.executeBlocking(blockingPromise -> {
+            queued.decrementAndGet();
+            if (waitTimer != null) {
+                waitTimer.record(System.nanoTime() - submitted, NANOSECONDS);
+            }
+            blockingCodeHandler.handle(blockingPromise);
+        }, false);
+    }
+
+    /**
+     * Executes a command on the worker pool, e.g. to dispatch further parts of a batch request.
+     *
+     * @param command the command to execute
+     */
+    @Override
+    public void execute(Runnable command) {
+        this.<Void>executeBlocking(blockingPromise -> {
+            command.run();
+            blockingPromise.complete();
+        });
+    }
+}
@@ -4,6 +4,7 @@ import static io.neonbee.data.DataAction.CREATE;
 import static io.neonbee.data.DataAction.DELETE;
 import static io.neonbee.data.DataAction.READ;
 import static io.neonbee.data.DataAction.UPDATE;
+import static io.neonbee.data.DataException.FAILURE_CODE_LIMIT_EXCEEDED;
 import static io.neonbee.data.DataException.FAILURE_CODE_NO_HANDLERS;
 import static io.neonbee.data.DataException.FAILURE_CODE_TIMEOUT;
 import static io.neonbee.data.DataVerticle.requestData;
@@ -13,7 +14,11 @@ import static io.netty.handler.codec.http.HttpResponseStatus.CREATED;
 import static io.netty.handler.codec.http.HttpResponseStatus.GATEWAY_TIMEOUT;
 import static io.netty.handler.codec.http.HttpResponseStatus.METHOD_NOT_ALLOWED;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
 import static io.vertx.core.http.HttpMethod.GET;
 import static io.vertx.core.http.HttpMethod.HEAD;
 import static io.vertx.core.http.HttpMethod.PATCH;
@@ -30,9 +35,11 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 
 import io.neonbee.data.DataAction;
+import io.neonbee.data.DataContext;
 import io.neonbee.data.DataException;
 import io.neonbee.data.DataQuery;
 import io.neonbee.data.DataRequest;
+import io.neonbee.data.ETag;
 import io.neonbee.data.internal.DataContextImpl;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
@@ -42,6 +49,7 @@ import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.RoutingContext;
 
 public class RawDataEndpointHandler implements Handler<RoutingContext> {
@@ -102,7 +110,8 @@ public class RawDataEndpointHandler implements Handler<RoutingContext> {
                 decodedQueryPath, multiMapToMap(request.headers()), routingContext.getBody()).addHeader("X-HTTP-Method",
                         request.method().name());
 
-        requestData(routingContext.vertx(), new DataRequest(qualifiedName, query), new DataContextImpl(routingContext))
+        DataContext context = new DataContextImpl(routingContext);
+        requestData(routingContext.vertx(), new DataRequest(qualifiedName, query), context)
                 .onComplete(asyncResult -> {
                     if (asyncResult.failed()) {
                         Throwable cause = asyncResult.cause();
@@ -114,6 +123,9 @@ public class RawDataEndpointHandler implements Handler<RoutingContext> {
                             case FAILURE_CODE_TIMEOUT:
                                 routingContext.fail(GATEWAY_TIMEOUT.code());
                                 return;
+                            case FAILURE_CODE_LIMIT_EXCEEDED:
+                                routingContext.fail(SERVICE_UNAVAILABLE.code());
+                                return;
                             default:
                                 /* nothing to do here, propagate error to the ErrorHandler */
                             }
@@ -131,22 +143,67 @@ public class RawDataEndpointHandler implements Handler<RoutingContext> {
                         return;
                     }
 
-                    HttpServerResponse response = routingContext.response()//
-                            .putHeader("Content-Type", "application/json");
+                    // in case the data verticle provided the version of the data, there is no need to serialize it,
+                    // if the client has the same version already
+                    HttpServerResponse response = routingContext.response();
+                    String ifNoneMatch = request.getHeader(IF_NONE_MATCH);
+                    String eTag = action == READ ? ETag.consume(context) : null;
+                    if (ETag.matches(ifNoneMatch, eTag)) {
+                        if (result instanceof ReadStream) {
+                            // the stream is not read, so close it
+                            ((ReadStream<?>) result).handler(null);
+                        }
+                        response.putHeader(ETAG, eTag).setStatusCode(NOT_MODIFIED.code()).end();
+                        return;
+                    }
+
+                    if (result instanceof ReadStream) {
+                        // streamed results are written in chunks, as they are received, thus they are not hashed
+                        @SuppressWarnings("unchecked")
+                        ReadStream<Buffer> stream = (ReadStream<Buffer>) result;
+                        if (eTag != null) {
+                            response.putHeader(ETAG, eTag);
+                        }
+                        response.setChunked(true).putHeader("Content-Type", "text/plain");
+                        stream.pipe().endOnFailure(false).to(response).onFailure(cause -> {
+                            if (response.headWritten()) {
+                                // parts of the result were sent already, so the response can only be aborted
+                                response.reset();
+                            } else {
+                                routingContext.fail(-1, cause);
+                            }
+                        });
+                        return;
+                    }
+
+                    Buffer content;
+                    response.putHeader("Content-Type", "application/json");
                     if (result instanceof JsonObject) {
-                        result = ((JsonObject) result).toBuffer();
+                        content = ((JsonObject) result).toBuffer();
                     } else if (result instanceof JsonArray) {
-                        result = ((JsonArray) result).toBuffer();
+                        content = ((JsonArray) result).toBuffer();
                     } else if (!(result instanceof Buffer)) {
                         // TODO add logic here, what kind of data is returned by the data verticle and what kind of data
                         // is ACCEPTed by the client. For now just support JSON and always return application/json.
-                        result = Json.encodeToBuffer(asyncResult.result());
+                        content = Json.encodeToBuffer(result);
                     } else {
                         // fallback to text/plain, so that the browser tries to display it, instead of downloading it
                         response.putHeader("Content-Type", "text/plain");
+                        content = (Buffer) result;
                     }
 
-                    response.end((Buffer) result);
+                    if (action == READ) {
+                        // otherwise fall back to a hash over the serialized data, to save transferring it again
+                        if (eTag == null) {
+                            eTag = ETag.of(content);
+                        }
+                        response.putHeader(ETAG, eTag);
+                        if (ETag.matches(ifNoneMatch, eTag)) {
+                            response.setStatusCode(NOT_MODIFIED.code()).end();
+                            return;
+                        }
+                    }
+                    response.end(content);
                 });
     }
 
@@ -1,29 +1,30 @@
 package io.neonbee.internal.processor;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
-import java.util.List;
-import java.util.Objects;
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
 
+import java.util.UUID;
+
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataLibraryException;
 import org.apache.olingo.server.api.processor.Processor;
 
-import io.vertx.core.Context;
+import io.neonbee.data.DataRequest;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.ext.web.RoutingContext;
 
 public abstract class AsynchronousProcessor implements Processor {
-    private static final String PROCESSING_STACK = "processingStack";
+    // parts of a batch request are always dispatched synchronously on the thread processing the part, as the
+    // requests of one context may be processed concurrently, the part processed must not be kept on the context
+    private static final ThreadLocal<BatchPart> BATCH_PART = new ThreadLocal<>();
 
     protected Vertx vertx;
 
     protected RoutingContext routingContext;
 
-    private final Promise<Void> processPromise;
-
-    private Promise<Void> subProcessPromise;
+    private Promise<Void> processPromise;
 
     AsynchronousProcessor(Vertx vertx, RoutingContext routingContext, Promise<Void> processPromise) {
         this.vertx = vertx;
@@ -31,61 +32,144 @@ public abstract class AsynchronousProcessor implements Processor {
         this.processPromise = processPromise;
     }
 
+    /**
+     * Binds this processor to the next request to process. Processors may be reused for multiple requests, however
+     * a processor must never be bound to a new request, before the processPromise of the previous request completed.
+     *
+     * @param routingContext the context of the request to process
+     * @param processPromise the promise to complete, when processing the request has finished
+     */
+    public void bind(RoutingContext routingContext, Promise<Void> processPromise) {
+        this.vertx = routingContext.vertx();
+        this.routingContext = routingContext;
+        this.processPromise = processPromise;
+    }
+
     /**
      * Returns either the global processPromise, created in the endpoint, to finish processing for the OData request. In
-     * case this request is called in batch processing, it'll return a new sub-processPromise and store the future on
-     * the processingStack.
+     * case this request is called in batch processing, it'll return the promise to finish processing of the batch part
+     * currently processed.
      *
-     * <b>Important:</b> Should be called directly when entering the Olingo method once and stored in a reference.
+     * <b>Important:</b> Should be called directly when entering the Olingo method once and stored in a reference, as
+     * the batch part processed is only known while the Olingo method is entered.
      *
      * @return the processPromise
      */
     public Promise<Void> getProcessPromise() {
-        if (subProcessPromise != null) {
-            // never create a second subProcessPromise, as it'll never resolve
-            return subProcessPromise;
-        } else if (processingStack().isEmpty()) {
-            // return the main endpoint processPromise if not in batch processing, or in case this is batch
-            // processing, but the first call (by the BatchProcessor) to enterBatchProcessing
+        BatchPart batchPart = BATCH_PART.get();
+        if (batchPart == null) {
             return processPromise;
-        } else {
-            // we are in batch processing (somebody has called enterBatchProcessing before and there is an element
-            // on the processingStack). Thus create a new subProcessPromise and put it onto the stack
-            subProcessPromise = Promise.promise();
-            Objects.requireNonNull(processingStack().peek(), "head of deque is empty").add(subProcessPromise.future());
-            return subProcessPromise;
         }
+
+        // the batch part will only be completed by the processor, if the processor requested its promise
+        batchPart.requested = true;
+        return batchPart.promise;
+    }
+
+    /**
+     * Returns whether this processor processes a part of a batch request. Same as the processPromise, must be called
+     * directly when entering the Olingo method.
+     *
+     * @return true if this processor processes a part of a batch request
+     */
+    protected boolean isBatchProcessing() {
+        return BATCH_PART.get() != null;
+    }
+
+    /**
+     * Returns the scope of the batch request processed, or null in case no batch request is processed. Same as the
+     * processPromise, must be called directly when entering the Olingo method.
+     *
+     * @return the scope of the batch request, shared by all of its parts
+     */
+    protected String getBatchScope() {
+        BatchPart batchPart = BATCH_PART.get();
+        return batchPart != null ? batchPart.scope : null;
+    }
+
+    /**
+     * Coalesces a given read request with the equal reads of the other parts of the batch request processed. Requests
+     * are never coalesced with the requests of other batch requests, or in case no batch request is processed. Same as
+     * the processPromise, must be called directly when entering the Olingo method.
+     *
+     * @param request the data request
+     * @return the data request for chaining
+     */
+    protected DataRequest coalesceInBatch(DataRequest request) {
+        String scope = getBatchScope();
+        return request.setCoalescing(scope != null).setCoalescingScope(scope);
+    }
+
+    /**
+     * Processes one part of a batch request. While the part is dispatched, any processor requesting its processPromise
+     * will get the promise of this part. Parts may be nested, e.g. the requests of a change set are parts of the part
+     * processing the change set.
+     *
+     * @param dispatch the synchronous dispatch of the part, e.g. using the batch facade
+     * @param <T>      the type of the result of the dispatch
+     * @return a future completed with the result of the dispatch, as soon as processing the part has finished
+     */
+    static <T> Future<T> processBatchPart(BatchPartDispatch<T> dispatch) {
+        BatchPart parentPart = BATCH_PART.get();
+        return processBatchPart(parentPart != null ? parentPart.scope : UUID.randomUUID().toString(), dispatch);
     }
 
     /**
-     * The enterBatchProcessing method will return a processPromise (either the global one, or a sub-processPromise) and
-     * push a new processing stack to the processingStack. After processing the returned future should be resolved, as
-     * soon as all elements of the top processingStack resolve.
+     * Processes one part of a batch request, see {@link #processBatchPart(BatchPartDispatch)}.
      *
-     * @return a processPromise to resolve, when this layer of the processingStack finish
+     * @param scope    the scope of the batch request, shared by all of its parts
+     * @param dispatch the synchronous dispatch of the part, e.g. using the batch facade
+     * @param <T>      the type of the result of the dispatch
+     * @return a future completed with the result of the dispatch, as soon as processing the part has finished
      */
-    public Promise<Void> enterBatchProcessing() {
-        Promise<Void> processPromise = getProcessPromise();
-        processingStack().push(new ArrayList<>());
-        return processPromise;
+    static <T> Future<T> processBatchPart(String scope, BatchPartDispatch<T> dispatch) {
+        BatchPart parentPart = BATCH_PART.get();
+        BatchPart batchPart = new BatchPart(scope);
+        BATCH_PART.set(batchPart);
+
+        T result;
+        try {
+            result = dispatch.dispatch();
+        } catch (ODataApplicationException | ODataLibraryException | RuntimeException e) {
+            return failedFuture(e);
+        } finally {
+            if (parentPart != null) {
+                BATCH_PART.set(parentPart);
+            } else {
+                BATCH_PART.remove();
+            }
+        }
+
+        // in case no processor requested the promise of the part, the part was processed synchronously by Olingo
+        return batchPart.requested ? batchPart.promise.future().map(result) : succeededFuture(result);
     }
 
     /**
-     * This will pop the top element from he processingStack, as soon as all futures of the list returned resolve, the
-     * processFuture returned by enterBatchProcessing should be resolved.
+     * The synchronous dispatch of a part of a batch request.
      *
-     * @return a list of processFutures to wait for being resolved
+     * @param <T> the type of the result
      */
-    public List<Future<Void>> wrapUpBatchProcessing() {
-        return processingStack().pop();
+    @FunctionalInterface
+    interface BatchPartDispatch<T> {
+        /**
+         * Dispatches the part of the batch request.
+         *
+         * @return the result of the dispatch
+         * @throws ODataApplicationException if the part could not be processed
+         * @throws ODataLibraryException     if the part could not be processed
+         */
+        T dispatch() throws ODataApplicationException, ODataLibraryException;
     }
 
-    private static Deque<List<Future<Void>>> processingStack() {
-        Context context = Vertx.currentContext();
-        Deque<List<Future<Void>>> processingStack = context.get(PROCESSING_STACK);
-        if (Objects.isNull(processingStack)) {
-            context.put(PROCESSING_STACK, processingStack = new ArrayDeque<>());
+    private static class BatchPart {
+        final Promise<Void> promise = Promise.promise();
+
+        final String scope;
+
+        boolean requested;
+
+        BatchPart(String scope) {
+            this.scope = scope;
         }
-        return processingStack;
     }
 }
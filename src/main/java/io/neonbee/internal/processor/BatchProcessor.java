@@ -1,12 +1,18 @@
 package io.neonbee.internal.processor;
 
-import static io.neonbee.internal.Helper.allComposite;
+import static io.vertx.core.Future.succeededFuture;
 
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpHeader;
@@ -23,25 +29,85 @@ import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.api.serializer.BatchSerializerException;
 
+import com.google.common.annotations.VisibleForTesting;
+
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
+/**
+ * Processes batch requests. Parts of a batch request, which are not part of a change set, are processed concurrently,
+ * up to a configurable number of parts at a time. Change sets are processed on their own, after all previous parts
+ * finished processing and the requests of a change set are processed one after another. The parallelism is
+ * configured using the <code>batch</code> object of the OData endpoint config:
+ * <p>
+ * <code>
+ * {
+ *   batch: {
+ *     parallelism: number // the maximum number of parts processed concurrently, defaults to 16
+ *   }
+ * }
+ * </code>
+ * <p>
+ * Parts of a batch request usually finish on an event loop thread. Dispatching a part processes it synchronously, up
+ * to the point where it waits for data, so any further parts are dispatched using the dispatcher given (e.g. the OData
+ * worker pool), instead of blocking the event loop.
+ */
 @edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = "NM_SAME_SIMPLE_NAME_AS_INTERFACE",
         justification = "Common practice in Olingo to name the implementation of the processor same as the interface")
 public class BatchProcessor extends AsynchronousProcessor
         implements org.apache.olingo.server.api.processor.BatchProcessor {
+    static final String CONFIG_BATCH = "batch";
+
+    static final String CONFIG_PARALLELISM = "parallelism";
+
+    static final int DEFAULT_PARALLELISM = 16;
+
+    private final int parallelism;
+
+    private final Executor dispatcher;
+
     private OData odata;
 
     /**
-     * Creates a new BatchProcessor.
+     * Creates a new BatchProcessor, dispatching further parts on the thread finishing the previous part.
      *
      * @param vertx          the related Vert.x instance
      * @param routingContext the routingContext of the related request
      * @param processPromise the promise to complete when data has been fetched
      */
     public BatchProcessor(Vertx vertx, RoutingContext routingContext, Promise<Void> processPromise) {
+        this(vertx, routingContext, processPromise, DEFAULT_PARALLELISM, Runnable::run);
+    }
+
+    /**
+     * Creates a new BatchProcessor.
+     *
+     * @param vertx          the related Vert.x instance
+     * @param routingContext the routingContext of the related request
+     * @param processPromise the promise to complete when data has been fetched
+     * @param parallelism    the maximum number of parts of a batch request to process concurrently
+     * @param dispatcher     the executor to dispatch further parts of a batch request with, after a part finished
+     */
+    public BatchProcessor(Vertx vertx, RoutingContext routingContext, Promise<Void> processPromise,
+            int parallelism, Executor dispatcher) {
         super(vertx, routingContext, processPromise);
+        this.parallelism = Math.max(1, parallelism);
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Returns the parallelism configured by the config of an OData endpoint.
+     *
+     * @param config the config of the OData endpoint, may be null
+     * @return the maximum number of parts of a batch request to process concurrently
+     */
+    public static int getParallelism(JsonObject config) {
+        JsonObject batchConfig = config != null ? config.getJsonObject(CONFIG_BATCH, new JsonObject())
+                : new JsonObject();
+        return batchConfig.getInteger(CONFIG_PARALLELISM, DEFAULT_PARALLELISM);
     }
 
     @Override
@@ -58,60 +124,194 @@ public class BatchProcessor extends AsynchronousProcessor
         List<BatchRequestPart> requestParts =
                 odata.createFixedFormatDeserializer().parseBatchRequest(request.getBody(), boundary, options);
 
-        // by entering batch processing here, we'll enter a new processing phase
-        Promise<Void> processPromise = enterBatchProcessing();
+        Promise<Void> processPromise = getProcessPromise();
+        // equal reads are only coalesced between the parts of this batch request, never with any other request
+        String scope = UUID.randomUUID().toString();
+        new BatchPartScheduler<>(requestParts,
+                part -> processBatchPart(scope, () -> facade.handleBatchRequest(part))
+                        .map(BatchProcessor::resolveResponsePart),
+                BatchRequestPart::isChangeSet, parallelism, dispatcher).schedule()
+                .onComplete(resultHandler -> {
+                    if (resultHandler.failed()) {
+                        processPromise.fail(resultHandler.cause());
+                        return;
+                    }
 
-        List<ODataResponsePart> responseParts = new ArrayList<>();
-        for (BatchRequestPart part : requestParts) {
-            responseParts.add(facade.handleBatchRequest(part));
-        }
+                    try {
+                        String responseBoundary = "batch_" + UUID.randomUUID().toString();
+                        InputStream responseContent = odata.createFixedFormatSerializer()
+                                .batchResponse(resultHandler.result(), responseBoundary);
 
-        // wrap up the batch processing here, which will complete the current processing phase
-        allComposite(wrapUpBatchProcessing()).onComplete(resultHandler -> {
-            if (resultHandler.failed()) {
-                processPromise.fail(resultHandler.cause());
-                return;
-            }
-
-            try {
-                String responseBoundary = "batch_" + UUID.randomUUID().toString();
-                InputStream responseContent =
-                        odata.createFixedFormatSerializer().batchResponse(responseParts, responseBoundary);
+                        response.setHeader(HttpHeader.CONTENT_TYPE,
+                                ContentType.MULTIPART_MIXED + ";boundary=" + responseBoundary);
+                        response.setContent(responseContent);
+                        response.setStatusCode(HttpStatusCode.ACCEPTED.getStatusCode());
 
-                response.setHeader(HttpHeader.CONTENT_TYPE,
-                        ContentType.MULTIPART_MIXED + ";boundary=" + responseBoundary);
-                response.setContent(responseContent);
-                response.setStatusCode(HttpStatusCode.ACCEPTED.getStatusCode());
-
-                processPromise.complete();
-            } catch (BatchSerializerException e) {
-                processPromise.fail(e);
-            }
-        });
+                        processPromise.complete();
+                    } catch (BatchSerializerException e) {
+                        processPromise.fail(e);
+                    }
+                });
     }
 
     /**
      * NOTE: NeonBee does NOT support processing / rolling-back change sets so far! This method will simply execute all
-     * ODataRequests consecutively. It would not make sense to fail / roll-back the transaction in this method, as
-     * facade.handleODataRequest will return immediately (as the request is processed) asynchronous. This is why the
-     * transaction handling has to take place in a different place more likely.
+     * ODataRequests consecutively, each request is only processed after the previous request finished processing. In
+     * case one request fails, the remaining requests are not processed and the failed response is returned as the
+     * result of the change set.
      */
     @Override
     public ODataResponsePart processChangeSet(BatchFacade facade, List<ODataRequest> requests)
             throws ODataApplicationException, ODataLibraryException {
-        List<ODataResponse> responses = new ArrayList<>();
+        Promise<Void> processPromise = getProcessPromise();
+        String scope = getBatchScope();
+        DeferredResponsePart responsePart = new DeferredResponsePart();
 
+        List<ODataResponse> responses = new ArrayList<>();
+        Future<ODataResponsePart> changeSet = succeededFuture();
         for (ODataRequest request : requests) {
-            ODataResponse response = facade.handleODataRequest(request);
+            changeSet = changeSet.compose(failedPart -> {
+                if (failedPart != null) {
+                    return succeededFuture(failedPart);
+                }
+
+                // the previous request usually finished on an event loop, which must not process the next request
+                return dispatch(() -> processBatchPart(scope, () -> facade.handleODataRequest(request)))
+                        .map(response -> {
+                            if (response.getStatusCode() < HttpURLConnection.HTTP_BAD_REQUEST) {
+                                responses.add(response);
+                                return null;
+                            }
+                            return new ODataResponsePart(response, false);
+                        });
+            });
+        }
+
+        changeSet.onSuccess(failedPart -> {
+            responsePart.result = failedPart != null ? failedPart : new ODataResponsePart(responses, true);
+            processPromise.complete();
+        }).onFailure(processPromise::fail);
+
+        return responsePart;
+    }
+
+    private <T> Future<T> dispatch(Supplier<Future<T>> dispatch) {
+        Promise<T> promise = Promise.promise();
+        dispatcher.execute(() -> dispatch.get().onComplete(promise));
+        return promise.future();
+    }
 
-            int statusCode = response.getStatusCode();
-            if (statusCode < HttpURLConnection.HTTP_BAD_REQUEST) {
-                responses.add(response);
-            } else {
-                return new ODataResponsePart(response, false);
+    private static ODataResponsePart resolveResponsePart(ODataResponsePart responsePart) {
+        // the response part of a change set is only known, after all requests of the change set were processed
+        return responsePart instanceof DeferredResponsePart ? ((DeferredResponsePart) responsePart).result
+                : responsePart;
+    }
+
+    /**
+     * The response part returned for a change set, while the requests of the change set are processed.
+     */
+    private static class DeferredResponsePart extends ODataResponsePart {
+        ODataResponsePart result;
+
+        DeferredResponsePart() {
+            super(Collections.emptyList(), true);
+        }
+    }
+
+    /**
+     * Schedules the processing of the parts of a batch request. At most the given number of parts is processed at a
+     * time, while exclusive parts are only processed after all previous parts finished and no other part is processed
+     * before the exclusive part finished. The first parts are dispatched by the thread starting the scheduling, any
+     * further parts using the dispatcher, as soon as a part finished. Parts are never dispatched concurrently, as the
+     * handler dispatching the parts must not be used by multiple threads at once. In case a part fails, no further
+     * parts are dispatched, however the processing only fails after all parts already dispatched finished, as they are
+     * still using the processors bound to the batch request.
+     *
+     * @param <P> the type of the parts
+     * @param <R> the type of the results of the parts
+     */
+    @VisibleForTesting
+    static class BatchPartScheduler<P, R> {
+        private final List<P> parts;
+
+        private final Function<P, Future<R>> processor;
+
+        private final Predicate<P> exclusive;
+
+        private final int parallelism;
+
+        private final Executor dispatcher;
+
+        private final Object[] results;
+
+        private final Promise<List<R>> promise = Promise.promise();
+
+        private int next;
+
+        private int processing;
+
+        private Throwable failure;
+
+        BatchPartScheduler(List<P> parts, Function<P, Future<R>> processor,
+                Predicate<P> exclusive, int parallelism, Executor dispatcher) {
+            this.parts = parts;
+            this.processor = processor;
+            this.exclusive = exclusive;
+            this.parallelism = Math.max(1, parallelism);
+            this.dispatcher = dispatcher;
+            this.results = new Object[parts.size()];
+        }
+
+        /**
+         * Starts processing the parts.
+         *
+         * @return a future completed with the results in order of the parts, as soon as all parts were processed
+         */
+        Future<List<R>> schedule() {
+            scheduleNext();
+            return promise.future();
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized void scheduleNext() {
+            if (next == parts.size() && processing == 0) {
+                promise.tryComplete((List<R>) Arrays.asList(results));
+                return;
+            }
+
+            while (!promise.future().isComplete() && next < parts.size() && processing < parallelism) {
+                P part = parts.get(next);
+                boolean exclusivePart = exclusive.test(part);
+                if (exclusivePart && processing > 0) {
+                    return;
+                }
+
+                int index = next++;
+                processing++;
+                // parts usually finish on an event loop, which must neither wait for nor dispatch any other part
+                processor.apply(part).onComplete(asyncResult -> dispatcher.execute(() -> complete(index,
+                        asyncResult.succeeded() ? asyncResult.result() : null, asyncResult.cause())));
+
+                if (exclusivePart) {
+                    return;
+                }
             }
         }
 
-        return new ODataResponsePart(responses, true);
+        private synchronized void complete(int index, R result, Throwable cause) {
+            processing--;
+            if (cause != null && failure == null) {
+                failure = cause;
+            }
+            if (failure != null) {
+                if (processing == 0) {
+                    promise.tryFail(failure);
+                }
+                return;
+            }
+
+            results[index] = result;
+            scheduleNext();
+        }
     }
 }
@@ -5,17 +5,29 @@ import static io.neonbee.internal.Helper.EMPTY;
 import static io.neonbee.internal.processor.EntityProcessor.findEntityByKeyPredicates;
 import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.chooseEntitySet;
 import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.fetchNavigationTargetEntities;
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.FILTER;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.ORDERBY;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.SKIP;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.TOP;
 
 import java.io.ByteArrayInputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.ContextURL.Suffix;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.ex.ODataException;
@@ -28,6 +40,7 @@ import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
+import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriInfo;
 import org.apache.olingo.server.api.uri.UriResource;
@@ -35,18 +48,26 @@ import org.apache.olingo.server.api.uri.UriResourceEntitySet;
 import org.apache.olingo.server.api.uri.queryoption.FilterOption;
 import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
 import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.SkipTokenOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
 import org.apache.olingo.server.api.uri.queryoption.TopOption;
 import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
 
 import com.google.common.annotations.VisibleForTesting;
 
+import io.neonbee.data.DataContext;
 import io.neonbee.data.DataQuery;
 import io.neonbee.data.DataRequest;
+import io.neonbee.data.ETag;
 import io.neonbee.data.internal.DataContextImpl;
+import io.neonbee.entity.EntityQueryPlan;
 import io.neonbee.entity.EntityWrapper;
 import io.neonbee.internal.processor.odata.EntityExpander;
-import io.neonbee.internal.processor.odata.expression.FilterExpressionVisitor;
+import io.neonbee.internal.processor.odata.EntityProjection;
+import io.neonbee.internal.processor.odata.ServerDrivenPaging;
+import io.neonbee.internal.processor.odata.expression.CompiledFilter;
 import io.neonbee.internal.processor.odata.expression.OrderExpressionExecutor;
+import io.neonbee.internal.processor.odata.expression.ParallelEntityFilter;
 import io.neonbee.logging.LoggingFacade;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -68,6 +89,10 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
 
     private static final LoggingFacade LOGGER = LoggingFacade.create();
 
+    private final ParallelEntityFilter parallelFilter;
+
+    private final ServerDrivenPaging paging;
+
     private OData odata;
 
     private ServiceMetadata serviceMetadata;
@@ -80,7 +105,36 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
      * @param processPromise the promise to complete when data has been fetched
      */
     public CountEntityCollectionProcessor(Vertx vertx, RoutingContext routingContext, Promise<Void> processPromise) {
+        this(vertx, routingContext, processPromise, ParallelEntityFilter.create(null));
+    }
+
+    /**
+     * Creates a new EntityCollectionProcessor.
+     *
+     * @param vertx          the related Vert.x instance
+     * @param routingContext the routingContext of the related request
+     * @param processPromise the promise to complete when data has been fetched
+     * @param parallelFilter the filter to apply the $filter query option with
+     */
+    public CountEntityCollectionProcessor(Vertx vertx, RoutingContext routingContext, Promise<Void> processPromise,
+            ParallelEntityFilter parallelFilter) {
+        this(vertx, routingContext, processPromise, parallelFilter, ServerDrivenPaging.create(null));
+    }
+
+    /**
+     * Creates a new EntityCollectionProcessor.
+     *
+     * @param vertx          the related Vert.x instance
+     * @param routingContext the routingContext of the related request
+     * @param processPromise the promise to complete when data has been fetched
+     * @param parallelFilter the filter to apply the $filter query option with
+     * @param paging         the paging to limit the number of entities returned per response with
+     */
+    public CountEntityCollectionProcessor(Vertx vertx, RoutingContext routingContext, Promise<Void> processPromise,
+            ParallelEntityFilter parallelFilter, ServerDrivenPaging paging) {
         super(vertx, routingContext, processPromise);
+        this.parallelFilter = parallelFilter;
+        this.paging = paging;
     }
 
     @Override
@@ -97,32 +151,98 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
             throw TOO_MANY_PARTS_EXCEPTION;
         }
         Promise<Void> processPromise = getProcessPromise();
+        boolean batchProcessing = isBatchProcessing();
 
         // Retrieve the requested EntitySet from the uriInfo
         UriResourceEntitySet uriResourceEntitySet = (UriResourceEntitySet) uriInfo.getUriResourceParts().get(0);
         EdmEntityType edmEntityType = uriResourceEntitySet.getEntitySet().getEntityType();
 
         Promise<List<Entity>> responsePromise = Promise.promise();
+        AtomicReference<URI> nextLink = new AtomicReference<>();
+        AtomicReference<String> eTag = new AtomicReference<>();
 
         if (resourceParts.size() == 1) {
+            int maxPageSize = paging.getMaxPageSize(uriResourceEntitySet.getEntitySet());
+            String skipToken =
+                    Optional.ofNullable(uriInfo.getSkipTokenOption()).map(SkipTokenOption::getValue).orElse(null);
+            int offset;
+            boolean resumed;
+            try {
+                offset = ServerDrivenPaging.getOffset(skipToken);
+                resumed = ServerDrivenPaging.getCursor(skipToken) != null;
+            } catch (ODataApplicationException e) {
+                processPromise.fail(e);
+                return;
+            }
+
             // Fetch the data from backend
-            fetchEntities(request, edmEntityType, ew -> {
-                try {
-                    List<Entity> resultEntityList = applyFilterQueryOption(uriInfo.getFilterOption(), ew.getEntities());
-                    if (!resultEntityList.isEmpty()) {
-                        applyOrderByQueryOption(uriInfo.getOrderByOption(), resultEntityList);
-                        resultEntityList = applySkipQueryOption(uriInfo.getSkipOption(), resultEntityList);
-                        resultEntityList = applyTopQueryOption(uriInfo.getTopOption(), resultEntityList);
-                        applyExpandQueryOptions(uriInfo, resultEntityList).onComplete(responsePromise);
-                    } else {
-                        responsePromise.complete(resultEntityList);
+            DataQuery query = odataRequestToQuery(request);
+            if (maxPageSize > 0) {
+                query.setHeader(EntityQueryPlan.MAX_PAGE_SIZE_HEADER, Integer.toString(maxPageSize));
+            }
+            // request only the properties required for the response, to reduce the size of the reply
+            Set<String> projection = EntityProjection.of(uriInfo, edmEntityType);
+            if (projection != null) {
+                query.setHeader(EntityQueryPlan.PROJECTION_HEADER, String.join(",", projection));
+            }
+            DataContext context = new DataContextImpl(routingContext);
+            fetchEntities(query, edmEntityType, context, ew -> {
+                // only apply the query options, which have not been pushed down to the entity verticle already
+                Set<SystemQueryOptionKind> handled = EntityQueryPlan.consumeHandled(context);
+                // the version of the data provided by the entity verticle, does not cover any expanded entities
+                if (uriInfo.getExpandOption() == null) {
+                    eTag.set(ETag.consume(context));
+                    if (ETag.matches(request.getHeader(HttpHeader.IF_NONE_MATCH), eTag.get())) {
+                        // the client has this version of the data already, so skip processing and serializing it
+                        response.setHeader(HttpHeader.ETAG, eTag.get());
+                        response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+                        processPromise.complete();
+                        return;
                     }
-                } catch (ODataException e) {
-                    processPromise.fail(e);
                 }
+                // a page returned by the entity verticle is resumed from the cursor provided by the entity verticle
+                String nextCursor = EntityQueryPlan.consumeNextCursor(context);
+                if (nextCursor != null) {
+                    nextLink.set(ServerDrivenPaging.nextLink(request, ServerDrivenPaging.cursorToken(nextCursor)));
+                }
+                Future<List<Entity>> filteredEntities = handled.contains(FILTER) ? succeededFuture(ew.getEntities())
+                        : applyFilterQueryOption(uriInfo.getFilterOption(), ew.getEntities());
+                filteredEntities.compose(filteredEntityList -> {
+                    if (filteredEntityList.isEmpty()) {
+                        return succeededFuture(filteredEntityList);
+                    }
+
+                    // the entities are sorted and skipped in place, the list received may be shared with other requests
+                    List<Entity> resultEntityList = new ArrayList<>(filteredEntityList);
+
+                    try {
+                        if (!handled.contains(ORDERBY)) {
+                            resultEntityList = applyOrderByQueryOption(uriInfo.getOrderByOption(),
+                                    uriInfo.getSkipOption(), uriInfo.getTopOption(), resultEntityList);
+                        }
+                        if (!handled.contains(SKIP)) {
+                            resultEntityList = applySkipQueryOption(uriInfo.getSkipOption(), resultEntityList);
+                        }
+                        if (!handled.contains(TOP)) {
+                            resultEntityList = applyTopQueryOption(uriInfo.getTopOption(), resultEntityList);
+                        }
+                    } catch (ODataException e) {
+                        return failedFuture(e);
+                    }
+
+                    // otherwise page the result in memory, unless the request resumes from a cursor already
+                    if (nextCursor == null && maxPageSize > 0 && !resumed) {
+                        if ((long) offset + maxPageSize < resultEntityList.size()) {
+                            nextLink.set(ServerDrivenPaging.nextLink(request,
+                                    ServerDrivenPaging.offsetToken(offset + maxPageSize)));
+                        }
+                        resultEntityList = ServerDrivenPaging.page(resultEntityList, offset, maxPageSize);
+                    }
+                    return applyExpandQueryOptions(uriInfo, uriResourceEntitySet.getEntitySet(), resultEntityList);
+                }).onComplete(responsePromise);
             });
         } else {
-            fetchEntities(request, edmEntityType, ew -> {
+            fetchEntities(request, edmEntityType, new DataContextImpl(routingContext), ew -> {
                 try {
                     Entity foundEntity =
                             findEntityByKeyPredicates(routingContext, uriResourceEntitySet, ew.getEntities());
@@ -135,17 +255,29 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
         }
 
         responsePromise.future().onSuccess(finalResultEntities -> {
-            EntityCollection entityCollection = new EntityCollection();
-            entityCollection.getEntities().addAll(finalResultEntities);
             EntityCollectionSerializerOptions opts;
             try {
                 EdmEntitySet edmEntitySet =
                         chooseEntitySet(resourceParts, uriResourceEntitySet.getEntitySet(), routingContext);
                 opts = createSerializerOptions(request, uriInfo, edmEntitySet);
-                response.setContent(odata.createSerializer(responseFormat)
-                        .entityCollection(serviceMetadata, edmEntityType, entityCollection, opts).getContent());
+                ODataSerializer serializer = odata.createSerializer(responseFormat);
+                // Olingo supports streaming only for JSON and batch responses are always serialized into memory
+                if (responseFormat.isCompatible(ContentType.APPLICATION_JSON) && !batchProcessing) {
+                    // serialize the entities while writing the response, instead of serializing them into memory
+                    response.setODataContent(serializer.entityCollectionStreamed(serviceMetadata, edmEntityType,
+                            new EntityListIterator(finalResultEntities, nextLink.get()), opts).getODataContent());
+                } else {
+                    EntityCollection entityCollection = new EntityCollection();
+                    entityCollection.getEntities().addAll(finalResultEntities);
+                    entityCollection.setNext(nextLink.get());
+                    response.setContent(serializer
+                            .entityCollection(serviceMetadata, edmEntityType, entityCollection, opts).getContent());
+                }
                 response.setStatusCode(HttpStatusCode.OK.getStatusCode());
                 response.setHeader(HttpHeader.CONTENT_TYPE, responseFormat.toContentTypeString());
+                if (eTag.get() != null) {
+                    response.setHeader(HttpHeader.ETAG, eTag.get());
+                }
                 processPromise.complete();
             } catch (ODataException e) {
                 processPromise.fail(e);
@@ -153,50 +285,66 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
         }).onFailure(processPromise::fail);
     }
 
-    private void fetchEntities(ODataRequest request, EdmEntityType edmEntityType,
+    private void fetchEntities(ODataRequest request, EdmEntityType edmEntityType, DataContext context,
             Handler<EntityWrapper> resultHandler) {
-        requestEntity(vertx, new DataRequest(edmEntityType.getFullQualifiedName(), odataRequestToQuery(request)),
-                new DataContextImpl(routingContext)).onFailure(getProcessPromise()::fail).onSuccess(resultHandler);
+        fetchEntities(odataRequestToQuery(request), edmEntityType, context, resultHandler);
     }
 
-    private List<Entity> applyFilterQueryOption(FilterOption filterOption, List<Entity> unfilteredEntities)
-            throws ODataException {
-        List<Entity> filteredEntities = unfilteredEntities;
-
-        if (filterOption != null) {
-            LOGGER.correlateWith(routingContext).debug("Applying filter expression on list of entities with size: {}",
-                    unfilteredEntities.size());
-            filteredEntities = new ArrayList<>();
-            for (Entity entity : unfilteredEntities) {
-                FilterExpressionVisitor filterExpressionVisitor = new FilterExpressionVisitor(routingContext, entity);
-                LOGGER.correlateWith(routingContext).debug("filterOption name: {}, filterOption text: {}",
-                        filterOption.getName(), filterOption.getText());
-                LOGGER.correlateWith(routingContext).debug("FilterExpressionVisitor for entity '{}' was created",
-                        entity);
-                try {
-                    if (Boolean.TRUE.equals(filterOption.getExpression().accept(filterExpressionVisitor).getValue())) {
-                        filteredEntities.add(entity);
-                    }
-                } catch (ODataApplicationException | ExpressionVisitException e) {
-                    LOGGER.correlateWith(routingContext).error("Exception in filter evaluation", e);
-                    throw e;
-                }
-            }
-            LOGGER.correlateWith(routingContext).debug(
-                    "Filter expression was applied on list of entities and led to a result list of entities with size: {}",
-                    filteredEntities.size());
+    private void fetchEntities(DataQuery query, EdmEntityType edmEntityType, DataContext context,
+            Handler<EntityWrapper> resultHandler) {
+        // equal reads of the parts of one batch request are coalesced, to fetch the entities only once
+        requestEntity(vertx, coalesceInBatch(new DataRequest(edmEntityType.getFullQualifiedName(), query)), context)
+                .onFailure(getProcessPromise()::fail).onSuccess(resultHandler);
+    }
+
+    private Future<List<Entity>> applyFilterQueryOption(FilterOption filterOption, List<Entity> unfilteredEntities) {
+        if (filterOption == null) {
+            return succeededFuture(unfilteredEntities);
         }
 
-        return filteredEntities;
+        LOGGER.correlateWith(routingContext).debug("Applying filter expression on list of entities with size: {}",
+                unfilteredEntities.size());
+        LOGGER.correlateWith(routingContext).debug("filterOption name: {}, filterOption text: {}",
+                filterOption.getName(), filterOption.getText());
+        return compileFilter(filterOption).compose(filter -> parallelFilter.filter(filter, unfilteredEntities))
+                .onFailure(e -> LOGGER.correlateWith(routingContext).error("Exception in filter evaluation", e))
+                .onSuccess(filteredEntities -> LOGGER.correlateWith(routingContext).debug(
+                        "Filter expression was applied on list of entities and led to a result list of entities with size: {}",
+                        filteredEntities.size()));
     }
 
-    private void applyOrderByQueryOption(OrderByOption orderByOption, List<Entity> resultEntityList)
-            throws ODataApplicationException {
+    private Future<Integer> countFilterQueryOption(FilterOption filterOption, List<Entity> unfilteredEntities) {
+        if (filterOption == null) {
+            return succeededFuture(unfilteredEntities.size());
+        }
+
+        return compileFilter(filterOption).compose(filter -> parallelFilter.count(filter, unfilteredEntities))
+                .onFailure(e -> LOGGER.correlateWith(routingContext).error("Exception in filter evaluation", e));
+    }
+
+    private Future<CompiledFilter> compileFilter(FilterOption filterOption) {
+        try {
+            // compile the filter expression once, instead of walking the expression tree for every entity
+            return succeededFuture(CompiledFilter.compile(routingContext, filterOption.getExpression()));
+        } catch (ODataApplicationException | ExpressionVisitException e) {
+            return failedFuture(e);
+        }
+    }
+
+    private List<Entity> applyOrderByQueryOption(OrderByOption orderByOption, SkipOption skipOption,
+            TopOption topOption, List<Entity> resultEntityList) throws ODataApplicationException {
         if (orderByOption != null) {
             LOGGER.correlateWith(routingContext).debug("orderByOption name: {}, orderByOption text: {}",
                     orderByOption.getName(), orderByOption.getText());
             try {
-                OrderExpressionExecutor.executeOrderOption(routingContext, orderByOption, resultEntityList);
+                int skipValue = skipOption != null ? skipOption.getValue() : 0;
+                if (topOption != null && topOption.getValue() >= 0 && skipValue >= 0) {
+                    // only the entities up to $skip + $top are returned, so there is no need to sort the whole list
+                    int limit = (int) Math.min(Integer.MAX_VALUE, (long) skipValue + topOption.getValue());
+                    return OrderExpressionExecutor.executeOrderOption(routingContext, orderByOption, resultEntityList,
+                            limit);
+                }
+                return OrderExpressionExecutor.executeOrderOption(routingContext, orderByOption, resultEntityList);
             } catch (Exception e) {
                 String message = "Error during processing of orderBy option";
                 LOGGER.correlateWith(routingContext).error(message);
@@ -204,6 +352,7 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
                         e);
             }
         }
+        return resultEntityList;
     }
 
     private List<Entity> applySkipQueryOption(SkipOption skipOption, List<Entity> resultEntityList)
@@ -250,13 +399,15 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
         return topList;
     }
 
-    private Future<List<Entity>> applyExpandQueryOptions(UriInfo uriInfo, List<Entity> resultEntityList) {
-        return EntityExpander.create(vertx, uriInfo.getExpandOption(), routingContext).map(expander -> {
-            for (Entity requestedEntity : resultEntityList) {
-                expander.expand(requestedEntity);
-            }
-            return resultEntityList;
-        });
+    private Future<List<Entity>> applyExpandQueryOptions(UriInfo uriInfo, EdmEntitySet edmEntitySet,
+            List<Entity> resultEntityList) {
+        return EntityExpander.create(vertx, uriInfo.getExpandOption(), edmEntitySet, resultEntityList, routingContext)
+                .map(expander -> {
+                    for (Entity requestedEntity : resultEntityList) {
+                        expander.expand(requestedEntity);
+                    }
+                    return resultEntityList;
+                });
     }
 
     private EntityCollectionSerializerOptions createSerializerOptions(ODataRequest request, UriInfo uriInfo,
@@ -280,29 +431,80 @@ public class CountEntityCollectionProcessor extends AsynchronousProcessor
         EdmEntityType edmEntityType = edmEntitySet.getEntityType();
 
         // Fetch the data from backend
-        fetchEntities(request, edmEntityType, ew -> {
-            try {
-                /*
-                 * The response body MUST contain the exact count of items matching the request after applying any
-                 * $filter or $search system query options, formatted as a simple primitive integer value with media
-                 * type text/plain. The returned count MUST NOT be affected by $top, $skip, $orderby, or $expand.
-                 * Content negotiation using the Accept request header or the $format system query option is not allowed
-                 * with the path segment /$count.
-                 */
-                List<Entity> resultEntityList = applyFilterQueryOption(uriInfo.getFilterOption(), ew.getEntities());
-
-                ByteArrayInputStream serializerContent = new ByteArrayInputStream(
-                        String.valueOf(resultEntityList.size()).getBytes(StandardCharsets.UTF_8));
+        DataContext context = new DataContextImpl(routingContext);
+        fetchEntities(request, edmEntityType, context, ew -> {
+            /*
+             * The response body MUST contain the exact count of items matching the request after applying any
+             * $filter or $search system query options, formatted as a simple primitive integer value with media
+             * type text/plain. The returned count MUST NOT be affected by $top, $skip, $orderby, or $expand.
+             * Content negotiation using the Accept request header or the $format system query option is not allowed
+             * with the path segment /$count.
+             */
+            Long countedEntities = EntityQueryPlan.consumeCount(context);
+            Set<SystemQueryOptionKind> handled = EntityQueryPlan.consumeHandled(context);
+            // prefer the count of the entity verticle, otherwise count the matching entities without collecting them
+            Future<Long> count;
+            if (countedEntities != null) {
+                count = succeededFuture(countedEntities);
+            } else if (handled.contains(FILTER)) {
+                count = succeededFuture((long) ew.getEntities().size());
+            } else {
+                count = countFilterQueryOption(uriInfo.getFilterOption(), ew.getEntities()).map(Integer::longValue);
+            }
+            count.onSuccess(resultCount -> {
+                ByteArrayInputStream serializerContent =
+                        new ByteArrayInputStream(String.valueOf(resultCount).getBytes(StandardCharsets.UTF_8));
                 response.setContent(serializerContent);
                 response.setHeader(HttpHeader.CONTENT_TYPE, ContentType.TEXT_PLAIN.toContentTypeString());
                 response.setStatusCode(HttpStatusCode.OK.getStatusCode());
                 processPromise.complete();
-            } catch (ODataException e) {
-                processPromise.fail(e);
-            }
+            }).onFailure(processPromise::fail);
         });
     }
 
+    /**
+     * An entity iterator over a list of entities, as required by the streaming serializer of Olingo.
+     */
+    private static final class EntityListIterator extends EntityIterator {
+        private final List<Entity> entities;
+
+        private final Iterator<Entity> iterator;
+
+        private final URI next;
+
+        EntityListIterator(List<Entity> entities, URI next) {
+            super();
+            this.entities = entities;
+            this.iterator = entities.iterator();
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Entity next() {
+            return iterator.next();
+        }
+
+        @Override
+        public Integer getCount() {
+            return entities.size();
+        }
+
+        @Override
+        public URI getNext() {
+            return next;
+        }
+
+        @Override
+        public URI getDeltaLink() {
+            return null;
+        }
+    }
+
     private DataQuery odataRequestToQuery(ODataRequest request) {
         // the uriPath without /odata root path and without query path
         String uriPath =
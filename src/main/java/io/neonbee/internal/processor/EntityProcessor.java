@@ -15,10 +15,6 @@ import static org.apache.olingo.commons.api.http.HttpStatusCode.OK;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.Entity;
@@ -175,7 +171,8 @@ public class EntityProcessor extends AsynchronousProcessor
         Buffer body = new EntityWrapper(entityType.getFullQualifiedName(), entity).toBuffer(vertx);
         DataQuery query = odataRequestToQuery(request, action, body);
 
-        return requestEntity(vertx, new DataRequest(entityType.getFullQualifiedName(), query),
+        // equal reads of the parts of one batch request are coalesced, to fetch the entity only once
+        return requestEntity(vertx, coalesceInBatch(new DataRequest(entityType.getFullQualifiedName(), query)),
                 new DataContextImpl(routingContext)).onFailure(processPromise::fail);
     }
 
@@ -193,7 +190,8 @@ public class EntityProcessor extends AsynchronousProcessor
                     Promise<Entity> responsePromise = Promise.promise();
 
                     if (resourceParts.size() == 1) {
-                        EntityExpander.create(vertx, uriInfo.getExpandOption(), routingContext).map(expander -> {
+                        EntityExpander.create(vertx, uriInfo.getExpandOption(), uriResourceEntitySet.getEntitySet(),
+                                List.of(foundEntity), routingContext).map(expander -> {
                             expander.expand(foundEntity);
                             return foundEntity;
                         }).onComplete(responsePromise);
@@ -246,55 +244,63 @@ public class EntityProcessor extends AsynchronousProcessor
         // See
         // https://docs.oasis-open.org/odata/odata/v4.01/odata-v4.01-part2-url-conventions.html#sec_CanonicalURL
         // for details.
-        Map<String, String> keyPredicates = uriResourceEntitySet.getKeyPredicates().stream()
-                .collect(Collectors.toUnmodifiableMap(UriParameter::getName, UriParameter::getText));
-        // If key predicates were provided apply the filter to the list of entities received
-
-        // The names of the key properties provided in the key predicate query
-        Set<String> keyPropertyNames = keyPredicates.keySet();
-        List<Entity> foundEntities = entities.stream().filter(Objects::nonNull).filter(entity -> {
-            // Get the names of all properties of the entity
-            List<String> propertyNames = entity.getProperties().stream().filter(Objects::nonNull).map(Property::getName)
-                    .collect(Collectors.toUnmodifiableList());
-
-            // Check if the entity contains all key properties
-            return propertyNames.containsAll(keyPropertyNames) //
-                    // Find the entities matching all keys
-                    && keyPropertyNames.stream().filter(Objects::nonNull).allMatch(keyPropertyName -> { //
-                        // Get the provided value of the key predicate
-                        String keyPropertyValue =
-                                EdmHelper.extractValueFromLiteral(routingContext, keyPredicates.get(keyPropertyName));
-
-                        // Check if the entity's key property matches the key property from the key
-                        // predicate by comparing the provided value with the current entity's value
-                        try {
-                            // Get the EdmPrimitiveTypeKind like Edm.String or Edm.Int32 of the key property
-                            EdmPrimitiveTypeKind edmPrimitiveTypeKind =
-                                    EdmHelper.getEdmPrimitiveTypeKindByPropertyType(uriResourceEntitySet.getEntitySet()
-                                            .getEntityType().getProperty(keyPropertyName).getType().toString());
-
-                            // Get the value of the key property of the current entity
-                            Property property = entity.getProperty(keyPropertyName);
-                            Object propertyValue = property.getValue();
-
-                            // Compare the provided key property value with the entity's current value
-                            return ENTITY_COMPARISON.comparePropertyValues(routingContext, propertyValue,
-                                    keyPropertyValue, edmPrimitiveTypeKind, keyPropertyName) == 0;
-                        } catch (ODataApplicationException e) {
-                            LOGGER.correlateWith(routingContext).error(e.getMessage(), e);
-                        }
-                        return false;
-                    });
-        }).collect(Collectors.toUnmodifiableList());
-        if (foundEntities.size() == 1) {
-            return foundEntities.get(0);
-        } else if (foundEntities.size() > 1) {
-            throw new ODataApplicationException(
-                    "Error during processing the request. More than one entity with the same ids (key properties) "
-                            + "was found, but ids (key properties) have to be unique.",
-                    INTERNAL_SERVER_ERROR.getStatusCode(), Locale.ENGLISH);
+        //
+        // Parse the key predicates only once, instead of for every entity received. Entity verticles supporting a key
+        // lookup (see EntityQueryPlan#getKeyPredicates) return the requested entity only, however any entity verticle
+        // returning further entities is still supported by selecting the entity matching all key predicates.
+        List<UriParameter> keyPredicates = uriResourceEntitySet.getKeyPredicates();
+        int keyCount = keyPredicates.size();
+        String[] keyPropertyNames = new String[keyCount];
+        String[] keyPropertyValues = new String[keyCount];
+        EdmPrimitiveTypeKind[] keyPropertyKinds = new EdmPrimitiveTypeKind[keyCount];
+        EdmEntityType entityType = uriResourceEntitySet.getEntitySet().getEntityType();
+        try {
+            for (int index = 0; index < keyCount; index++) {
+                UriParameter keyPredicate = keyPredicates.get(index);
+                keyPropertyNames[index] = keyPredicate.getName();
+                // Get the provided value of the key predicate
+                keyPropertyValues[index] = EdmHelper.extractValueFromLiteral(routingContext, keyPredicate.getText());
+                // Get the EdmPrimitiveTypeKind like Edm.String or Edm.Int32 of the key property
+                keyPropertyKinds[index] = EdmHelper.getEdmPrimitiveTypeKindByPropertyType(
+                        entityType.getProperty(keyPredicate.getName()).getType().toString());
+            }
+        } catch (ODataApplicationException e) {
+            LOGGER.correlateWith(routingContext).error(e.getMessage(), e);
+            return null;
+        }
+
+        Entity foundEntity = null;
+        for (Entity entity : entities) {
+            if (entity != null && matchesKeyPredicates(routingContext, entity, keyPropertyNames, keyPropertyValues,
+                    keyPropertyKinds)) {
+                if (foundEntity != null) {
+                    throw new ODataApplicationException(
+                            "Error during processing the request. More than one entity with the same ids (key "
+                                    + "properties) was found, but ids (key properties) have to be unique.",
+                            INTERNAL_SERVER_ERROR.getStatusCode(), Locale.ENGLISH);
+                }
+                foundEntity = entity;
+            }
+        }
+        return foundEntity;
+    }
+
+    private static boolean matchesKeyPredicates(RoutingContext routingContext, Entity entity,
+            String[] keyPropertyNames, String[] keyPropertyValues, EdmPrimitiveTypeKind[] keyPropertyKinds) {
+        for (int index = 0; index < keyPropertyNames.length; index++) {
+            // Check if the entity contains the key property
+            Property property = entity.getProperty(keyPropertyNames[index]);
+            if (property == null) {
+                return false;
+            }
+
+            // Compare the provided key property value with the entity's current value
+            if (ENTITY_COMPARISON.comparePropertyValues(routingContext, property.getValue(), keyPropertyValues[index],
+                    keyPropertyKinds[index], keyPropertyNames[index]) != 0) {
+                return false;
+            }
         }
-        return null;
+        return true;
     }
 
     private DataQuery odataRequestToQuery(ODataRequest request, DataAction action, Buffer body) {
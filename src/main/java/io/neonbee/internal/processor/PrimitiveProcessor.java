@@ -102,11 +102,11 @@ public class PrimitiveProcessor extends AsynchronousProcessor
     void handleEntity(EdmEntityType edmEntityType, ODataRequest request, DataAction action, Entity entity,
             Handler<AsyncResult<EntityWrapper>> entityHandler) {
         String uriPath = request.getRawRequestUri().replaceFirst(request.getRawBaseUri(), EMPTY);
-        requestEntity(vertx,
-                new DataRequest(edmEntityType.getFullQualifiedName(),
-                        new DataQuery(action, uriPath, request.getRawQueryPath(), request.getAllHeaders(),
-                                new EntityWrapper(edmEntityType.getFullQualifiedName(), entity).toBuffer(vertx))
-                                        .addHeader("X-HTTP-Method", request.getMethod().name())),
+        DataQuery query = new DataQuery(action, uriPath, request.getRawQueryPath(), request.getAllHeaders(),
+                new EntityWrapper(edmEntityType.getFullQualifiedName(), entity).toBuffer(vertx))
+                        .addHeader("X-HTTP-Method", request.getMethod().name());
+        // equal reads of the parts of one batch request are coalesced, to fetch the entity only once
+        requestEntity(vertx, coalesceInBatch(new DataRequest(edmEntityType.getFullQualifiedName(), query)),
                 new DataContextImpl(routingContext)).onComplete(entityHandler);
     }
 
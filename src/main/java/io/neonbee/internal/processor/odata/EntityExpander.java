@@ -3,6 +3,7 @@ package io.neonbee.internal.processor.odata;
 import static io.neonbee.internal.Helper.allComposite;
 import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.fetchReferencedEntities;
 import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.getRelatedEntities;
+import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.indexRelatedEntities;
 import static io.vertx.core.Future.succeededFuture;
 import static java.util.stream.Collectors.toList;
 
@@ -13,7 +14,7 @@ import java.util.Map;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.data.Link;
-import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
 import org.apache.olingo.commons.api.edm.constants.EdmTypeKind;
 import org.apache.olingo.server.api.uri.UriResourceNavigation;
@@ -26,34 +27,40 @@ import io.vertx.ext.web.RoutingContext;
 public final class EntityExpander {
     private final List<EdmNavigationProperty> navigationProperties;
 
-    private final Map<EdmEntityType, List<Entity>> fetchedEntities;
+    private final Map<EdmNavigationProperty, Map<List<Object>, List<Entity>>> relatedEntityIndexes;
 
     private EntityExpander(List<EdmNavigationProperty> navigationProperties,
-            Map<EdmEntityType, List<Entity>> fetchedEntities) {
+            Map<EdmNavigationProperty, Map<List<Object>, List<Entity>>> relatedEntityIndexes) {
         this.navigationProperties = navigationProperties;
-        this.fetchedEntities = fetchedEntities;
+        this.relatedEntityIndexes = relatedEntityIndexes;
     }
 
     /**
      * Creating the EntityExpander is an asynchronous operation, because during the creation the EntityExpander fetches
-     * all referenced and <b>potentially</b> required entities based on the expand options. When the EntityExpander is
-     * created successfully, the expand of an entity happens synchronously.
+     * all referenced and <b>potentially</b> required entities based on the expand options. Only the entities referenced
+     * by any of the entities to expand are requested from the entity verticles of the navigation targets. When the
+     * EntityExpander is created successfully, the expand of an entity happens synchronously.
      *
      * @param vertx          The Vert.x instance
      * @param expandOption   The expand options of the OData request
+     * @param entitySet      The entity set of the entities to expand
+     * @param entities       The entities to expand
      * @param routingContext The routingContext of the request
      * @return A {@link Future} holding a {@link EntityExpander} when it is completed.
      */
-    public static Future<EntityExpander> create(Vertx vertx, ExpandOption expandOption, RoutingContext routingContext) {
+    public static Future<EntityExpander> create(Vertx vertx, ExpandOption expandOption, EdmEntitySet entitySet,
+            List<Entity> entities, RoutingContext routingContext) {
         if (expandOption != null) {
             List<EdmNavigationProperty> navigationProperties = getNavigationProperties(expandOption);
-            Map<EdmEntityType, List<Entity>> fetchedEntities = new HashMap<>();
+            Map<EdmNavigationProperty, Map<List<Object>, List<Entity>>> relatedEntityIndexes = new HashMap<>();
 
             List<Future<?>> fetchFutures = navigationProperties.stream().distinct().map(navProb -> {
-                return fetchReferencedEntities(navProb, vertx, routingContext)
-                        .map(entities -> fetchedEntities.put(navProb.getType(), entities));
+                // index the fetched entities once, so linking them to the expanded entities is a hash lookup
+                return fetchReferencedEntities(entitySet, navProb, entities, vertx, routingContext)
+                        .map(referencedEntities -> relatedEntityIndexes.put(navProb,
+                                indexRelatedEntities(navProb, referencedEntities)));
             }).collect(toList());
-            return allComposite(fetchFutures).map(v -> new EntityExpander(navigationProperties, fetchedEntities));
+            return allComposite(fetchFutures).map(v -> new EntityExpander(navigationProperties, relatedEntityIndexes));
         } else {
             return succeededFuture(new EntityExpander(List.of(), Map.of()));
         }
@@ -77,7 +84,7 @@ public final class EntityExpander {
             }
 
             List<Entity> entitiesToLink = getRelatedEntities(navigationProperty, entityToExpand,
-                    fetchedEntities.get(navigationProperty.getType()));
+                    relatedEntityIndexes.get(navigationProperty));
             linkEntities(entityToExpand, navigationProperty, entitiesToLink);
         }
     }
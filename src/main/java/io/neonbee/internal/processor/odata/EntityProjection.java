@@ -0,0 +1,195 @@
+package io.neonbee.internal.processor.odata;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmEnumType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+import org.apache.olingo.server.api.uri.queryoption.SelectItem;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+
+/**
+ * Determines the properties of the entities, which are required to answer a read request to an entity collection
+ * (projection). Besides the properties selected using <code>$select</code>, these are the key properties, the
+ * properties referenced by <code>$filter</code> and <code>$orderby</code>, as these may be applied in memory, and the
+ * properties referencing the entities of the navigation properties expanded using <code>$expand</code>.
+ */
+public final class EntityProjection {
+    private EntityProjection() {}
+
+    /**
+     * Returns the names of the properties required to answer a given request.
+     *
+     * @param uriInfo    the URI info of the request
+     * @param entityType the type of the requested entities
+     * @return the names of the required properties, or null in case all properties are required, e.g. because the
+     *         request has no <code>$select</code> or the query options cannot be analyzed
+     */
+    public static Set<String> of(UriInfo uriInfo, EdmEntityType entityType) {
+        Set<String> propertyNames = new LinkedHashSet<>(entityType.getKeyPredicateNames());
+        if (!addSelected(uriInfo.getSelectOption(), propertyNames)
+                || !addFiltered(uriInfo.getFilterOption(), propertyNames)
+                || !addOrdered(uriInfo.getOrderByOption(), propertyNames)
+                || !addExpanded(uriInfo.getExpandOption(), entityType, propertyNames)) {
+            return null;
+        }
+        return propertyNames;
+    }
+
+    private static boolean addSelected(SelectOption selectOption, Set<String> propertyNames) {
+        if (selectOption == null || selectOption.getSelectItems().isEmpty()) {
+            return false;
+        }
+
+        for (SelectItem selectItem : selectOption.getSelectItems()) {
+            if (selectItem.isStar()) {
+                return false;
+            } else if (!selectItem.isAllOperationsInSchema() && selectItem.getResourcePath() != null) {
+                UriResource resourcePart = selectItem.getResourcePath().getUriResourceParts().get(0);
+                if (resourcePart instanceof UriResourceProperty) {
+                    propertyNames.add(((UriResourceProperty) resourcePart).getProperty().getName());
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean addFiltered(FilterOption filterOption, Set<String> propertyNames) {
+        return filterOption == null || addReferenced(filterOption.getExpression(), propertyNames);
+    }
+
+    private static boolean addOrdered(OrderByOption orderByOption, Set<String> propertyNames) {
+        if (orderByOption != null) {
+            for (OrderByItem orderByItem : orderByOption.getOrders()) {
+                if (!addReferenced(orderByItem.getExpression(), propertyNames)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean addExpanded(ExpandOption expandOption, EdmEntityType entityType,
+            Set<String> propertyNames) {
+        if (expandOption != null) {
+            for (ExpandItem expandItem : expandOption.getExpandItems()) {
+                if (expandItem.isStar()) {
+                    for (String navigationPropertyName : entityType.getNavigationPropertyNames()) {
+                        propertyNames.addAll(NavigationPropertyHelper
+                                .getSourcePropertyNames(entityType.getNavigationProperty(navigationPropertyName)));
+                    }
+                    continue;
+                }
+
+                UriResource resourcePart = expandItem.getResourcePath() != null
+                        ? expandItem.getResourcePath().getUriResourceParts().get(0) : null;
+                if (!(resourcePart instanceof UriResourceNavigation)) {
+                    return false;
+                }
+                EdmNavigationProperty navigationProperty = ((UriResourceNavigation) resourcePart).getProperty();
+                propertyNames.addAll(NavigationPropertyHelper.getSourcePropertyNames(navigationProperty));
+            }
+        }
+        return true;
+    }
+
+    private static boolean addReferenced(Expression expression, Set<String> propertyNames) {
+        try {
+            return expression.accept(new ReferencedProperties(propertyNames));
+        } catch (ExpressionVisitException | ODataApplicationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Collects the properties referenced by an expression and returns whether all references could be determined.
+     */
+    private static final class ReferencedProperties implements ExpressionVisitor<Boolean> {
+        private final Set<String> propertyNames;
+
+        ReferencedProperties(Set<String> propertyNames) {
+            this.propertyNames = propertyNames;
+        }
+
+        @Override
+        public Boolean visitBinaryOperator(BinaryOperatorKind operator, Boolean left, Boolean right) {
+            return left && right;
+        }
+
+        @Override
+        public Boolean visitBinaryOperator(BinaryOperatorKind operator, Boolean left, List<Boolean> right) {
+            return left && !right.contains(Boolean.FALSE);
+        }
+
+        @Override
+        public Boolean visitUnaryOperator(UnaryOperatorKind operator, Boolean operand) {
+            return operand;
+        }
+
+        @Override
+        public Boolean visitMethodCall(MethodKind methodCall, List<Boolean> parameters) {
+            return !parameters.contains(Boolean.FALSE);
+        }
+
+        @Override
+        public Boolean visitLambdaExpression(String lambdaFunction, String lambdaVariable, Expression expression) {
+            return Boolean.FALSE;
+        }
+
+        @Override
+        public Boolean visitLiteral(Literal literal) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Boolean visitMember(Member member) {
+            UriResource resourcePart = member.getResourcePath().getUriResourceParts().get(0);
+            if (resourcePart instanceof UriResourceProperty) {
+                propertyNames.add(((UriResourceProperty) resourcePart).getProperty().getName());
+                return Boolean.TRUE;
+            }
+            return Boolean.FALSE;
+        }
+
+        @Override
+        public Boolean visitAlias(String aliasName) {
+            return Boolean.FALSE;
+        }
+
+        @Override
+        public Boolean visitTypeLiteral(EdmType type) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Boolean visitLambdaReference(String variableName) {
+            return Boolean.FALSE;
+        }
+
+        @Override
+        public Boolean visitEnum(EdmEnumType type, List<String> enumValues) {
+            return Boolean.TRUE;
+        }
+    }
+}
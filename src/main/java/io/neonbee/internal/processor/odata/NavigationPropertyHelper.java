@@ -1,22 +1,42 @@
 package io.neonbee.internal.processor.odata;
 
 import static io.neonbee.entity.EntityVerticle.requestEntity;
+import static io.neonbee.internal.Helper.EMPTY;
 import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
+import static java.util.stream.Collectors.toList;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.INTERNAL_SERVER_ERROR;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.edm.EdmBindingTarget;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmException;
 import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmProperty;
 import org.apache.olingo.commons.api.edm.EdmReferentialConstraint;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.uri.UriResource;
 import org.apache.olingo.server.api.uri.UriResourceNavigation;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import io.neonbee.data.DataQuery;
 import io.neonbee.data.DataRequest;
 import io.neonbee.data.internal.DataContextImpl;
@@ -39,7 +59,63 @@ public class NavigationPropertyHelper {
      */
     public static Future<List<Entity>> fetchReferencedEntities(EdmNavigationProperty navigationProperty, Vertx vertx,
             RoutingContext routingContext) {
-        DataRequest req = new DataRequest(navigationProperty.getType().getFullQualifiedName(), new DataQuery());
+        return fetchReferencedEntities(navigationProperty, new DataQuery(), vertx, routingContext);
+    }
+
+    /**
+     * Fetches the entities related to any of the passed source entities via the passed navigation property.
+     * <p>
+     * Instead of requesting the entire entity set of the navigation target, the values of the referential constraints
+     * of all source entities are pushed down to the entity verticle of the navigation target, as a key filter
+     * (<code>$filter=ID in (...)</code>) on the entity set of the navigation target. As entity verticles are free to
+     * ignore the filter, the returned entities must still be matched to the source entities, e.g. using
+     * {@link #indexRelatedEntities(EdmNavigationProperty, List)}.
+     *
+     * @param sourceEntitySet    the entity set of the source entities
+     * @param navigationProperty the navigation property
+     * @param sourceEntities     the entities with navigation property
+     * @param vertx              the current Vert.x instance
+     * @param routingContext     the current routing context
+     * @return a {@link Future} holding the related {@link Entity} collection, potentially containing further entities
+     */
+    public static Future<List<Entity>> fetchReferencedEntities(EdmEntitySet sourceEntitySet,
+            EdmNavigationProperty navigationProperty, Collection<Entity> sourceEntities, Vertx vertx,
+            RoutingContext routingContext) {
+        Set<List<Object>> keys = new LinkedHashSet<>();
+        List<String> sourcePropertyNames = getSourcePropertyNames(navigationProperty);
+        for (Entity sourceEntity : sourceEntities) {
+            List<Object> key = getKey(sourceEntity, sourcePropertyNames);
+            if (!key.contains(null)) {
+                keys.add(key);
+            }
+        }
+
+        // no source entity references any entity, so there is nothing to fetch
+        if (keys.isEmpty()) {
+            return succeededFuture(new ArrayList<>());
+        }
+
+        DataQuery query = new DataQuery();
+        try {
+            EdmBindingTarget targetEntitySet = sourceEntitySet != null
+                    ? sourceEntitySet.getRelatedBindingTarget(navigationProperty.getName()) : null;
+            if (targetEntitySet != null) {
+                String filter = buildKeyFilter(navigationProperty.getType(),
+                        getTargetPropertyNames(navigationProperty), keys);
+                query = new DataQuery(targetEntitySet.getEntityContainer().getNamespace() + "/"
+                        + targetEntitySet.getName(), "$filter=" + encodeQueryValue(filter));
+            }
+        } catch (EdmPrimitiveTypeException | EdmException e) {
+            // in case the key filter cannot be built, fall back to requesting the entire entity set
+            LOGGER.correlateWith(routingContext).warn("Failed to build key filter for navigation property {}",
+                    navigationProperty.getName(), e);
+        }
+        return fetchReferencedEntities(navigationProperty, query, vertx, routingContext);
+    }
+
+    private static Future<List<Entity>> fetchReferencedEntities(EdmNavigationProperty navigationProperty,
+            DataQuery query, Vertx vertx, RoutingContext routingContext) {
+        DataRequest req = new DataRequest(navigationProperty.getType().getFullQualifiedName(), query);
         return requestEntity(vertx, req, new DataContextImpl(routingContext)).map(EntityWrapper::getEntities);
     }
 
@@ -53,28 +129,114 @@ public class NavigationPropertyHelper {
      */
     public static List<Entity> getRelatedEntities(EdmNavigationProperty navigationProperty, Entity sourceEntity,
             List<Entity> referencedEntities) {
-        List<Entity> filteredEntities = new ArrayList<>(referencedEntities);
+        return getRelatedEntities(navigationProperty, sourceEntity,
+                indexRelatedEntities(navigationProperty, referencedEntities));
+    }
+
+    /**
+     * Gets the referenced entities related to the source entity from an index built using
+     * {@link #indexRelatedEntities(EdmNavigationProperty, List)}.
+     *
+     * @param navigationProperty the navigation property
+     * @param sourceEntity       the entity with navigation property
+     * @param relatedEntityIndex the index of the entities of the referenced type
+     * @return a {@link List} with all related {@link Entity entities}
+     */
+    public static List<Entity> getRelatedEntities(EdmNavigationProperty navigationProperty, Entity sourceEntity,
+            Map<List<Object>, List<Entity>> relatedEntityIndex) {
+        return new ArrayList<>(relatedEntityIndex.getOrDefault(
+                getKey(sourceEntity, getSourcePropertyNames(navigationProperty)), Collections.emptyList()));
+    }
+
+    /**
+     * Builds a hash index of the referenced entities on the values of their properties, which are part of the
+     * referential constraints of the navigation property. This way the related entities of any number of source
+     * entities can be looked up, without iterating all referenced entities for every source entity.
+     *
+     * @param navigationProperty the navigation property
+     * @param referencedEntities the entities of the referenced type
+     * @return the referenced entities by the values of their referential constraint properties, in their original order
+     */
+    public static Map<List<Object>, List<Entity>> indexRelatedEntities(EdmNavigationProperty navigationProperty,
+            List<Entity> referencedEntities) {
+        List<String> targetPropertyNames = getTargetPropertyNames(navigationProperty);
+        Map<List<Object>, List<Entity>> index = new HashMap<>();
+        for (Entity referencedEntity : referencedEntities) {
+            List<Object> key = getKey(referencedEntity, targetPropertyNames);
+            if (!key.contains(null)) {
+                index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(referencedEntity);
+            }
+        }
+        return index;
+    }
+
+    private static List<EdmReferentialConstraint> getReferentialConstraints(
+            EdmNavigationProperty navigationProperty) {
+        return navigationProperty.isCollection() ? navigationProperty.getPartner().getReferentialConstraints()
+                : navigationProperty.getReferentialConstraints();
+    }
+
+    static List<String> getSourcePropertyNames(EdmNavigationProperty navigationProperty) {
         boolean isCollection = navigationProperty.isCollection();
-        List<EdmReferentialConstraint> constraints =
-                isCollection ? navigationProperty.getPartner().getReferentialConstraints()
-                        : navigationProperty.getReferentialConstraints();
-
-        for (EdmReferentialConstraint constraint : constraints) {
-            String propertyName = isCollection ? constraint.getReferencedPropertyName() : constraint.getPropertyName();
-            String referencePropertyName =
-                    isCollection ? constraint.getPropertyName() : constraint.getReferencedPropertyName();
-
-            Object propertyValue = sourceEntity.getProperty(propertyName).getValue();
-            List<Entity> remainingEntities = List.copyOf(filteredEntities);
-            filteredEntities.clear();
-            for (Entity referenceEntity : remainingEntities) {
-                Object referencePropertyValue = referenceEntity.getProperty(referencePropertyName).getValue();
-                if (propertyValue.equals(referencePropertyValue)) {
-                    filteredEntities.add(referenceEntity);
-                }
+        return getReferentialConstraints(navigationProperty).stream()
+                .map(constraint -> isCollection ? constraint.getReferencedPropertyName() : constraint.getPropertyName())
+                .collect(toList());
+    }
+
+    private static List<String> getTargetPropertyNames(EdmNavigationProperty navigationProperty) {
+        boolean isCollection = navigationProperty.isCollection();
+        return getReferentialConstraints(navigationProperty).stream()
+                .map(constraint -> isCollection ? constraint.getPropertyName() : constraint.getReferencedPropertyName())
+                .collect(toList());
+    }
+
+    private static List<Object> getKey(Entity entity, List<String> propertyNames) {
+        // Arrays.asList instead of List.of, as it permits null values and has value based equals / hashCode
+        Object[] values = new Object[propertyNames.size()];
+        for (int index = 0; index < values.length; index++) {
+            Property property = entity.getProperty(propertyNames.get(index));
+            values[index] = property != null ? property.getValue() : null;
+        }
+        return Arrays.asList(values);
+    }
+
+    @VisibleForTesting
+    static String buildKeyFilter(EdmEntityType targetEntityType, List<String> propertyNames,
+            Collection<List<Object>> keys) throws EdmPrimitiveTypeException {
+        StringBuilder filter = new StringBuilder();
+        if (propertyNames.size() == 1) {
+            String propertyName = propertyNames.get(0);
+            filter.append(propertyName).append(" in (");
+            for (List<Object> key : keys) {
+                filter.append(toUriLiteral(targetEntityType, propertyName, key.get(0))).append(',');
             }
+            filter.setCharAt(filter.length() - 1, ')');
+            return filter.toString();
         }
-        return filteredEntities;
+
+        for (List<Object> key : keys) {
+            filter.append(filter.length() > 0 ? " or (" : "(");
+            for (int index = 0; index < propertyNames.size(); index++) {
+                String propertyName = propertyNames.get(index);
+                filter.append(index > 0 ? " and " : EMPTY).append(propertyName).append(" eq ")
+                        .append(toUriLiteral(targetEntityType, propertyName, key.get(index)));
+            }
+            filter.append(')');
+        }
+        return filter.toString();
+    }
+
+    private static String toUriLiteral(EdmEntityType entityType, String propertyName, Object value)
+            throws EdmPrimitiveTypeException {
+        EdmProperty property = entityType.getStructuralProperty(propertyName);
+        EdmPrimitiveType type = (EdmPrimitiveType) property.getType();
+        return type.toUriLiteral(type.valueToString(value, property.isNullable(), property.getMaxLength(),
+                property.getPrecision(), property.getScale(), property.isUnicode()));
+    }
+
+    private static String encodeQueryValue(String value) {
+        // the OData URI parser does not decode plus signs to spaces, so encode spaces explicitly
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
     }
 
     /**
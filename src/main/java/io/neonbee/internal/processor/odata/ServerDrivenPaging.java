@@ -0,0 +1,180 @@
+package io.neonbee.internal.processor.odata;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.URI;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataRequest;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Limits the number of entities returned by a read request to an entity collection (server-driven paging).
+ * <p>
+ * In case a collection exceeds the maximum page size of its entity set, only the first page of entities is returned,
+ * together with a <code>@odata.nextLink</code> to request the next page. The next link contains all query options of
+ * the original request, plus an opaque <code>$skiptoken</code>. The skip token either contains the offset of the next
+ * page in the result, or a cursor provided by the entity verticle, to resume reading from, see
+ * {@link io.neonbee.entity.EntityQueryPlan#nextPage(io.neonbee.data.DataContext, String)}.
+ * <p>
+ * Paging is configured using the <code>paging</code> object of the OData endpoint config:
+ * <p>
+ * <code>
+ * {
+ *   paging: {
+ *     maxPageSize: number, // the maximum number of entities per page, defaults to 0, which disables paging
+ *     entitySets: { // the maximum page size of specific entity sets, overriding the maxPageSize
+ *       &lt;entity set name&gt;: number
+ *     }
+ *   }
+ * }
+ * </code>
+ */
+public final class ServerDrivenPaging {
+    /**
+     * The name of the config object of the paging.
+     */
+    public static final String CONFIG_PAGING = "paging";
+
+    static final String CONFIG_MAX_PAGE_SIZE = "maxPageSize";
+
+    static final String CONFIG_ENTITY_SETS = "entitySets";
+
+    private static final String SKIP_TOKEN = "$skiptoken";
+
+    private static final String OFFSET = "offset";
+
+    private static final String CURSOR = "cursor";
+
+    private static final Pattern QUERY_SEPARATOR = Pattern.compile("&");
+
+    private final int maxPageSize;
+
+    private final JsonObject entitySets;
+
+    @VisibleForTesting
+    ServerDrivenPaging(int maxPageSize, JsonObject entitySets) {
+        this.maxPageSize = maxPageSize;
+        this.entitySets = entitySets;
+    }
+
+    /**
+     * Creates the paging based on the config of the OData endpoint.
+     *
+     * @param config the config of the OData endpoint, may be null
+     * @return a new paging
+     */
+    public static ServerDrivenPaging create(JsonObject config) {
+        JsonObject pagingConfig =
+                config != null ? config.getJsonObject(CONFIG_PAGING, new JsonObject()) : new JsonObject();
+        return new ServerDrivenPaging(pagingConfig.getInteger(CONFIG_MAX_PAGE_SIZE, 0),
+                pagingConfig.getJsonObject(CONFIG_ENTITY_SETS, new JsonObject()));
+    }
+
+    /**
+     * Returns the maximum page size of a given entity set.
+     *
+     * @param entitySet the entity set
+     * @return the maximum number of entities per page, or 0 in case the entity set is not paged
+     */
+    public int getMaxPageSize(EdmEntitySet entitySet) {
+        return Math.max(0, entitySets.getInteger(entitySet.getName(), maxPageSize));
+    }
+
+    /**
+     * Returns the skip token to request the page at a given offset of the result.
+     *
+     * @param offset the offset of the page
+     * @return the opaque skip token
+     */
+    public static String offsetToken(int offset) {
+        return encode(new JsonObject().put(OFFSET, offset));
+    }
+
+    /**
+     * Returns the skip token to request the page at a given cursor of an entity verticle.
+     *
+     * @param cursor the cursor provided by the entity verticle
+     * @return the opaque skip token
+     */
+    public static String cursorToken(String cursor) {
+        return encode(new JsonObject().put(CURSOR, cursor));
+    }
+
+    /**
+     * Returns the offset contained in a given skip token.
+     *
+     * @param skipToken the skip token, may be null
+     * @return the offset of the page, or 0 in case no skip token is given or the skip token contains a cursor
+     * @throws ODataApplicationException if the skip token is invalid
+     */
+    public static int getOffset(String skipToken) throws ODataApplicationException {
+        return skipToken != null ? Math.max(0, decode(skipToken).getInteger(OFFSET, 0)) : 0;
+    }
+
+    /**
+     * Returns the cursor contained in a given skip token.
+     *
+     * @param skipToken the skip token, may be null
+     * @return the cursor provided by the entity verticle, or null in case no skip token is given or the skip token
+     *         contains an offset
+     * @throws ODataApplicationException if the skip token is invalid
+     */
+    public static String getCursor(String skipToken) throws ODataApplicationException {
+        return skipToken != null ? decode(skipToken).getString(CURSOR) : null;
+    }
+
+    /**
+     * Returns the link to the next page of a given request.
+     *
+     * @param request   the request reading the current page
+     * @param skipToken the skip token of the next page
+     * @return the next link, containing all query options of the request, but the skip token of the next page
+     */
+    public static URI nextLink(ODataRequest request, String skipToken) {
+        String query = Optional.ofNullable(request.getRawQueryPath()).stream().flatMap(QUERY_SEPARATOR::splitAsStream)
+                .filter(option -> !option.isEmpty() && !option.startsWith(SKIP_TOKEN + "="))
+                .collect(Collectors.joining("&"));
+        return URI.create(request.getRawBaseUri() + request.getRawODataPath() + "?"
+                + (query.isEmpty() ? "" : query + "&") + SKIP_TOKEN + "=" + skipToken);
+    }
+
+    /**
+     * Returns one page of a given list of entities.
+     *
+     * @param entities the entities
+     * @param offset   the offset of the page
+     * @param pageSize the size of the page
+     * @param <T>      the type of the entities
+     * @return the entities of the page
+     */
+    public static <T> List<T> page(List<T> entities, int offset, int pageSize) {
+        int fromIndex = Math.min(offset, entities.size());
+        return entities.subList(fromIndex, (int) Math.min(entities.size(), (long) fromIndex + pageSize));
+    }
+
+    private static String encode(JsonObject token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.encode().getBytes(UTF_8));
+    }
+
+    private static JsonObject decode(String skipToken) throws ODataApplicationException {
+        try {
+            return new JsonObject(new String(Base64.getUrlDecoder().decode(skipToken), UTF_8));
+        } catch (IllegalArgumentException | DecodeException | ClassCastException e) {
+            throw new ODataApplicationException("Invalid value for $skiptoken",
+                    HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH, e);
+        }
+    }
+}
@@ -77,20 +77,8 @@ public final class EdmHelper {
                 EdmPrimitiveTypeKind edmPrimitiveTypeKind = getEdmPrimitiveTypeKindByPropertyType(
                         edmEntityType.getProperty(propertyName).getType().toString());
 
-                // Get the value as String representation
-                String valueAsString = extractValueFromLiteral(routingContext, uriParam.getText());
-
-                // Transform the string value into a object of the related EdmType
-                EdmPrimitiveType edmPrimitiveType =
-                        EntityModelManager.getBufferedOData().createPrimitiveTypeInstance(edmPrimitiveTypeKind);
-                EdmProperty edmProperty = (EdmProperty) edmEntityType.getProperty(propertyName);
-
-                Object value = edmPrimitiveType.valueOfString(valueAsString, edmProperty.isNullable(),
-                        edmProperty.getMaxLength(), edmProperty.getPrecision(), edmProperty.getScale(),
-                        edmProperty.isUnicode(), edmPrimitiveType.getDefaultType());
-
                 entity.addProperty(new Property(edmPrimitiveTypeKind.getFullQualifiedName().toString(), propertyName,
-                        ValueType.PRIMITIVE, value));
+                        ValueType.PRIMITIVE, getKeyPredicateValue(edmEntityType, uriParam, routingContext)));
             }
         } catch (Exception e) {
             LOGGER.correlateWith(routingContext).error("Failed to add key predicate to the passed entity", e);
@@ -98,6 +86,41 @@ public final class EdmHelper {
         return entity;
     }
 
+    /**
+     * Converts the literal of a key predicate into an object of the Java type related to the EdmType of the key
+     * property, e.g. the key predicate of <code>Products(42)</code> into an Integer.
+     *
+     * @param edmEntityType  the entity type of the entity set the key predicate is applied to
+     * @param uriParam       the key predicate
+     * @param routingContext the RoutingContext used for correlated logging
+     * @return the typed value of the key predicate
+     * @throws ODataApplicationException if the key predicate cannot be converted into the type of the key property
+     */
+    public static Object getKeyPredicateValue(EdmEntityType edmEntityType, UriParameter uriParam,
+            RoutingContext routingContext) throws ODataApplicationException {
+        String propertyName = uriParam.getName();
+        // Get the EdmPrimitiveTypeKind like Edm.String or Edm.Int32 of the key property
+        EdmPrimitiveTypeKind edmPrimitiveTypeKind =
+                getEdmPrimitiveTypeKindByPropertyType(edmEntityType.getProperty(propertyName).getType().toString());
+
+        // Get the value as String representation
+        String valueAsString = extractValueFromLiteral(routingContext, uriParam.getText());
+
+        // Transform the string value into a object of the related EdmType
+        EdmPrimitiveType edmPrimitiveType =
+                EntityModelManager.getBufferedOData().createPrimitiveTypeInstance(edmPrimitiveTypeKind);
+        EdmProperty edmProperty = (EdmProperty) edmEntityType.getProperty(propertyName);
+
+        try {
+            return edmPrimitiveType.valueOfString(valueAsString, edmProperty.isNullable(), edmProperty.getMaxLength(),
+                    edmProperty.getPrecision(), edmProperty.getScale(), edmProperty.isUnicode(),
+                    edmPrimitiveType.getDefaultType());
+        } catch (EdmPrimitiveTypeException e) {
+            throw new ODataApplicationException("Invalid value of key property " + propertyName,
+                    HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ENGLISH, e);
+        }
+    }
+
     /**
      * Remove the leading and trailing single quotes (') from a provided literal. This is useful when working with
      * literals of type String, because they are wrapped with single quotes (') if provided in a query.
@@ -0,0 +1,455 @@
+package io.neonbee.internal.processor.odata.expression;
+
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.GREATER_THAN;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.IS_EQUAL;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.LESS_THAN;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.PRIMITIVE_BOOLEAN;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.PRIMITIVE_BYTE;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.PRIMITIVE_INT16;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.PRIMITIVE_INT32;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.PRIMITIVE_INT64;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.PRIMITIVE_SBYTE;
+import static io.neonbee.internal.processor.odata.edm.EdmConstants.PRIMITIVE_STRING;
+import static io.neonbee.internal.processor.odata.edm.EdmHelper.throwNotImplementedODataException;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.edm.EdmEnumType;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+
+import io.neonbee.internal.processor.odata.edm.EdmHelper;
+import io.neonbee.internal.processor.odata.expression.operands.ExpressionVisitorOperand;
+import io.neonbee.internal.processor.odata.expression.operators.BinaryOperator;
+import io.neonbee.internal.processor.odata.expression.operators.DateFunctionMethodCallOperator;
+import io.neonbee.internal.processor.odata.expression.operators.StringFunctionMethodCallOperator;
+import io.neonbee.internal.processor.odata.expression.operators.UnaryOperator;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A filter expression compiled once per request into a reusable predicate.
+ * <p>
+ * In contrast to the {@link FilterExpressionVisitor}, which has to walk the expression tree for every entity, the tree
+ * is walked only once to compile it into a tree of nodes. Properties are resolved by name and literals are converted to
+ * their EDM Java types during compilation. Comparisons of properties with string or integer literals are evaluated
+ * without any intermediate operands, all other nodes are evaluated by the same operators as the visitor, so the result
+ * of a compiled filter is equivalent to the result of the {@link FilterExpressionVisitor}.
+ * <p>
+ * A compiled filter is stateless and can be used to filter entities from multiple threads.
+ */
+public final class CompiledFilter implements Predicate<Entity> {
+    private final Node root;
+
+    private CompiledFilter(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles a given filter expression.
+     *
+     * @param routingContext the current routingContext
+     * @param expression     the filter expression to compile
+     * @return the compiled filter
+     * @throws ExpressionVisitException  if the expression cannot be compiled
+     * @throws ODataApplicationException if the expression cannot be compiled
+     */
+    public static CompiledFilter compile(RoutingContext routingContext, Expression expression)
+            throws ExpressionVisitException, ODataApplicationException {
+        return new CompiledFilter(expression.accept(new Compiler(routingContext)));
+    }
+
+    /**
+     * Checks if a given entity matches this filter.
+     *
+     * @param entity the entity to check
+     * @return true if the filter expression evaluates to true for the given entity
+     * @throws ODataApplicationException if the filter expression cannot be evaluated for the given entity
+     */
+    public boolean matches(Entity entity) throws ODataApplicationException {
+        return Boolean.TRUE.equals(root.evaluate(entity).getValue());
+    }
+
+    /**
+     * Checks if a given entity matches this filter.
+     *
+     * @param entity the entity to check
+     * @return true if the filter expression evaluates to true for the given entity
+     * @throws FilterEvaluationException if the filter expression cannot be evaluated for the given entity
+     */
+    @Override
+    public boolean test(Entity entity) {
+        try {
+            return matches(entity);
+        } catch (ODataApplicationException e) {
+            throw new FilterEvaluationException(e);
+        }
+    }
+
+    /**
+     * Thrown by {@link CompiledFilter#test(Entity)}, in case the filter expression cannot be evaluated for an entity.
+     */
+    public static final class FilterEvaluationException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        FilterEvaluationException(ODataApplicationException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Override
+        public synchronized ODataApplicationException getCause() {
+            return (ODataApplicationException) super.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        ExpressionVisitorOperand evaluate(Entity entity) throws ODataApplicationException;
+    }
+
+    private static final class LiteralNode implements Node {
+        private final ExpressionVisitorOperand operand;
+
+        LiteralNode(ExpressionVisitorOperand operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public ExpressionVisitorOperand evaluate(Entity entity) {
+            return operand;
+        }
+    }
+
+    private static final class MemberNode implements Node {
+        private final RoutingContext routingContext;
+
+        private final EdmProperty edmProperty;
+
+        private final String name;
+
+        MemberNode(RoutingContext routingContext, EdmProperty edmProperty) {
+            this.routingContext = routingContext;
+            this.edmProperty = edmProperty;
+            this.name = edmProperty.getName();
+        }
+
+        Property property(Entity entity) {
+            return Optional.ofNullable(entity.getProperty(name)).orElseThrow();
+        }
+
+        @Override
+        public ExpressionVisitorOperand evaluate(Entity entity) throws ODataApplicationException {
+            Property property = property(entity);
+            if (property.isPrimitive()) {
+                return new ExpressionVisitorOperand(routingContext, property.getValue(), edmProperty.getType(),
+                        edmProperty);
+            }
+            return throwNotImplementedODataException();
+        }
+    }
+
+    /**
+     * Compares a property with a non-null string or integer literal, without creating any intermediate operands. Any
+     * value, which cannot be compared directly, is compared using the {@link BinaryOperator} instead.
+     */
+    private static final class ComparisonNode implements Node {
+        private final RoutingContext routingContext;
+
+        private final BinaryOperatorKind operator;
+
+        private final MemberNode member;
+
+        private final LiteralNode literal;
+
+        private final boolean memberLeft;
+
+        private final Object literalValue;
+
+        ComparisonNode(RoutingContext routingContext, BinaryOperatorKind operator, MemberNode member,
+                LiteralNode literal, boolean memberLeft) {
+            this.routingContext = routingContext;
+            this.operator = operator;
+            this.member = member;
+            this.literal = literal;
+            this.memberLeft = memberLeft;
+            Object value = literal.operand.getValue();
+            this.literalValue = value instanceof BigInteger ? (Object) ((BigInteger) value).longValue() : value;
+        }
+
+        static boolean isApplicable(MemberNode member, LiteralNode literal) {
+            ExpressionVisitorOperand operand = literal.operand;
+            EdmType memberType = member.edmProperty.getType();
+            if (operand.isNull()) {
+                return false;
+            } else if (operand.is(PRIMITIVE_STRING) && operand.getValue() instanceof String) {
+                return PRIMITIVE_STRING.equals(memberType);
+            } else if (operand.is(PRIMITIVE_BYTE, PRIMITIVE_SBYTE, PRIMITIVE_INT16, PRIMITIVE_INT32, PRIMITIVE_INT64)
+                    && operand.getValue() instanceof BigInteger
+                    && ((BigInteger) operand.getValue()).bitLength() < Long.SIZE) {
+                return PRIMITIVE_BYTE.equals(memberType) || PRIMITIVE_SBYTE.equals(memberType)
+                        || PRIMITIVE_INT16.equals(memberType) || PRIMITIVE_INT32.equals(memberType)
+                        || PRIMITIVE_INT64.equals(memberType);
+            }
+            return false;
+        }
+
+        @Override
+        public ExpressionVisitorOperand evaluate(Entity entity) throws ODataApplicationException {
+            Property property = member.property(entity);
+            if (!property.isPrimitive()) {
+                return throwNotImplementedODataException();
+            }
+
+            Object value = property.getValue();
+            int result;
+            if (value == null) {
+                // the literal is never null, so only not equals is true, same as for the binary operator
+                return bool(operator == BinaryOperatorKind.NE);
+            } else if (literalValue instanceof String && value instanceof String) {
+                result = ((String) value).compareTo((String) literalValue);
+            } else if (literalValue instanceof Long && (value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte)) {
+                result = Long.compare(((Number) value).longValue(), (Long) literalValue);
+            } else {
+                ExpressionVisitorOperand memberOperand =
+                        new ExpressionVisitorOperand(routingContext, value, member.edmProperty.getType(),
+                                member.edmProperty);
+                return memberLeft ? compare(routingContext, operator, memberOperand, literal.operand)
+                        : compare(routingContext, operator, literal.operand, memberOperand);
+            }
+
+            int sign = Integer.signum(result);
+            result = memberLeft ? sign : -sign;
+            switch (operator) {
+            case EQ:
+                return bool(result == IS_EQUAL);
+            case NE:
+                return bool(result != IS_EQUAL);
+            case GT:
+                return bool(result == GREATER_THAN);
+            case GE:
+                return bool(result != LESS_THAN);
+            case LT:
+                return bool(result == LESS_THAN);
+            default: // case LE:
+                return bool(result != GREATER_THAN);
+            }
+        }
+
+        private ExpressionVisitorOperand bool(boolean value) {
+            return new ExpressionVisitorOperand(routingContext, value, PRIMITIVE_BOOLEAN);
+        }
+    }
+
+    private static ExpressionVisitorOperand compare(RoutingContext routingContext, BinaryOperatorKind operator,
+            ExpressionVisitorOperand left, ExpressionVisitorOperand right) throws ODataApplicationException {
+        BinaryOperator binaryOperator = new BinaryOperator(routingContext, left, right);
+        switch (operator) {
+        case AND:
+            return binaryOperator.andOperator();
+        case OR:
+            return binaryOperator.orOperator();
+        case EQ:
+            return binaryOperator.equalsOperator();
+        case NE:
+            return binaryOperator.notEqualsOperator();
+        case GE:
+            return binaryOperator.greaterEqualsOperator();
+        case GT:
+            return binaryOperator.greaterThanOperator();
+        case LE:
+            return binaryOperator.lessEqualsOperator();
+        case LT:
+            return binaryOperator.lessThanOperator();
+        case IN:
+            return binaryOperator.inOperator();
+        default:
+            return throwNotImplementedODataException();
+        }
+    }
+
+    private static List<ExpressionVisitorOperand> evaluateAll(List<Node> nodes, Entity entity)
+            throws ODataApplicationException {
+        List<ExpressionVisitorOperand> operands = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            operands.add(node.evaluate(entity));
+        }
+        return operands;
+    }
+
+    /**
+     * Compiles the nodes of an expression tree. Any unsupported expression compiles to a node failing during
+     * evaluation, same as the {@link FilterExpressionVisitor} fails only when evaluating the expression.
+     */
+    private static final class Compiler implements ExpressionVisitor<Node> {
+        private static final Node NOT_IMPLEMENTED = entity -> throwNotImplementedODataException();
+
+        private final RoutingContext routingContext;
+
+        Compiler(RoutingContext routingContext) {
+            this.routingContext = routingContext;
+        }
+
+        @Override
+        public Node visitBinaryOperator(BinaryOperatorKind operator, Node left, List<Node> right) {
+            if (BinaryOperatorKind.IN.equals(operator)) {
+                return entity -> new BinaryOperator(routingContext, left.evaluate(entity),
+                        evaluateAll(right, entity)).inOperator();
+            }
+            return NOT_IMPLEMENTED;
+        }
+
+        @Override
+        public Node visitBinaryOperator(BinaryOperatorKind operator, Node left, Node right) {
+            switch (operator) {
+            case EQ:
+            case NE:
+            case GE:
+            case GT:
+            case LE:
+            case LT:
+                if (left instanceof MemberNode && right instanceof LiteralNode
+                        && ComparisonNode.isApplicable((MemberNode) left, (LiteralNode) right)) {
+                    return new ComparisonNode(routingContext, operator, (MemberNode) left, (LiteralNode) right, true);
+                } else if (left instanceof LiteralNode && right instanceof MemberNode
+                        && ComparisonNode.isApplicable((MemberNode) right, (LiteralNode) left)) {
+                    return new ComparisonNode(routingContext, operator, (MemberNode) right, (LiteralNode) left, false);
+                }
+                return entity -> compare(routingContext, operator, left.evaluate(entity), right.evaluate(entity));
+            case AND:
+            case OR:
+            case IN:
+                return entity -> compare(routingContext, operator, left.evaluate(entity), right.evaluate(entity));
+            default:
+                return NOT_IMPLEMENTED;
+            }
+        }
+
+        @Override
+        public Node visitLiteral(Literal literal) {
+            ExpressionVisitorOperand operand = new ExpressionVisitorOperand(routingContext,
+                    EdmHelper.extractValueFromLiteral(literal.getText()), literal.getType());
+            try {
+                // convert the literal to its EDM Java type once, as every operator would convert it anyways
+                operand = operand.setType();
+            } catch (ODataApplicationException e) {
+                // keep the literal as is, the operators will fail when evaluating the expression
+            }
+            return new LiteralNode(operand);
+        }
+
+        @Override
+        public Node visitUnaryOperator(UnaryOperatorKind operator, Node operand) {
+            if (UnaryOperatorKind.NOT.equals(operator)) {
+                return entity -> new UnaryOperator(routingContext, operand.evaluate(entity)).notOperation();
+            }
+            return NOT_IMPLEMENTED;
+        }
+
+        @Override
+        public Node visitMember(Member member) {
+            List<UriResource> uriResourceParts = member.getResourcePath().getUriResourceParts();
+            UriResource initialPart = uriResourceParts.get(0);
+            if (initialPart instanceof UriResourceProperty) {
+                EdmProperty edmProperty =
+                        Optional.ofNullable(((UriResourceProperty) initialPart).getProperty()).orElseThrow();
+                return new MemberNode(routingContext, edmProperty);
+            }
+            return NOT_IMPLEMENTED;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:CyclomaticComplexity")
+        public Node visitMethodCall(MethodKind methodCall, List<Node> parameters) {
+            switch (methodCall) {
+            case ENDSWITH:
+                return entity -> strings(parameters, entity).endsWith();
+            case INDEXOF:
+                return entity -> strings(parameters, entity).indexOf();
+            case STARTSWITH:
+                return entity -> strings(parameters, entity).startsWith();
+            case TOLOWER:
+                return entity -> strings(parameters, entity).toLower();
+            case TOUPPER:
+                return entity -> strings(parameters, entity).toUpper();
+            case TRIM:
+                return entity -> strings(parameters, entity).trim();
+            case SUBSTRING:
+                return entity -> strings(parameters, entity).substring();
+            case CONTAINS:
+                return entity -> strings(parameters, entity).contains();
+            case CONCAT:
+                return entity -> strings(parameters, entity).concat();
+            case LENGTH:
+                return entity -> strings(parameters, entity).length();
+            case YEAR:
+                return entity -> dates(parameters, entity).year();
+            case MONTH:
+                return entity -> dates(parameters, entity).month();
+            case DAY:
+                return entity -> dates(parameters, entity).day();
+            case HOUR:
+                return entity -> dates(parameters, entity).hour();
+            case MINUTE:
+                return entity -> dates(parameters, entity).minute();
+            case SECOND:
+                return entity -> dates(parameters, entity).second();
+            case FRACTIONALSECONDS:
+                return entity -> dates(parameters, entity).fractionalseconds();
+            default:
+                return NOT_IMPLEMENTED;
+            }
+        }
+
+        private StringFunctionMethodCallOperator strings(List<Node> parameters, Entity entity)
+                throws ODataApplicationException {
+            return new StringFunctionMethodCallOperator(routingContext, evaluateAll(parameters, entity));
+        }
+
+        private DateFunctionMethodCallOperator dates(List<Node> parameters, Entity entity)
+                throws ODataApplicationException {
+            return new DateFunctionMethodCallOperator(routingContext, evaluateAll(parameters, entity));
+        }
+
+        @Override
+        public Node visitTypeLiteral(EdmType type) {
+            return NOT_IMPLEMENTED;
+        }
+
+        @Override
+        public Node visitAlias(String aliasName) {
+            return NOT_IMPLEMENTED;
+        }
+
+        @Override
+        public Node visitEnum(EdmEnumType type, List<String> enumValues) {
+            return NOT_IMPLEMENTED;
+        }
+
+        @Override
+        public Node visitLambdaExpression(String lambdaFunction, String lambdaVariable, Expression expression) {
+            return NOT_IMPLEMENTED;
+        }
+
+        @Override
+        public Node visitLambdaReference(String variableName) {
+            return NOT_IMPLEMENTED;
+        }
+    }
+}
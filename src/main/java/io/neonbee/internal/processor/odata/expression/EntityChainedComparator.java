@@ -24,4 +24,36 @@ public class EntityChainedComparator implements Comparator<Entity> {
         }
         return 0;
     }
+
+    /**
+     * Extracts the keys to sort a given entity by, one for every chained comparator.
+     *
+     * @param entity the entity to extract the keys from
+     * @return the sort keys of the entity, to be compared using {@link #compareSortKeys(Object[], Object[])}
+     */
+    Object[] sortKeys(Entity entity) {
+        Object[] keys = new Object[entityComparators.size()];
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = entityComparators.get(index).sortKey(entity);
+        }
+        return keys;
+    }
+
+    /**
+     * Compares the keys extracted by {@link #sortKeys(Entity)}, equivalent to comparing the entities themselves.
+     *
+     * @param keys1 the sort keys of the first entity
+     * @param keys2 the sort keys of the second entity
+     * @return a negative integer, zero, or a positive integer as the first entity is less than, equal to, or greater
+     *         than the second entity
+     */
+    int compareSortKeys(Object[] keys1, Object[] keys2) {
+        for (int index = 0; index < keys1.length; index++) {
+            int result = entityComparators.get(index).compareSortKeys(keys1[index], keys2[index]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
 }
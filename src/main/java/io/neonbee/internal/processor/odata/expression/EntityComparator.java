@@ -49,4 +49,39 @@ public class EntityComparator implements Comparator<Entity>, EntityComparison {
         // If the requested sort order is 'desc' reverse the order
         return isDescending ? -compareResult : compareResult;
     }
+
+    /**
+     * Extracts the key to sort a given entity by.
+     *
+     * @param entity the entity to extract the key from
+     * @return the sort key of the entity, to be compared using {@link #compareSortKeys(Object, Object)}
+     */
+    Object sortKey(Entity entity) {
+        Object value = entity.getProperty(sortPropertyName).getValue();
+        return value != null ? toSortKey(routingContext, value, propertyTypeKind, sortPropertyName) : null;
+    }
+
+    /**
+     * Compares two keys extracted by {@link #sortKey(Entity)}, equivalent to comparing the entities themselves.
+     *
+     * @param key1 the sort key of the first entity
+     * @param key2 the sort key of the second entity
+     * @return a negative integer, zero, or a positive integer as the first entity is less than, equal to, or greater
+     *         than the second entity
+     */
+    @SuppressWarnings("unchecked")
+    int compareSortKeys(Object key1, Object key2) {
+        // Sort null values last in case of 'asc' order
+        if (key1 == null) {
+            return (key2 == null) ? 0 : (isDescending ? -1 : 1);
+        } else if (key2 == null) {
+            return isDescending ? 1 : -1;
+        }
+
+        int compareResult = key1 instanceof String ? ((String) key1).compareToIgnoreCase((String) key2)
+                : ((Comparable<Object>) key1).compareTo(key2);
+
+        // If the requested sort order is 'desc' reverse the order
+        return isDescending ? -compareResult : compareResult;
+    }
 }
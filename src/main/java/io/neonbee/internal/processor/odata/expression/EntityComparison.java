@@ -312,6 +312,92 @@ public interface EntityComparison {
         }
     }
 
+    /**
+     * Converts an entity property value of unknown concrete Java type (Object) into a key, which can be compared to the
+     * keys of other values of the same property using {@link Comparable#compareTo(Object)}, or using
+     * {@link String#compareToIgnoreCase(String)} in case of a string key. Converting every value only once into a key,
+     * avoids converting the same values over and over again, when comparing a value to multiple other values.
+     *
+     * @param routingContext   the routing context
+     * @param propertyValue    the non-null property value to convert
+     * @param propertyTypeKind the Edm primitive type kind that is taken into account during type conversion
+     * @param propertyName     the name of the property that is converted
+     * @return the comparable key of the property value, equivalent to {@link #comparePropertyValues}
+     */
+    @SuppressWarnings({ "PMD.CyclomaticComplexity", "PMD.ExcessiveMethodLength" })
+    default Object toSortKey(RoutingContext routingContext, Object propertyValue,
+            EdmPrimitiveTypeKind propertyTypeKind, String propertyName) {
+        List<Class<?>> expectedTypes;
+        switch (propertyTypeKind) {
+        case Binary:
+            expectedTypes = EDM_BINARY_JAVA_TYPES;
+            break;
+        case Int16:
+        case Int32:
+        case Int64:
+        case Byte:
+        case SByte:
+            expectedTypes = EDM_INT16_INT32_INT64_BYTE_SBYTE_JAVA_TYPES;
+            break;
+        case Decimal:
+        case Duration:
+            expectedTypes = EDM_DECIMAL_DURATION_JAVA_TYPES;
+            break;
+        case Single:
+        case Double:
+            expectedTypes = EDM_SINGLE_DOUBLE_JAVA_TYPES;
+            break;
+        case Date:
+        case TimeOfDay:
+        case DateTimeOffset:
+            expectedTypes = EDM_DATE_TIMEOFDAY_DATETIMEOFFSET_JAVA_TYPES;
+            break;
+        case Boolean:
+            expectedTypes = EDM_BOOLEAN_JAVA_TYPES;
+            break;
+        case String:
+            expectedTypes = EDM_STRING_JAVA_TYPES;
+            break;
+        case Guid:
+            expectedTypes = EDM_GUID_JAVA_TYPES;
+            break;
+        default:
+            throw new IllegalArgumentException(
+                    new ODataApplicationException("Error during comparison of entity properties.",
+                            HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), Locale.ENGLISH));
+        }
+
+        if (instanceOfExpectedType(expectedTypes, propertyValue)) {
+            try {
+                switch (propertyTypeKind) {
+                case Binary:
+                    // same as for comparePropertyValues, order binaries by size
+                    return Array.getLength(propertyValue);
+                case Int16:
+                case Int32:
+                case Int64:
+                case Byte:
+                case SByte:
+                    return toBigInteger(propertyValue);
+                case Decimal:
+                case Duration:
+                case Single:
+                case Double:
+                    return toBigDecimal(propertyValue);
+                case Date:
+                case TimeOfDay:
+                case DateTimeOffset:
+                    return dateTimeObjectToLong(routingContext, propertyValue);
+                default: // Boolean, String and Guid values are comparable already
+                    return propertyValue;
+                }
+            } catch (Exception e) {
+                errorLog(routingContext, e);
+            }
+        }
+        throw createAndLogException(routingContext, expectedTypes, propertyValue, propertyValue, propertyName);
+    }
+
     private void errorLog(RoutingContext routingContext, Exception e) {
         errorLog(routingContext, null, e);
     }
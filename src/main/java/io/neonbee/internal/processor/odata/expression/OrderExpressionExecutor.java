@@ -1,8 +1,11 @@
 package io.neonbee.internal.processor.odata.expression;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.stream.Collectors;
 
 import org.apache.olingo.commons.api.data.Entity;
@@ -34,9 +37,56 @@ public final class OrderExpressionExecutor implements EntityComparison {
      */
     public static List<Entity> executeOrderOption(RoutingContext routingContext, OrderByOption orderByOption,
             List<Entity> entityList) {
-
         // Sorts the list in 'asc' order by default e.g. in the case that nothing is specified
-        Collections.sort(entityList, new EntityChainedComparator(orderByOption.getOrders().stream()
+        List<SortEntry> sortEntries = sortEntries(createComparator(routingContext, orderByOption), entityList);
+        sortEntries.sort(null);
+
+        ListIterator<Entity> iterator = entityList.listIterator();
+        for (SortEntry sortEntry : sortEntries) {
+            iterator.next();
+            iterator.set(sortEntry.entity);
+        }
+        return entityList;
+    }
+
+    /**
+     * Creates new EntityComparators based on the passed order options and returns the first entities of the passed list
+     * in the requested order, without sorting the whole list. This is used for $orderby combined with $top, where a
+     * bounded heap of the first entities results in O(n log k) instead of O(n log n) of sorting the whole list.
+     *
+     * @param routingContext the current routingContent
+     * @param orderByOption  the orderByOption
+     * @param entityList     the list of entities to order
+     * @param limit          the maximum number of entities to return
+     * @return a list of the first entities in order, either the passed list or a new list
+     */
+    public static List<Entity> executeOrderOption(RoutingContext routingContext, OrderByOption orderByOption,
+            List<Entity> entityList, int limit) {
+        if (limit >= entityList.size()) {
+            return executeOrderOption(routingContext, orderByOption, entityList);
+        }
+
+        // keep the first entities in a heap, with the greatest of the first entities at its head
+        EntityChainedComparator comparator = createComparator(routingContext, orderByOption);
+        PriorityQueue<SortEntry> heap = new PriorityQueue<>(limit + 1, Collections.reverseOrder());
+        for (int index = 0; index < entityList.size() && limit > 0; index++) {
+            SortEntry sortEntry = new SortEntry(comparator, entityList.get(index), index);
+            if (heap.size() < limit) {
+                heap.add(sortEntry);
+            } else if (sortEntry.compareTo(heap.peek()) < 0) {
+                heap.poll();
+                heap.add(sortEntry);
+            }
+        }
+
+        List<SortEntry> sortEntries = new ArrayList<>(heap);
+        sortEntries.sort(null);
+        return sortEntries.stream().map(sortEntry -> sortEntry.entity).collect(Collectors.toList());
+    }
+
+    private static EntityChainedComparator createComparator(RoutingContext routingContext,
+            OrderByOption orderByOption) {
+        return new EntityChainedComparator(orderByOption.getOrders().stream()
                 .filter(orderByItem -> orderByItem.getExpression() instanceof Member).map(orderByItem -> {
                     /*
                      * See https://docs.oasis-open.org/odata/odata/v4.01/odata-v4.01-part2-url-conventions.html#
@@ -58,8 +108,52 @@ public final class OrderExpressionExecutor implements EntityComparison {
                         }
                     }
                     return null;
-                }).filter(Objects::nonNull).collect(Collectors.toList())));
+                }).filter(Objects::nonNull).collect(Collectors.toList()));
+    }
 
-        return entityList;
+    private static List<SortEntry> sortEntries(EntityChainedComparator comparator, List<Entity> entityList) {
+        List<SortEntry> sortEntries = new ArrayList<>(entityList.size());
+        int index = 0;
+        for (Entity entity : entityList) {
+            sortEntries.add(new SortEntry(comparator, entity, index++));
+        }
+        return sortEntries;
+    }
+
+    /**
+     * An entity with its sort keys extracted once, instead of extracting the keys on every comparison. Entities with
+     * equal keys are ordered by their original position, so sorting is stable.
+     */
+    private static final class SortEntry implements Comparable<SortEntry> {
+        private final EntityChainedComparator comparator;
+
+        private final Entity entity;
+
+        private final Object[] keys;
+
+        private final int index;
+
+        SortEntry(EntityChainedComparator comparator, Entity entity, int index) {
+            this.comparator = comparator;
+            this.entity = entity;
+            this.keys = comparator.sortKeys(entity);
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(SortEntry other) {
+            int result = comparator.compareSortKeys(keys, other.keys);
+            return result != 0 ? result : Integer.compare(index, other.index);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof SortEntry && compareTo((SortEntry) object) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return index;
+        }
     }
 }
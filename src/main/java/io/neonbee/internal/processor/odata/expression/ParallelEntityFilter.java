@@ -0,0 +1,182 @@
+package io.neonbee.internal.processor.odata.expression;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+import org.apache.olingo.commons.api.data.Entity;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.neonbee.internal.processor.odata.expression.CompiledFilter.FilterEvaluationException;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Applies a {@link CompiledFilter} to a list of entities, splitting large lists into chunks evaluated in parallel.
+ * <p>
+ * The filter is configured using the <code>parallelFilter</code> object of the OData endpoint config:
+ * <p>
+ * <code>
+ * {
+ *   parallelFilter: {
+ *     threshold: number, // the minimum number of entities to filter in parallel, defaults to 10000, 0 disables it
+ *     parallelism: number // the maximum number of chunks a single request is split into, defaults to half of the
+ *                         // available processors
+ *   }
+ * }
+ * </code>
+ * <p>
+ * All chunks are evaluated on a ForkJoin pool shared by all requests and bounded to the number of available
+ * processors. As a single request is never split into more chunks than its parallelism, a request filtering a huge list
+ * of entities is not able to occupy the whole pool. The order of the filtered entities is always preserved.
+ */
+public final class ParallelEntityFilter {
+    /**
+     * The name of the config object of the parallel filter.
+     */
+    public static final String CONFIG_PARALLEL_FILTER = "parallelFilter";
+
+    static final String CONFIG_THRESHOLD = "threshold";
+
+    static final String CONFIG_PARALLELISM = "parallelism";
+
+    static final int DEFAULT_THRESHOLD = 10000;
+
+    static final int DEFAULT_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private static final ForkJoinPool POOL =
+            new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("neonbee-filter-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+
+    private final int threshold;
+
+    private final int parallelism;
+
+    @VisibleForTesting
+    ParallelEntityFilter(int threshold, int parallelism) {
+        this.threshold = threshold;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Creates a parallel filter based on the config of the OData endpoint.
+     *
+     * @param config the config of the OData endpoint, may be null
+     * @return a new parallel filter
+     */
+    public static ParallelEntityFilter create(JsonObject config) {
+        JsonObject filterConfig = config != null ? config.getJsonObject(CONFIG_PARALLEL_FILTER, new JsonObject())
+                : new JsonObject();
+        return new ParallelEntityFilter(filterConfig.getInteger(CONFIG_THRESHOLD, DEFAULT_THRESHOLD),
+                filterConfig.getInteger(CONFIG_PARALLELISM, DEFAULT_PARALLELISM));
+    }
+
+    /**
+     * Returns all entities matching a given filter.
+     *
+     * @param filter   the filter to apply
+     * @param entities the entities to filter
+     * @return a future to a new, modifiable list of the matching entities in their original order, failed with the
+     *         {@link org.apache.olingo.server.api.ODataApplicationException} in case the filter cannot be evaluated
+     */
+    public Future<List<Entity>> filter(CompiledFilter filter, List<Entity> entities) {
+        return split(entities, chunk -> {
+            List<Entity> matches = new ArrayList<>();
+            for (Entity entity : chunk) {
+                if (filter.test(entity)) {
+                    matches.add(entity);
+                }
+            }
+            return matches;
+        }).map(chunks -> {
+            if (chunks.size() == 1) {
+                return chunks.get(0);
+            }
+
+            List<Entity> matches = new ArrayList<>(chunks.stream().mapToInt(List::size).sum());
+            chunks.forEach(matches::addAll);
+            return matches;
+        });
+    }
+
+    /**
+     * Counts all entities matching a given filter.
+     *
+     * @param filter   the filter to apply
+     * @param entities the entities to count
+     * @return a future to the number of matching entities, failed with the
+     *         {@link org.apache.olingo.server.api.ODataApplicationException} in case the filter cannot be evaluated
+     */
+    public Future<Integer> count(CompiledFilter filter, List<Entity> entities) {
+        return split(entities, chunk -> (int) chunk.stream().filter(filter).count())
+                .map(counts -> counts.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    /**
+     * Applies a function to the chunks of a list of entities.
+     *
+     * @param entities the entities to split
+     * @param function the function to apply to every chunk
+     * @param <T>      the result type of the function
+     * @return a future to the results of all chunks in order
+     */
+    @VisibleForTesting
+    <T> Future<List<T>> split(List<Entity> entities, Function<List<Entity>, T> function) {
+        int size = entities.size();
+        int chunks = threshold > 0 && size >= threshold ? parallelism : 1;
+        if (chunks == 1) {
+            try {
+                return succeededFuture(List.of(function.apply(entities)));
+            } catch (FilterEvaluationException e) {
+                return failedFuture(e.getCause());
+            }
+        }
+
+        int chunkSize = (size + chunks - 1) / chunks;
+        List<CompletableFuture<T>> futures = new ArrayList<>(chunks);
+        for (int start = 0; start < size; start += chunkSize) {
+            List<Entity> chunk = entities.subList(start, Math.min(size, start + chunkSize));
+            futures.add(CompletableFuture.supplyAsync(() -> function.apply(chunk), POOL));
+        }
+
+        // complete the promise on the context of the request, so that any further processing is not done on the pool
+        Context context = Vertx.currentContext();
+        Promise<List<T>> promise = Promise.promise();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).whenComplete((nothing, throwable) -> {
+            Runnable complete = () -> {
+                if (throwable == null) {
+                    List<T> results = new ArrayList<>(futures.size());
+                    futures.forEach(future -> results.add(future.join()));
+                    promise.complete(results);
+                } else {
+                    promise.fail(unwrap(throwable));
+                }
+            };
+            if (context != null) {
+                context.runOnContext(v -> complete.run());
+            } else {
+                complete.run();
+            }
+        });
+        return promise.future();
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        return cause instanceof FilterEvaluationException ? cause.getCause() : cause;
+    }
+}
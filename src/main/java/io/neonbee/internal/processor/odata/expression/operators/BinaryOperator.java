@@ -87,7 +87,9 @@ public class BinaryOperator {
                         .compareTo(rightOperand.getTypedValue(BigDecimal.class));
             } else if ((leftOperand.getValue().getClass() == rightOperand.getValue().getClass())
                     && (leftOperand.getValue() instanceof Comparable<?>)) {
-                result = ((Comparable<Object>) leftOperand.getValue()).compareTo(rightOperand.getValue());
+                // compareTo is not required to return -1 / 1, but any negative / positive integer (e.g. for strings)
+                result = Integer
+                        .signum(((Comparable<Object>) leftOperand.getValue()).compareTo(rightOperand.getValue()));
             } else {
                 result = leftOperand.getValue().equals(rightOperand.getValue()) ? 0 : 1;
             }
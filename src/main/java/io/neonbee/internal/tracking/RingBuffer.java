@@ -0,0 +1,94 @@
+package io.neonbee.internal.tracking;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer for any number of producers and a single consumer.
+ * <p>
+ * Every slot carries a sequence number, which tells producers whether the slot is free and the consumer whether the
+ * slot was written. Producers only compete for the tail of the buffer via compare-and-set, and never wait for the
+ * consumer: in case the buffer is full, the element is rejected instead.
+ *
+ * @param <E> the type of the elements
+ */
+final class RingBuffer<E> {
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    // only ever accessed by the consumer
+    private long head;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity the minimum capacity of the buffer, rounded up to the next power of two
+     */
+    RingBuffer(int capacity) {
+        int size = capacity > 1 ? Integer.highestOneBit(capacity - 1) << 1 : 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int index = 0; index < size; index++) {
+            sequences.set(index, index);
+        }
+    }
+
+    /**
+     * Returns the capacity of the buffer.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an element to the tail of the buffer. May be called by any thread.
+     *
+     * @param element the element to add
+     * @return true, in case the element was added, false in case the buffer is full
+     */
+    boolean offer(E element) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference < 0) {
+                // the consumer did not yet take the element written to this slot one round before
+                return false;
+            } else if (difference == 0 && tail.compareAndSet(position, position + 1)) {
+                break;
+            }
+        }
+
+        elements.set(index, element);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Takes the element from the head of the buffer. Must only be called by the single consumer.
+     *
+     * @return the element, or null in case the buffer is empty
+     */
+    E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        E element = elements.getAndSet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return element;
+    }
+}
@@ -1,34 +1,253 @@
 package io.neonbee.internal.tracking;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Streams;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.neonbee.data.DataContext;
 import io.neonbee.logging.LoggingFacade;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
 
 /**
- * A default implementation for tracking data handling, which logs the tracking data to a log appender.
+ * A default implementation for tracking data handling, which logs the tracking data to a log appender, or writes it to
+ * a file as JSON lines.
+ * <p>
+ * The tracking data is never written on the thread handling the message, which usually is an event loop. Instead, the
+ * tracking records are added to a lock-free ring buffer, which is drained by a background writer thread. In case the
+ * writer falls behind and the buffer is full, further records are dropped and counted. When the strategy is closed, the
+ * writer thread writes all records still buffered, closes the file and ends.
  */
-public class TrackingDataLoggingStrategy implements TrackingDataHandlingStrategy {
+public class TrackingDataLoggingStrategy implements TrackingDataHandlingStrategy, AutoCloseable {
+    /**
+     * The number of tracking records buffered, until further records are dropped.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    static final String METER_NAME = "neonbee.tracking.dropped";
+
     private static final LoggingFacade LOGGER = LoggingFacade.create();
 
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final Path file;
+
+    private final RingBuffer<TrackingRecord> buffer;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final MeterRegistry registry = BackendRegistries.getDefaultNow();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final AtomicReference<Thread> writerThread = new AtomicReference<>();
+
+    // only ever accessed by the writer thread
+    private BufferedWriter writer;
+
+    /**
+     * Creates a strategy, which logs the tracking data to a log appender.
+     */
+    public TrackingDataLoggingStrategy() {
+        this(null);
+    }
+
+    /**
+     * Creates a strategy, which writes the tracking data as JSON lines to a given file.
+     *
+     * @param file the file to append the tracking data to, or null to log the tracking data to a log appender
+     */
+    public TrackingDataLoggingStrategy(Path file) {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    @VisibleForTesting
+    TrackingDataLoggingStrategy(Path file, int capacity) {
+        this.file = file;
+        this.buffer = new RingBuffer<>(capacity);
+    }
+
     @Override
     public void handleOutBoundRequest(DataContext context) {
-        if (LOGGER.isInfoEnabled()) {
-            LOGGER.correlateWith(context).info("Send request: {}{}", System.lineSeparator(), context.pathAsString());
-        }
+        track("sendRequest", "Send request", context);
     }
 
     @Override
     public void handleInBoundRequest(DataContext context) {
-        LOGGER.correlateWith(context).info("Receive request: {}{}", System.lineSeparator(), context.pathAsString());
+        track("receiveRequest", "Receive request", context);
     }
 
     @Override
     public void handleOutBoundReply(DataContext context) {
-        LOGGER.correlateWith(context).info("Send reply: {}{}", System.lineSeparator(), context.pathAsString());
+        track("sendReply", "Send reply", context);
     }
 
     @Override
     public void handleInBoundReply(DataContext context) {
         context.updateResponseTimestamp();
-        LOGGER.correlateWith(context).info("Receive reply: {}{}", System.lineSeparator(), context.pathAsString());
+        track("receiveReply", "Receive reply", context);
+    }
+
+    /**
+     * Closes this strategy. Any records tracked afterwards are ignored. Waits for the writer thread to write all
+     * records tracked before and to close the file.
+     */
+    @Override
+    public void close() {
+        closed.set(true);
+        Thread thread = writerThread.get();
+        if (thread == null) {
+            return;
+        }
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @VisibleForTesting
+    Thread getWriterThread() {
+        return writerThread.get();
+    }
+
+    private void track(String event, String message, DataContext context) {
+        if (closed.get() || (file == null && !LOGGER.isInfoEnabled())) {
+            // closed, or nothing would be logged anyways, so there is no need to hand the record to the writer
+            return;
+        }
+
+        if (!buffer.offer(new TrackingRecord(event, message, context, Instant.now()))) {
+            if (registry != null) {
+                Counter.builder(METER_NAME).register(registry).increment();
+            }
+            return;
+        }
+
+        if (!started.get() && started.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::drain, "neonbee-tracking-writer");
+            thread.setDaemon(true);
+            writerThread.set(thread);
+            thread.start();
+        }
+    }
+
+    private void drain() {
+        while (!closed.get() && !Thread.currentThread().isInterrupted()) {
+            if (!writeNext()) {
+                flush();
+                LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+            }
+        }
+
+        // write the records tracked until the strategy was closed
+        boolean written;
+        do {
+            written = writeNext();
+        } while (written);
+        closeWriter();
+    }
+
+    private boolean writeNext() {
+        TrackingRecord trackingRecord = buffer.poll();
+        if (trackingRecord == null) {
+            return false;
+        }
+
+        try {
+            write(trackingRecord);
+        } catch (RuntimeException e) {
+            // never let a single record stop the writer
+            LOGGER.correlateWith(trackingRecord.context).error("Failed to write tracking data", e);
+        }
+        return true;
+    }
+
+    private void write(TrackingRecord trackingRecord) {
+        if (file != null) {
+            try {
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(file, UTF_8, CREATE, APPEND);
+                }
+                writer.write(trackingRecord.toJson().encode());
+                writer.newLine();
+                return;
+            } catch (IOException e) {
+                LOGGER.correlateWith(trackingRecord.context).error("Failed to write tracking data to {}", file, e);
+            }
+        }
+
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.correlateWith(trackingRecord.context).info("{}: {}{}", trackingRecord.message,
+                    System.lineSeparator(), trackingRecord.context.pathAsString());
+        }
+    }
+
+    private void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                LOGGER.error("Failed to write tracking data to {}", file, e);
+            }
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.error("Failed to write tracking data to {}", file, e);
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * One tracked message.
+     */
+    private static final class TrackingRecord {
+        private final String event;
+
+        private final String message;
+
+        private final DataContext context;
+
+        private final Instant timestamp;
+
+        TrackingRecord(String event, String message, DataContext context, Instant timestamp) {
+            this.event = event;
+            this.message = message;
+            this.context = context;
+            this.timestamp = timestamp;
+        }
+
+        JsonObject toJson() {
+            return new JsonObject().put("timestamp", timestamp.toString()).put("event", event)
+                    .put("correlationId", context.correlationId()).put("path", new JsonArray(
+                            Streams.stream(context.path()).map(JsonObject::mapFrom).collect(Collectors.toList())));
+        }
     }
 }
@@ -3,6 +3,8 @@ package io.neonbee.internal.tracking;
 import static io.neonbee.data.DataVerticle.CONTEXT_HEADER;
 import static io.neonbee.data.internal.DataContextImpl.decodeContextFromString;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import com.google.common.annotations.VisibleForTesting;
 
 import io.neonbee.data.DataContext;
@@ -12,25 +14,46 @@ import io.vertx.core.eventbus.Message;
 
 /**
  * A tracking interceptor, which delegates the tracking data handling to a configurable handler.
+ * <p>
+ * Only a share of the requests is tracked, as configured by the sampling rate. The decision is made once per
+ * correlation ID, so that either all or none of the messages of one request are tracked, on any node of the cluster.
  */
 public class TrackingInterceptor implements Handler<DeliveryContext<Object>> {
+    // spreads the hash codes of similar correlation IDs (golden ratio)
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
 
     private final MessageDirection direction;
 
     private final TrackingDataHandlingStrategy handler;
 
+    private final double samplingRate;
+
     @VisibleForTesting
     public TrackingInterceptor(MessageDirection direction, TrackingDataHandlingStrategy handler) {
+        this(direction, handler, 1.0);
+    }
+
+    /**
+     * Creates a new tracking interceptor.
+     *
+     * @param direction    the message direction
+     * @param handler      the handler to delegate the tracking data to
+     * @param samplingRate the share of requests to track, between 0 (none) and 1 (all)
+     */
+    public TrackingInterceptor(MessageDirection direction, TrackingDataHandlingStrategy handler,
+            double samplingRate) {
         this.direction = direction;
         this.handler = handler;
+        this.samplingRate = samplingRate;
     }
 
     @Override
     public void handle(DeliveryContext<Object> event) {
         Message<Object> message = event.message();
-        String contextHeader = message.headers().get(CONTEXT_HEADER);
-        if (contextHeader != null) {
-            DataContext context = decodeContextFromString(contextHeader);
+        String contextHeader = samplingRate > 0 ? message.headers().get(CONTEXT_HEADER) : null;
+        // the context is decoded lazily, so the correlation ID is available, without decoding the path of the context
+        DataContext context = contextHeader != null ? decodeContextFromString(contextHeader) : null;
+        if (context != null && isSampled(context.correlationId(), samplingRate)) {
             if (message.replyAddress() != null) {
                 switch (direction) {
                 case OUTBOUND:
@@ -58,6 +81,37 @@ public class TrackingInterceptor implements Handler<DeliveryContext<Object>> {
         event.next();
     }
 
+    /**
+     * Decides whether the messages of a request with a given correlation ID are tracked.
+     *
+     * @param correlationId the correlation ID of the request
+     * @param samplingRate  the share of requests to track
+     * @return true, in case the messages of the request are tracked
+     */
+    @VisibleForTesting
+    static boolean isSampled(String correlationId, double samplingRate) {
+        if (samplingRate >= 1) {
+            return true;
+        } else if (samplingRate <= 0) {
+            return false;
+        } else if (correlationId == null) {
+            return ThreadLocalRandom.current().nextDouble() < samplingRate;
+        }
+
+        // derive the decision from the correlation ID only, so that every node comes to the same decision
+        int hash = correlationId.hashCode() * HASH_MULTIPLIER;
+        return (hash >>> 1) < samplingRate * Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the sampling rate of this interceptor.
+     *
+     * @return the share of requests tracked
+     */
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
     /**
      * Returns the message direction of this interceptor.
      *
@@ -1,22 +1,27 @@
 package io.neonbee.internal.verticle;
 
+import static io.neonbee.internal.Helper.EMPTY;
 import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import io.neonbee.NeonBeeDeployable;
 import io.neonbee.data.DataContext;
 import io.neonbee.data.DataMap;
 import io.neonbee.data.DataQuery;
 import io.neonbee.data.DataRequest;
 import io.neonbee.data.DataVerticle;
+import io.neonbee.entity.EntityQueryPlan;
 import io.neonbee.entity.EntityVerticle;
 import io.neonbee.entity.EntityWrapper;
 import io.vertx.core.AsyncResult;
@@ -31,6 +36,8 @@ public class ConsolidationVerticle extends DataVerticle<EntityWrapper> {
 
     private static final String NAME = "_consolidationVerticle";
 
+    private static final Pattern COUNT_SEGMENT = Pattern.compile("/\\$count$");
+
     public static final String QUALIFIED_NAME =
             DataVerticle.createQualifiedName(NeonBeeDeployable.NEONBEE_NAMESPACE, NAME);
 
@@ -41,10 +48,12 @@ public class ConsolidationVerticle extends DataVerticle<EntityWrapper> {
 
     @Override
     public Future<Collection<DataRequest>> requireData(DataQuery query, DataContext context) {
+        DataQuery forwardedQuery = forwardedQuery(query);
         return EntityVerticle
                 .getVerticlesForEntityType(vertx, new FullQualifiedName(query.getHeader(ENTITY_TYPE_NAME_HEADER)))
                 .map(qualifiedNames -> qualifiedNames.stream()
-                        .map(qualifiedName -> new DataRequest(qualifiedName, query)).collect(Collectors.toList()));
+                        .map(qualifiedName -> new DataRequest(qualifiedName, forwardedQuery))
+                        .collect(Collectors.toList()));
     }
 
     @Override
@@ -75,7 +84,31 @@ public class ConsolidationVerticle extends DataVerticle<EntityWrapper> {
             entities.addAll(entityWrapper.getEntities());
         }
 
-        // TODO: Add sorting / maybe filtering / skip & top handling
+        // the requester applies all query options to the consolidated entities, as none is declared as handled here
         return succeededFuture(new EntityWrapper(entityTypeName, entities));
     }
+
+    /**
+     * Returns the query forwarded to the entity verticles to consolidate. Every entity verticle replies into its own
+     * copy of the data context, so query options declared as handled (see {@link EntityQueryPlan}) never reach the
+     * requester, which applies all query options to the consolidated entities again. Applying <code>$filter</code> or
+     * <code>$orderby</code> twice does no harm, but <code>$skip</code> and <code>$top</code> cannot be applied to
+     * the result of a single entity verticle, so they are not forwarded. For the same reason, the result of a single
+     * entity verticle must not be paged, as its cursor to the next page would be lost, so neither the maximum page
+     * size nor the <code>$skiptoken</code> is forwarded, the requester pages the consolidated entities instead.
+     * Also a count-only request is forwarded as a request of the entities, as the count of a single entity verticle
+     * would be lost, so that the requester counts the consolidated entities.
+     *
+     * @param query the query received
+     * @return a copy of the query to forward to the entity verticles
+     */
+    @VisibleForTesting
+    static DataQuery forwardedQuery(DataQuery query) {
+        DataQuery forwardedQuery = query.copy().removeParameter("$skip").removeParameter("$top")
+                .removeParameter("$skiptoken").removeHeader(EntityQueryPlan.MAX_PAGE_SIZE_HEADER);
+        if (forwardedQuery.getUriPath() != null) {
+            forwardedQuery.setUriPath(COUNT_SEGMENT.matcher(forwardedQuery.getUriPath()).replaceFirst(EMPTY));
+        }
+        return forwardedQuery;
+    }
 }
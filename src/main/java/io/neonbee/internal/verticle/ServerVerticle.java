@@ -78,20 +78,43 @@ import io.vertx.micrometer.PrometheusScrapingHandler;
  *   timeoutErrorCode: number, // the error code for the default timeout, defaults to 504
  *   maxHeaderSize: 8192 // the maximum length of all HTTP headers, defaults to 8192 bytes
  *   maxInitialLineLength: 4096 // the maximum initial line length of the HTTP header (e.g. "GET / HTTP/1.0"), defaults to 4096 bytes
+ *   cacheControl: string, // the Cache-Control header of responses not setting caching headers, defaults to no caching
  *   endpoints: { // specific endpoint configuration, defaults to the object seen below
  *     odata: { // provides a OData V4 compliant endpoint, for accessing entity verticle data
  *       enabled: boolean, // enable the OData endpoint, defaults to true
  *       basePath: string, // the base path to map this endpoint to, defaults to /odata/
- *       uriConversion: string // namespace and service name URI mapping (strict, or loose based on CDS)
+ *       cacheControl: string, // the Cache-Control header of the endpoint (e.g. no-cache, to revalidate using ETags)
+ *       uriConversion: string, // namespace and service name URI mapping (strict, or loose based on CDS)
+ *       parallelFilter: { // filter large entity collections in parallel
+ *         threshold: number, // the minimum number of entities to filter in parallel, defaults to 10000, 0 disables it
+ *         parallelism: number // the maximum number of parallel chunks per request, defaults to half of the processors
+ *       },
+ *       workerPool: { // the worker pool processing OData requests, unordered
+ *         name: string, // the name of the worker pool, endpoints with equal names share one pool
+ *         size: number // the maximum number of OData requests processed concurrently, defaults to 20
+ *       },
+ *       streamingPool: { // the worker pool streaming large OData responses to the clients, unordered
+ *         name: string, // the name of the worker pool, endpoints with equal names share one pool
+ *         size: number // the maximum number of OData responses streamed concurrently, defaults to 10
+ *       },
+ *       batch: { // process the parts of $batch requests concurrently, change sets are processed in order
+ *         parallelism: number // the maximum number of parts processed concurrently per request, defaults to 16
+ *       },
+ *       paging: { // server-driven paging of entity collections, using @odata.nextLink and $skiptoken
+ *         maxPageSize: number, // the maximum number of entities per response, defaults to 0, which disables paging
+ *         entitySets: { &lt;entity set name&gt;: number } // the maximum page size of specific entity sets
+ *       }
  *     },
  *     raw: { // provides a REST endpoint (JSON, text, binary), for accessing data verticle
  *       enabled: boolean, // enable the raw endpoint, defaults to true
  *       basePath: string // the base path to map this endpoint to, defaults to /raw/
+ *       cacheControl: string, // the Cache-Control header of the endpoint (e.g. no-cache, to revalidate using ETags)
  *       exposeHiddenVerticles: false // whether or not to expose hidden verticle, defaults to false
  *     },
  *     metrics: { // provides an Prometheus scraping endpoint for Micrometer.io metrics
  *       enabled: boolean, // enable the metrics endpoint, defaults to true
- *       basePath: string // the base path to map this endpoint to, defaults to /metrics/
+ *       basePath: string, // the base path to map this endpoint to, defaults to /metrics/
+ *       cacheControl: string // the Cache-Control header of the endpoint, defaults to the cacheControl of the server
  *     }
  *   },
  *   authenticationChain: [ // authentication chain, defaults to an empty array (no authentication), use any of:
@@ -154,7 +177,7 @@ public class ServerVerticle extends AbstractVerticle {
         long timeoutMillis = TimeUnit.SECONDS.toMillis(config.getInteger("timeout", DEFAULT_ROUTER_TIMEOUT));
         router.route().handler(TimeoutHandler.create(timeoutMillis,
                 config.getInteger("timeoutErrorCode", HttpURLConnection.HTTP_GATEWAY_TIMEOUT)));
-        router.route().handler(CacheControlHandler.create());
+        router.route().handler(CacheControlHandler.create(config.getString("cacheControl")));
         router.route().handler(InstanceInfoHandler.create());
 
         // session / cookie handling
@@ -194,7 +217,7 @@ public class ServerVerticle extends AbstractVerticle {
         addEndpointRouter(router, DEFAULT_ODATA_BASE_PATH, EMPTY,
                 endpointsConfig.getJsonObject("odata", new JsonObject()),
                 (basePath, endpointConfig) -> ODataEndpointHandler.router(vertx, basePath,
-                        UriConversion.byName(endpointConfig.getString("uriConversion", "strict"))));
+                        UriConversion.byName(endpointConfig.getString("uriConversion", "strict")), endpointConfig));
         addEndpointHandler(router, DEFAULT_RAW_BASE_PATH, EMPTY, endpointsConfig.getJsonObject("raw", new JsonObject()),
                 (basePath, endpointConfig) -> RawDataEndpointHandler.create(endpointConfig));
         addEndpointHandler(router, DEFAULT_METRICS_BASE_PATH, EMPTY,
@@ -242,6 +265,10 @@ public class ServerVerticle extends AbstractVerticle {
             BiFunction<String, JsonObject, Router> endpoint) {
         if (config.getBoolean("enabled", true)) {
             String basePath = config.getString("basePath", defaultBasePath) + basePathSuffix;
+            String cacheControl = config.getString("cacheControl");
+            if (cacheControl != null) {
+                router.route(basePath + "*").handler(CacheControlHandler.create(cacheControl));
+            }
             router.mountSubRouter(basePath, endpoint.apply(basePath, config));
         }
     }
@@ -21,6 +21,19 @@ public class NeonBeeConfigTest {
         assertThat(config.getTrackingDataHandlingStrategy()).isEqualTo("ABC");
     }
 
+    @Test
+    @DisplayName("should read the tracking sampling rate and data file correctly")
+    public void readTrackingSamplingRateAndDataFile() {
+        NeonBeeConfig config = new NeonBeeConfig(new JsonObject());
+        assertThat(config.getTrackingSamplingRate()).isEqualTo(NeonBeeConfig.DEFAULT_TRACKING_SAMPLING_RATE);
+        assertThat(config.getTrackingDataFile()).isNull();
+
+        config = new NeonBeeConfig(
+                new JsonObject().put("trackingSamplingRate", 0.1).put("trackingDataFile", "tracking.jsonl"));
+        assertThat(config.getTrackingSamplingRate()).isEqualTo(0.1);
+        assertThat(config.getTrackingDataFile()).isEqualTo("tracking.jsonl");
+    }
+
     @Test
     @DisplayName("should read the trackingDataHandlingStrategy correctly")
     public void getPlatformClassesTest() {
@@ -7,6 +7,7 @@ import static io.neonbee.NeonBeeProfile.INCUBATOR;
 import static io.neonbee.NeonBeeProfile.STABLE;
 import static io.neonbee.internal.Helper.EMPTY;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -131,6 +132,20 @@ public class NeonBeeTest extends NeonBeeTestBase {
         assertThat(TrackingDataLoggingStrategy.class).isAssignableTo(outboundHandler.getHandler().getClass());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("Vert.x should not add eventbus interceptors, if tracking is switched off.")
+    public void testDecorateEventbusWithoutTracking() throws Exception {
+        Vertx vertx = NeonBeeMockHelper.defaultVertxMock();
+        NeonBee neonBee = NeonBeeMockHelper.registerNeonBeeMock(vertx, new NeonBeeOptions.Mutable(),
+                new NeonBeeConfig(new JsonObject().put("trackingSamplingRate", 0)));
+        EventBus eventBus = mock(EventBus.class);
+        when(vertx.eventBus()).thenReturn(eventBus);
+        NeonBee.decorateEventBus(neonBee);
+        verify(eventBus, never()).addInboundInterceptor(Mockito.any(Handler.class));
+        verify(eventBus, never()).addOutboundInterceptor(Mockito.any(Handler.class));
+    }
+
     @Test
     public void testFilterByProfile() {
         assertThat(NeonBee.filterByAutoDeployAndProfiles(CoreVerticle.class, List.<NeonBeeProfile>of(CORE))).isTrue();
@@ -0,0 +1,147 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.data.DataException.FAILURE_CODE_LIMIT_EXCEEDED;
+import static io.neonbee.data.DataException.FAILURE_CODE_TIMEOUT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Ticker;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+
+class ConcurrencyLimiterTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    private final List<Promise<String>> executions = new ArrayList<>();
+
+    @Test
+    @DisplayName("requests exceeding the limit should be queued and rejected once the queue is full")
+    void testStaticLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(null, "Test", 2, 1, 1000, false, 1, 2.0, ticker);
+
+        Future<String> first = execute(limiter);
+        execute(limiter);
+        Future<String> queued = execute(limiter);
+        Future<String> rejected = execute(limiter);
+        assertThat(executions).hasSize(2);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+        assertThat(((DataException) rejected.cause()).failureCode()).isEqualTo(FAILURE_CODE_LIMIT_EXCEEDED);
+
+        // as soon as one request completes, the queued request is executed
+        executions.get(0).complete("first");
+        assertThat(first.result()).isEqualTo("first");
+        assertThat(executions).hasSize(3);
+        assertThat(limiter.getQueued()).isEqualTo(0);
+
+        executions.get(2).complete("queued");
+        assertThat(queued.result()).isEqualTo("queued");
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("queued requests should be rejected after the maximum queue time")
+    void testMaxQueueTime() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(null, "Test", 1, 2, 1000, false, 1, 2.0, ticker);
+
+        execute(limiter);
+        Future<String> expired = execute(limiter);
+        nanos.addAndGet(MILLISECONDS.toNanos(600));
+        Future<String> queued = execute(limiter);
+        nanos.addAndGet(MILLISECONDS.toNanos(600));
+
+        executions.get(0).complete("first");
+        assertThat(((DataException) expired.cause()).failureCode()).isEqualTo(FAILURE_CODE_LIMIT_EXCEEDED);
+        assertThat(queued.isComplete()).isFalse();
+        assertThat(executions).hasSize(2);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getQueued()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("failed requests should release the limit")
+    void testFailure() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(null, "Test", 1, 0, 1000, false, 1, 2.0, ticker);
+
+        assertThat(limiter.execute(() -> {
+            throw new DataException("failed");
+        }).cause()).hasMessageThat().isEqualTo("failed");
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+
+        Future<String> failed = execute(limiter);
+        executions.get(0).fail("failed");
+        assertThat(failed.failed()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("an adaptive limit should decrease on high latency or timeouts and increase otherwise")
+    void testAdaptiveLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(null, "Test", 10, 0, 1000, true, 5, 2.0, ticker);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        complete(limiter, 10, null);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        // three times the minimum latency exceeds the tolerance
+        complete(limiter, 30, null);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+        complete(limiter, 10, new DataException(FAILURE_CODE_TIMEOUT, "timeout"));
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        // the limit never falls below the minimum
+        for (int i = 0; i < 10; i++) {
+            complete(limiter, 100, null);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        // a latency within the tolerance increases the limit, as long as at least half of it is used
+        for (int i = 0; i < 3; i++) {
+            execute(limiter);
+        }
+        complete(limiter, 10, null);
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("the limit should only be created, if it is configured")
+    void testCreate() {
+        assertThat(ConcurrencyLimiter.create(null, new JsonObject(), "Test")).isNull();
+    }
+
+    private Future<String> execute(ConcurrencyLimiter limiter) {
+        return limiter.execute(() -> {
+            Promise<String> promise = Promise.promise();
+            executions.add(promise);
+            return promise.future();
+        });
+    }
+
+    private void complete(ConcurrencyLimiter limiter, long latency, Throwable failure) {
+        Future<String> result = execute(limiter);
+        nanos.addAndGet(MILLISECONDS.toNanos(latency));
+        Promise<String> promise = executions.get(executions.size() - 1);
+        if (failure != null) {
+            promise.fail(failure);
+        } else {
+            promise.complete();
+        }
+        assertThat(result.isComplete()).isTrue();
+    }
+}
@@ -16,4 +16,28 @@ public class DataRequestTest {
         request.setLocalPreferred(false);
         assertThat(request.isLocalPreferred()).isFalse();
     }
+
+    @Test
+    @DisplayName("test coalescing handling")
+    public void testCoalescing() {
+        DataRequest request = new DataRequest("qualifiedName");
+        assertThat(request.isCoalescing()).isFalse();
+        request.setCoalescing(true);
+        assertThat(request.isCoalescing()).isTrue();
+    }
+
+    @Test
+    @DisplayName("test hedging and retry handling")
+    public void testHedgingAndRetries() {
+        DataRequest request = new DataRequest("qualifiedName");
+        assertThat(request.getHedgeDelay()).isLessThan(1);
+        assertThat(request.getHedgePercentile()).isLessThan(0);
+        assertThat(request.getMaxRetries()).isEqualTo(0);
+        assertThat(request.getRetryDelay()).isEqualTo(DataRequest.DEFAULT_RETRY_DELAY);
+        request.setHedgeDelay(10).setHedgePercentile(0.95).setMaxRetries(3).setRetryDelay(50);
+        assertThat(request.getHedgeDelay()).isEqualTo(10);
+        assertThat(request.getHedgePercentile()).isEqualTo(0.95);
+        assertThat(request.getMaxRetries()).isEqualTo(3);
+        assertThat(request.getRetryDelay()).isEqualTo(50);
+    }
 }
@@ -0,0 +1,96 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Ticker;
+
+class DataRouterTest {
+    private static final String ADDRESS = "Test";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    private final DataRouter router = new DataRouter(null, ticker);
+
+    @Test
+    @DisplayName("requests should be distributed round-robin, until nodes are known")
+    void testUnknownNodes() {
+        assertThat(router.select(ADDRESS, true)).isNull();
+        assertThat(router.select(ADDRESS, false)).isNull();
+    }
+
+    @Test
+    @DisplayName("requests should be routed to the node with the lowest latency weighted by the outstanding requests")
+    void testSelect() {
+        node("fast").replied(10);
+        node("slow").replied(30);
+        assertThat(router.select(ADDRESS, false)).isEqualTo("fast");
+
+        // three requests outstanding make the fast node slower than the slow one
+        node("fast").sent();
+        node("fast").sent();
+        node("fast").sent();
+        assertThat(router.select(ADDRESS, false)).isEqualTo("slow");
+
+        node("fast").received();
+        node("fast").received();
+        assertThat(router.select(ADDRESS, false)).isEqualTo("fast");
+    }
+
+    @Test
+    @DisplayName("the local node should only be a candidate, if a local consumer is available")
+    void testLocalNode() {
+        node("remote").replied(10);
+        assertThat(router.select(ADDRESS, true)).isEqualTo(router.getNodeId());
+        node(router.getNodeId()).replied(20);
+        assertThat(router.select(ADDRESS, true)).isEqualTo("remote");
+        assertThat(router.select(ADDRESS, false)).isEqualTo("remote");
+    }
+
+    @Test
+    @DisplayName("nodes timing out repeatedly should be excluded for a while")
+    void testExclusion() {
+        long until = TimeUnit.MILLISECONDS.toNanos(DataRouter.EXCLUSION_MILLIS);
+        node("remote").replied(10);
+        node("local").replied(20);
+        for (int i = 1; i < DataRouter.FAILURE_THRESHOLD; i++) {
+            assertThat(node("remote").timedOut(5, until)).isFalse();
+        }
+        assertThat(node("remote").timedOut(5, until)).isTrue();
+        assertThat(router.select(ADDRESS, false)).isEqualTo("local");
+
+        nanos.set(until);
+        assertThat(router.select(ADDRESS, false)).isEqualTo("remote");
+    }
+
+    @Test
+    @DisplayName("every n-th request should be distributed round-robin, to discover further nodes")
+    void testDiscovery() {
+        node("remote").replied(10);
+        int roundRobin = 0;
+        for (int i = 0; i < DataRouter.DISCOVERY_INTERVAL; i++) {
+            if (router.select(ADDRESS, false) == null) {
+                roundRobin++;
+            }
+        }
+        assertThat(roundRobin).isEqualTo(1);
+    }
+
+    private DataRouter.Node node(String nodeId) {
+        return router.nodes.computeIfAbsent(ADDRESS, address -> new ConcurrentHashMap<>())
+                .computeIfAbsent(nodeId, node -> new DataRouter.Node());
+    }
+}
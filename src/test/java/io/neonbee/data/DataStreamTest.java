@@ -0,0 +1,96 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.data.DataException.FAILURE_CODE_PROCESSING_FAILED;
+import static io.neonbee.test.helper.StreamHelper.failingStreamOf;
+import static io.neonbee.test.helper.StreamHelper.streamOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+class DataStreamTest {
+    private static final long TIMEOUT = 1000;
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("all chunks of a stream should be received in order")
+    void testReceive(Vertx vertx, VertxTestContext testContext) {
+        String[] chunks = { "a", "b", "c", "d", "e", "f", "g", "h", "i", "j" };
+        String address = DataStream.open(vertx, streamOf(vertx, chunks), TIMEOUT);
+
+        List<String> received = new ArrayList<>();
+        DataStream.receive(vertx, address, TIMEOUT).exceptionHandler(testContext::failNow)
+                .endHandler(nothing -> testContext.verify(() -> {
+                    assertThat(received).containsExactlyElementsIn(chunks).inOrder();
+                    testContext.completeNow();
+                })).handler(chunk -> received.add(chunk.toString()));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("chunks should only be received on demand")
+    void testFlowControl(Vertx vertx, VertxTestContext testContext) {
+        String address = DataStream.open(vertx, streamOf(vertx, "a", "b", "c"), TIMEOUT);
+
+        List<String> received = new ArrayList<>();
+        ReadStream<Buffer> stream = DataStream.receive(vertx, address, TIMEOUT).pause();
+        stream.exceptionHandler(testContext::failNow).endHandler(nothing -> testContext.verify(() -> {
+            assertThat(received).containsExactly("a", "b", "c").inOrder();
+            testContext.completeNow();
+        })).handler(chunk -> {
+            received.add(chunk.toString());
+            int size = received.size();
+            // wait a moment before requesting the next chunk, no other chunk must be received in the meantime
+            vertx.setTimer(50, id -> testContext.verify(() -> {
+                assertThat(received).hasSize(size);
+                stream.fetch(1);
+            }));
+        });
+
+        vertx.setTimer(100, id -> testContext.verify(() -> {
+            assertThat(received).isEmpty();
+            stream.fetch(1);
+        }));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("the failure of a stream should be propagated")
+    void testFailure(Vertx vertx, VertxTestContext testContext) {
+        String address = DataStream.open(vertx, failingStreamOf(vertx, new IllegalStateException("Hodor"), "a"),
+                TIMEOUT);
+
+        DataStream.receive(vertx, address, TIMEOUT).endHandler(nothing -> testContext.failNow("stream ended"))
+                .exceptionHandler(cause -> testContext.verify(() -> {
+                    assertThat(cause).isInstanceOf(DataException.class);
+                    assertThat(((DataException) cause).failureCode()).isEqualTo(FAILURE_CODE_PROCESSING_FAILED);
+                    testContext.completeNow();
+                })).handler(chunk -> {});
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("the close handler should be called once the stream ended, or was not read in time")
+    void testCloseHandler(Vertx vertx, VertxTestContext testContext) {
+        Checkpoint closed = testContext.checkpoint(2);
+        String address = DataStream.open(vertx, streamOf(vertx, "a", "b"), TIMEOUT, nothing -> closed.flag());
+        DataStream.receive(vertx, address, TIMEOUT).exceptionHandler(testContext::failNow).handler(chunk -> {});
+
+        // a stream never read is closed after the timeout
+        DataStream.open(vertx, streamOf(vertx, "a"), 100, nothing -> closed.flag());
+    }
+}
@@ -1,10 +1,17 @@
 package io.neonbee.data;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.data.DataException.FAILURE_CODE_LIMIT_EXCEEDED;
+import static io.neonbee.data.DataRequest.ResolutionStrategy.OPTIMIZED;
+import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +20,10 @@ import org.junit.jupiter.api.Test;
 import io.neonbee.NeonBeeDeployable;
 import io.neonbee.test.base.DataVerticleTestBase;
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxTestContext;
 
@@ -108,6 +118,68 @@ public class DataVerticleTest extends DataVerticleTestBase {
         })));
     }
 
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Check that the optimized resolution strategy requests equal data requests only once")
+    void optimizedResolutionTest(VertxTestContext testContext) {
+        OptimizedDataVerticle leafVerticle = new OptimizedDataVerticle("OptimizedLeaf");
+        CompositeFuture
+                .all(deployVerticle(leafVerticle),
+                        deployVerticle(new OptimizedDataVerticle("OptimizedMiddle1", "OptimizedLeaf")),
+                        deployVerticle(new OptimizedDataVerticle("OptimizedMiddle2", "OptimizedLeaf")),
+                        deployVerticle(new OptimizedDataVerticle("OptimizedRoot", "OptimizedMiddle1",
+                                "OptimizedMiddle2", "OptimizedLeaf")))
+                .compose(v -> {
+                    Future<String> response =
+                            requestData(new DataRequest("OptimizedRoot").setResolutionStrategy(OPTIMIZED));
+                    return assertDataEquals(response, "OptimizedRoot[OptimizedMiddle1[OptimizedLeaf], "
+                            + "OptimizedMiddle2[OptimizedLeaf], OptimizedLeaf]", testContext);
+                }).onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                    assertThat(leafVerticle.retrieveCount.get()).isEqualTo(1);
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Check that the optimized resolution strategy retrieves data within the concurrency limit")
+    void optimizedResolutionLimitTest(VertxTestContext testContext) {
+        BlockingDataVerticle limitedVerticle = new BlockingDataVerticle("OptimizedLimited");
+        DeploymentOptions limited = new DeploymentOptions()
+                .setConfig(new JsonObject().put("limit", new JsonObject().put("maxConcurrency", 1)));
+        CompositeFuture
+                .all(deployVerticle(limitedVerticle, limited),
+                        deployVerticle(new OptimizedDataVerticle("OptimizedLimitRoot", "OptimizedLimited")))
+                .compose(v -> {
+                    // the first request keeps the only permit of the limited verticle
+                    requestData(new DataRequest("OptimizedLimited"));
+                    return limitedVerticle.blocking.future();
+                }).compose(v -> requestData(new DataRequest("OptimizedLimitRoot").setResolutionStrategy(OPTIMIZED)))
+                .onComplete(testContext.failing(throwable -> testContext.verify(() -> {
+                    assertThat(((DataException) throwable).failureCode()).isEqualTo(FAILURE_CODE_LIMIT_EXCEEDED);
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Check that the optimized resolution strategy retrieves cached data only once")
+    void optimizedResolutionCacheTest(VertxTestContext testContext) {
+        OptimizedDataVerticle cachedVerticle = new OptimizedDataVerticle("OptimizedCached");
+        DeploymentOptions cached = new DeploymentOptions().setConfig(new JsonObject().put("cache", new JsonObject()));
+        DataRequest request = new DataRequest("OptimizedCacheRoot").setResolutionStrategy(OPTIMIZED);
+        String expected = "OptimizedCacheRoot[OptimizedCached]";
+        CompositeFuture
+                .all(deployVerticle(cachedVerticle, cached),
+                        deployVerticle(new OptimizedDataVerticle("OptimizedCacheRoot", "OptimizedCached")))
+                .compose(v -> assertDataEquals(requestData(request), expected, testContext))
+                .compose(v -> assertDataEquals(requestData(request), expected, testContext))
+                .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                    assertThat(cachedVerticle.retrieveCount.get()).isEqualTo(1);
+                    testContext.completeNow();
+                })));
+    }
+
     @Test
     void createQualifiedName() {
         assertThat(DataVerticle.createQualifiedName("namespace", "verticle")).isEqualTo("namespace/verticle");
@@ -163,4 +235,59 @@ public class DataVerticleTest extends DataVerticleTestBase {
             throw new DataException(400, "Bad Request");
         }
     }
+
+    private static class OptimizedDataVerticle extends DataVerticle<String> {
+        final AtomicInteger retrieveCount = new AtomicInteger();
+
+        private final String name;
+
+        private final List<String> requires;
+
+        OptimizedDataVerticle(String name, String... requires) {
+            this.name = name;
+            this.requires = List.of(requires);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Future<Collection<DataRequest>> requireData(DataQuery query, DataContext context) {
+            return succeededFuture(requires.stream().map(DataRequest::new).collect(Collectors.toList()));
+        }
+
+        @Override
+        public Future<String> retrieveData(DataQuery query, DataMap require, DataContext context) {
+            retrieveCount.incrementAndGet();
+            if (require.failed()) {
+                return failedFuture(require.cause());
+            }
+            return succeededFuture(require.isEmpty() ? name : name + require.results());
+        }
+    }
+
+    /**
+     * A data verticle, which never completes the first retrieval of its data.
+     */
+    private static class BlockingDataVerticle extends DataVerticle<String> {
+        final Promise<Void> blocking = Promise.promise();
+
+        private final String name;
+
+        BlockingDataVerticle(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Future<String> retrieveData(DataQuery query, DataMap require, DataContext context) {
+            return blocking.tryComplete() ? Promise.<String>promise().future() : succeededFuture(name);
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.neonbee.data.internal.DataContextImpl;
+import io.vertx.core.buffer.Buffer;
+
+class ETagTest {
+    @Test
+    @DisplayName("the ETag provided by a data verticle should be consumed once")
+    void testTag() {
+        DataContext context = new DataContextImpl();
+        ETag.tag(context, "4\"2");
+        assertThat(ETag.consume(context)).isEqualTo("\"42\"");
+        assertThat(ETag.consume(context)).isNull();
+    }
+
+    @Test
+    @DisplayName("the ETag of equal content should be equal")
+    void testOf() {
+        assertThat(ETag.of(Buffer.buffer("Hodor"))).isEqualTo(ETag.of(Buffer.buffer("Hodor")));
+        assertThat(ETag.of(Buffer.buffer("Hodor"))).isNotEqualTo(ETag.of(Buffer.buffer("Hodor!")));
+        assertThat(ETag.of(Buffer.buffer("Hodor"))).matches("\"[0-9a-f]+\"");
+    }
+
+    @Test
+    @DisplayName("If-None-Match should be compared weakly")
+    void testMatches() {
+        assertThat(ETag.matches("\"42\"", "\"42\"")).isTrue();
+        assertThat(ETag.matches("\"41\", W/\"42\"", "\"42\"")).isTrue();
+        assertThat(ETag.matches("\"42\"", "W/\"42\"")).isTrue();
+        assertThat(ETag.matches("*", "\"42\"")).isTrue();
+        assertThat(ETag.matches("\"41\"", "\"42\"")).isFalse();
+        assertThat(ETag.matches(null, "\"42\"")).isFalse();
+        assertThat(ETag.matches("\"42\"", null)).isFalse();
+    }
+}
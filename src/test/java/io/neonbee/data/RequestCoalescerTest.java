@@ -0,0 +1,215 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Link;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.neonbee.data.internal.DataContextImpl;
+import io.neonbee.entity.EntityWrapper;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+class RequestCoalescerTest {
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @Test
+    @DisplayName("equal requests in flight should be sent only once")
+    void testCoalescing() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        Promise<String> promise = Promise.promise();
+        DataContext context = new DataContextImpl();
+        DataContext otherContext = new DataContextImpl();
+
+        Future<String> first = coalescer.request(new DataRequest("Test"), context, () -> send(promise));
+        Future<String> second = coalescer.request(new DataRequest("Test"), otherContext, () -> send(promise));
+        assertThat(sent.get()).isEqualTo(1);
+        assertThat(coalescer.inFlight).hasSize(1);
+
+        context.put("key", "value");
+        promise.complete("result");
+        assertThat(first.result()).isEqualTo("result");
+        assertThat(second.result()).isEqualTo("result");
+        assertThat(otherContext.data()).containsExactly("key", "value");
+        assertThat(coalescer.inFlight).isEmpty();
+
+        // as soon as the reply was received, the next request is sent again
+        coalescer.request(new DataRequest("Test"), context, () -> send(Promise.promise()));
+        assertThat(sent.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("requests of different coalescing scopes should not be coalesced")
+    void testCoalescingScope() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        DataContext context = new DataContextImpl();
+
+        coalescer.request(new DataRequest("Test").setCoalescingScope("a"), context, () -> send(Promise.promise()));
+        coalescer.request(new DataRequest("Test").setCoalescingScope("b"), context, () -> send(Promise.promise()));
+        assertThat(sent.get()).isEqualTo(2);
+        coalescer.request(new DataRequest("Test").setCoalescingScope("a"), context, () -> send(Promise.promise()));
+        assertThat(sent.get()).isEqualTo(2);
+        assertThat(coalescer.inFlight).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("coalesced requests should not be affected by the first request consuming its reply")
+    void testConsumedReply() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        Promise<EntityWrapper> promise = Promise.promise();
+        DataContext context = new DataContextImpl();
+        DataContext otherContext = new DataContextImpl();
+
+        Future<EntityWrapper> first = coalescer.request(new DataRequest("Test"), context, () -> {
+            sent.incrementAndGet();
+            return promise.future();
+        }).onSuccess(result -> {
+            // the first request consumes the context data and skips the entities in place
+            context.data().clear();
+            result.getEntities().clear();
+        });
+        Future<EntityWrapper> second = coalescer.request(new DataRequest("Test"), otherContext, () -> {
+            sent.incrementAndGet();
+            return promise.future();
+        });
+
+        context.put("key", "value");
+        promise.complete(new EntityWrapper("namespace.Type", List.of(new Entity())));
+        assertThat(first.result().getEntities()).isEmpty();
+        assertThat(second.result().getEntities()).hasSize(1);
+        assertThat(otherContext.data()).containsExactly("key", "value");
+    }
+
+    @Test
+    @DisplayName("coalesced requests should receive their own copies of the entities, which can be expanded")
+    void testExpandEntityCopies() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        Promise<EntityWrapper> promise = Promise.promise();
+        List<Future<EntityWrapper>> results = List.of(
+                coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> send(promise)),
+                coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> send(promise)),
+                coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> send(promise)));
+
+        promise.complete(new EntityWrapper("namespace.Type", new Entity()));
+        // every request expands its entities, by adding a navigation link to them
+        results.forEach(result -> result.result().getEntity().getNavigationLinks().add(new Link()));
+        assertThat(results.get(0).result().getEntity()).isNotSameInstanceAs(results.get(1).result().getEntity());
+        assertThat(results.get(1).result().getEntity()).isNotSameInstanceAs(results.get(2).result().getEntity());
+        results.forEach(result -> assertThat(result.result().getEntity().getNavigationLinks()).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("coalesced requests should keep their own context data")
+    void testContextData() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        Promise<String> promise = Promise.promise();
+        DataContext context = new DataContextImpl().put("first", "data").put("key", "before");
+        DataContext otherContext = new DataContextImpl().put("other", "data");
+
+        coalescer.request(new DataRequest("Test"), context, () -> send(promise));
+        coalescer.request(new DataRequest("Test"), otherContext, () -> send(promise));
+
+        // only the data set by the reply is passed on to the coalesced request
+        context.put("key", "value").put("reply", "data");
+        promise.complete("result");
+        assertThat(otherContext.data()).containsExactly("other", "data", "key", "value", "reply", "data");
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("coalesced requests should be completed on their own Vert.x context")
+    void testCallerContext(Vertx vertx, VertxTestContext testContext) {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        Promise<String> promise = Promise.promise();
+        Context firstContext = vertx.getOrCreateContext();
+        Context secondContext = vertx.getOrCreateContext();
+        assertThat(secondContext).isNotSameInstanceAs(firstContext);
+
+        firstContext.runOnContext(nothing -> coalescer.request(new DataRequest("Test"), new DataContextImpl(),
+                () -> send(promise)));
+        secondContext.runOnContext(nothing -> {
+            coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> send(promise))
+                    .onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+                        assertThat(Vertx.currentContext()).isSameInstanceAs(secondContext);
+                        assertThat(sent.get()).isEqualTo(1);
+                        testContext.completeNow();
+                    })));
+            firstContext.runOnContext(completed -> promise.complete("result"));
+        });
+    }
+
+    @Test
+    @DisplayName("requests with different queries or user principals should not be coalesced")
+    void testDifferentRequests() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        coalescer.request(new DataRequest("Test", new DataQuery("a")), new DataContextImpl(),
+                () -> send(Promise.promise()));
+        coalescer.request(new DataRequest("Test", new DataQuery("b")), new DataContextImpl(),
+                () -> send(Promise.promise()));
+        coalescer.request(new DataRequest("Other", new DataQuery("a")), new DataContextImpl(),
+                () -> send(Promise.promise()));
+        coalescer.request(new DataRequest("Test", new DataQuery("a")),
+                new DataContextImpl("correlation", new JsonObject().put("user", "a")), () -> send(Promise.promise()));
+        assertThat(sent.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("failures should be propagated to all coalesced requests")
+    void testFailure() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        Promise<String> promise = Promise.promise();
+        Future<String> first = coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> send(promise));
+        Future<String> second =
+                coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> send(promise));
+
+        promise.fail("failed");
+        assertThat(first.cause()).hasMessageThat().isEqualTo("failed");
+        assertThat(second.cause()).hasMessageThat().isEqualTo("failed");
+        assertThat(coalescer.inFlight).isEqualTo(Map.of());
+    }
+
+    @Test
+    @DisplayName("streamed results should not be shared between coalesced requests")
+    @SuppressWarnings("unchecked")
+    void testStream() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger streams = new AtomicInteger();
+        Promise<ReadStream<Buffer>> promise = Promise.promise();
+        Future<ReadStream<Buffer>> first = coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> {
+            streams.incrementAndGet();
+            return promise.future();
+        });
+        Future<ReadStream<Buffer>> second = coalescer.request(new DataRequest("Test"), new DataContextImpl(), () -> {
+            streams.incrementAndGet();
+            return Future.succeededFuture(mock(ReadStream.class));
+        });
+        assertThat(streams.get()).isEqualTo(1);
+
+        promise.complete(mock(ReadStream.class));
+        assertThat(streams.get()).isEqualTo(2);
+        assertThat(second.result()).isNotSameInstanceAs(first.result());
+    }
+
+    private <T> Future<T> send(Promise<T> promise) {
+        sent.incrementAndGet();
+        return promise.future();
+    }
+}
@@ -0,0 +1,105 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.data.DataException.FAILURE_CODE_NO_HANDLERS;
+import static io.neonbee.data.DataException.FAILURE_CODE_PROCESSING_FAILED;
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.neonbee.data.internal.DataContextImpl;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+class RequestHedgerTest {
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("requests without a consumer should be retried")
+    void testRetry(Vertx vertx, VertxTestContext testContext) {
+        AtomicInteger attempts = new AtomicInteger();
+        DataRequest request = new DataRequest("Test").setMaxRetries(2).setRetryDelay(1);
+
+        new RequestHedger(vertx).<String>request(request, new DataContextImpl(), (context, hedged) -> {
+            return attempts.incrementAndGet() < 3 ? failedFuture(new DataException(FAILURE_CODE_NO_HANDLERS))
+                    : succeededFuture("result");
+        }).onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+            assertThat(result).isEqualTo("result");
+            assertThat(attempts.get()).isEqualTo(3);
+            testContext.completeNow();
+        })));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("requests should only be retried up to the maximum number of retries and for transient failures")
+    void testRetryLimit(Vertx vertx, VertxTestContext testContext) {
+        AtomicInteger attempts = new AtomicInteger();
+        RequestHedger hedger = new RequestHedger(vertx);
+
+        hedger.<String>request(new DataRequest("Test").setMaxRetries(1).setRetryDelay(1), new DataContextImpl(),
+                (context, hedged) -> {
+                    attempts.incrementAndGet();
+                    return failedFuture(new DataException(FAILURE_CODE_NO_HANDLERS));
+                }).recover(cause -> {
+                    testContext.verify(() -> assertThat(attempts.get()).isEqualTo(2));
+                    return hedger.<String>request(new DataRequest("Test").setMaxRetries(1), new DataContextImpl(),
+                            (context, hedged) -> {
+                                attempts.incrementAndGet();
+                                return failedFuture(new DataException(FAILURE_CODE_PROCESSING_FAILED));
+                            });
+                }).onComplete(testContext.failing(cause -> testContext.verify(() -> {
+                    assertThat(attempts.get()).isEqualTo(3);
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("a slow request should be hedged and complete with the first reply")
+    void testHedge(Vertx vertx, VertxTestContext testContext) {
+        List<Boolean> attempts = new ArrayList<>();
+        DataContext context = new DataContextImpl();
+        DataRequest request = new DataRequest("Test").setHedgeDelay(10);
+
+        new RequestHedger(vertx).<String>request(request, context, (attemptContext, hedged) -> {
+            attempts.add(hedged);
+            if (!hedged) {
+                // the first request never replies
+                return Promise.<String>promise().future();
+            }
+            attemptContext.put("key", "value");
+            return succeededFuture("hedged");
+        }).onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+            assertThat(result).isEqualTo("hedged");
+            assertThat(attempts).containsExactly(false, true).inOrder();
+            assertThat(context.<String>get("key")).isEqualTo("value");
+            testContext.completeNow();
+        })));
+    }
+
+    @Test
+    @DisplayName("the hedge delay should be determined by the latency percentile, as soon as enough were observed")
+    void testHedgeDelay(Vertx vertx) {
+        RequestHedger hedger = new RequestHedger(vertx);
+        DataRequest request = new DataRequest("Test").setHedgeDelay(42).setHedgePercentile(0.5);
+        assertThat(hedger.hedgeDelay(request)).isEqualTo(42);
+
+        for (int latency = 1; latency <= RequestHedger.MIN_SAMPLES; latency++) {
+            hedger.record("Test", TimeUnit.MILLISECONDS.toNanos(latency));
+        }
+        assertThat(hedger.hedgeDelay(request)).isEqualTo(RequestHedger.MIN_SAMPLES / 2);
+        assertThat(hedger.hedgeDelay(new DataRequest("Other").setHedgePercentile(0.5))).isEqualTo(-1);
+    }
+}
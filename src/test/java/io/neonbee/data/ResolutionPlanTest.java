@@ -0,0 +1,138 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.neonbee.data.internal.DataContextImpl;
+import io.vertx.core.Future;
+
+class ResolutionPlanTest {
+    @Test
+    @DisplayName("equal data requests should be resolved only once")
+    void testDeduplication() {
+        TestResolver resolver = new TestResolver();
+        resolver.requires.put("Planned1", List.of(new DataRequest("Leaf"), new DataRequest("Planned2")));
+        resolver.requires.put("Planned2", List.of(new DataRequest("Leaf")));
+
+        DataRequest leafRequest = new DataRequest("Leaf");
+        DataRequest otherLeafRequest = new DataRequest("Leaf");
+        DataRequest plannedRequest = new DataRequest("Planned1");
+        Future<DataMap> result = new ResolutionPlan(resolver, new DataContextImpl())
+                .resolve(List.of(leafRequest, otherLeafRequest, plannedRequest));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result().keySet()).containsExactly(leafRequest, otherLeafRequest, plannedRequest).inOrder();
+        assertThat(result.result().results()).containsExactly("Leaf", "Leaf", "Planned1[Leaf, Planned2[Leaf]]")
+                .inOrder();
+        assertThat(resolver.requested).containsExactly("Leaf");
+        assertThat(resolver.retrieved).containsExactly("Planned2", "Planned1").inOrder();
+    }
+
+    @Test
+    @DisplayName("data requests with different queries should not be deduplicated")
+    void testDifferentQueries() {
+        TestResolver resolver = new TestResolver();
+        Future<DataMap> result = new ResolutionPlan(resolver, new DataContextImpl())
+                .resolve(List.of(new DataRequest("Leaf", new DataQuery().setUriPath("a")),
+                        new DataRequest("Leaf", new DataQuery().setUriPath("b")), new DataRequest("Leaf")));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(resolver.requested).containsExactly("Leaf", "Leaf", "Leaf");
+    }
+
+    @Test
+    @DisplayName("data requests requiring each other should fail")
+    void testCycle() {
+        TestResolver resolver = new TestResolver();
+        resolver.requires.put("Planned1", List.of(new DataRequest("Planned2")));
+        resolver.requires.put("Planned2", List.of(new DataRequest("Planned1")));
+
+        Future<DataMap> result = new ResolutionPlan(resolver, new DataContextImpl())
+                .resolve(List.of(new DataRequest("Planned1")));
+
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(DataException.class);
+        assertThat(resolver.requested).isEmpty();
+        assertThat(resolver.retrieved).isEmpty();
+    }
+
+    @Test
+    @DisplayName("failing to require data should only fail the respective data request")
+    void testRequireFailure() {
+        TestResolver resolver = new TestResolver();
+        resolver.requires.put("Planned1", null); // fail requiring the data
+
+        DataRequest failingRequest = new DataRequest("Planned1");
+        DataRequest leafRequest = new DataRequest("Leaf");
+        Future<DataMap> result =
+                new ResolutionPlan(resolver, new DataContextImpl()).resolve(List.of(failingRequest, leafRequest));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result().get(failingRequest).failed()).isTrue();
+        assertThat(result.result().get(leafRequest).result()).isEqualTo("Leaf");
+    }
+
+    @Test
+    @DisplayName("data put into the context when requiring data should be available when retrieving the data")
+    void testRequireContext() {
+        TestResolver resolver = new TestResolver();
+        resolver.requires.put("Planned1", List.of(new DataRequest("Leaf")));
+        resolver.requires.put("Planned2", List.of());
+
+        Future<DataMap> result = new ResolutionPlan(resolver, new DataContextImpl())
+                .resolve(List.of(new DataRequest("Planned1"), new DataRequest("Planned2")));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(resolver.retrievedContexts).containsExactly("Planned1", "Planned2");
+    }
+
+    /**
+     * A resolver treating all data requests, with a qualified name starting with "Planned" as plannable.
+     */
+    private static class TestResolver implements ResolutionPlan.Resolver {
+        final Map<String, Collection<DataRequest>> requires = new HashMap<>();
+
+        final List<String> requested = new ArrayList<>();
+
+        final List<String> retrieved = new ArrayList<>();
+
+        final List<String> retrievedContexts = new ArrayList<>();
+
+        @Override
+        public boolean isPlannable(DataRequest request) {
+            return request.getQualifiedName().startsWith("Planned");
+        }
+
+        @Override
+        public Future<Collection<DataRequest>> requireData(DataRequest request, DataContext context) {
+            Collection<DataRequest> requests = requires.get(request.getQualifiedName());
+            context.put("requiredBy", request.getQualifiedName());
+            return requests != null || !requires.containsKey(request.getQualifiedName())
+                    ? succeededFuture(requests)
+                    : failedFuture(new DataException("Cannot require data"));
+        }
+
+        @Override
+        public Future<Object> retrieveData(DataRequest request, DataMap require, DataContext context) {
+            retrieved.add(request.getQualifiedName());
+            retrievedContexts.add(context.get("requiredBy"));
+            return succeededFuture(request.getQualifiedName() + require.results());
+        }
+
+        @Override
+        public Future<Object> requestData(DataRequest request, DataContext context) {
+            requested.add(request.getQualifiedName());
+            return succeededFuture(request.getQualifiedName());
+        }
+    }
+}
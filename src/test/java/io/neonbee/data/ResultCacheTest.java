@@ -0,0 +1,165 @@
+package io.neonbee.data;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Link;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Ticker;
+
+import io.neonbee.data.internal.DataContextImpl;
+import io.neonbee.entity.EntityWrapper;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+
+class ResultCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    private final AtomicInteger retrievals = new AtomicInteger();
+
+    @Test
+    @DisplayName("equal queries should be retrieved only once")
+    void testCaching() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        DataContext context = new DataContextImpl();
+
+        assertThat(retrieve(cache, new DataQuery("a"), context).result()).isEqualTo(1);
+        assertThat(retrieve(cache, new DataQuery("a"), context).result()).isEqualTo(1);
+        assertThat(retrieve(cache, new DataQuery("b"), context).result()).isEqualTo(2);
+        assertThat(retrievals.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("results should be cached per user principal")
+    void testUserPrincipal() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        DataContext context = new DataContextImpl("correlation", new JsonObject().put("user", "a"));
+        DataContext otherContext = new DataContextImpl("correlation", new JsonObject().put("user", "b"));
+
+        retrieve(cache, new DataQuery(), context);
+        retrieve(cache, new DataQuery(), otherContext);
+        retrieve(cache, new DataQuery(), context);
+        assertThat(retrievals.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("results should expire after the TTL")
+    void testExpiry() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        retrieve(cache, new DataQuery(), null);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        retrieve(cache, new DataQuery(), null);
+        assertThat(retrievals.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("results should be evicted in case the maximum weight is exceeded")
+    void testEviction() {
+        ResultCache cache = new ResultCache("Test", 60, 2, ticker);
+        cache.get(new DataQuery("a"), null, () -> succeededFuture(List.of(1, 2)));
+        cache.get(new DataQuery("b"), null, () -> succeededFuture(List.of(1, 2)));
+        cache.cleanUp();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("failed results and invalidated results should not be cached")
+    void testFailureAndInvalidation() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        assertThat(cache.get(new DataQuery(), null, () -> failedFuture("failed")).failed()).isTrue();
+        assertThat(cache.size()).isEqualTo(0);
+
+        retrieve(cache, new DataQuery(), null);
+        cache.invalidateAll();
+        retrieve(cache, new DataQuery(), null);
+        assertThat(retrievals.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("results retrieved before an invalidation should not be cached")
+    void testInvalidationWhileRetrieving() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        Promise<Object> promise = Promise.promise();
+        cache.get(new DataQuery(), null, promise::future);
+        cache.invalidateAll();
+        promise.complete("outdated");
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("the context data set while retrieving a result should be restored with the cached result")
+    void testContextData() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        DataContext context = new DataContextImpl().put("input", "a");
+        cache.get(new DataQuery(), context, () -> {
+            context.put("count", 42);
+            return succeededFuture("result");
+        });
+
+        DataContext otherContext = new DataContextImpl().put("input", "b");
+        assertThat(cache.get(new DataQuery(), otherContext, () -> failedFuture("not cached")).result())
+                .isEqualTo("result");
+        assertThat(otherContext.data()).containsExactly("input", "b", "count", 42);
+    }
+
+    @Test
+    @DisplayName("every requester should get its own list of entities")
+    void testEntityWrapperCopies() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        EntityWrapper first = (EntityWrapper) cache.get(new DataQuery(), null,
+                () -> succeededFuture(new EntityWrapper("Test.Entity", List.of(new Entity(), new Entity())))).result();
+        first.getEntities().clear();
+
+        EntityWrapper second = (EntityWrapper) cache.get(new DataQuery(), null, () -> failedFuture("not cached"))
+                .result();
+        assertThat(second.getEntities()).hasSize(2);
+        second.getEntities().remove(0);
+        assertThat(((EntityWrapper) cache.get(new DataQuery(), null, () -> failedFuture("not cached")).result())
+                .getEntities()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("the cache should return copies of the entities, which can be expanded")
+    void testExpandEntityCopies() {
+        ResultCache cache = new ResultCache("Test", 60, 100, ticker);
+        EntityWrapper first = (EntityWrapper) cache.get(new DataQuery(), null,
+                () -> succeededFuture(new EntityWrapper("Test.Entity", new Entity()))).result();
+        first.getEntity().getNavigationLinks().add(new Link());
+
+        EntityWrapper second = (EntityWrapper) cache.get(new DataQuery(), null, () -> failedFuture("not cached"))
+                .result();
+        assertThat(second.getEntity().getNavigationLinks()).isEmpty();
+        second.getEntity().getNavigationLinks().add(new Link());
+        assertThat(((EntityWrapper) cache.get(new DataQuery(), null, () -> failedFuture("not cached")).result())
+                .getEntity().getNavigationLinks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("the cache should only be created if configured")
+    void testCreate() {
+        assertThat(ResultCache.create(new JsonObject(), "Test")).isNull();
+        assertThat(ResultCache.create(null, "Test")).isNull();
+        assertThat(ResultCache.create(new JsonObject().put("cache", new JsonObject()), "Test")).isNotNull();
+    }
+
+    private Future<?> retrieve(ResultCache cache, DataQuery query, DataContext context) {
+        return cache.get(query, context, () -> succeededFuture(retrievals.incrementAndGet()));
+    }
+}
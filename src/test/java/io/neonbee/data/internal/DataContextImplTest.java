@@ -11,8 +11,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -52,9 +54,63 @@ class DataContextImplTest {
         context.amendTopVerticleCoordinate("deploymentId1");
         context.pushVerticleToPath("Data2Verticle");
         context.amendTopVerticleCoordinate("deploymentId2");
-        String json = DataContextImpl.encodeContextToString(context);
-        JsonObject jsonObject = new JsonObject(json);
-        assertThat(jsonObject.getJsonArray("path")).hasSize(2);
+        String contextString = DataContextImpl.encodeContextToString(context);
+        DataContext context2 = DataContextImpl.decodeContextFromString(contextString);
+        assertThat(contextPathSize(context2)).isEqualTo(2);
+        List<DataVerticleCoordinate> paths = Streams.stream(context2.path()).collect(Collectors.toList());
+        List<DataVerticleCoordinate> expected = Streams.stream(context.path()).collect(Collectors.toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(paths.get(i).getQualifiedName()).isEqualTo(expected.get(i).getQualifiedName());
+            assertThat(paths.get(i).getDeploymentId()).isEqualTo(expected.get(i).getDeploymentId());
+            assertThat(paths.get(i).getIpAddress()).isEqualTo(expected.get(i).getIpAddress());
+            assertThat(paths.get(i).getRequestTimestamp()).isEqualTo(expected.get(i).getRequestTimestamp());
+            assertThat(paths.get(i).getResponseTimestamp()).isEqualTo(expected.get(i).getResponseTimestamp());
+        }
+    }
+
+    @Test
+    @DisplayName("timestamps not written by a coordinate should be encoded as they are")
+    void testEncodeTimestamps() {
+        Deque<DataVerticleCoordinate> path = new ArrayDeque<>();
+        path.push(new DataVerticleCoordinateImpl("DataVerticle", "10:15:00", "deploymentId", null, "anyTimestamp"));
+        DataContext context2 = DataContextImpl.decodeContextFromString(
+                DataContextImpl.encodeContextToString(new DataContextImpl(null, null, null, null, path)));
+        DataVerticleCoordinate coordinate = context2.path().next();
+        assertThat(coordinate.getRequestTimestamp()).isEqualTo("10:15:00");
+        assertThat(coordinate.getResponseTimestamp()).isEqualTo("anyTimestamp");
+        assertThat(coordinate.getIpAddress()).isNull();
+    }
+
+    @Test
+    @DisplayName("sections of a decoded context should only be decoded when accessed and passed on otherwise")
+    void testLazyDecoding() {
+        context.put("key", "value");
+        context.pushVerticleToPath("DataVerticle");
+        String contextString = DataContextImpl.encodeContextToString(context);
+
+        // a context which was never accessed is encoded exactly the same
+        DataContextImpl context2 = (DataContextImpl) DataContextImpl.decodeContextFromString(contextString);
+        assertThat(DataContextImpl.encodeContextToString(context2)).isEqualTo(contextString);
+        assertThat(DataContextImpl.encodeContextToString(context2.copy())).isEqualTo(contextString);
+
+        // changing one section keeps the others
+        context2.put("other", "value");
+        DataContext context3 = DataContextImpl.decodeContextFromString(DataContextImpl.encodeContextToString(context2));
+        assertThat(context3.<String>get("key")).isEqualTo("value");
+        assertThat(context3.<String>get("other")).isEqualTo("value");
+        assertThat(context3.userPrincipal()).isEqualTo(new JsonObject().put("username", "Duke"));
+        assertThat(context3.path().next().getQualifiedName()).isEqualTo("DataVerticle");
+
+        // the copy of a decoded context must not share the decoded data
+        DataContext copy = context3.copy();
+        copy.put("key", "changed");
+        assertThat(context3.<String>get("key")).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("unknown encodings should be rejected")
+    void testDecodeUnknownEncoding() {
+        assertThrows(IllegalArgumentException.class, () -> DataContextImpl.decodeContextFromString("AA=="));
     }
 
     @Test
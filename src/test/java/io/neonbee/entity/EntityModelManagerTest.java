@@ -121,6 +121,28 @@ public class EntityModelManagerTest extends NeonBeeTestBase {
                 })));
     }
 
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("check if the metadata documents are rendered once when loading the models")
+    public void renderMetadataDocumentsTest(Vertx vertx, VertxTestContext testContext) {
+        Loader loader = new EntityModelManager.Loader(vertx);
+        loader.loadModel(TEST_SERVICE_2_MODEL_PATH).onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+            EntityModel model = loader.models.get("io.neonbee.test2");
+            assertThat(model.getMetadataDocuments().keySet()).isEqualTo(model.getEdmxes().keySet());
+            model.getMetadataDocuments().forEach((namespace, documents) -> {
+                assertThat(documents.getServiceMetadata()).isSameInstanceAs(model.getEdmx(namespace));
+                assertThat(documents.getETag()).isEqualTo(
+                        model.getEdmx(namespace).getServiceMetadataETagSupport().getMetadataETag());
+                assertThat(documents.getMetadataDocument().getContent(null).toString()).contains("<edmx:Edmx");
+                assertThat(documents.getMetadataDocument().getContent(MetadataDocuments.GZIP).length())
+                        .isLessThan(documents.getMetadataDocument().getContent(null).length());
+                assertThat(documents.getServiceDocument().getContent(null).toJsonObject().getString("@odata.context"))
+                        .endsWith("$metadata");
+            });
+            testContext.completeNow();
+        })));
+    }
+
     @Test
     @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
     @DisplayName("check if the models from classpath can be loaded ")
@@ -0,0 +1,147 @@
+package io.neonbee.entity;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.entity.EntityModelManager.getBufferedOData;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.EXPAND;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.FILTER;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.ORDERBY;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.SKIP;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.TOP;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStreamReader;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.TopOption;
+import org.apache.olingo.server.core.MetadataParser;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.neonbee.data.DataContext;
+import io.neonbee.data.DataQuery;
+import io.neonbee.data.internal.DataContextImpl;
+import io.neonbee.internal.processor.odata.ServerDrivenPaging;
+
+class EntityQueryPlanTest {
+    @Test
+    @DisplayName("handled query options should be passed via the data context")
+    void testHandled() {
+        DataContext context = new DataContextImpl();
+        EntityQueryPlan.handled(context, FILTER);
+        EntityQueryPlan.handled(context, ORDERBY, TOP);
+
+        // simulate the transport of the context via the event bus
+        DataContext decodedContext =
+                DataContextImpl.decodeContextFromString(DataContextImpl.encodeContextToString(context));
+        assertThat(EntityQueryPlan.consumeHandled(decodedContext)).containsExactly(FILTER, ORDERBY, TOP);
+        assertThat(EntityQueryPlan.consumeHandled(decodedContext)).isEmpty();
+        assertThat(decodedContext.data()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("the count of a count-only request should be passed via the data context")
+    void testCounted() {
+        DataContext context = new DataContextImpl();
+        assertThat(EntityQueryPlan.consumeCount(context)).isNull();
+        EntityQueryPlan.counted(context, 42);
+
+        DataContext decodedContext =
+                DataContextImpl.decodeContextFromString(DataContextImpl.encodeContextToString(context));
+        assertThat(EntityQueryPlan.consumeCount(decodedContext)).isEqualTo(42L);
+        assertThat(EntityQueryPlan.consumeCount(decodedContext)).isNull();
+    }
+
+    @Test
+    @DisplayName("the cursor to the next page should be passed via the data context")
+    void testNextPage() {
+        DataContext context = new DataContextImpl();
+        EntityQueryPlan.nextPage(context, "cursor");
+
+        DataContext decodedContext =
+                DataContextImpl.decodeContextFromString(DataContextImpl.encodeContextToString(context));
+        assertThat(EntityQueryPlan.consumeNextCursor(decodedContext)).isEqualTo("cursor");
+        assertThat(EntityQueryPlan.consumeNextCursor(decodedContext)).isNull();
+        assertThat(EntityQueryPlan.consumeHandled(decodedContext)).containsExactly(FILTER, ORDERBY, SKIP, TOP);
+
+        // the last page has no cursor
+        DataContext lastPageContext = new DataContextImpl();
+        EntityQueryPlan.nextPage(lastPageContext, null);
+        assertThat(EntityQueryPlan.consumeNextCursor(lastPageContext)).isNull();
+        assertThat(EntityQueryPlan.consumeHandled(lastPageContext)).containsExactly(FILTER, ORDERBY, SKIP, TOP);
+    }
+
+    @Test
+    @DisplayName("only filter, orderby, skip and top can be handled")
+    void testHandledUnsupported() {
+        assertThrows(IllegalArgumentException.class, () -> EntityQueryPlan.handled(new DataContextImpl(), EXPAND));
+    }
+
+    @Test
+    @DisplayName("query options should be accessible from the plan")
+    void testQueryOptions() {
+        UriInfo uriInfo = mock(UriInfo.class);
+        SkipOption skipOption = mock(SkipOption.class);
+        when(skipOption.getValue()).thenReturn(5);
+        TopOption topOption = mock(TopOption.class);
+        when(topOption.getValue()).thenReturn(10);
+        when(uriInfo.getSkipOption()).thenReturn(skipOption);
+        when(uriInfo.getTopOption()).thenReturn(topOption);
+
+        EntityQueryPlan plan = new EntityQueryPlan(uriInfo);
+        assertThat(plan.getSkip()).isEqualTo(5);
+        assertThat(plan.getTop()).isEqualTo(10);
+        assertThat(plan.getFilter()).isNull();
+        assertThat(plan.getOrderBy()).isEmpty();
+        assertThat(plan.getSelect()).isNull();
+        assertThat(plan.getUriInfo()).isSameInstanceAs(uriInfo);
+    }
+
+    @Test
+    @DisplayName("key predicates, count-only requests, paging and projections should be parsed from the query")
+    void testParsedQuery() throws Exception {
+        try (InputStreamReader reader = new InputStreamReader(EntityQueryPlanTest.class.getResourceAsStream(
+                "/io/neonbee/test/endpoint/odata/verticle/io.neonbee.compoundkey.TestServiceCompoundKey.edmx"),
+                UTF_8)) {
+            Edm edm = getBufferedOData().createServiceMetadata(
+                    new MetadataParser().referenceResolver(null).buildEdmProvider(reader), Collections.emptyList())
+                    .getEdm();
+            Parser parser = new Parser(edm, getBufferedOData());
+
+            Map<String, Object> keyPredicates = new EntityQueryPlan(
+                    parser.parseUri("TestCars(ID=1,date=2021-01-01)", null, null, null)).getKeyPredicates();
+            assertThat(keyPredicates.keySet()).containsExactly("ID", "date").inOrder();
+            assertThat(keyPredicates.get("ID")).isEqualTo(1);
+            assertThat(keyPredicates.get("date")).isInstanceOf(Calendar.class);
+
+            assertThat(new EntityQueryPlan(parser.parseUri("TestCars", null, null, null)).getKeyPredicates())
+                    .isEmpty();
+
+            assertThat(new EntityQueryPlan(parser.parseUri("TestCars/$count", null, null, null)).isCount()).isTrue();
+            assertThat(new EntityQueryPlan(parser.parseUri("TestCars", null, null, null)).isCount()).isFalse();
+
+            EntityQueryPlan pagedPlan = new EntityQueryPlan(parser.parseUri("TestCars",
+                    "$skiptoken=" + ServerDrivenPaging.cursorToken("cursor"), null, null),
+                    new DataQuery().setHeader(EntityQueryPlan.MAX_PAGE_SIZE_HEADER, "50"));
+            assertThat(pagedPlan.getCursor()).isEqualTo("cursor");
+            assertThat(pagedPlan.getMaxPageSize()).isEqualTo(50);
+
+            EntityQueryPlan unpagedPlan = new EntityQueryPlan(parser.parseUri("TestCars", null, null, null));
+            assertThat(unpagedPlan.getCursor()).isNull();
+            assertThat(unpagedPlan.getMaxPageSize()).isNull();
+
+            EntityQueryPlan projectedPlan = new EntityQueryPlan(parser.parseUri("TestCars", null, null, null),
+                    new DataQuery().setHeader(EntityQueryPlan.PROJECTION_HEADER, "ID,date,model"));
+            assertThat(projectedPlan.getProjection()).containsExactly("ID", "date", "model").inOrder();
+            assertThat(unpagedPlan.getProjection()).isNull();
+        }
+    }
+}
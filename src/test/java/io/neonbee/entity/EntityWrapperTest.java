@@ -4,9 +4,12 @@ import static com.google.common.truth.Truth.assertThat;
 import static io.neonbee.test.helper.ResourceHelper.TEST_RESOURCES;
 import static org.junit.Assert.assertThat;
 
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Link;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
@@ -41,6 +44,36 @@ public class EntityWrapperTest extends NeonBeeTestBase {
         return WorkingDirectoryBuilder.standard().addModel(TEST_RESOURCES.resolveRelated("TestService2.csn"));
     }
 
+    @Test
+    @DisplayName("Check if projection keeps only the given properties")
+    public void testProject() {
+        EntityWrapper projected = TEST_USER_WRAPPER.project(Set.of("ID", "name"));
+        assertThat(projected.getTypeName()).isEqualTo(TEST_USER_WRAPPER.getTypeName());
+        assertThat(projected.getEntity().getType()).isEqualTo("io.neonbee.test2.TestService2Users.TestUsers");
+        assertThat(projected.getEntity().getProperties().stream().map(Property::getName).collect(Collectors.toList()))
+                .containsExactly("name", "ID").inOrder();
+
+        // the original entities must remain unchanged
+        assertThat(TEST_USER_WRAPPER.getEntity().getProperties()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Check if copies of the entities can be changed independently")
+    public void testCopy() {
+        EntityWrapper copied = TEST_USER_WRAPPER.copy();
+        assertThat(copied.getTypeName()).isEqualTo(TEST_USER_WRAPPER.getTypeName());
+        assertThat(copied.getEntity()).isNotSameInstanceAs(TEST_USER_WRAPPER.getEntity());
+        assertThat(copied.getEntity().getType()).isEqualTo(TEST_USER_WRAPPER.getEntity().getType());
+        assertThat(copied.getEntity().getProperties())
+                .containsExactlyElementsIn(TEST_USER_WRAPPER.getEntity().getProperties()).inOrder();
+
+        // the original entities must remain unchanged
+        copied.getEntity().getNavigationLinks().add(new Link());
+        copied.getEntity().getProperties().clear();
+        assertThat(TEST_USER_WRAPPER.getEntity().getNavigationLinks()).isEmpty();
+        assertThat(TEST_USER_WRAPPER.getEntity().getProperties()).hasSize(3);
+    }
+
     @Test
     @DisplayName("Check if equals works as expected")
     public void testEquals() {
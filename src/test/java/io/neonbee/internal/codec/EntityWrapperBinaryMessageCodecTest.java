@@ -0,0 +1,204 @@
+package io.neonbee.internal.codec;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.test.helper.ResourceHelper.TEST_RESOURCES;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.neonbee.entity.EntityModelManager;
+import io.neonbee.entity.EntityWrapper;
+import io.neonbee.test.base.NeonBeeTestBase;
+import io.neonbee.test.helper.WorkingDirectoryBuilder;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxTestContext;
+
+class EntityWrapperBinaryMessageCodecTest extends NeonBeeTestBase {
+    private final Entity entity = new Entity().addProperty(new Property(null, "name", ValueType.PRIMITIVE, "NAME"))
+            .addProperty(new Property(null, "ID", ValueType.PRIMITIVE, "ID"))
+            .addProperty(new Property(null, "unknown", ValueType.PRIMITIVE, "UNKNOWN"));
+
+    private final Entity otherEntity = new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, "ÏD2"))
+            .addProperty(new Property(null, "name", ValueType.PRIMITIVE, "NAME2"))
+            .addProperty(new Property(null, "description", ValueType.PRIMITIVE, null));
+
+    private final EntityWrapper wrapper =
+            new EntityWrapper("io.neonbee.codec.CodecService.TestUsers", List.of(entity, otherEntity));
+
+    private EntityWrapperBinaryMessageCodec codec;
+
+    @Override
+    protected WorkingDirectoryBuilder provideWorkingDirectoryBuilder(TestInfo testInfo, VertxTestContext testContext) {
+        return WorkingDirectoryBuilder.standard().addModel(TEST_RESOURCES.resolveRelated("CodecService.csn"));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        codec = new EntityWrapperBinaryMessageCodec(getNeonBee().getVertx());
+    }
+
+    @Test
+    @DisplayName("Should serialize and deserialize an EntityWrapper correctly.")
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    void encodeDecode(VertxTestContext testContext) {
+        EntityModelManager.reloadModels(getNeonBee().getVertx()).<Void>compose(map -> {
+            Buffer buffer = Buffer.buffer("prefix");
+            codec.encodeToWire(buffer, wrapper);
+            EntityWrapper decodeFromWire = codec.decodeFromWire(6, buffer);
+            assertThat(decodeFromWire.getTypeName().getNamespace()).isEqualTo("io.neonbee.codec.CodecService");
+            assertThat(decodeFromWire.getTypeName().getName()).isEqualTo("TestUsers");
+            assertThat(decodeFromWire.getEntities()).hasSize(2);
+
+            Entity decodedEntity = decodeFromWire.getEntities().get(0);
+            assertThat(decodedEntity.getProperty("name").getValue()).isEqualTo("NAME");
+            assertThat(decodedEntity.getProperty("ID").getValue()).isEqualTo("ID");
+            assertThat(decodedEntity.getProperty("description")).isNull();
+            assertThat(decodedEntity.getProperty("unknown")).isNull();
+
+            Entity decodedOtherEntity = decodeFromWire.getEntities().get(1);
+            assertThat(decodedOtherEntity.getProperty("name").getValue()).isEqualTo("NAME2");
+            assertThat(decodedOtherEntity.getProperty("ID").getValue()).isEqualTo("ÏD2");
+            assertThat(decodedOtherEntity.getProperty("description").isNull()).isTrue();
+
+            return Future.succeededFuture(null);
+        }).onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    @DisplayName("Should serialize and deserialize values of all primitive types correctly.")
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    void encodeDecodeValues(VertxTestContext testContext) {
+        EntityModelManager.reloadModels(getNeonBee().getVertx()).<Void>compose(map -> {
+            UUID id = UUID.randomUUID();
+            byte[] content = { 0, 1, -1, 127 };
+            Object birthday = parse(EdmPrimitiveTypeKind.Date, "2021-03-04");
+            Object startTime = parse(EdmPrimitiveTypeKind.TimeOfDay, "05:06:07");
+            Object modifiedAt = parse(EdmPrimitiveTypeKind.DateTimeOffset, "2021-03-04T05:06:07Z");
+            Entity values = new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, id))
+                    .addProperty(new Property(null, "flag", ValueType.PRIMITIVE, true))
+                    .addProperty(new Property(null, "small", ValueType.PRIMITIVE, (short) -42))
+                    .addProperty(new Property(null, "quantity", ValueType.PRIMITIVE, Integer.MAX_VALUE))
+                    .addProperty(new Property(null, "big", ValueType.PRIMITIVE, Long.MIN_VALUE))
+                    .addProperty(new Property(null, "ratio", ValueType.PRIMITIVE, 0.5d))
+                    .addProperty(new Property(null, "amount", ValueType.PRIMITIVE, new BigDecimal("12345678.90")))
+                    .addProperty(new Property(null, "birthday", ValueType.PRIMITIVE, birthday))
+                    .addProperty(new Property(null, "startTime", ValueType.PRIMITIVE, startTime))
+                    .addProperty(new Property(null, "modifiedAt", ValueType.PRIMITIVE, modifiedAt))
+                    .addProperty(new Property(null, "content", ValueType.PRIMITIVE, content));
+            Entity nullValues = new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, id))
+                    .addProperty(new Property(null, "flag", ValueType.PRIMITIVE, null))
+                    .addProperty(new Property(null, "quantity", ValueType.PRIMITIVE, null))
+                    .addProperty(new Property(null, "amount", ValueType.PRIMITIVE, null))
+                    .addProperty(new Property(null, "modifiedAt", ValueType.PRIMITIVE, null))
+                    .addProperty(new Property(null, "content", ValueType.PRIMITIVE, null));
+
+            EntityWrapper decoded = encodeDecode(
+                    new EntityWrapper("io.neonbee.codec.CodecService.TestValues", List.of(values, nullValues)));
+            assertThat(decoded.getEntities()).hasSize(2);
+
+            Entity decodedValues = decoded.getEntities().get(0);
+            assertThat(decodedValues.getProperty("ID").getValue()).isEqualTo(id);
+            assertThat(decodedValues.getProperty("flag").getValue()).isEqualTo(true);
+            assertThat(decodedValues.getProperty("small").getValue()).isEqualTo((short) -42);
+            assertThat(decodedValues.getProperty("quantity").getValue()).isEqualTo(Integer.MAX_VALUE);
+            assertThat(decodedValues.getProperty("big").getValue()).isEqualTo(Long.MIN_VALUE);
+            assertThat(decodedValues.getProperty("ratio").getValue()).isEqualTo(0.5d);
+            assertThat((BigDecimal) decodedValues.getProperty("amount").getValue())
+                    .isEquivalentAccordingToCompareTo(new BigDecimal("12345678.90"));
+            assertThat(decodedValues.getProperty("birthday").getValue()).isEqualTo(birthday);
+            assertThat(decodedValues.getProperty("startTime").getValue()).isEqualTo(startTime);
+            assertThat(decodedValues.getProperty("modifiedAt").getValue()).isEqualTo(modifiedAt);
+            assertThat((byte[]) decodedValues.getProperty("content").getValue()).isEqualTo(content);
+
+            Entity decodedNullValues = decoded.getEntities().get(1);
+            for (String name : List.of("flag", "quantity", "amount", "modifiedAt", "content")) {
+                assertThat(decodedNullValues.getProperty(name).isNull()).isTrue();
+            }
+            for (String name : List.of("small", "big", "ratio", "birthday", "startTime")) {
+                assertThat(decodedNullValues.getProperty(name)).isNull();
+            }
+
+            return Future.succeededFuture(null);
+        }).onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    @DisplayName("Should reject entities encoded with a different layout of the entity type.")
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    void decodeDifferentLayout(VertxTestContext testContext) {
+        EntityModelManager.reloadModels(getNeonBee().getVertx()).<Void>compose(map -> {
+            Buffer buffer = Buffer.buffer();
+            codec.encodeToWire(buffer, wrapper);
+            // the fingerprint of the layout follows the format, namespace and name of the entity type
+            int position = 1 + Integer.BYTES + "io.neonbee.codec.CodecService".length() + Integer.BYTES
+                    + "TestUsers".length();
+            buffer.setInt(position, buffer.getInt(position) + 1);
+
+            IllegalStateException exception =
+                    assertThrows(IllegalStateException.class, () -> codec.decodeFromWire(0, buffer));
+            assertThat(exception).hasMessageThat().contains("layout");
+            return Future.succeededFuture(null);
+        }).onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    @DisplayName("Should determine the layout of an entity type only once per model.")
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    void cacheLayout(VertxTestContext testContext) {
+        FullQualifiedName entityTypeName = new FullQualifiedName("io.neonbee.codec.CodecService.TestUsers");
+        EntityModelManager.reloadModels(getNeonBee().getVertx()).<Void>compose(map -> {
+            assertThat(codec.getLayout(entityTypeName)).isSameInstanceAs(codec.getLayout(entityTypeName));
+            return Future.succeededFuture(null);
+        }).onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    @DisplayName("Transform should return the same object")
+    void testTransform() {
+        assertThat(codec.transform(wrapper)).isSameInstanceAs(wrapper);
+    }
+
+    @Test
+    void testSystemCodecID() {
+        assertThat(codec.systemCodecID()).isEqualTo(-1);
+    }
+
+    @Test
+    void testName() {
+        assertThat(codec.name()).isEqualTo("entitywrapperbinary");
+    }
+
+    private EntityWrapper encodeDecode(EntityWrapper entityWrapper) {
+        Buffer buffer = Buffer.buffer();
+        codec.encodeToWire(buffer, entityWrapper);
+        return codec.decodeFromWire(0, buffer);
+    }
+
+    private static Object parse(EdmPrimitiveTypeKind kind, String literal) {
+        EdmPrimitiveType type = EdmPrimitiveTypeFactory.getInstance(kind);
+        try {
+            // parse the value the same way the codec does, to get a value of the default type of the primitive type
+            return type.valueOfString(literal, null, null, null, null, null, type.getDefaultType());
+        } catch (EdmPrimitiveTypeException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.neonbee.internal.handler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.internal.handler.ChunkedResponseOutputStream.CHUNK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+class ChunkedResponseOutputStreamTest {
+    @Test
+    @DisplayName("content smaller than one chunk should end the response with a single buffer")
+    void testSmallContent() throws Exception {
+        HttpServerResponse responseMock = mock(HttpServerResponse.class);
+        ChunkedResponseOutputStream.write(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), responseMock);
+
+        verify(responseMock, never()).setChunked(anyBoolean());
+        verify(responseMock, never()).write(any(Buffer.class));
+        ArgumentCaptor<Buffer> endBuffer = ArgumentCaptor.forClass(Buffer.class);
+        verify(responseMock).end(endBuffer.capture());
+        assertThat(endBuffer.getValue().getBytes()).isEqualTo(new byte[] { 1, 2, 3 });
+    }
+
+    @Test
+    @DisplayName("content larger than one chunk should be written in chunks")
+    void testLargeContent() throws Exception {
+        byte[] content = new byte[CHUNK_SIZE * 2 + 42];
+        Arrays.fill(content, (byte) 'x');
+
+        HttpServerResponse responseMock = mock(HttpServerResponse.class);
+        ChunkedResponseOutputStream.write(new ByteArrayInputStream(content), responseMock);
+
+        verify(responseMock).setChunked(true);
+        ArgumentCaptor<Buffer> writeBuffers = ArgumentCaptor.forClass(Buffer.class);
+        verify(responseMock, times(2)).write(writeBuffers.capture());
+        ArgumentCaptor<Buffer> endBuffer = ArgumentCaptor.forClass(Buffer.class);
+        verify(responseMock).end(endBuffer.capture());
+
+        List<Buffer> chunks = writeBuffers.getAllValues();
+        assertThat(chunks.get(0).length()).isEqualTo(CHUNK_SIZE);
+        assertThat(chunks.get(1).length()).isEqualTo(CHUNK_SIZE);
+        assertThat(endBuffer.getValue().length()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("chunks should only be written after the drain handler was called")
+    void testAwaitDrain() throws Exception {
+        HttpServerResponse responseMock = mock(HttpServerResponse.class);
+        when(responseMock.writeQueueFull()).thenReturn(true);
+        AtomicReference<Handler<Void>> drainHandler = new AtomicReference<>();
+        when(responseMock.drainHandler(any())).thenAnswer(invocation -> {
+            drainHandler.set(invocation.getArgument(0));
+            return responseMock;
+        });
+
+        ChunkedResponseOutputStream output = new ChunkedResponseOutputStream(responseMock);
+        Thread writer = new Thread(() -> {
+            try {
+                output.write(new byte[CHUNK_SIZE]);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+
+        // the queue stays full, so the chunk is written only after the drain handler was called
+        while (drainHandler.get() == null) {
+            Thread.sleep(10);
+        }
+        verify(responseMock, never()).write(any(Buffer.class));
+        drainHandler.get().handle(null);
+        writer.join(10_000);
+        verify(responseMock).write(any(Buffer.class));
+        // the drain handler is only set while waiting for the queue to drain
+        assertThat(drainHandler.get()).isNull();
+        verify(responseMock, never()).closeHandler(any());
+    }
+
+    @Test
+    @DisplayName("writing should fail if the write queue is not drained in time or the response was closed")
+    void testAwaitDrainFailure() {
+        HttpServerResponse responseMock = mock(HttpServerResponse.class);
+        when(responseMock.writeQueueFull()).thenReturn(true);
+        assertThrows(IOException.class,
+                () -> new ChunkedResponseOutputStream(responseMock, 10).write(new byte[CHUNK_SIZE]));
+
+        when(responseMock.closed()).thenReturn(true);
+        assertThrows(IOException.class,
+                () -> new ChunkedResponseOutputStream(responseMock).write(new byte[CHUNK_SIZE]));
+        verify(responseMock, never()).write(any(Buffer.class));
+    }
+}
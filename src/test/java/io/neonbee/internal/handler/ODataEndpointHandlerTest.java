@@ -5,6 +5,7 @@ import static io.neonbee.internal.Helper.EMPTY;
 import static io.neonbee.internal.handler.ODataEndpointHandler.UriConversion.CDS;
 import static io.neonbee.internal.handler.ODataEndpointHandler.UriConversion.LOOSE;
 import static io.neonbee.internal.handler.ODataEndpointHandler.UriConversion.STRICT;
+import static io.neonbee.internal.handler.ODataEndpointHandler.applyETag;
 import static io.neonbee.internal.handler.ODataEndpointHandler.mapODataResponse;
 import static io.neonbee.test.helper.ResourceHelper.TEST_RESOURCES;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
@@ -20,14 +21,17 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.ODataResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -45,6 +49,7 @@ import io.neonbee.data.DataAdapter;
 import io.neonbee.data.DataContext;
 import io.neonbee.data.DataException;
 import io.neonbee.data.DataQuery;
+import io.neonbee.data.ETag;
 import io.neonbee.entity.EntityWrapper;
 import io.neonbee.internal.handler.ODataEndpointHandler.UriConversion;
 import io.neonbee.internal.verticle.ServerVerticle;
@@ -132,6 +137,26 @@ public class ODataEndpointHandlerTest extends ODataEndpointTestBase {
         assertThat(endBuffer.getValue().toString()).isEqualTo("expected data");
     }
 
+    @Test
+    @DisplayName("answer conditional OData read requests")
+    public void checkApplyETag() throws Exception {
+        ODataResponse odataResponse = new ODataResponse();
+        odataResponse.setStatusCode(200);
+        odataResponse.setContent(new ByteArrayInputStream("expected data".getBytes(Charsets.UTF_8)));
+
+        HttpServerRequest requestMock = mock(HttpServerRequest.class);
+        when(requestMock.method()).thenReturn(HttpMethod.GET);
+        applyETag(requestMock, odataResponse);
+        String eTag = odataResponse.getHeader("ETag");
+        assertThat(eTag).isEqualTo(ETag.of("expected data".getBytes(Charsets.UTF_8)));
+        assertThat(new String(odataResponse.getContent().readAllBytes(), Charsets.UTF_8)).isEqualTo("expected data");
+
+        when(requestMock.getHeader("If-None-Match")).thenReturn(eTag);
+        applyETag(requestMock, odataResponse);
+        assertThat(odataResponse.getStatusCode()).isEqualTo(304);
+        assertThat(odataResponse.getContent()).isNull();
+    }
+
     @Test
     @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
     @DisplayName("check if (lazy) loading OData models on first request to ODataEndpoint works")
@@ -193,6 +218,43 @@ public class ODataEndpointHandlerTest extends ODataEndpointTestBase {
         assertThat(LOOSE.apply("Frontend.Service")).isEqualTo("frontend");
     }
 
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("check if the pre-rendered metadata document is served compressed")
+    public void testCompressedMetadataDocument(VertxTestContext testContext) {
+        FullQualifiedName fqn = new FullQualifiedName("io.neonbee.handler.TestService", "WillBeIgnored");
+        requestOData(new ODataRequest(fqn).setMetadata().addHeader("Accept-Encoding", "deflate, gzip;q=0.8"))
+                .onComplete(testContext.succeeding(response -> {
+                    testContext.verify(() -> {
+                        assertThat(response.statusCode()).isEqualTo(200);
+                        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+                        assertThat(response.getHeader("ETag")).isNotNull();
+                        try (InputStream input =
+                                new GZIPInputStream(new ByteArrayInputStream(response.body().getBytes()))) {
+                            assertThat(new String(input.readAllBytes(), Charsets.UTF_8)).contains("<edmx:Edmx");
+                        }
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    @DisplayName("check which requests can be served by the pre-rendered metadata documents")
+    public void checkMetadataDocumentNegotiation() {
+        assertThat(ODataEndpointHandler.isAcceptable(null, ContentType.APPLICATION_XML)).isTrue();
+        assertThat(ODataEndpointHandler.isAcceptable("*/*", ContentType.APPLICATION_XML)).isTrue();
+        assertThat(ODataEndpointHandler.isAcceptable("application/xml, application/*;q=0.5",
+                ContentType.APPLICATION_XML)).isTrue();
+        assertThat(ODataEndpointHandler.isAcceptable("application/json", ContentType.APPLICATION_XML)).isFalse();
+        assertThat(ODataEndpointHandler.isAcceptable("application/json;odata.metadata=full", ContentType.JSON))
+                .isFalse();
+
+        assertThat(ODataEndpointHandler.chooseContentEncoding(null)).isNull();
+        assertThat(ODataEndpointHandler.chooseContentEncoding("br, deflate")).isEqualTo("deflate");
+        assertThat(ODataEndpointHandler.chooseContentEncoding("deflate, gzip")).isEqualTo("gzip");
+        assertThat(ODataEndpointHandler.chooseContentEncoding("gzip;q=0, deflate;q=0.0")).isNull();
+    }
+
     private Future<HttpResponse<Buffer>> requestMetadata(String namespace) {
         FullQualifiedName fqn = new FullQualifiedName(namespace, "WillBeIgnored");
         return requestOData(new ODataRequest(fqn).setMetadata());
@@ -0,0 +1,111 @@
+package io.neonbee.internal.handler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.internal.handler.ODataWorkerExecutor.METER_QUEUED;
+import static io.neonbee.internal.handler.ODataWorkerExecutor.METER_WAIT;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+class ODataWorkerExecutorTest {
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("blocking code should be executed unordered and report the queue depth and wait time")
+    void testExecuteBlocking() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ODataWorkerExecutor executor =
+                new ODataWorkerExecutor(vertx.createSharedWorkerExecutor("test-odata-worker", 2), "test", registry);
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = executor.executeBlocking(promise -> {
+            started.countDown();
+            await(release);
+            promise.complete("first");
+        });
+        Future<String> second = executor.executeBlocking(promise -> {
+            started.countDown();
+            await(release);
+            promise.complete("second");
+        });
+
+        // both tasks are running concurrently, so the third one has to wait for a worker
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        Future<String> third = executor.executeBlocking(promise -> promise.complete("third"));
+        assertThat(executor.queued.get()).isEqualTo(1);
+        assertThat(registry.get(METER_QUEUED).tag("pool", "test").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(await(first)).isEqualTo("first");
+        assertThat(await(second)).isEqualTo("second");
+        assertThat(await(third)).isEqualTo("third");
+        assertThat(executor.queued.get()).isEqualTo(0);
+        assertThat(registry.get(METER_WAIT).tag("pool", "test").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("commands should be executed on the worker pool")
+    void testExecute() throws Exception {
+        ODataWorkerExecutor executor =
+                new ODataWorkerExecutor(vertx.createSharedWorkerExecutor("test-odata-worker", 1), "test", null);
+
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        executor.execute(() -> thread.complete(Thread.currentThread().getName()));
+        assertThat(thread.get(10, TimeUnit.SECONDS)).startsWith("test-odata-worker");
+    }
+
+    @Test
+    @DisplayName("executors should be shared by name")
+    void testGet() {
+        JsonObject config = new JsonObject().put("workerPool", new JsonObject().put("name", "test").put("size", 1));
+        assertThat(ODataWorkerExecutor.get(vertx, config)).isSameInstanceAs(ODataWorkerExecutor.get(vertx, config));
+        assertThat(ODataWorkerExecutor.get(vertx, null)).isSameInstanceAs(ODataWorkerExecutor.get(vertx, null));
+        assertThat(ODataWorkerExecutor.get(vertx, null)).isNotSameInstanceAs(ODataWorkerExecutor.get(vertx, config));
+    }
+
+    @Test
+    @DisplayName("responses should be streamed from a separate executor")
+    void testGetStreaming() {
+        JsonObject config = new JsonObject().put("streamingPool", new JsonObject().put("name", "test").put("size", 1));
+        assertThat(ODataWorkerExecutor.getStreaming(vertx, null))
+                .isSameInstanceAs(ODataWorkerExecutor.getStreaming(vertx, null));
+        assertThat(ODataWorkerExecutor.getStreaming(vertx, null))
+                .isNotSameInstanceAs(ODataWorkerExecutor.get(vertx, null));
+        assertThat(ODataWorkerExecutor.getStreaming(vertx, config))
+                .isNotSameInstanceAs(ODataWorkerExecutor.getStreaming(vertx, null));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -4,10 +4,13 @@ import static com.google.common.truth.Truth.assertThat;
 import static io.neonbee.internal.handler.RawDataEndpointHandler.determineQualifiedName;
 import static io.neonbee.internal.verticle.ServerVerticle.DEFAULT_RAW_BASE_PATH;
 import static io.neonbee.test.helper.DeploymentHelper.NEONBEE_NAMESPACE;
+import static io.neonbee.test.helper.StreamHelper.streamOf;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_FORBIDDEN;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
+import static java.net.HttpURLConnection.HTTP_OK;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -26,13 +29,16 @@ import io.neonbee.data.DataContext;
 import io.neonbee.data.DataException;
 import io.neonbee.data.DataQuery;
 import io.neonbee.data.DataVerticle;
+import io.neonbee.data.ETag;
 import io.neonbee.test.base.DataVerticleTestBase;
 import io.vertx.core.Future;
 import io.vertx.core.Verticle;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxTestContext;
@@ -122,8 +128,76 @@ public class RawDataEndpointHandlerTest extends DataVerticleTestBase {
                 .onComplete(testContext.succeedingThenComplete());
     }
 
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("RawDataEndpointHandler must answer conditional requests with the version of the data verticle")
+    void testETagOfDataVerticle(VertxTestContext testContext) {
+        String verticleName = "TestVerticle" + UUID.randomUUID().toString();
+        DataVerticle<String> dummy = createDummyDataVerticle(NEONBEE_NAMESPACE + '/' + verticleName)
+                .withDynamicResponse((query, context) -> {
+                    ETag.tag(context, "42");
+                    return "Hodor";
+                });
+
+        deployVerticle(dummy).compose(s -> sendRequest(verticleName, "", "", null)).compose(resp -> {
+            testContext.verify(() -> {
+                assertThat(resp.statusCode()).isEqualTo(HTTP_OK);
+                assertThat(resp.getHeader("ETag")).isEqualTo("\"42\"");
+            });
+            return sendRequest(verticleName, "", "", "\"41\", \"42\"");
+        }).onComplete(testContext.succeeding(resp -> {
+            testContext.verify(() -> assertThat(resp.statusCode()).isEqualTo(HTTP_NOT_MODIFIED));
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("RawDataEndpointHandler must answer conditional requests with a hash of the data")
+    void testETagOfContent(VertxTestContext testContext) {
+        String verticleName = "TestVerticle" + UUID.randomUUID().toString();
+        DataVerticle<String> dummy = createDummyDataVerticle(NEONBEE_NAMESPACE + '/' + verticleName)
+                .withStaticResponse("Hodor");
+
+        deployVerticle(dummy).compose(s -> sendRequest(verticleName, "", "", null)).compose(resp -> {
+            testContext.verify(() -> assertThat(resp.getHeader("ETag")).isEqualTo(ETag.of(resp.body())));
+            return sendRequest(verticleName, "", "", resp.getHeader("ETag"));
+        }).onComplete(testContext.succeeding(resp -> {
+            testContext.verify(() -> assertThat(resp.statusCode()).isEqualTo(HTTP_NOT_MODIFIED));
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("RawDataEndpointHandler must write streamed results in chunks")
+    void testStreamedResult(VertxTestContext testContext) {
+        String verticleName = "TestVerticle" + UUID.randomUUID().toString();
+        DataVerticle<ReadStream<Buffer>> dummy = createDummyDataVerticle(NEONBEE_NAMESPACE + '/' + verticleName)
+                .withDynamicResponse((query, context) -> streamOf(getNeonBee().getVertx(), "Ho", "d", "or"));
+
+        deployVerticle(dummy).compose(s -> sendRequest(verticleName, "", ""))
+                .onComplete(testContext.succeeding(resp -> {
+                    testContext.verify(() -> {
+                        assertThat(resp.statusCode()).isEqualTo(HTTP_OK);
+                        assertThat(resp.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+                        assertThat(resp.bodyAsString()).isEqualTo("Hodor");
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
     private Future<HttpResponse<Buffer>> sendRequest(String verticleName, String path, String query) {
+        return sendRequest(verticleName, path, query, null);
+    }
+
+    private Future<HttpResponse<Buffer>> sendRequest(String verticleName, String path, String query,
+            String ifNoneMatch) {
         String uriPath = String.format("/raw/%s/%s/%s?%s", NEONBEE_NAMESPACE, verticleName, path, query);
-        return Future.future(fut -> createRequest(HttpMethod.GET, uriPath).send(fut));
+        HttpRequest<Buffer> request = createRequest(HttpMethod.GET, uriPath);
+        if (ifNoneMatch != null) {
+            request.putHeader("If-None-Match", ifNoneMatch);
+        }
+        return Future.future(fut -> request.send(fut));
     }
 }
@@ -0,0 +1,168 @@
+package io.neonbee.internal.processor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.internal.processor.AsynchronousProcessor.processBatchPart;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.neonbee.data.DataRequest;
+import io.neonbee.internal.processor.BatchProcessor.BatchPartScheduler;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+
+class BatchProcessorTest {
+    @Test
+    @DisplayName("parts should be processed concurrently up to the parallelism, exclusive parts on their own")
+    void testBatchPartScheduler() {
+        Map<String, Promise<String>> processing = new HashMap<>();
+        List<String> started = new ArrayList<>();
+        Future<List<String>> results = new BatchPartScheduler<String, String>(List.of("a", "b", "c", "X", "d"),
+                part -> {
+                    started.add(part);
+                    return processing.computeIfAbsent(part, p -> Promise.promise()).future();
+                }, part -> part.equals("X"), 2, Runnable::run).schedule();
+
+        assertThat(started).containsExactly("a", "b").inOrder();
+        processing.get("b").complete("B");
+        assertThat(started).containsExactly("a", "b", "c").inOrder();
+
+        // the exclusive part is only started, after all previous parts finished
+        processing.get("c").complete("C");
+        assertThat(started).containsExactly("a", "b", "c").inOrder();
+        processing.get("a").complete("A");
+        assertThat(started).containsExactly("a", "b", "c", "X").inOrder();
+
+        // no other part is started, before the exclusive part finished
+        processing.get("X").complete("Y");
+        assertThat(started).containsExactly("a", "b", "c", "X", "d").inOrder();
+        assertThat(results.isComplete()).isFalse();
+        processing.get("d").complete("D");
+        assertThat(results.result()).containsExactly("A", "B", "C", "Y", "D").inOrder();
+    }
+
+    @Test
+    @DisplayName("a failed part should fail the batch")
+    void testBatchPartSchedulerFailure() {
+        Future<List<String>> results = new BatchPartScheduler<String, String>(List.of("a", "b"),
+                part -> part.equals("a") ? Future.failedFuture("failed") : Future.succeededFuture(part),
+                part -> false, 1, Runnable::run).schedule();
+        assertThat(results.failed()).isTrue();
+
+        // the batch fails only after the parts still processing finished, as they are still using the processors
+        Map<String, Promise<String>> processing = new HashMap<>();
+        List<String> started = new ArrayList<>();
+        results = new BatchPartScheduler<String, String>(List.of("a", "b", "c"), part -> {
+            started.add(part);
+            return processing.computeIfAbsent(part, p -> Promise.promise()).future();
+        }, part -> false, 2, Runnable::run).schedule();
+        processing.get("a").fail("failed");
+        assertThat(results.isComplete()).isFalse();
+        processing.get("b").complete("B");
+        assertThat(results.cause()).hasMessageThat().isEqualTo("failed");
+        assertThat(started).containsExactly("a", "b").inOrder();
+
+        assertThat(new BatchPartScheduler<String, String>(List.of(), Future::succeededFuture, part -> false, 1,
+                Runnable::run).schedule().result()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parts should be dispatched using the dispatcher, after a part finished")
+    void testBatchPartSchedulerDispatcher() {
+        Map<String, Promise<String>> processing = new HashMap<>();
+        List<String> started = new ArrayList<>();
+        List<Runnable> dispatched = new ArrayList<>();
+        Future<List<String>> results = new BatchPartScheduler<String, String>(List.of("a", "b"), part -> {
+            started.add(part);
+            return processing.computeIfAbsent(part, p -> Promise.promise()).future();
+        }, part -> false, 1, dispatched::add).schedule();
+
+        // the first part is dispatched by the thread starting the scheduling
+        assertThat(started).containsExactly("a");
+        assertThat(dispatched).isEmpty();
+
+        // the thread finishing a part (e.g. an event loop) must neither complete it, nor dispatch the next part itself
+        processing.get("a").complete("A");
+        assertThat(started).containsExactly("a");
+        assertThat(dispatched).hasSize(1);
+        dispatched.remove(0).run();
+        assertThat(started).containsExactly("a", "b").inOrder();
+
+        processing.get("b").complete("B");
+        assertThat(results.isComplete()).isFalse();
+        dispatched.remove(0).run();
+        assertThat(results.result()).containsExactly("A", "B").inOrder();
+    }
+
+    @Test
+    @DisplayName("every batch part should get its own process promise")
+    void testProcessBatchPart() {
+        Promise<Void> processPromise = Promise.promise();
+        BatchProcessor processor = new BatchProcessor(null, null, processPromise);
+        assertThat(processor.getProcessPromise()).isSameInstanceAs(processPromise);
+
+        List<Promise<Void>> partPromises = new ArrayList<>();
+        Future<String> first = processBatchPart(() -> {
+            assertThat(processor.isBatchProcessing()).isTrue();
+            partPromises.add(processor.getProcessPromise());
+            // requesting the promise again in the same part, must return the same promise
+            assertThat(processor.getProcessPromise()).isSameInstanceAs(partPromises.get(0));
+            return "first";
+        });
+        Future<String> second = processBatchPart(() -> {
+            partPromises.add(processor.getProcessPromise());
+            return "second";
+        });
+        Future<String> synchronous = processBatchPart(() -> "synchronous");
+
+        assertThat(processor.isBatchProcessing()).isFalse();
+        assertThat(partPromises.get(0)).isNotSameInstanceAs(partPromises.get(1));
+        assertThat(synchronous.result()).isEqualTo("synchronous");
+
+        partPromises.get(1).complete();
+        assertThat(first.isComplete()).isFalse();
+        assertThat(second.result()).isEqualTo("second");
+        partPromises.get(0).complete();
+        assertThat(first.result()).isEqualTo("first");
+        assertThat(processPromise.future().isComplete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("all parts of one batch request should share one coalescing scope")
+    void testBatchScope() {
+        BatchProcessor processor = new BatchProcessor(null, null, Promise.promise());
+        assertThat(processor.getBatchScope()).isNull();
+        assertThat(processor.coalesceInBatch(new DataRequest("Test")).isCoalescing()).isFalse();
+
+        List<String> scopes = new ArrayList<>();
+        processBatchPart("batch", () -> {
+            scopes.add(processor.getBatchScope());
+            // e.g. a change set processes its requests as nested parts
+            return processBatchPart(() -> {
+                DataRequest request = processor.coalesceInBatch(new DataRequest("Test"));
+                assertThat(request.isCoalescing()).isTrue();
+                scopes.add(request.getCoalescingScope());
+                return null;
+            });
+        });
+        processBatchPart(() -> scopes.add(processor.getBatchScope()));
+
+        assertThat(scopes).hasSize(3);
+        assertThat(scopes.subList(0, 2)).containsExactly("batch", "batch");
+        assertThat(scopes.get(2)).isNotEqualTo("batch");
+    }
+
+    @Test
+    @DisplayName("the parallelism should be read from the endpoint config")
+    void testGetParallelism() {
+        assertThat(BatchProcessor.getParallelism(null)).isEqualTo(BatchProcessor.DEFAULT_PARALLELISM);
+        assertThat(BatchProcessor.getParallelism(new JsonObject().put("batch", new JsonObject().put("parallelism", 4))))
+                .isEqualTo(4);
+    }
+}
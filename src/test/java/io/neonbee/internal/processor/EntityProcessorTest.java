@@ -1,15 +1,30 @@
 package io.neonbee.internal.processor;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.entity.EntityModelManager.getBufferedOData;
 import static io.neonbee.internal.processor.EntityProcessor.TOO_MANY_PARTS_EXCEPTION;
+import static io.neonbee.internal.processor.EntityProcessor.findEntityByKeyPredicates;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.InputStreamReader;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.uri.UriInfo;
 import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.core.MetadataParser;
+import org.apache.olingo.server.core.uri.parser.Parser;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -25,4 +40,37 @@ public class EntityProcessorTest {
                 () -> new EntityProcessor(null, null, null).readEntity(null, null, mockedUriInfo, null));
         assertThat(exception).isEqualTo(TOO_MANY_PARTS_EXCEPTION);
     }
+
+    @Test
+    @DisplayName("Find the one entity matching all key predicates")
+    void testFindEntityByKeyPredicates() throws Exception {
+        UriResourceEntitySet uriResourceEntitySet = parseEntitySet("TestCars(ID=1,date=2021-01-01)");
+        Entity car = createCar(1, LocalDate.of(2021, 1, 1));
+        Entity otherDate = createCar(1, LocalDate.of(2021, 1, 2));
+        Entity otherId = createCar(2, LocalDate.of(2021, 1, 1));
+
+        assertThat(findEntityByKeyPredicates(null, uriResourceEntitySet, List.of(otherDate, car, otherId)))
+                .isSameInstanceAs(car);
+        assertThat(findEntityByKeyPredicates(null, uriResourceEntitySet, List.of(car))).isSameInstanceAs(car);
+        assertThat(findEntityByKeyPredicates(null, uriResourceEntitySet, List.of(otherDate, otherId))).isNull();
+        assertThat(findEntityByKeyPredicates(null, uriResourceEntitySet, List.of())).isNull();
+        assertThrows(ODataApplicationException.class, () -> findEntityByKeyPredicates(null, uriResourceEntitySet,
+                List.of(car, createCar(1, LocalDate.of(2021, 1, 1)))));
+    }
+
+    private static Entity createCar(int id, LocalDate date) {
+        return new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, id))
+                .addProperty(new Property(null, "date", ValueType.PRIMITIVE, date));
+    }
+
+    private static UriResourceEntitySet parseEntitySet(String path) throws Exception {
+        try (InputStreamReader reader = new InputStreamReader(EntityProcessorTest.class.getResourceAsStream(
+                "/io/neonbee/test/endpoint/odata/verticle/io.neonbee.compoundkey.TestServiceCompoundKey.edmx"),
+                UTF_8)) {
+            ServiceMetadata serviceMetadata = getBufferedOData().createServiceMetadata(
+                    new MetadataParser().referenceResolver(null).buildEdmProvider(reader), Collections.emptyList());
+            return (UriResourceEntitySet) new Parser(serviceMetadata.getEdm(), getBufferedOData())
+                    .parseUri(path, null, null, null).getUriResourceParts().get(0);
+        }
+    }
 }
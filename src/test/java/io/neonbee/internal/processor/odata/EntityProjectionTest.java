@@ -0,0 +1,58 @@
+package io.neonbee.internal.processor.odata;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.entity.EntityModelManager.getBufferedOData;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.server.core.MetadataParser;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EntityProjectionTest {
+    private static final String NAMESPACE = "io.neonbee.test.NavProbs";
+
+    private static Parser parser;
+
+    private static EdmEntityType products;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        try (InputStreamReader reader = new InputStreamReader(EntityProjectionTest.class
+                .getResourceAsStream("/io/neonbee/test/endpoint/odata/verticle/" + NAMESPACE + ".edmx"), UTF_8)) {
+            Edm edm = getBufferedOData().createServiceMetadata(
+                    new MetadataParser().referenceResolver(null).buildEdmProvider(reader), Collections.emptyList())
+                    .getEdm();
+            parser = new Parser(edm, getBufferedOData());
+            products = edm.getEntityType(new FullQualifiedName(NAMESPACE, "Products"));
+        }
+    }
+
+    @Test
+    @DisplayName("the projection should contain the selected and key properties")
+    void testSelected() throws Exception {
+        assertThat(project("$select=name")).containsExactly("ID", "name").inOrder();
+        assertThat(project(null)).isNull();
+        assertThat(project("$select=*")).isNull();
+    }
+
+    @Test
+    @DisplayName("the projection should contain the properties required to apply the query options")
+    void testQueryOptions() throws Exception {
+        assertThat(project("$select=name&$filter=category_ID%20eq%201")).containsExactly("ID", "name", "category_ID");
+        assertThat(project("$select=ID&$orderby=name%20desc")).containsExactly("ID", "name");
+        assertThat(project("$select=name&$expand=category")).containsExactly("ID", "name", "category_ID");
+    }
+
+    private static Set<String> project(String query) throws Exception {
+        return EntityProjection.of(parser.parseUri("Products", query, null, null), products);
+    }
+}
@@ -0,0 +1,87 @@
+package io.neonbee.internal.processor.odata;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.entity.EntityModelManager.getBufferedOData;
+import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.buildKeyFilter;
+import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.getRelatedEntities;
+import static io.neonbee.internal.processor.odata.NavigationPropertyHelper.indexRelatedEntities;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.server.core.MetadataParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NavigationPropertyHelperTest {
+    private static final String NAMESPACE = "io.neonbee.test.NavProbs";
+
+    private static EdmEntityType categories;
+
+    private static EdmEntityType products;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        try (InputStreamReader reader = new InputStreamReader(NavigationPropertyHelperTest.class
+                .getResourceAsStream("/io/neonbee/test/endpoint/odata/verticle/" + NAMESPACE + ".edmx"), UTF_8)) {
+            Edm edm = getBufferedOData().createServiceMetadata(
+                    new MetadataParser().referenceResolver(null).buildEdmProvider(reader), Collections.emptyList())
+                    .getEdm();
+            categories = edm.getEntityType(new FullQualifiedName(NAMESPACE, "Categories"));
+            products = edm.getEntityType(new FullQualifiedName(NAMESPACE, "Products"));
+        }
+    }
+
+    @Test
+    @DisplayName("related entities should be looked up by their referential constraint properties")
+    void testGetRelatedEntities() {
+        Entity food = createEntity(1, "Food", null);
+        Entity motorcycles = createEntity(2, "Motorcycles", null);
+        Entity steak = createEntity(10, "Steak", 1);
+        Entity cheese = createEntity(11, "Cheese", 1);
+        Entity glide = createEntity(12, "Street Glide", 2);
+        Entity unassigned = createEntity(13, "Unassigned", null);
+
+        EdmNavigationProperty category = products.getNavigationProperty("category");
+        Map<List<Object>, List<Entity>> categoryIndex = indexRelatedEntities(category, List.of(food, motorcycles));
+        assertThat(getRelatedEntities(category, steak, categoryIndex)).containsExactly(food);
+        assertThat(getRelatedEntities(category, glide, categoryIndex)).containsExactly(motorcycles);
+        assertThat(getRelatedEntities(category, unassigned, categoryIndex)).isEmpty();
+
+        EdmNavigationProperty productsOfCategory = categories.getNavigationProperty("products");
+        Map<List<Object>, List<Entity>> productIndex =
+                indexRelatedEntities(productsOfCategory, List.of(steak, cheese, glide, unassigned));
+        assertThat(getRelatedEntities(productsOfCategory, food, productIndex)).containsExactly(steak, cheese)
+                .inOrder();
+        assertThat(getRelatedEntities(productsOfCategory, motorcycles, List.of(steak, cheese, glide)))
+                .containsExactly(glide);
+    }
+
+    @Test
+    @DisplayName("key filters should be built from the referenced key values")
+    void testBuildKeyFilter() throws Exception {
+        assertThat(buildKeyFilter(categories, List.of("ID"), List.of(List.of(1), List.of(2))))
+                .isEqualTo("ID in (1,2)");
+        assertThat(buildKeyFilter(products, List.of("category_ID", "name"),
+                List.of(Arrays.asList(1, "Bob's"), Arrays.asList(2, "Anna"))))
+                        .isEqualTo("(category_ID eq 1 and name eq 'Bob''s') or (category_ID eq 2 and name eq 'Anna')");
+    }
+
+    private static Entity createEntity(int id, String name, Integer categoryId) {
+        return new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, id))
+                .addProperty(new Property(null, "name", ValueType.PRIMITIVE, name))
+                .addProperty(new Property(null, "category_ID", ValueType.PRIMITIVE, categoryId));
+    }
+}
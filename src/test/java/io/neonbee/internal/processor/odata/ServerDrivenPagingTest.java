@@ -0,0 +1,75 @@
+package io.neonbee.internal.processor.odata;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class ServerDrivenPagingTest {
+    @Test
+    @DisplayName("the maximum page size should be configurable per entity set")
+    void testGetMaxPageSize() {
+        EdmEntitySet products = mock(EdmEntitySet.class);
+        when(products.getName()).thenReturn("Products");
+        EdmEntitySet categories = mock(EdmEntitySet.class);
+        when(categories.getName()).thenReturn("Categories");
+
+        assertThat(ServerDrivenPaging.create(null).getMaxPageSize(products)).isEqualTo(0);
+        ServerDrivenPaging paging = ServerDrivenPaging.create(new JsonObject().put("paging", new JsonObject()
+                .put("maxPageSize", 100).put("entitySets", new JsonObject().put("Categories", 10))));
+        assertThat(paging.getMaxPageSize(products)).isEqualTo(100);
+        assertThat(paging.getMaxPageSize(categories)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("skip tokens should contain either an offset or a cursor")
+    void testSkipTokens() throws Exception {
+        String offsetToken = ServerDrivenPaging.offsetToken(42);
+        assertThat(ServerDrivenPaging.getOffset(offsetToken)).isEqualTo(42);
+        assertThat(ServerDrivenPaging.getCursor(offsetToken)).isNull();
+
+        String cursorToken = ServerDrivenPaging.cursorToken("position&42");
+        assertThat(cursorToken).matches("[A-Za-z0-9_-]+");
+        assertThat(ServerDrivenPaging.getOffset(cursorToken)).isEqualTo(0);
+        assertThat(ServerDrivenPaging.getCursor(cursorToken)).isEqualTo("position&42");
+
+        assertThat(ServerDrivenPaging.getOffset(null)).isEqualTo(0);
+        assertThat(ServerDrivenPaging.getCursor(null)).isNull();
+        assertThrows(ODataApplicationException.class, () -> ServerDrivenPaging.getOffset("no token"));
+        assertThrows(ODataApplicationException.class, () -> ServerDrivenPaging.getCursor("WzFd"));
+    }
+
+    @Test
+    @DisplayName("the next link should keep the query options of the request")
+    void testNextLink() {
+        ODataRequest request = mock(ODataRequest.class);
+        when(request.getRawBaseUri()).thenReturn("/odata/Service");
+        when(request.getRawODataPath()).thenReturn("/Products");
+        when(request.getRawQueryPath()).thenReturn("$filter=ID%20gt%201&$skiptoken=abc&$top=50");
+        assertThat(ServerDrivenPaging.nextLink(request, "def").toString())
+                .isEqualTo("/odata/Service/Products?$filter=ID%20gt%201&$top=50&$skiptoken=def");
+
+        when(request.getRawQueryPath()).thenReturn(null);
+        assertThat(ServerDrivenPaging.nextLink(request, "def").toString())
+                .isEqualTo("/odata/Service/Products?$skiptoken=def");
+    }
+
+    @Test
+    @DisplayName("a page should be bounded by the list of entities")
+    void testPage() {
+        List<Integer> entities = List.of(1, 2, 3, 4, 5);
+        assertThat(ServerDrivenPaging.page(entities, 0, 2)).containsExactly(1, 2).inOrder();
+        assertThat(ServerDrivenPaging.page(entities, 4, 2)).containsExactly(5);
+        assertThat(ServerDrivenPaging.page(entities, 6, 2)).isEmpty();
+    }
+}
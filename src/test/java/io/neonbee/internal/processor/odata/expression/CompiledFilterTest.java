@@ -0,0 +1,91 @@
+package io.neonbee.internal.processor.odata.expression;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.entity.EntityModelManager.getBufferedOData;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.core.MetadataParser;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.vertx.ext.web.RoutingContext;
+
+class CompiledFilterTest {
+    private static final String EDMX = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<edmx:Edmx Version=\"4.0\" xmlns:edmx=\"http://docs.oasis-open.org/odata/ns/edmx\"><edmx:DataServices>"
+            + "<Schema Namespace=\"Test\" xmlns=\"http://docs.oasis-open.org/odata/ns/edm\">"
+            + "<EntityContainer Name=\"EntityContainer\"><EntitySet Name=\"People\" EntityType=\"Test.People\"/>"
+            + "</EntityContainer><EntityType Name=\"People\"><Key><PropertyRef Name=\"ID\"/></Key>"
+            + "<Property Name=\"ID\" Type=\"Edm.String\" Nullable=\"false\"/>"
+            + "<Property Name=\"name\" Type=\"Edm.String\"/>"
+            + "<Property Name=\"age\" Type=\"Edm.Int32\"/></EntityType></Schema></edmx:DataServices></edmx:Edmx>";
+
+    private static Edm edm;
+
+    private static List<Entity> entities;
+
+    private final RoutingContext routingContext = mock(RoutingContext.class);
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        edm = getBufferedOData().createServiceMetadata(new MetadataParser().referenceResolver(null)
+                .buildEdmProvider(new InputStreamReader(new ByteArrayInputStream(EDMX.getBytes(UTF_8)), UTF_8)),
+                Collections.emptyList()).getEdm();
+
+        entities = new ArrayList<>();
+        String[] names = { "Anna", "Bob", "Carl", "anna", "Zoe", null };
+        Integer[] ages = { 17, 18, 42, 99, null, 0 };
+        for (int index = 0; index < names.length; index++) {
+            entities.add(new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, "ID" + index))
+                    .addProperty(new Property(null, "name", ValueType.PRIMITIVE, names[index]))
+                    .addProperty(new Property(null, "age", ValueType.PRIMITIVE, ages[index])));
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: $filter={0}")
+    @ValueSource(strings = { "name eq 'Anna'", "name ne 'Anna'", "'Bob' lt name", "name ge 'Bob'", "name le 'Carl'",
+            "name gt 'Carl'", "age eq 18", "age ne 18", "age gt 18", "18 ge age", "age lt 42", "age le 42",
+            "age ge 18 and name ne 'Carl'", "age lt 18 or name eq 'Zoe'", "not (age gt 18)", "name eq null",
+            "age ne null", "age gt 17.5", "startswith(name,'A')", "contains(tolower(name),'ann')",
+            "length(name) eq 3", "age in (17, 42)", "age add 1 eq 19" })
+    @DisplayName("compiled filters should match the same entities as the filter expression visitor")
+    void testEquivalence(String filter) throws Exception {
+        Expression expression = parse(filter);
+        CompiledFilter compiledFilter = CompiledFilter.compile(routingContext, expression);
+        for (Entity entity : entities) {
+            boolean expected;
+            try {
+                expected = Boolean.TRUE
+                        .equals(expression.accept(new FilterExpressionVisitor(routingContext, entity)).getValue());
+            } catch (ODataApplicationException e) {
+                assertThrows(ODataApplicationException.class, () -> compiledFilter.matches(entity));
+                assertThrows(CompiledFilter.FilterEvaluationException.class, () -> compiledFilter.test(entity));
+                continue;
+            }
+            assertThat(compiledFilter.matches(entity)).isEqualTo(expected);
+            assertThat(compiledFilter.test(entity)).isEqualTo(expected);
+        }
+    }
+
+    private static Expression parse(String filter) throws Exception {
+        return new Parser(edm, getBufferedOData()).parseUri("People", "$filter=" + filter, null, null)
+                .getFilterOption().getExpression();
+    }
+}
@@ -571,6 +571,54 @@ public class OrderExpressionExecutorTest {
                         "org.apache.olingo.server.api.ODataApplicationException: An error has occurred while comparing two values of property testGuidProperty. The types of the compared vaules are UUID and String but both must be one of: UUID");
     }
 
+    @Test
+    @DisplayName("Ordering with a limit must return the same first entities as ordering the whole list")
+    void executeOrderOptionWithLimitTest() {
+        List<Entity> entityList = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            entityList.add(new Entity() //
+                    .addProperty(new Property(null, "name", ValueType.PRIMITIVE, "entity" + index))
+                    .addProperty(new Property(null, "testNumberProperty", ValueType.PRIMITIVE,
+                            index % 7 == 0 ? null : (index * 37) % 10)));
+        }
+
+        EdmTypeImpl edmType = mock(EdmTypeImpl.class);
+        when(edmType.getKind()).thenReturn(EdmTypeKind.PRIMITIVE);
+        when(edmType.toString()).thenReturn(EdmPrimitiveTypeKind.Int32.toString());
+
+        EdmPropertyImpl edmProperty = mock(EdmPropertyImpl.class);
+        when(edmProperty.getType()).thenReturn(edmType);
+        when(edmProperty.getName()).thenReturn("testNumberProperty");
+
+        UriResourcePrimitiveProperty uriResourcePrimitiveProperty = mock(UriResourcePrimitiveProperty.class);
+        when(uriResourcePrimitiveProperty.getProperty()).thenReturn(edmProperty);
+
+        UriInfoResource resourcePath = mock(UriInfoResource.class);
+        when(resourcePath.getUriResourceParts()).thenReturn(List.of(uriResourcePrimitiveProperty));
+
+        MemberImpl member = mock(MemberImpl.class);
+        when(member.getResourcePath()).thenReturn(resourcePath);
+
+        OrderByItemImpl orderByItem = mock(OrderByItemImpl.class);
+        when(orderByItem.getExpression()).thenReturn(member);
+
+        OrderByOptionImpl orderByOption = mock(OrderByOptionImpl.class);
+        when(orderByOption.getOrders()).thenReturn(List.of(orderByItem));
+
+        for (boolean descending : new boolean[] { false, true }) {
+            when(orderByItem.isDescending()).thenReturn(descending);
+            List<Entity> sortedEntityList = OrderExpressionExecutor.executeOrderOption(routingContext, orderByOption,
+                    new ArrayList<>(entityList));
+            for (int limit : new int[] { 0, 1, 10, 99, 100, 150 }) {
+                assertThat(OrderExpressionExecutor.executeOrderOption(routingContext, orderByOption,
+                        new ArrayList<>(entityList), limit))
+                                .containsExactlyElementsIn(
+                                        sortedEntityList.subList(0, Math.min(limit, sortedEntityList.size())))
+                                .inOrder();
+            }
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     @Test
     public void classDefinitionTest() throws Exception {
@@ -0,0 +1,74 @@
+package io.neonbee.internal.processor.odata.expression;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.neonbee.internal.processor.odata.expression.CompiledFilter.FilterEvaluationException;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+class ParallelEntityFilterTest {
+    private static final List<Entity> ENTITIES = IntStream.range(0, 1000)
+            .mapToObj(index -> new Entity().addProperty(new Property(null, "ID", ValueType.PRIMITIVE, index)))
+            .collect(Collectors.toList());
+
+    @Test
+    @DisplayName("lists below the threshold should be processed in a single chunk")
+    void testBelowThreshold() throws Exception {
+        List<List<Entity>> chunks = await(new ParallelEntityFilter(2000, 4).split(ENTITIES, chunk -> chunk));
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0)).isSameInstanceAs(ENTITIES);
+
+        assertThat(await(new ParallelEntityFilter(0, 4).split(ENTITIES, chunk -> chunk))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("lists above the threshold should be split into ordered chunks, bounded by the parallelism")
+    void testAboveThreshold() throws Exception {
+        List<List<Entity>> chunks = await(new ParallelEntityFilter(100, 3).split(ENTITIES, chunk -> chunk));
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks.stream().flatMap(List::stream).collect(Collectors.toList()))
+                .containsExactlyElementsIn(ENTITIES).inOrder();
+    }
+
+    @Test
+    @DisplayName("failing filter evaluations should fail with the OData application exception")
+    void testFailure() {
+        ODataApplicationException exception = new ODataApplicationException("failed", 400, Locale.ENGLISH);
+        for (ParallelEntityFilter filter : List.of(new ParallelEntityFilter(2000, 4),
+                new ParallelEntityFilter(100, 4))) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> await(filter.split(ENTITIES,
+                    chunk -> {
+                        throw new FilterEvaluationException(exception);
+                    })));
+            assertThat(thrown).hasCauseThat().isSameInstanceAs(exception);
+        }
+    }
+
+    @Test
+    @DisplayName("the filter should be created from the endpoint config")
+    void testCreate() throws Exception {
+        ParallelEntityFilter filter = ParallelEntityFilter.create(new JsonObject().put("parallelFilter",
+                new JsonObject().put("threshold", 10).put("parallelism", 2)));
+        assertThat(await(filter.split(ENTITIES, chunk -> chunk))).hasSize(2);
+        assertThat(await(ParallelEntityFilter.create(null).split(ENTITIES, chunk -> chunk))).hasSize(1);
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
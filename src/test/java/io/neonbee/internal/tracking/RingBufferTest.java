@@ -0,0 +1,65 @@
+package io.neonbee.internal.tracking;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+    @Test
+    @DisplayName("the capacity should be rounded up to the next power of two")
+    void testCapacity() {
+        assertThat(new RingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new RingBuffer<>(4).capacity()).isEqualTo(4);
+        assertThat(new RingBuffer<>(5).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("elements should be polled in order and rejected while the buffer is full")
+    void testOfferAndPoll() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isEqualTo("c");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("no element should be lost, when offered by multiple threads")
+    void testConcurrentOffer() throws InterruptedException {
+        int producers = 4;
+        int elements = 1000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(producers * elements);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            int offset = producer * elements;
+            threads.add(new Thread(() -> {
+                for (int element = 0; element < elements; element++) {
+                    buffer.offer(offset + element);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<Integer> polled = new HashSet<>();
+        for (Integer element = buffer.poll(); element != null; element = buffer.poll()) {
+            polled.add(element);
+        }
+        assertThat(polled).hasSize(producers * elements);
+    }
+}
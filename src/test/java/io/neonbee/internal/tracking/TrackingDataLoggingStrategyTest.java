@@ -0,0 +1,71 @@
+package io.neonbee.internal.tracking;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.neonbee.data.internal.DataContextImpl;
+import io.vertx.core.json.JsonObject;
+
+class TrackingDataLoggingStrategyTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("tracking data should be written to the file as JSON lines by the background writer")
+    void testWriteToFile() throws Exception {
+        Path file = tempDir.resolve("tracking.jsonl");
+        TrackingDataLoggingStrategy strategy = new TrackingDataLoggingStrategy(file, 16);
+
+        DataContextImpl context = new DataContextImpl("correlationId", null);
+        context.pushVerticleToPath("DataVerticle");
+        strategy.handleOutBoundRequest(context);
+        strategy.handleInBoundReply(context.copy());
+
+        List<String> lines = List.of();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lines.size() < 2 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+            lines = Files.exists(file) ? Files.readAllLines(file) : List.of();
+        }
+
+        assertThat(lines).hasSize(2);
+        JsonObject request = new JsonObject(lines.get(0));
+        assertThat(request.getString("event")).isEqualTo("sendRequest");
+        assertThat(request.getString("correlationId")).isEqualTo("correlationId");
+        assertThat(request.getString("timestamp")).isNotNull();
+        assertThat(request.getJsonArray("path").getJsonObject(0).getString("qualifiedName")).isEqualTo("DataVerticle");
+
+        JsonObject reply = new JsonObject(lines.get(1));
+        assertThat(reply.getString("event")).isEqualTo("receiveReply");
+        assertThat(reply.getJsonArray("path").getJsonObject(0).getString("responseTimestamp")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("closing the strategy should write all buffered tracking data and end the writer")
+    void testClose() throws Exception {
+        Path file = tempDir.resolve("tracking.jsonl");
+        TrackingDataLoggingStrategy strategy = new TrackingDataLoggingStrategy(file, 1024);
+
+        DataContextImpl context = new DataContextImpl("correlationId", null);
+        for (int i = 0; i < 100; i++) {
+            strategy.handleOutBoundRequest(context);
+        }
+        strategy.close();
+
+        assertThat(strategy.getWriterThread().isAlive()).isFalse();
+        assertThat(Files.readAllLines(file)).hasSize(100);
+
+        // any data tracked after closing the strategy is ignored
+        strategy.handleOutBoundRequest(context);
+        strategy.close();
+        assertThat(Files.readAllLines(file)).hasSize(100);
+    }
+}
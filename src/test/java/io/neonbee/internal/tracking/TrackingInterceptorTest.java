@@ -1,16 +1,22 @@
 package io.neonbee.internal.tracking;
 
+import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.Range;
+
 import io.neonbee.data.DataContext;
 import io.neonbee.data.DataQuery;
 import io.neonbee.data.internal.DataContextImpl;
@@ -74,4 +80,25 @@ public class TrackingInterceptorTest {
         verify(strategy, times(1)).handleInBoundReply(any(DataContext.class));
         reset(strategy);
     }
+
+    @Test
+    @DisplayName("messages should only be tracked, if the request is sampled")
+    void testSampling() {
+        TrackingDataHandlingStrategy strategy = mock(TrackingDataHandlingStrategy.class);
+        new TrackingInterceptor(MessageDirection.INBOUND, strategy, 0).handle(new TestDeliveryContext<>(message));
+        verifyNoInteractions(strategy);
+
+        assertThat(TrackingInterceptor.isSampled("correlationId", 1)).isTrue();
+        assertThat(TrackingInterceptor.isSampled("correlationId", 0)).isFalse();
+
+        // the decision is the same for every message of a request, and about the given share of requests is sampled
+        int sampled = 0;
+        for (int i = 0; i < 10000; i++) {
+            String correlationId = UUID.randomUUID().toString();
+            boolean decision = TrackingInterceptor.isSampled(correlationId, 0.25);
+            assertThat(TrackingInterceptor.isSampled(correlationId, 0.25)).isEqualTo(decision);
+            sampled += decision ? 1 : 0;
+        }
+        assertThat(sampled).isIn(Range.closed(2000, 3000));
+    }
 }
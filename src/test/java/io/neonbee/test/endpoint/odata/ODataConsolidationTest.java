@@ -0,0 +1,172 @@
+package io.neonbee.test.endpoint.odata;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.neonbee.internal.Helper.EMPTY;
+import static io.neonbee.test.endpoint.odata.verticle.TestService1EntityVerticle.EXPECTED_ENTITY_DATA_2;
+import static io.neonbee.test.endpoint.odata.verticle.TestService1EntityVerticle.EXPECTED_ENTITY_DATA_3;
+import static io.neonbee.test.endpoint.odata.verticle.TestService1EntityVerticle.EXPECTED_ENTITY_DATA_5;
+import static io.neonbee.test.endpoint.odata.verticle.TestService1EntityVerticle.TEST_ENTITY_SET_FQN;
+import static io.neonbee.test.endpoint.odata.verticle.TestService1EntityVerticle.getDeclaredEntityModel;
+import static io.vertx.core.Future.succeededFuture;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.ORDERBY;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.SKIP;
+import static org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind.TOP;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.neonbee.data.DataContext;
+import io.neonbee.data.DataQuery;
+import io.neonbee.entity.EntityQueryPlan;
+import io.neonbee.entity.EntityVerticle;
+import io.neonbee.entity.EntityWrapper;
+import io.neonbee.internal.processor.odata.ServerDrivenPaging;
+import io.neonbee.internal.verticle.ServerVerticle;
+import io.neonbee.test.base.ODataEndpointTestBase;
+import io.neonbee.test.base.ODataRequest;
+import io.neonbee.test.endpoint.odata.verticle.TestService1EntityVerticle;
+import io.neonbee.test.helper.WorkingDirectoryBuilder;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxTestContext;
+
+public class ODataConsolidationTest extends ODataEndpointTestBase {
+    private static final String KEY_PROPERTY = "KeyPropertyString";
+
+    @Override
+    protected List<Path> provideEntityModels() {
+        return List.of(getDeclaredEntityModel());
+    }
+
+    @Override
+    protected WorkingDirectoryBuilder provideWorkingDirectoryBuilder(TestInfo testInfo, VertxTestContext testContext) {
+        return super.provideWorkingDirectoryBuilder(testInfo, testContext).setCustomTask(root -> {
+            // the server verticle should page entity collections, in case the test method name contains "Paging"
+            String testMethodName = testInfo.getTestMethod().map(Method::getName).orElse(EMPTY);
+            if (testMethodName.contains("Paging")) {
+                DeploymentOptions opts = WorkingDirectoryBuilder.readDeploymentOptions(ServerVerticle.class, root);
+                opts.getConfig().put("endpoints", new JsonObject().put("odata",
+                        new JsonObject().put("paging", new JsonObject().put("maxPageSize", 2))));
+                WorkingDirectoryBuilder.writeDeploymentOptions(ServerVerticle.class, opts, root);
+            }
+        });
+    }
+
+    @BeforeEach
+    void setUp(VertxTestContext testContext) {
+        CompositeFuture.all(deployVerticle(new FirstEntityVerticle()), deployVerticle(new SecondEntityVerticle()))
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("$skip and $top must be applied to the consolidated entities only")
+    void skipTopTest(VertxTestContext testContext) {
+        ODataRequest request = new ODataRequest(TEST_ENTITY_SET_FQN)
+                .setQuery(Map.of("$orderby", KEY_PROPERTY, "$skip", "1", "$top", "2"));
+
+        assertODataEntitySet(requestOData(request), entities -> {
+            assertThat(entities).containsExactly(EXPECTED_ENTITY_DATA_2, EXPECTED_ENTITY_DATA_3).inOrder();
+        }, testContext).onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("The consolidated entities must be paged, instead of the entities of the single entity verticles")
+    void consolidatedPagingTest(VertxTestContext testContext) {
+        ODataRequest request = new ODataRequest(TEST_ENTITY_SET_FQN)
+                .setQuery(Map.of("$orderby", KEY_PROPERTY, "$skiptoken", ServerDrivenPaging.offsetToken(2)));
+
+        assertODataEntitySet(requestOData(request), entities -> {
+            assertThat(entities).containsExactly(EXPECTED_ENTITY_DATA_3, EXPECTED_ENTITY_DATA_5).inOrder();
+        }, testContext).onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("$count must count the consolidated entities")
+    void countTest(VertxTestContext testContext) {
+        assertOData(requestOData(new ODataRequest(TEST_ENTITY_SET_FQN).setCount()), "5", testContext)
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    /**
+     * An entity verticle serving a part of the test entities, which pushes down $skip and $top to its "backend" and
+     * returns a single page or the count of its entities only, if requested. The entities are always ordered by their
+     * key, as requested by the tests.
+     */
+    private abstract static class PartitionEntityVerticle extends EntityVerticle {
+        private final Set<String> keys;
+
+        PartitionEntityVerticle(String... keys) {
+            this.keys = Set.of(keys);
+        }
+
+        @Override
+        public Future<Set<FullQualifiedName>> entityTypeNames() {
+            return succeededFuture(Set.of(TEST_ENTITY_SET_FQN));
+        }
+
+        @Override
+        public Future<EntityWrapper> retrieveData(DataQuery query, DataContext context) {
+            return new TestService1EntityVerticle().retrieveData(query, context).map(entityWrapper -> {
+                if (query.getUriPath().endsWith("/$count")) {
+                    EntityQueryPlan.counted(context, keys.size());
+                    return new EntityWrapper(TEST_ENTITY_SET_FQN, List.of());
+                }
+
+                Stream<Entity> entities = entityWrapper.getEntities().stream()
+                        .filter(entity -> keys.contains(getKey(entity))).sorted(comparing(this::getKey));
+                String skip = query.getParameter("$skip");
+                if (skip != null) {
+                    entities = entities.skip(Long.parseLong(skip));
+                }
+                String top = query.getParameter("$top");
+                if (top != null) {
+                    entities = entities.limit(Long.parseLong(top));
+                }
+                String maxPageSize = query.getHeader(EntityQueryPlan.MAX_PAGE_SIZE_HEADER);
+                if (maxPageSize != null) {
+                    entities = entities.limit(Long.parseLong(maxPageSize));
+                    EntityQueryPlan.nextPage(context, "nextPage");
+                }
+
+                EntityQueryPlan.handled(context, ORDERBY, SKIP, TOP);
+                return new EntityWrapper(TEST_ENTITY_SET_FQN, entities.collect(toList()));
+            });
+        }
+
+        private String getKey(Entity entity) {
+            return (String) entity.getProperty(KEY_PROPERTY).getValue();
+        }
+    }
+
+    private static class FirstEntityVerticle extends PartitionEntityVerticle {
+        FirstEntityVerticle() {
+            super("id-0", "id-1", "id-2");
+        }
+    }
+
+    private static class SecondEntityVerticle extends PartitionEntityVerticle {
+        SecondEntityVerticle() {
+            super("id.3", "id-4");
+        }
+    }
+}
@@ -29,6 +29,7 @@ import io.neonbee.test.base.ODataRequest;
 import io.neonbee.test.endpoint.odata.verticle.NavPropsCategoriesEntityVerticle;
 import io.neonbee.test.endpoint.odata.verticle.NavPropsProductsEntityVerticle;
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxTestContext;
@@ -69,6 +70,24 @@ public class ODataExpandEntityCollectionTest extends ODataEndpointTestBase {
                 .onComplete(testContext.succeedingThenComplete());
     }
 
+    @Test
+    @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
+    @DisplayName("Expand property 'category' in cached Products twice")
+    void testExpandCategoryInCachedProducts(VertxTestContext testContext) {
+        ODataRequest oDataRequest = new ODataRequest(PRODUCTS_ENTITY_SET_FQN).setExpandQuery(PROPERTY_NAME_CATEGORY);
+        List<JsonObject> expected = List.of(addCategoryToProduct(STEAK_PRODUCT, FOOD_CATEGORY),
+                addCategoryToProduct(CHEESE_PRODUCT, FOOD_CATEGORY),
+                addCategoryToProduct(S_1000_RR_PRODUCT, MOTORCYCLE_CATEGORY),
+                addCategoryToProduct(STREET_GLIDE_SPECIAL_PRODUCT, MOTORCYCLE_CATEGORY));
+
+        DeploymentOptions cached = new DeploymentOptions().setConfig(new JsonObject().put("cache", new JsonObject()));
+        undeployVerticles(NavPropsProductsEntityVerticle.class)
+                .compose(v -> deployVerticle(new NavPropsProductsEntityVerticle(), cached))
+                .compose(v -> assertODataEntitySetContainsExactly(requestOData(oDataRequest), expected, testContext))
+                .compose(v -> assertODataEntitySetContainsExactly(requestOData(oDataRequest), expected, testContext))
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
     @Test
     @Timeout(value = 2, timeUnit = TimeUnit.SECONDS)
     @DisplayName("Do not expand property 'category' in Products")
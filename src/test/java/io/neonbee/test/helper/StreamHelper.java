@@ -0,0 +1,135 @@
+package io.neonbee.test.helper;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+public final class StreamHelper {
+
+    private StreamHelper() {
+        // helper class no need to instantiate
+    }
+
+    /**
+     * Returns a stream of buffers, which emits the given chunks asynchronously and respects the demand of its reader.
+     *
+     * @param vertx  The related Vert.x instance
+     * @param chunks The chunks to emit
+     *
+     * @return A stream ending after the last chunk was emitted.
+     */
+    public static ReadStream<Buffer> streamOf(Vertx vertx, String... chunks) {
+        return new ChunkStream(vertx, chunks, null);
+    }
+
+    /**
+     * Returns a stream of buffers, which emits the given chunks asynchronously and fails afterwards.
+     *
+     * @param vertx   The related Vert.x instance
+     * @param failure The failure to signal after the last chunk
+     * @param chunks  The chunks to emit
+     *
+     * @return A stream failing after the last chunk was emitted.
+     */
+    public static ReadStream<Buffer> failingStreamOf(Vertx vertx, Throwable failure, String... chunks) {
+        return new ChunkStream(vertx, chunks, failure);
+    }
+
+    private static final class ChunkStream implements ReadStream<Buffer> {
+        private final Vertx vertx;
+
+        private final Deque<String> chunks;
+
+        private final Throwable failure;
+
+        private Handler<Buffer> handler;
+
+        private Handler<Void> endHandler;
+
+        private Handler<Throwable> exceptionHandler;
+
+        private long demand = Long.MAX_VALUE;
+
+        private boolean scheduled;
+
+        private boolean done;
+
+        ChunkStream(Vertx vertx, String[] chunks, Throwable failure) {
+            this.vertx = vertx;
+            this.chunks = new ArrayDeque<>(Arrays.asList(chunks));
+            this.failure = failure;
+        }
+
+        @Override
+        public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+            this.handler = handler;
+            schedule();
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> exceptionHandler(Handler<Throwable> exceptionHandler) {
+            this.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            demand = 0;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            return fetch(Long.MAX_VALUE);
+        }
+
+        @Override
+        public ReadStream<Buffer> fetch(long amount) {
+            demand = Long.MAX_VALUE - demand > amount ? demand + amount : Long.MAX_VALUE;
+            schedule();
+            return this;
+        }
+
+        private void schedule() {
+            if (!scheduled && !done && handler != null && demand > 0) {
+                scheduled = true;
+                vertx.runOnContext(nothing -> emit());
+            }
+        }
+
+        private void emit() {
+            scheduled = false;
+            if (done || handler == null || demand == 0) {
+                return;
+            }
+
+            if (chunks.isEmpty()) {
+                done = true;
+                if (failure != null && exceptionHandler != null) {
+                    exceptionHandler.handle(failure);
+                } else if (failure == null && endHandler != null) {
+                    endHandler.handle(null);
+                }
+                return;
+            }
+
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            handler.handle(Buffer.buffer(chunks.poll()));
+            schedule();
+        }
+    }
+}